@@ -0,0 +1,11 @@
+package com.oxfield.services.adapter.input.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO para registro/remoção do token de push (FCM) do dispositivo.
+ */
+public record PushTokenRequest(
+        @NotBlank(message = "Token é obrigatório") @Size(max = 512, message = "Token inválido") String token) {
+}
@@ -0,0 +1,50 @@
+package com.oxfield.services.adapter.input.dto.request;
+
+import com.oxfield.services.adapter.input.dto.request.SyncBatchRequest.SyncActionType;
+
+import java.util.UUID;
+
+/**
+ * Payload tipado de uma ação de sincronização, um record por SyncActionType.
+ * Campos desconhecidos são ignorados; campos obrigatórios são validados no processamento.
+ */
+public sealed interface SyncActionPayload {
+
+    record StatusUpdate(String status, Double latitude, Double longitude, String reason)
+            implements SyncActionPayload {
+    }
+
+    /**
+     * uploadId (upload em partes) ou data (base64, apps antigos).
+     */
+    record AddPhoto(String uploadId, String data, String caption, String fileName,
+                    Double latitude, Double longitude) implements SyncActionPayload {
+    }
+
+    record ChecklistUpdate(Integer itemId, Boolean done) implements SyncActionPayload {
+    }
+
+    record AddSignature(String signature) implements SyncActionPayload {
+    }
+
+    record LocationUpdate(Double latitude, Double longitude) implements SyncActionPayload {
+    }
+
+    record AddMaterial(UUID materialId, Integer quantity) implements SyncActionPayload {
+    }
+
+    record AddMessage(String message) implements SyncActionPayload {
+    }
+
+    static Class<? extends SyncActionPayload> typeFor(SyncActionType type) {
+        return switch (type) {
+            case UPDATE_STATUS -> StatusUpdate.class;
+            case ADD_PHOTO -> AddPhoto.class;
+            case UPDATE_CHECKLIST -> ChecklistUpdate.class;
+            case ADD_SIGNATURE -> AddSignature.class;
+            case UPDATE_LOCATION -> LocationUpdate.class;
+            case ADD_MATERIAL -> AddMaterial.class;
+            case ADD_MESSAGE -> AddMessage.class;
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.oxfield.services.adapter.input.dto.request;
+
+import com.oxfield.services.adapter.input.dto.request.SyncBatchRequest.SyncActionType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Ação de sincronização com payload já desserializado no tipo da ação.
+ */
+public record TypedSyncAction(
+        String clientId,
+        Instant timestamp,
+        SyncActionType type,
+        UUID orderId,
+        SyncActionPayload payload) {
+}
@@ -1,14 +1,17 @@
 package com.oxfield.services.adapter.input.rest;
 
 import com.oxfield.services.application.service.CustomerJoinService;
-import com.oxfield.services.application.service.ServiceCategoryService;
+import com.oxfield.services.application.service.CustomerOrderService;
 import com.oxfield.services.adapter.output.payment.StripeGateway;
 import com.oxfield.services.adapter.output.persistence.CustomerAddressRepository;
 import com.oxfield.services.adapter.output.persistence.CustomerRepository;
+import com.oxfield.services.adapter.output.persistence.OrderSummaryRepository;
+import com.oxfield.services.adapter.output.persistence.OrderSummaryRepository.CustomerOrderProjection;
+import com.oxfield.services.adapter.output.persistence.OrderSummaryRepository.CustomerPaymentProjection;
 import com.oxfield.services.adapter.output.persistence.ServiceOrderRepository;
 import com.oxfield.services.domain.entity.Customer;
-import com.oxfield.services.domain.entity.ServiceCategory;
 import com.oxfield.services.domain.entity.CustomerAddress;
+import com.oxfield.services.domain.entity.OrderSummary;
 import com.oxfield.services.domain.entity.PaymentMethod;
 import com.oxfield.services.domain.entity.ServiceOrder;
 import com.oxfield.services.domain.enums.OsStatus;
@@ -28,7 +31,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.math.BigDecimal;
@@ -46,14 +51,18 @@ import java.util.stream.Collectors;
 public class CustomerController {
 
         private static final Logger log = LoggerFactory.getLogger(CustomerController.class);
+        private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+        private static final int DEFAULT_PAGE_SIZE = 50;
+        private static final int MAX_PAGE_SIZE = 100;
 
         private final CustomerRepository customerRepository;
         private final CustomerAddressRepository customerAddressRepository;
         private final ServiceOrderRepository orderRepository;
-        private final ServiceCategoryService categoryService;
         private final CurrentUserProvider currentUserProvider;
         private final StripeGateway stripeGateway;
         private final CustomerJoinService customerJoinService;
+        private final CustomerOrderService customerOrderService;
+        private final OrderSummaryRepository summaryRepository;
 
         @Value("${oxfield.arrival-radius-meters:200}")
         private double arrivalRadiusMeters;
@@ -62,17 +71,19 @@ public class CustomerController {
                         CustomerRepository customerRepository,
                         CustomerAddressRepository customerAddressRepository,
                         ServiceOrderRepository orderRepository,
-                        ServiceCategoryService categoryService,
                         CurrentUserProvider currentUserProvider,
                         StripeGateway stripeGateway,
-                        CustomerJoinService customerJoinService) {
+                        CustomerJoinService customerJoinService,
+                        CustomerOrderService customerOrderService,
+                        OrderSummaryRepository summaryRepository) {
                 this.customerRepository = customerRepository;
                 this.customerAddressRepository = customerAddressRepository;
                 this.orderRepository = orderRepository;
-                this.categoryService = categoryService;
                 this.currentUserProvider = currentUserProvider;
                 this.stripeGateway = stripeGateway;
                 this.customerJoinService = customerJoinService;
+                this.customerOrderService = customerOrderService;
+                this.summaryRepository = summaryRepository;
         }
 
         /**
@@ -97,29 +108,40 @@ public class CustomerController {
         }
 
         /**
-         * Lista OS do cliente
+         * Lista OS do cliente, mais recentes primeiro. Paginada quando page ou limit
+         * é informado; sem nenhum dos dois (versões do app que não paginam) vem
+         * inteira. O total vai no header X-Total-Count; o corpo continua sendo a lista.
          */
         @GetMapping("/orders")
         @RequiresClientApp
         @Operation(summary = "Minhas OS", description = "Lista ordens de serviço do cliente")
         public ResponseEntity<List<CustomerOrderResponse>> getOrders(
-                        @RequestParam(required = false) String status) {
+                        @RequestParam(required = false) String status,
+                        @RequestParam(required = false) Integer page,
+                        @RequestParam(required = false) Integer limit) {
                 Customer customer = getCurrentCustomer();
 
-                List<ServiceOrder> orders;
+                OsStatus statusFilter = null;
                 if (status != null && !status.isEmpty()) {
-                        orders = orderRepository.findByCustomerId(customer.getId()).stream()
-                                        .filter(o -> o.getStatus().getValue().equalsIgnoreCase(status))
-                                        .collect(Collectors.toList());
-                } else {
-                        orders = orderRepository.findByCustomerId(customer.getId());
+                        try {
+                                statusFilter = OsStatus.fromValue(status);
+                        } catch (IllegalArgumentException e) {
+                                return ResponseEntity.ok()
+                                                .header(TOTAL_COUNT_HEADER, "0")
+                                                .body(List.of());
+                        }
                 }
 
-                List<CustomerOrderResponse> response = orders.stream()
+                Page<CustomerOrderProjection> orders = summaryRepository.findCustomerOrders(
+                                customer.getId(), statusFilter, pageRequest(page, limit));
+
+                List<CustomerOrderResponse> response = orders.getContent().stream()
                                 .map(this::toCustomerOrder)
                                 .collect(Collectors.toList());
 
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok()
+                                .header(TOTAL_COUNT_HEADER, String.valueOf(orders.getTotalElements()))
+                                .body(response);
         }
 
         /**
@@ -129,7 +151,11 @@ public class CustomerController {
         @RequiresClientApp
         @Operation(summary = "Detalhes OS", description = "Retorna detalhes de uma OS")
         public ResponseEntity<CustomerOrderDetailResponse> getOrderDetails(@PathVariable UUID orderId) {
-                ServiceOrder order = getOrder(orderId);
+                ServiceOrder order = orderRepository.findById(orderId).orElse(null);
+                if (order == null) {
+                        // OS arquivada (V26): continua no histórico, o detalhe sai do order_summary
+                        return ResponseEntity.ok(toCustomerOrderDetail(getArchivedOrder(orderId)));
+                }
                 validateOwnership(order);
 
                 return ResponseEntity.ok(toCustomerOrderDetail(order));
@@ -149,17 +175,7 @@ public class CustomerController {
                 } catch (IllegalArgumentException e) {
                         throw new BusinessException(ErrorCode.ORDER_NOT_FOUND, "Link inválido ou expirado");
                 }
-                ServiceOrder order = orderRepository.findByShareToken(tokenUuid)
-                                .orElseThrow(() -> new BusinessException(
-                                                ErrorCode.ORDER_NOT_FOUND, "Esta ordem já foi associada ou o link não é válido."));
-                if (order.getShareToken() == null) {
-                        throw new BusinessException(
-                                        ErrorCode.INVALID_OPERATION, "Esta ordem já foi associada ou o link não é válido.");
-                }
-                order.setCustomer(customer);
-                order.setShareToken(null);
-                order = orderRepository.save(order);
-                log.info("Order {} claimed by customer {}", order.getOsNumber(), customer.getId());
+                ServiceOrder order = customerOrderService.claimByShareToken(customer, tokenUuid);
                 return ResponseEntity.ok(toCustomerOrderDetail(order));
         }
 
@@ -327,37 +343,18 @@ public class CustomerController {
                         }
                 }
 
-                ServiceCategory category = categoryService.getByCodeAndTenant(request.category(), tenantId);
-
-                // Criar a OS diretamente com status PENDING (aguardando atribuição de técnico)
-                ServiceOrder order = new ServiceOrder();
-                order.setOsNumber("OX-" + System.currentTimeMillis() % 100000);
-                order.setTitle(category.getName() + " Service Request");
-                order.setDescription(request.description());
-                order.setCategory(category);
-                order.setStatus(OsStatus.SCHEDULED);
-                order.setCustomer(customer);
-                order.setAddress(address);
-                order.setTenantId(tenantId);
-
-                // Parse date and time
-                if (request.preferredDate() != null && !request.preferredDate().isEmpty()) {
-                        order.setScheduledDate(java.time.LocalDate.parse(request.preferredDate()));
-                } else {
-                        order.setScheduledDate(java.time.LocalDate.now().plusDays(1));
-                }
-
-                if (request.preferredTime() != null && !request.preferredTime().isEmpty()) {
-                        order.setScheduledStart(java.time.LocalTime.parse(request.preferredTime()));
-                } else {
-                        order.setScheduledStart(java.time.LocalTime.of(9, 0));
-                }
-
-                order.setScheduledDuration(60); // Default 60 min
-                order.setEstimatedPrice(new BigDecimal("150.00")); // Default estimate
-                order.setPriority(com.oxfield.services.domain.enums.PriorityLevel.MEDIUM);
-
-                ServiceOrder saved = orderRepository.save(order);
+                ServiceOrder saved = customerOrderService.createServiceRequest(
+                                customer,
+                                address,
+                                tenantId,
+                                request.category(),
+                                request.description(),
+                                request.preferredDate() != null && !request.preferredDate().isEmpty()
+                                                ? java.time.LocalDate.parse(request.preferredDate())
+                                                : null,
+                                request.preferredTime() != null && !request.preferredTime().isEmpty()
+                                                ? java.time.LocalTime.parse(request.preferredTime())
+                                                : null);
 
                 return ResponseEntity.ok(new ServiceRequestResponse(
                                 saved.getId(),
@@ -378,10 +375,15 @@ public class CustomerController {
         @RequiresClientApp
         @Operation(summary = "Tracking", description = "Retorna informações de tracking em tempo real")
         public ResponseEntity<TrackingResponse> getTracking(@PathVariable UUID orderId) {
-                ServiceOrder order = getOrder(orderId);
-                validateOwnership(order);
+                ServiceOrder order = orderRepository.findById(orderId).orElse(null);
+                if (order == null) {
+                        // Só OS finalizadas são arquivadas: nada a rastrear
+                        getArchivedOrder(orderId);
+                } else {
+                        validateOwnership(order);
+                }
 
-                if (order.getStatus() != OsStatus.IN_ROUTE) {
+                if (order == null || order.getStatus() != OsStatus.IN_ROUTE) {
                         return ResponseEntity.ok(new TrackingResponse(
                                         orderId,
                                         false,
@@ -436,15 +438,14 @@ public class CustomerController {
                         @PathVariable UUID orderId,
                         @RequestBody InitiatePaymentRequest request) {
 
-                ServiceOrder order = getOrder(orderId);
-                validateOwnership(order);
+                OrderCharge order = getOrderCharge(orderId);
 
-                if (order.getStatus() != OsStatus.COMPLETED) {
+                if (order.status() != OsStatus.COMPLETED) {
                         throw new BusinessException(ErrorCode.INVALID_OPERATION,
                                         "Só é possível pagar serviços concluídos");
                 }
 
-                if (order.getFinalPrice() == null || order.getFinalPrice().compareTo(BigDecimal.ZERO) <= 0) {
+                if (order.finalPrice() == null || order.finalPrice().compareTo(BigDecimal.ZERO) <= 0) {
                         throw new BusinessException(ErrorCode.INVALID_OPERATION,
                                         "Valor do serviço não foi definido");
                 }
@@ -455,7 +456,7 @@ public class CustomerController {
 
                 return ResponseEntity.ok(new PaymentIntentResponse(
                                 clientSecret,
-                                order.getFinalPrice(),
+                                order.finalPrice(),
                                 "brl"));
         }
 
@@ -469,8 +470,7 @@ public class CustomerController {
                         @PathVariable UUID orderId,
                         @RequestBody ConfirmPaymentRequest request) {
 
-                ServiceOrder order = getOrder(orderId);
-                validateOwnership(order);
+                OrderCharge order = getOrderCharge(orderId);
 
                 // Aqui seria verificado o pagamento no Stripe
                 // e atualizado o status da OS para "PAID"
@@ -480,29 +480,28 @@ public class CustomerController {
                                 true,
                                 "Pagamento confirmado com sucesso",
                                 request.paymentIntentId(),
-                                order.getFinalPrice()));
+                                order.finalPrice()));
         }
 
         /**
-         * Lista histórico de pagamentos do cliente.
+         * Lista histórico de pagamentos do cliente; paginação como em getOrders.
          */
         @GetMapping("/payments")
         @RequiresClientApp
         @Operation(summary = "Histórico de Pagamentos", description = "Lista pagamentos realizados")
-        public ResponseEntity<List<PaymentHistoryResponse>> getPaymentHistory() {
+        public ResponseEntity<List<PaymentHistoryResponse>> getPaymentHistory(
+                        @RequestParam(required = false) Integer page,
+                        @RequestParam(required = false) Integer limit) {
                 Customer customer = getCurrentCustomer();
 
                 // Buscar OS pagas do cliente
-                List<ServiceOrder> paidOrders = orderRepository.findByCustomerId(customer.getId())
-                                .stream()
-                                .filter(o -> o.getFinalPrice() != null
-                                                && o.getFinalPrice().compareTo(BigDecimal.ZERO) > 0)
-                                .collect(Collectors.toList());
+                Page<CustomerPaymentProjection> paidOrders = summaryRepository.findCustomerPayments(
+                                customer.getId(), pageRequest(page, limit));
 
-                List<PaymentHistoryResponse> payments = paidOrders.stream()
+                List<PaymentHistoryResponse> payments = paidOrders.getContent().stream()
                                 .map(o -> new PaymentHistoryResponse(
                                                 UUID.randomUUID(), // paymentId
-                                                o.getId(),
+                                                o.getOrderId(),
                                                 o.getOsNumber(),
                                                 o.getTitle(),
                                                 o.getFinalPrice(),
@@ -511,7 +510,9 @@ public class CustomerController {
                                                 "Visa •••• 4242"))
                                 .collect(Collectors.toList());
 
-                return ResponseEntity.ok(payments);
+                return ResponseEntity.ok()
+                                .header(TOTAL_COUNT_HEADER, String.valueOf(paidOrders.getTotalElements()))
+                                .body(payments);
         }
 
         /**
@@ -572,10 +573,33 @@ public class CustomerController {
                                                 ErrorCode.USER_NOT_FOUND, "Perfil de cliente não encontrado"));
         }
 
-        private ServiceOrder getOrder(UUID orderId) {
-                return orderRepository.findById(orderId)
+        /**
+         * Linha do order_summary de uma OS arquivada do cliente logado.
+         */
+        private OrderSummary getArchivedOrder(UUID orderId) {
+                OrderSummary summary = summaryRepository.findById(orderId)
+                                .filter(s -> s.getArchivedAt() != null)
                                 .orElseThrow(() -> new BusinessException(
                                                 ErrorCode.ORDER_NOT_FOUND, "OS não encontrada"));
+                Customer customer = getCurrentCustomer();
+                if (!customer.getId().equals(summary.getCustomerId())) {
+                        throw new BusinessException(
+                                        ErrorCode.ACCESS_DENIED, "Esta OS não pertence a você");
+                }
+                return summary;
+        }
+
+        /**
+         * Status e valor para o pagamento, da OS ou, se arquivada, do order_summary.
+         */
+        private OrderCharge getOrderCharge(UUID orderId) {
+                ServiceOrder order = orderRepository.findById(orderId).orElse(null);
+                if (order == null) {
+                        OrderSummary archived = getArchivedOrder(orderId);
+                        return new OrderCharge(archived.getStatus(), archived.getFinalPrice());
+                }
+                validateOwnership(order);
+                return new OrderCharge(order.getStatus(), order.getFinalPrice());
         }
 
         private void validateOwnership(ServiceOrder order) {
@@ -599,12 +623,23 @@ public class CustomerController {
                                 address.getLocation() != null ? GeoUtils.getLongitude(address.getLocation()) : null);
         }
 
-        private CustomerOrderResponse toCustomerOrder(ServiceOrder order) {
+        /**
+         * Sem page e limit a consulta não é paginada (nem faz o count).
+         */
+        private static Pageable pageRequest(Integer page, Integer limit) {
+                if (page == null && limit == null) {
+                        return Pageable.unpaged();
+                }
+                int safeLimit = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+                return PageRequest.of(page == null ? 0 : Math.max(page, 0), safeLimit);
+        }
+
+        private CustomerOrderResponse toCustomerOrder(CustomerOrderProjection order) {
                 return new CustomerOrderResponse(
-                                order.getId(),
+                                order.getOrderId(),
                                 order.getOsNumber(),
                                 order.getTitle(),
-                                order.getCategory().getCode(),
+                                order.getCategoryCode(),
                                 order.getStatus().getValue(),
                                 order.getScheduledDate() != null ? order.getScheduledDate().toString() : "",
                                 order.getScheduledStart() != null ? order.getScheduledStart().toString() : "09:00",
@@ -635,6 +670,40 @@ public class CustomerController {
                                                 : null);
         }
 
+        private CustomerOrderDetailResponse toCustomerOrderDetail(OrderSummary order) {
+                return new CustomerOrderDetailResponse(
+                                order.getOrderId(),
+                                order.getOsNumber(),
+                                order.getTitle(),
+                                order.getDescription(),
+                                order.getCategoryCode(),
+                                order.getStatus().getValue(),
+                                order.getScheduledDate() != null ? order.getScheduledDate().toString() : "",
+                                order.getScheduledStart() != null ? order.getScheduledStart().toString() : "09:00",
+                                order.getScheduledDuration() != null ? order.getScheduledDuration() : 60,
+                                order.getEstimatedPrice(),
+                                order.getFinalPrice(),
+                                // O read model guarda só o texto e as coordenadas do endereço
+                                new AddressResponse(
+                                                null,
+                                                null,
+                                                order.getAddressText(),
+                                                null,
+                                                null,
+                                                null,
+                                                false,
+                                                order.getAddressLatitude(),
+                                                order.getAddressLongitude()),
+                                order.getTechnicianName() != null ? new TechnicianInfo(
+                                                order.getTechnicianName(),
+                                                order.getTechnicianAvatarUrl(),
+                                                5.0)
+                                                : null);
+        }
+
+        private record OrderCharge(OsStatus status, BigDecimal finalPrice) {
+        }
+
         // ========== Response DTOs ==========
 
         public record CustomerProfileResponse(
@@ -0,0 +1,47 @@
+package com.oxfield.services.adapter.input.rest;
+
+import com.oxfield.services.adapter.input.dto.request.PushTokenRequest;
+import com.oxfield.services.application.service.NotificationService;
+import com.oxfield.services.shared.security.CurrentUserProvider;
+import com.oxfield.services.shared.security.JwtUserDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Registro dos tokens de push (FCM) dos apps, para qualquer usuário autenticado.
+ * O app registra o token após o login e quando o FCM o renova, e remove no logout.
+ */
+@RestController
+@RequestMapping("/devices/push-token")
+@Tag(name = "Push Tokens", description = "Registro de dispositivos para push notifications")
+public class DevicePushTokenController {
+
+    private final NotificationService notificationService;
+    private final CurrentUserProvider currentUserProvider;
+
+    public DevicePushTokenController(
+            NotificationService notificationService,
+            CurrentUserProvider currentUserProvider) {
+        this.notificationService = notificationService;
+        this.currentUserProvider = currentUserProvider;
+    }
+
+    @PutMapping
+    @Operation(summary = "Register Push Token", description = "Registra o token de push do dispositivo")
+    public ResponseEntity<Void> register(@Valid @RequestBody PushTokenRequest request) {
+        JwtUserDetails user = currentUserProvider.requireCurrentUser();
+        notificationService.registerDevice(user.getUserId(), user.getTenantId(), user.getAppType(), request.token());
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Unregister Push Token", description = "Remove o token de push do dispositivo")
+    public ResponseEntity<Void> unregister(@Valid @RequestBody PushTokenRequest request) {
+        JwtUserDetails user = currentUserProvider.requireCurrentUser();
+        notificationService.unregisterDevice(user.getUserId(), request.token());
+        return ResponseEntity.ok().build();
+    }
+}
@@ -1,12 +1,20 @@
 package com.oxfield.services.adapter.input.rest;
 
 import com.oxfield.services.application.service.BillingService;
+import com.oxfield.services.application.service.BulkOrderService;
+import com.oxfield.services.application.service.BulkOrderService.BulkOperationResponse;
+import com.oxfield.services.application.service.BulkOrderService.RescheduleItem;
 import com.oxfield.services.application.service.ClientInviteService;
 import com.oxfield.services.application.service.CreditService;
 import com.oxfield.services.application.service.EmpresaClientService;
+import com.oxfield.services.application.service.OrderImportService;
+import com.oxfield.services.application.service.OrderImportService.ImportFormat;
+import com.oxfield.services.application.service.OrderImportService.ImportProgress;
+import com.oxfield.services.application.service.OrderImportService.ImportSource;
 import com.oxfield.services.application.service.OrderManagementService;
 import com.oxfield.services.application.service.OrderManagementService.CreateOrderRequest;
 import com.oxfield.services.application.service.OrderManagementService.OrderResponse;
+import com.oxfield.services.application.service.OrderManagementService.OrderSearchFilter;
 import com.oxfield.services.application.service.SubscriptionService;
 import com.oxfield.services.application.service.TechnicianManagementService;
 import com.oxfield.services.application.service.TechnicianManagementService.FleetLocationResponse;
@@ -23,20 +31,35 @@ import com.oxfield.services.domain.entity.Invoice;
 import com.oxfield.services.domain.entity.Subscription;
 import com.oxfield.services.domain.entity.Tenant;
 import com.oxfield.services.domain.entity.SubscriptionItem;
+import com.oxfield.services.domain.enums.OsStatus;
+import com.oxfield.services.domain.enums.PriorityLevel;
 import com.oxfield.services.domain.enums.UserStatus;
 import com.oxfield.services.shared.exception.BusinessException;
 import com.oxfield.services.shared.exception.ErrorCode;
+import com.oxfield.services.shared.pagination.CursorPage;
 import com.oxfield.services.shared.security.CurrentUserProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Value;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -57,6 +80,9 @@ public class EmpresaController {
     private final TechnicianInviteRepository technicianInviteRepository;
     private final TechnicianManagementService technicianService;
     private final OrderManagementService orderService;
+    private final BulkOrderService bulkOrderService;
+    private final OrderImportService orderImportService;
+    private final ObjectWriter importProgressWriter;
     private final SubscriptionService subscriptionService;
     private final BillingService billingService;
     private final CreditService creditService;
@@ -73,6 +99,9 @@ public class EmpresaController {
             TechnicianInviteRepository technicianInviteRepository,
             TechnicianManagementService technicianService,
             OrderManagementService orderService,
+            BulkOrderService bulkOrderService,
+            OrderImportService orderImportService,
+            ObjectMapper objectMapper,
             SubscriptionService subscriptionService,
             BillingService billingService,
             CreditService creditService,
@@ -84,6 +113,9 @@ public class EmpresaController {
         this.technicianInviteRepository = technicianInviteRepository;
         this.technicianService = technicianService;
         this.orderService = orderService;
+        this.bulkOrderService = bulkOrderService;
+        this.orderImportService = orderImportService;
+        this.importProgressWriter = objectMapper.writer();
         this.subscriptionService = subscriptionService;
         this.billingService = billingService;
         this.creditService = creditService;
@@ -390,17 +422,36 @@ public class EmpresaController {
             @RequestParam(required = false) String technicianId) {
         log.info("Listing orders - status: {}, date: {}, technicianId: {}", status, date, technicianId);
 
-        if (date != null) {
-            LocalDate targetDate = LocalDate.parse(date);
-            List<OrderResponse> orders = orderService.getOrdersByDate(targetDate);
-            return ResponseEntity.ok(orders);
-        }
-
         // Se não tiver data, retorna ordens de hoje
-        List<OrderResponse> orders = orderService.getOrdersByDate(LocalDate.now());
+        LocalDate targetDate = date != null ? parseDate(date, "date") : LocalDate.now();
+        List<OrderResponse> orders = orderService.getOrdersByDate(
+                targetDate, parseStatus(status), parseUuid(technicianId, "technicianId"));
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/orders/search")
+    @Operation(summary = "Search Orders", description = "Busca ordens por texto (número, título, cliente, endereço) e filtros, com paginação por cursor")
+    public ResponseEntity<CursorPage<OrderResponse>> searchOrders(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String technicianId,
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        OrderSearchFilter filter = new OrderSearchFilter(
+                q,
+                parseStatus(status),
+                parseUuid(technicianId, "technicianId"),
+                parseUuid(categoryId, "categoryId"),
+                parsePriority(priority),
+                dateFrom != null ? parseDate(dateFrom, "dateFrom") : null,
+                dateTo != null ? parseDate(dateTo, "dateTo") : null);
+        return ResponseEntity.ok(orderService.searchOrders(filter, cursor, Math.min(Math.max(limit, 1), 100)));
+    }
+
     @GetMapping("/orders/{id}")
     @Operation(summary = "Get Order", description = "Retorna detalhes de uma ordem")
     public ResponseEntity<OrderResponse> getOrder(@PathVariable UUID id) {
@@ -463,6 +514,96 @@ public class EmpresaController {
         return ResponseEntity.ok(order);
     }
 
+    @PostMapping("/orders/bulk/reschedule")
+    @Operation(summary = "Bulk Reschedule", description = "Reagenda várias ordens numa só transação; ordens inválidas voltam em failures")
+    public ResponseEntity<BulkOperationResponse> bulkReschedule(@RequestBody BulkRescheduleRequest request) {
+        if (request.items() == null) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "items é obrigatório");
+        }
+        List<RescheduleItem> items = new ArrayList<>(request.items().size());
+        for (BulkRescheduleItem item : request.items()) {
+            if (item.orderId() == null || item.scheduledDate() == null || item.scheduledStartTime() == null) {
+                throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                        "orderId, scheduledDate e scheduledStartTime são obrigatórios");
+            }
+            try {
+                items.add(new RescheduleItem(
+                        item.orderId(),
+                        LocalDate.parse(item.scheduledDate()),
+                        LocalTime.parse(item.scheduledStartTime())));
+            } catch (DateTimeParseException e) {
+                throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                        "Formato de data ou hora inválido na ordem " + item.orderId() + ". Use AAAA-MM-DD e HH:mm.");
+            }
+        }
+        log.info("Bulk rescheduling {} orders", items.size());
+        return ResponseEntity.ok(bulkOrderService.reschedule(items));
+    }
+
+    @PostMapping("/orders/bulk/cancel")
+    @Operation(summary = "Bulk Cancel", description = "Cancela várias ordens numa só transação")
+    public ResponseEntity<BulkOperationResponse> bulkCancel(@RequestBody BulkCancelRequest request) {
+        log.info("Bulk cancelling {} orders", request.orderIds() != null ? request.orderIds().size() : 0);
+        return ResponseEntity.ok(bulkOrderService.cancel(
+                request.orderIds() != null ? request.orderIds() : List.of(),
+                request.reason()));
+    }
+
+    @PostMapping("/orders/bulk/unassign")
+    @Operation(summary = "Bulk Unassign", description = "Devolve várias ordens agendadas ao pool de não atribuídas")
+    public ResponseEntity<BulkOperationResponse> bulkUnassign(@RequestBody BulkOrderIdsRequest request) {
+        log.info("Bulk unassigning {} orders", request.orderIds() != null ? request.orderIds().size() : 0);
+        return ResponseEntity.ok(bulkOrderService.unassign(
+                request.orderIds() != null ? request.orderIds() : List.of()));
+    }
+
+    /**
+     * Import em massa de OS (CSV com cabeçalho ou NDJSON), lido em streaming.
+     * Responde em NDJSON: uma linha de progresso por lote, com os erros das
+     * linhas daquele lote, e uma última com done = true. Se o import for
+     * interrompido depois do início da resposta, a última linha traz o erro.
+     */
+    @PostMapping(value = "/orders/import", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+    @Operation(summary = "Import Orders", description = "Cria ordens em massa a partir de CSV ou NDJSON, respondendo o progresso em NDJSON")
+    public void importOrders(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body,
+            HttpServletResponse response) throws IOException {
+        UUID tenantId = currentUserProvider.requireCurrentUser().getTenantId();
+        ImportFormat format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? ImportFormat.NDJSON
+                : ImportFormat.CSV;
+        log.info("Importing orders ({}) for tenant {}", format, tenantId);
+
+        // Erros de cabeçalho saem antes de qualquer escrita, pelo handler padrão
+        ImportSource source = orderImportService.open(body, format);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+
+        ImportProgress[] last = new ImportProgress[1];
+        try {
+            orderImportService.run(source, tenantId, progress -> {
+                try {
+                    writeImportProgress(out, progress);
+                    last[0] = progress;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Cliente desconectou: não há para onde escrever a linha final
+            log.warn("Order import for tenant {} aborted: response closed ({})", tenantId, e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            // O status 200 já foi enviado: o erro vai numa última linha com done = true
+            log.error("Order import for tenant {} aborted: {}", tenantId, e.getMessage(), e);
+            writeImportProgress(out, ImportProgress.aborted(last[0],
+                    "Import interrompido; as linhas após o último progresso não foram processadas"));
+        }
+    }
+
     // ==================== BILLING ====================
 
     @GetMapping("/billing/subscription")
@@ -513,6 +654,55 @@ public class EmpresaController {
                 balances.stream().map(this::toCreditBalanceItem).toList()));
     }
 
+    // ========== Helper Methods for Orders ==========
+
+    private void writeImportProgress(OutputStream out, ImportProgress progress) throws IOException {
+        out.write(importProgressWriter.writeValueAsBytes(progress));
+        out.write('\n');
+        out.flush();
+    }
+
+    private static LocalDate parseDate(String value, String field) {
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, field + " inválido. Use AAAA-MM-DD.");
+        }
+    }
+
+    private static OsStatus parseStatus(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return OsStatus.fromValue(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Status inválido: " + value);
+        }
+    }
+
+    private static PriorityLevel parsePriority(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return PriorityLevel.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Prioridade inválida: " + value);
+        }
+    }
+
+    private static UUID parseUuid(String value, String field) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, field + " inválido");
+        }
+    }
+
     // ========== Helper Methods for Billing ==========
 
     private SubscriptionResponse toSubscriptionResponse(Subscription sub) {
@@ -600,6 +790,21 @@ public class EmpresaController {
             String scheduledStartTime) {
     }
 
+    public record BulkRescheduleRequest(List<BulkRescheduleItem> items) {
+    }
+
+    public record BulkRescheduleItem(
+            UUID orderId,
+            String scheduledDate,
+            String scheduledStartTime) {
+    }
+
+    public record BulkCancelRequest(List<UUID> orderIds, String reason) {
+    }
+
+    public record BulkOrderIdsRequest(List<UUID> orderIds) {
+    }
+
     // Billing DTOs
     public record SubscriptionResponse(
             String id,
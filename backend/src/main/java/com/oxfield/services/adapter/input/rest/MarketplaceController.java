@@ -1,11 +1,14 @@
 package com.oxfield.services.adapter.input.rest;
 
+import com.oxfield.services.application.service.MarketplaceCategoryCatalogue;
 import com.oxfield.services.application.service.MarketplaceListingService;
+import com.oxfield.services.application.service.MarketplaceListingService.ListingSuggestion;
 import com.oxfield.services.application.service.MarketplaceListingService.MarketplaceCategoryDto;
 import com.oxfield.services.application.service.MarketplaceListingService.PublicListingResponse;
 import com.oxfield.services.application.service.MarketplaceService;
 import com.oxfield.services.application.service.MarketplaceService.CompanySearchResult;
 import com.oxfield.services.application.service.MarketplaceService.SearchRequest;
+import com.oxfield.services.shared.pagination.CursorPage;
 import com.oxfield.services.shared.util.GeoUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,8 +17,10 @@ import org.locationtech.jts.geom.Point;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -79,7 +84,7 @@ public class MarketplaceController {
             @RequestParam(required = false) String categoryCode,
             @Parameter(description = "Filter by tenant/company ID")
             @RequestParam(required = false) UUID tenantId,
-            @Parameter(description = "Search in title and description")
+            @Parameter(description = "Full-text search in title, description, category and company (prefix match)")
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
@@ -91,10 +96,46 @@ public class MarketplaceController {
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping(value = "/listings", params = "cursor")
+    @Operation(summary = "Scroll service listings",
+            description = "Cursor (keyset) pagination for infinite scroll. Send an empty cursor for the first page, then the returned nextCursor")
+    public ResponseEntity<CursorPage<PublicListingResponse>> scrollListings(
+            @Parameter(description = "Filter by category code (e.g. hvac, electrical)")
+            @RequestParam(required = false) String categoryCode,
+            @Parameter(description = "Filter by tenant/company ID")
+            @RequestParam(required = false) UUID tenantId,
+            @Parameter(description = "Full-text search in title, description, category and company (prefix match)")
+            @RequestParam(required = false) String search,
+            @Parameter(description = "Opaque continuation token (empty for the first page)")
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(listingService.scrollListings(
+                categoryCode,
+                tenantId,
+                search,
+                cursor,
+                Math.min(Math.max(limit, 1), 100)));
+    }
+
+    @GetMapping("/listings/suggest")
+    @Operation(summary = "Autocomplete listings", description = "Prefix suggestions over title, description, category and company name")
+    public ResponseEntity<List<ListingSuggestion>> suggestListings(
+            @Parameter(description = "Text typed so far")
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(listingService.suggest(q, Math.min(Math.max(limit, 1), 20)));
+    }
+
     @GetMapping("/categories")
-    @Operation(summary = "List marketplace categories", description = "Distinct categories that have at least one active listing")
-    public ResponseEntity<List<MarketplaceCategoryDto>> getCategories() {
-        return ResponseEntity.ok(listingService.getCategories());
+    @Operation(summary = "List marketplace categories",
+            description = "Distinct categories that have at least one active listing. Supports If-None-Match (304)")
+    public ResponseEntity<List<MarketplaceCategoryDto>> getCategories(WebRequest webRequest) {
+        MarketplaceCategoryCatalogue.Snapshot catalogue = listingService.getCategories();
+        // Trata listas de ETags, "*" e validadores fracos (W/) como manda a RFC 9110
+        if (webRequest.checkNotModified(catalogue.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalogue.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(catalogue.etag()).body(catalogue.categories());
     }
 
     private CompanySearchResponse toResponse(CompanySearchResult result) {
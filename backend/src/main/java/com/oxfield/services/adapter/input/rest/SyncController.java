@@ -1,10 +1,21 @@
 package com.oxfield.services.adapter.input.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.oxfield.services.adapter.input.dto.request.SyncBatchRequest;
 import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse;
+import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse.SyncActionResult;
+import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse.SyncStatus;
 import com.oxfield.services.adapter.output.persistence.TechnicianRepository;
 import com.oxfield.services.application.service.LiveTrackingService;
+import com.oxfield.services.application.service.SyncPullService;
+import com.oxfield.services.application.service.SyncPullService.SyncPullResponse;
 import com.oxfield.services.application.service.SyncService;
+import com.oxfield.services.application.service.SyncService.StreamSummary;
+import com.oxfield.services.application.service.SyncUploadService;
+import com.oxfield.services.application.service.SyncUploadService.ChunkResult;
+import com.oxfield.services.application.service.SyncUploadService.CreateUploadRequest;
+import com.oxfield.services.application.service.SyncUploadService.UploadStatus;
 import com.oxfield.services.shared.exception.BusinessException;
 import com.oxfield.services.shared.exception.ErrorCode;
 import com.oxfield.services.shared.security.AppTypeGuard.RequiresTechApp;
@@ -13,11 +24,21 @@ import com.oxfield.services.shared.security.JwtUserDetails;
 import com.oxfield.services.shared.security.TechnicianOnboardingGuard.RequiresApprovedTechnician;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 /**
@@ -29,20 +50,33 @@ import java.util.UUID;
 @Tag(name = "Sync", description = "Sincronização offline-first para app mobile")
 public class SyncController {
 
+    private static final Logger log = LoggerFactory.getLogger(SyncController.class);
+
     private final SyncService syncService;
+    private final SyncUploadService uploadService;
+    private final SyncPullService pullService;
     private final LiveTrackingService trackingService;
     private final CurrentUserProvider currentUserProvider;
     private final TechnicianRepository technicianRepository;
+    private final ObjectWriter resultWriter;
+    private final ObjectWriter summaryWriter;
 
     public SyncController(
             SyncService syncService,
+            SyncUploadService uploadService,
+            SyncPullService pullService,
             LiveTrackingService trackingService,
             CurrentUserProvider currentUserProvider,
-            TechnicianRepository technicianRepository) {
+            TechnicianRepository technicianRepository,
+            ObjectMapper objectMapper) {
         this.syncService = syncService;
+        this.uploadService = uploadService;
+        this.pullService = pullService;
         this.trackingService = trackingService;
         this.currentUserProvider = currentUserProvider;
         this.technicianRepository = technicianRepository;
+        this.resultWriter = objectMapper.writerFor(SyncActionResult.class);
+        this.summaryWriter = objectMapper.writerFor(StreamSummary.class);
     }
 
     /**
@@ -67,6 +101,123 @@ public class SyncController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Sync em streaming para lotes muito grandes: uma ação JSON por linha (NDJSON).
+     * Os resultados são escritos como NDJSON à medida que cada janela termina, e
+     * uma última linha (StreamSummary, done = true) fecha a resposta; se o stream
+     * for interrompido depois do início da resposta, essa linha traz o erro.
+     * Escrito na thread do request (tenant e segurança já estão no contexto).
+     */
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @RequiresTechApp
+    @RequiresApprovedTechnician
+    @Operation(summary = "Sync Stream", description = "Processa ações NDJSON em janelas, respondendo em NDJSON")
+    public void processStream(InputStream body, HttpServletResponse response) throws IOException {
+        JwtUserDetails user = currentUserProvider.requireCurrentUser();
+        UUID technicianId = getTechnicianId(user.getUserId());
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+
+        int[] answered = new int[2]; // total, sucesso
+        StreamSummary summary;
+        try {
+            summary = syncService.processStream(body, technicianId, user.getTenantId(), results -> {
+                try {
+                    for (SyncActionResult result : results) {
+                        out.write(resultWriter.writeValueAsBytes(result));
+                        out.write('\n');
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                answered[0] += results.size();
+                answered[1] += (int) results.stream().filter(r -> r.status() == SyncStatus.SUCCESS).count();
+            });
+        } catch (UncheckedIOException e) {
+            // Cliente desconectou: não há para onde escrever a linha final
+            log.warn("Sync stream for technician {} aborted: response closed ({})", technicianId, e.getMessage());
+            return;
+        } catch (IOException | RuntimeException e) {
+            // O status 200 já foi enviado: o erro vai numa última linha com done = true
+            log.error("Sync stream for technician {} aborted: {}", technicianId, e.getMessage(), e);
+            summary = StreamSummary.aborted(answered[0], answered[1], ErrorCode.INTERNAL_ERROR,
+                    "Sync interrompido; reenvie as ações sem resultado");
+        }
+        writeSummary(out, summary);
+    }
+
+    /**
+     * Pull sync: OS, checklists, fotos e materiais alterados desde o cursor.
+     * Sem cursor devolve o snapshot inicial; repetir com nextCursor enquanto hasMore.
+     */
+    @GetMapping("/changes")
+    @RequiresTechApp
+    @RequiresApprovedTechnician
+    @Operation(summary = "Pull Changes", description = "Delta desde o cursor, com tombstones para remoções")
+    public ResponseEntity<SyncPullResponse> pullChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "500") int limit) {
+        JwtUserDetails user = currentUserProvider.requireCurrentUser();
+        UUID technicianId = getTechnicianId(user.getUserId());
+
+        return ResponseEntity.ok(pullService.pull(technicianId, cursor, Math.min(Math.max(limit, 1), 2000)));
+    }
+
+    /**
+     * Abre uma sessão de upload em partes para um anexo (foto) do sync.
+     */
+    @PostMapping("/uploads")
+    @RequiresTechApp
+    @RequiresApprovedTechnician
+    @Operation(summary = "Create Upload", description = "Cria sessão de upload retomável; a ação ADD_PHOTO referencia o uploadId")
+    public ResponseEntity<UploadStatus> createUpload(@RequestBody CreateUploadRequest request) {
+        JwtUserDetails user = currentUserProvider.requireCurrentUser();
+        UUID technicianId = getTechnicianId(user.getUserId());
+
+        UploadStatus status = uploadService.createUpload(technicianId, user.getTenantId(), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(status);
+    }
+
+    /**
+     * Offset confirmado do upload: o app retoma a partir de receivedBytes.
+     */
+    @GetMapping("/uploads/{uploadId}")
+    @RequiresTechApp
+    @RequiresApprovedTechnician
+    @Operation(summary = "Upload Status", description = "Retorna o offset confirmado para retomar o upload")
+    public ResponseEntity<UploadStatus> getUpload(@PathVariable UUID uploadId) {
+        JwtUserDetails user = currentUserProvider.requireCurrentUser();
+        UUID technicianId = getTechnicianId(user.getUserId());
+
+        return ResponseEntity.ok(uploadService.getStatus(uploadId, technicianId));
+    }
+
+    /**
+     * Recebe um chunk (corpo binário) a partir do offset informado em Upload-Offset.
+     * O corpo é lido em streaming, sem buffer do arquivo inteiro. Offset divergente
+     * retorna 409 com o offset correto.
+     */
+    @PutMapping(value = "/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @RequiresTechApp
+    @RequiresApprovedTechnician
+    @Operation(summary = "Upload Chunk", description = "Envia bytes do upload a partir do offset (header Upload-Offset)")
+    public ResponseEntity<UploadStatus> uploadChunk(
+            @PathVariable UUID uploadId,
+            @RequestHeader("Upload-Offset") long offset,
+            InputStream body) {
+        JwtUserDetails user = currentUserProvider.requireCurrentUser();
+        UUID technicianId = getTechnicianId(user.getUserId());
+
+        ChunkResult result = uploadService.appendChunk(uploadId, technicianId, offset, body);
+        return ResponseEntity
+                .status(result.accepted() ? HttpStatus.OK : HttpStatus.CONFLICT)
+                .body(result.upload());
+    }
+
     /**
      * Atualiza localização do técnico (streaming).
      */
@@ -85,6 +236,12 @@ public class SyncController {
         return ResponseEntity.ok().build();
     }
 
+    private void writeSummary(OutputStream out, StreamSummary summary) throws IOException {
+        out.write(summaryWriter.writeValueAsBytes(summary));
+        out.write('\n');
+        out.flush();
+    }
+
     private UUID getTechnicianId(UUID userId) {
         return technicianRepository.findByUserId(userId)
                 .orElseThrow(() -> new BusinessException(
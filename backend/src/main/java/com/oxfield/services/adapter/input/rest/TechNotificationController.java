@@ -1,9 +1,7 @@
 package com.oxfield.services.adapter.input.rest;
 
-import com.oxfield.services.adapter.output.persistence.NotificationRepository;
+import com.oxfield.services.application.service.NotificationService;
 import com.oxfield.services.domain.entity.Notification;
-import com.oxfield.services.shared.exception.BusinessException;
-import com.oxfield.services.shared.exception.ErrorCode;
 import com.oxfield.services.shared.security.AppTypeGuard.RequiresTechApp;
 import com.oxfield.services.shared.security.CurrentUserProvider;
 import com.oxfield.services.shared.security.JwtUserDetails;
@@ -23,6 +21,11 @@ import java.util.stream.Collectors;
 /**
  * Controller para notificações do técnico.
  * Extraído do TechnicianController para seguir SRP.
+ *
+ * Com o app conectado, novas notificações e leituras chegam por STOMP em
+ * /user/queue/notifications, cada mensagem com o contador de não lidas
+ * (unreadCount); a listagem e unread-count ficam para o cold start (e
+ * reconexões).
  */
 @RestController
 @RequestMapping("/tech")
@@ -32,13 +35,13 @@ public class TechNotificationController {
 
     private static final Logger log = LoggerFactory.getLogger(TechNotificationController.class);
 
-    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
     private final CurrentUserProvider currentUserProvider;
 
     public TechNotificationController(
-            NotificationRepository notificationRepository,
+            NotificationService notificationService,
             CurrentUserProvider currentUserProvider) {
-        this.notificationRepository = notificationRepository;
+        this.notificationService = notificationService;
         this.currentUserProvider = currentUserProvider;
     }
 
@@ -48,8 +51,7 @@ public class TechNotificationController {
     @Operation(summary = "Get Notifications", description = "Lista notificações do técnico")
     public ResponseEntity<List<NotificationResponse>> getNotifications() {
         JwtUserDetails user = currentUserProvider.requireCurrentUser();
-        List<Notification> notifications = notificationRepository
-                .findByUserIdOrderByCreatedAtDesc(user.getUserId());
+        List<Notification> notifications = notificationService.listForUser(user.getUserId());
 
         return ResponseEntity.ok(notifications.stream()
                 .map(n -> new NotificationResponse(
@@ -68,20 +70,29 @@ public class TechNotificationController {
     @Operation(summary = "Mark Read", description = "Marca notificação como lida")
     public ResponseEntity<Void> markNotificationRead(@PathVariable UUID id) {
         JwtUserDetails user = currentUserProvider.requireCurrentUser();
+        notificationService.markAsRead(user.getUserId(), id);
+        return ResponseEntity.ok().build();
+    }
 
-        Notification notification = notificationRepository.findById(id)
-                .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Notificação não encontrada"));
-
-        if (!notification.getUserId().equals(user.getUserId())) {
-            throw new BusinessException(ErrorCode.ACCESS_DENIED, "Esta notificação não pertence a você");
-        }
-
-        notification.markAsRead();
-        notificationRepository.save(notification);
-
+    @PostMapping("/notifications/read-all")
+    @RequiresTechApp
+    @RequiresApprovedTechnician
+    @Operation(summary = "Mark All Read", description = "Marca todas as notificações como lidas")
+    public ResponseEntity<Void> markAllNotificationsRead() {
+        JwtUserDetails user = currentUserProvider.requireCurrentUser();
+        notificationService.markAllAsRead(user.getUserId());
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/notifications/unread-count")
+    @RequiresTechApp
+    @RequiresApprovedTechnician
+    @Operation(summary = "Unread Count", description = "Quantidade de notificações não lidas")
+    public ResponseEntity<UnreadCountResponse> getUnreadCount() {
+        JwtUserDetails user = currentUserProvider.requireCurrentUser();
+        return ResponseEntity.ok(new UnreadCountResponse(notificationService.countUnread(user.getUserId())));
+    }
+
     // ==================== DTOs ====================
 
     public record NotificationResponse(
@@ -92,4 +103,7 @@ public class TechNotificationController {
             boolean read,
             String createdAt) {
     }
+
+    public record UnreadCountResponse(long unread) {
+    }
 }
@@ -1,7 +1,9 @@
 package com.oxfield.services.adapter.input.rest;
 
 import com.oxfield.services.adapter.output.persistence.*;
+import com.oxfield.services.adapter.output.persistence.ServiceOrderArchiver.ArchivedProgress;
 import com.oxfield.services.application.port.output.StoragePort;
+import com.oxfield.services.application.service.AgendaVersionTracker;
 import com.oxfield.services.application.service.OrderStateMachine;
 import com.oxfield.services.domain.entity.*;
 import com.oxfield.services.domain.enums.OsStatus;
@@ -20,9 +22,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
@@ -45,6 +50,7 @@ public class TechOrderController {
 
     private final TechnicianRepository technicianRepository;
     private final ServiceOrderRepository orderRepository;
+    private final OrderSummaryRepository summaryRepository;
     private final OrderStateMachine stateMachine;
     private final CurrentUserProvider currentUserProvider;
     private final OrderChecklistRepository checklistRepository;
@@ -52,19 +58,25 @@ public class TechOrderController {
     private final OrderMaterialRepository orderMaterialRepository;
     private final MaterialRepository materialRepository;
     private final StoragePort storagePort;
+    private final AgendaVersionTracker agendaVersions;
+    private final ServiceOrderArchiver orderArchiver;
 
     public TechOrderController(
             TechnicianRepository technicianRepository,
             ServiceOrderRepository orderRepository,
+            OrderSummaryRepository summaryRepository,
             OrderStateMachine stateMachine,
             CurrentUserProvider currentUserProvider,
             OrderChecklistRepository checklistRepository,
             OrderPhotoRepository photoRepository,
             OrderMaterialRepository orderMaterialRepository,
             MaterialRepository materialRepository,
-            StoragePort storagePort) {
+            StoragePort storagePort,
+            AgendaVersionTracker agendaVersions,
+            ServiceOrderArchiver orderArchiver) {
         this.technicianRepository = technicianRepository;
         this.orderRepository = orderRepository;
+        this.summaryRepository = summaryRepository;
         this.stateMachine = stateMachine;
         this.currentUserProvider = currentUserProvider;
         this.checklistRepository = checklistRepository;
@@ -72,6 +84,8 @@ public class TechOrderController {
         this.orderMaterialRepository = orderMaterialRepository;
         this.materialRepository = materialRepository;
         this.storagePort = storagePort;
+        this.agendaVersions = agendaVersions;
+        this.orderArchiver = orderArchiver;
     }
 
     // ==================== Agenda & Listagem ====================
@@ -81,11 +95,16 @@ public class TechOrderController {
     @RequiresApprovedTechnician
     @Operation(summary = "Agenda", description = "Lista ordens de serviço agendadas para o dia")
     public ResponseEntity<List<OrderSummaryResponse>> getAgenda(
-            @RequestParam(required = false) String date) {
-        Technician technician = getCurrentTechnician();
+            @RequestParam(required = false) String date,
+            WebRequest webRequest) {
         LocalDate targetDate = date != null ? LocalDate.parse(date) : LocalDate.now();
+        String etag = agendaEtag(targetDate);
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
 
-        List<ServiceOrder> orders = orderRepository.findByTechnicianIdAndScheduledDate(
+        Technician technician = getCurrentTechnician();
+        List<OrderSummary> orders = summaryRepository.findByTechnicianIdAndScheduledDateOrderByScheduledStartAsc(
                 technician.getId(), targetDate);
 
         log.info("Agenda: technicianId={}, date={}, count={}", technician.getId(), targetDate, orders.size());
@@ -94,22 +113,33 @@ public class TechOrderController {
                 .map(this::toOrderSummary)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(response);
     }
 
     @GetMapping("/orders/today")
     @RequiresTechApp
     @RequiresApprovedTechnician
     @Operation(summary = "OS do Dia", description = "Lista ordens de serviço agendadas para hoje")
-    public ResponseEntity<List<OrderSummaryResponse>> getTodayOrders() {
-        Technician technician = getCurrentTechnician();
+    public ResponseEntity<List<OrderSummaryResponse>> getTodayOrders(WebRequest webRequest) {
+        LocalDate today = LocalDate.now();
+        String etag = agendaEtag(today);
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
 
-        List<ServiceOrder> orders = orderRepository.findByTechnicianIdAndScheduledDate(
-                technician.getId(), LocalDate.now());
+        Technician technician = getCurrentTechnician();
+        List<OrderSummary> orders = summaryRepository.findByTechnicianIdAndScheduledDateOrderByScheduledStartAsc(
+                technician.getId(), today);
 
-        return ResponseEntity.ok(orders.stream()
-                .map(this::toOrderSummary)
-                .collect(Collectors.toList()));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(orders.stream()
+                        .map(this::toOrderSummary)
+                        .collect(Collectors.toList()));
     }
 
     @GetMapping("/orders/{orderId}")
@@ -117,7 +147,12 @@ public class TechOrderController {
     @RequiresApprovedTechnician
     @Operation(summary = "Detalhes OS", description = "Retorna detalhes completos de uma OS")
     public ResponseEntity<OrderDetailResponse> getOrderDetails(@PathVariable UUID orderId) {
-        ServiceOrder order = getOrder(orderId);
+        Optional<ServiceOrder> live = orderRepository.findByIdWithDetails(orderId);
+        if (live.isEmpty()) {
+            // OS arquivada (V26): continua no histórico, o detalhe sai do order_summary
+            return ResponseEntity.ok(toOrderDetail(getArchivedOrder(orderId)));
+        }
+        ServiceOrder order = live.get();
         validateOwnership(order);
         return ResponseEntity.ok(toOrderDetail(order));
     }
@@ -140,14 +175,14 @@ public class TechOrderController {
             LocalDate start = parseDateOrNull(startDate);
             LocalDate end = parseDateOrDefault(endDate, LocalDate.now());
 
-            Page<ServiceOrder> ordersPage;
+            Page<OrderSummary> ordersPage;
             if (start != null) {
-                ordersPage = orderRepository.findByTechnicianIdAndStatusInAndScheduledDateBetween(
+                ordersPage = summaryRepository.findTechnicianHistoryBetween(
                         technician.getId(),
                         List.of(OsStatus.COMPLETED, OsStatus.CANCELLED),
                         start, end, pageable);
             } else {
-                ordersPage = orderRepository.findByTechnicianIdAndStatusIn(
+                ordersPage = summaryRepository.findTechnicianHistory(
                         technician.getId(),
                         List.of(OsStatus.COMPLETED, OsStatus.CANCELLED),
                         pageable);
@@ -363,6 +398,22 @@ public class TechOrderController {
 
     // ==================== Helpers ====================
 
+    /**
+     * ETag da agenda do dia, calculado antes da leitura: se a versão mudar no
+     * meio, o cliente recebe dados novos com o ETag antigo e só refaz o GET.
+     */
+    private String agendaEtag(LocalDate date) {
+        JwtUserDetails user = currentUserProvider.requireCurrentUser();
+        return agendaVersions.etag(user.getUserId(), date);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .build();
+    }
+
     private Technician getCurrentTechnician() {
         JwtUserDetails user = currentUserProvider.requireCurrentUser();
         return technicianRepository.findByUserId(user.getUserId())
@@ -374,6 +425,20 @@ public class TechOrderController {
                 .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND, "OS não encontrada"));
     }
 
+    /**
+     * Linha do order_summary de uma OS arquivada atribuída ao técnico logado.
+     */
+    private OrderSummary getArchivedOrder(UUID orderId) {
+        OrderSummary summary = summaryRepository.findById(orderId)
+                .filter(s -> s.getArchivedAt() != null)
+                .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND, "OS não encontrada"));
+        Technician technician = getCurrentTechnician();
+        if (!technician.getId().equals(summary.getTechnicianId())) {
+            throw new BusinessException(ErrorCode.ACCESS_DENIED, "Esta OS não está atribuída a você");
+        }
+        return summary;
+    }
+
     private void validateOwnership(ServiceOrder order) {
         Technician technician = getCurrentTechnician();
         if (!technician.getId().equals(order.getTechnicianId())) {
@@ -401,29 +466,16 @@ public class TechOrderController {
         }
     }
 
-    private OrderSummaryResponse toOrderSummary(ServiceOrder order) {
-        String customerName = "Cliente";
-        String customerPhone = "";
-        if (order.getCustomer() != null && order.getCustomer().getUser() != null) {
-            try {
-                customerName = order.getCustomer().getUser().getName() != null
-                        ? order.getCustomer().getUser().getName()
-                        : "Cliente";
-                customerPhone = order.getCustomer().getUser().getPhone() != null
-                        ? order.getCustomer().getUser().getPhone()
-                        : "";
-            } catch (Exception e) {
-                log.debug("Could not get customer info for order {}", order.getId());
-            }
-        }
-
-        String address = order.getAddress() != null ? safeFullAddress(order.getAddress()) : "";
-        String categoryCode = order.getCategory() != null ? order.getCategory().getCode() : "GENERAL";
+    private OrderSummaryResponse toOrderSummary(OrderSummary order) {
+        String customerName = order.getCustomerName() != null ? order.getCustomerName() : "Cliente";
+        String customerPhone = order.getCustomerPhone() != null ? order.getCustomerPhone() : "";
+        String address = order.getAddressText() != null ? order.getAddressText() : "";
+        String categoryCode = order.getCategoryCode() != null ? order.getCategoryCode() : "GENERAL";
         String statusValue = order.getStatus() != null ? order.getStatus().getValue() : "scheduled";
         String priorityValue = order.getPriority() != null ? order.getPriority().getValue() : "medium";
 
         return new OrderSummaryResponse(
-                order.getId(),
+                order.getOrderId(),
                 order.getOsNumber() != null ? order.getOsNumber() : "",
                 order.getTitle() != null ? order.getTitle() : "",
                 categoryCode,
@@ -435,8 +487,8 @@ public class TechOrderController {
                 address,
                 customerName,
                 customerPhone,
-                order.getAddress() != null ? safeLatitude(order.getAddress()) : null,
-                order.getAddress() != null ? safeLongitude(order.getAddress()) : null,
+                order.getAddressLatitude(),
+                order.getAddressLongitude(),
                 order.getActualStart() != null ? order.getActualStart().toString() : null,
                 order.getActualEnd() != null ? order.getActualEnd().toString() : null);
     }
@@ -446,14 +498,9 @@ public class TechOrderController {
         String statusValue = order.getStatus() != null ? order.getStatus().getValue() : "scheduled";
         String priorityValue = order.getPriority() != null ? order.getPriority().getValue() : "medium";
 
-        // Fetch checklist from repository to avoid LazyInitializationException
-        int checklistProgress = checklistRepository.findByOrderId(order.getId())
-                .map(OrderChecklist::getCompletionPercentage)
-                .orElse(100);
-
-        // Check for after photo using repository to avoid LazyInitializationException
-        boolean hasAfterPhoto = photoRepository.findByOrderId(order.getId()).stream()
-                .anyMatch(p -> p.getCaption() != null && p.getCaption().toUpperCase().contains("AFTER"));
+        // Flags pré-calculadas na OS (V24): sem ler checklist nem fotos
+        int checklistProgress = order.getChecklistPercentage();
+        boolean hasAfterPhoto = order.hasAfterPhoto();
 
         return new OrderDetailResponse(
                 order.getId(),
@@ -484,36 +531,34 @@ public class TechOrderController {
                 order.hasSignature());
     }
 
-    private static String safeFullAddress(CustomerAddress address) {
-        if (address == null)
-            return null;
-        try {
-            return address.getFullAddress();
-        } catch (Exception e) {
-            return "";
-        }
-    }
-
-    private static Double safeLatitude(CustomerAddress address) {
-        if (address == null)
-            return null;
-        try {
-            Point loc = address.getLocation();
-            return loc != null ? GeoUtils.getLatitude(loc) : null;
-        } catch (Exception e) {
-            return null;
-        }
-    }
+    private OrderDetailResponse toOrderDetail(OrderSummary order) {
+        // Checklist, foto e assinatura não estão no read model: vêm da linha arquivada
+        ArchivedProgress progress = orderArchiver.findProgress(order.getOrderId())
+                .orElse(new ArchivedProgress(0, 0, false, false));
+        OrderSummaryResponse summary = toOrderSummary(order);
 
-    private static Double safeLongitude(CustomerAddress address) {
-        if (address == null)
-            return null;
-        try {
-            Point loc = address.getLocation();
-            return loc != null ? GeoUtils.getLongitude(loc) : null;
-        } catch (Exception e) {
-            return null;
-        }
+        return new OrderDetailResponse(
+                summary.id(),
+                summary.osNumber(),
+                summary.title(),
+                order.getDescription(),
+                summary.category(),
+                summary.status(),
+                summary.priority(),
+                summary.scheduledDate(),
+                summary.scheduledStart(),
+                summary.durationMinutes(),
+                order.getEstimatedPrice(),
+                order.getFinalPrice(),
+                new AddressResponse(
+                        null,
+                        summary.address(),
+                        null,
+                        order.getAddressLatitude(),
+                        order.getAddressLongitude()),
+                progress.checklistPercentage(),
+                progress.hasAfterPhoto(),
+                progress.hasSignature());
     }
 
     private OrderChecklist createDefaultChecklist(ServiceOrder order) {
@@ -0,0 +1,172 @@
+package com.oxfield.services.adapter.output.maps;
+
+import com.oxfield.services.application.port.output.MapsPort;
+import com.oxfield.services.shared.util.GeoUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.locationtech.jts.geom.Point;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decorator de cache para o MapsPort.
+ *
+ * Origem e destino são quantizados em células geohash; o par de células é a chave
+ * de um cache LRU limitado com expiração por TTL. Dispatch, marketplace e pricing
+ * repetem os mesmos pares técnico → cliente, então a segunda consulta não volta
+ * ao cálculo de rota (local ou Google Maps).
+ *
+ * getDistanceInMeters não passa pelo cache: é usado para validar chegada (raio de
+ * 200m) e precisa das coordenadas exatas.
+ *
+ * Desativável com oxfield.maps.cache.enabled=false (injeta-se o GoogleMapsAdapter).
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "oxfield.maps.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingMapsAdapter implements MapsPort {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingMapsAdapter.class);
+    private static final String METRIC_PREFIX = "oxfield.maps.distance.cache";
+
+    private final MapsPort delegate;
+    private final int geohashPrecision;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, CachedDistance> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+
+    public CachingMapsAdapter(
+            GoogleMapsAdapter delegate,
+            MeterRegistry meterRegistry,
+            @Value("${oxfield.maps.cache.geohash-precision:8}") int geohashPrecision,
+            @Value("${oxfield.maps.cache.max-entries:50000}") int maxEntries,
+            @Value("${oxfield.maps.cache.ttl:30m}") Duration ttl) {
+        this.delegate = delegate;
+        this.geohashPrecision = geohashPrecision;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+
+        this.hits = Counter.builder(METRIC_PREFIX + ".requests")
+                .tag("result", "hit")
+                .description("Consultas de distância servidas pelo cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_PREFIX + ".requests")
+                .tag("result", "miss")
+                .description("Consultas de distância delegadas ao provedor de rotas")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder(METRIC_PREFIX + ".evictions")
+                .tag("cause", "size")
+                .description("Entradas removidas por limite de tamanho (LRU)")
+                .register(meterRegistry);
+        this.expiredEvictions = Counter.builder(METRIC_PREFIX + ".evictions")
+                .tag("cause", "expired")
+                .description("Entradas removidas por TTL")
+                .register(meterRegistry);
+
+        // accessOrder = true -> a entrada mais antiga é a menos usada recentemente
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedDistance> eldest) {
+                if (size() > CachingMapsAdapter.this.maxEntries) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        Gauge.builder(METRIC_PREFIX + ".size", this, CachingMapsAdapter::size)
+                .description("Entradas atualmente no cache de distâncias")
+                .register(meterRegistry);
+
+        log.info("Distance cache enabled: geohash precision={}, max entries={}, ttl={}",
+                geohashPrecision, maxEntries, ttl);
+    }
+
+    @Override
+    public DistanceResult getDistance(Point origin, Point destination) {
+        if (origin == null || destination == null) {
+            return delegate.getDistance(origin, destination);
+        }
+
+        String key = cacheKey(origin, destination);
+        long now = System.nanoTime();
+
+        lock.lock();
+        try {
+            CachedDistance cached = entries.get(key);
+            if (cached != null) {
+                if (now - cached.storedAt() < ttlNanos) {
+                    hits.increment();
+                    return cached.result();
+                }
+                entries.remove(key);
+                expiredEvictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Calcula fora do lock: o provedor pode ser remoto
+        misses.increment();
+        DistanceResult result = delegate.getDistance(origin, destination);
+
+        lock.lock();
+        try {
+            entries.put(key, new CachedDistance(result, now));
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    @Override
+    public double getDistanceInMeters(Point origin, Point destination) {
+        return delegate.getDistanceInMeters(origin, destination);
+    }
+
+    /**
+     * Remove todas as entradas (ex.: após troca de provedor de rotas).
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String cacheKey(Point origin, Point destination) {
+        return GeoUtils.geohash(origin, geohashPrecision) + ':' + GeoUtils.geohash(destination, geohashPrecision);
+    }
+
+    private record CachedDistance(DistanceResult result, long storedAt) {
+    }
+}
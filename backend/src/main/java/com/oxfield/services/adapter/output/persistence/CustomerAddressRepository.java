@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,7 +25,29 @@ public interface CustomerAddressRepository extends JpaRepository<CustomerAddress
     @Query("SELECT a FROM CustomerAddress a WHERE a.customer.id = :customerId AND a.id != :excludeId ORDER BY a.id ASC")
     List<CustomerAddress> findOthersByCustomer(@Param("customerId") UUID customerId, @Param("excludeId") UUID excludeId, Pageable pageable);
 
+    /**
+     * Endereços dos clientes informados que estão vinculados ao tenant (import em
+     * lote). Clientes sem vínculo ou sem endereço não aparecem.
+     */
+    @Query("""
+            SELECT c.id AS customerId, c.userId AS customerUserId, a.id AS addressId, a.isDefault AS isDefault
+            FROM CustomerAddress a JOIN a.customer c
+            WHERE c.id IN :customerIds
+              AND EXISTS (SELECT 1 FROM TenantCustomer tc WHERE tc.tenantId = :tenantId AND tc.customerId = c.id)
+            ORDER BY c.id, a.id
+            """)
+    List<TenantCustomerAddressProjection> findTenantCustomerAddresses(
+            @Param("tenantId") UUID tenantId,
+            @Param("customerIds") Collection<UUID> customerIds);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query(value = "DELETE FROM customer_addresses WHERE id = ?1", nativeQuery = true)
     int deleteAddressById(UUID id);
+
+    interface TenantCustomerAddressProjection {
+        UUID getCustomerId();
+        UUID getCustomerUserId();
+        UUID getAddressId();
+        Boolean getIsDefault();
+    }
 }
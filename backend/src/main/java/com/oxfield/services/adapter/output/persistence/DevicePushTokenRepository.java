@@ -0,0 +1,60 @@
+package com.oxfield.services.adapter.output.persistence;
+
+import com.oxfield.services.domain.entity.DevicePushToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DevicePushTokenRepository extends JpaRepository<DevicePushToken, String> {
+
+    /**
+     * Registra o token para o usuário; se já existe (mesmo aparelho), reatribui
+     * e renova last_seen_at.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO device_push_tokens (token, user_id, tenant_id, app_type, created_at, last_seen_at)
+            VALUES (:token, CAST(:userId AS uuid), CAST(:tenantId AS uuid), :appType, NOW(), NOW())
+            ON CONFLICT (token) DO UPDATE SET
+                user_id = EXCLUDED.user_id,
+                tenant_id = EXCLUDED.tenant_id,
+                app_type = EXCLUDED.app_type,
+                last_seen_at = NOW()
+            """, nativeQuery = true)
+    void upsert(
+            @Param("token") String token,
+            @Param("userId") String userId,
+            @Param("tenantId") String tenantId,
+            @Param("appType") String appType);
+
+    /**
+     * Tokens dos destinatários de um lote de push, numa consulta.
+     */
+    @Query("SELECT t.userId AS userId, t.token AS token FROM DevicePushToken t WHERE t.userId IN :userIds")
+    List<UserTokenProjection> findTokensByUserIds(@Param("userIds") Collection<UUID> userIds);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DevicePushToken t WHERE t.userId = :userId AND t.token = :token")
+    int deleteByUserIdAndToken(@Param("userId") UUID userId, @Param("token") String token);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DevicePushToken t WHERE t.token IN :tokens")
+    int deleteByTokens(@Param("tokens") Collection<String> tokens);
+
+    interface UserTokenProjection {
+        UUID getUserId();
+
+        String getToken();
+    }
+}
@@ -2,7 +2,11 @@ package com.oxfield.services.adapter.output.persistence;
 
 import com.oxfield.services.domain.entity.Material;
 import com.oxfield.services.domain.enums.MaterialCategory;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -22,4 +26,12 @@ public interface MaterialRepository extends JpaRepository<Material, UUID> {
     List<Material> findByCategory(MaterialCategory category);
 
     List<Material> findByStockQuantityLessThan(Integer threshold);
+
+    /**
+     * Busca material com lock de escrita (SELECT ... FOR UPDATE).
+     * Usado ao baixar estoque, para que baixas concorrentes não se percam.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Material m WHERE m.id = :id")
+    Optional<Material> findByIdForUpdate(@Param("id") UUID id);
 }
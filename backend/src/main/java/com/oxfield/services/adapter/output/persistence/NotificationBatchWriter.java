@@ -0,0 +1,89 @@
+package com.oxfield.services.adapter.output.persistence;
+
+import com.oxfield.services.domain.enums.NotificationType;
+import com.oxfield.services.domain.enums.PriorityLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Inserção em lote de notificações via JDBC batch (um round-trip por lote).
+ *
+ * O lote roda num savepoint da transação do chamador (ou na própria transação,
+ * sem uma). Se falhar, por exemplo por um usuário removido, volta ao savepoint
+ * e grava linha a linha, também em savepoints, descartando só as linhas que
+ * falham.
+ */
+@Component
+public class NotificationBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationBatchWriter.class);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notifications (id, tenant_id, user_id, type, title, message, priority, is_read, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, FALSE, NOW(), NOW())
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate savepoint;
+
+    public NotificationBatchWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.savepoint = new TransactionTemplate(transactionManager);
+        this.savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    }
+
+    /**
+     * @return as linhas gravadas (todas, salvo as que falharam individualmente)
+     */
+    public List<Row> insertAll(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        try {
+            savepoint.executeWithoutResult(status -> batchInsert(rows));
+            return rows;
+        } catch (DataAccessException e) {
+            log.warn("Notification batch of {} rows failed, inserting one by one: {}", rows.size(), e.getMessage());
+        }
+
+        List<Row> written = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            try {
+                savepoint.executeWithoutResult(status -> batchInsert(List.of(row)));
+                written.add(row);
+            } catch (DataAccessException e) {
+                log.warn("Skipping notification for user {}: {}", row.userId(), e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    // ========== Private Methods ==========
+
+    private void batchInsert(List<Row> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows.stream()
+                .map(r -> new Object[] {
+                        r.id(), r.tenantId(), r.userId(), r.type().name(), r.title(), r.message(), r.priority().name() })
+                .toList());
+    }
+
+    public record Row(
+            UUID id,
+            UUID tenantId,
+            UUID userId,
+            NotificationType type,
+            String title,
+            String message,
+            PriorityLevel priority
+    ) {}
+}
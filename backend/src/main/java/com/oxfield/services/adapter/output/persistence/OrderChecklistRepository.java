@@ -4,10 +4,14 @@ import com.oxfield.services.domain.entity.OrderChecklist;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface OrderChecklistRepository extends JpaRepository<OrderChecklist, UUID> {
     Optional<OrderChecklist> findByOrderId(UUID orderId);
+
+    List<OrderChecklist> findByOrderIdIn(Collection<UUID> orderIds);
 }
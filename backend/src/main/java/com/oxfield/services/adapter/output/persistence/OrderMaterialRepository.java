@@ -2,12 +2,21 @@ package com.oxfield.services.adapter.output.persistence;
 
 import com.oxfield.services.domain.entity.OrderMaterial;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface OrderMaterialRepository extends JpaRepository<OrderMaterial, UUID> {
     List<OrderMaterial> findByOrderId(UUID orderId);
+
+    @Query("SELECT m FROM OrderMaterial m LEFT JOIN FETCH m.material WHERE m.orderId IN :orderIds")
+    List<OrderMaterial> findByOrderIdInWithMaterial(@Param("orderIds") Collection<UUID> orderIds);
+
+    @Query("SELECT m FROM OrderMaterial m LEFT JOIN FETCH m.material WHERE m.id IN :ids")
+    List<OrderMaterial> findByIdInWithMaterial(@Param("ids") Collection<UUID> ids);
 }
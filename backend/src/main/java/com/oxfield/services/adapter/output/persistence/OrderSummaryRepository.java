@@ -0,0 +1,231 @@
+package com.oxfield.services.adapter.output.persistence;
+
+import com.oxfield.services.domain.entity.OrderSummary;
+import com.oxfield.services.domain.enums.OsStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Consultas do read model order_summary. Não é TenantAwareEntity: as consultas
+ * por tenant recebem o tenant explicitamente.
+ *
+ * OS arquivadas (archived_at, V31) continuam em todas as listas; o detalhe
+ * delas, que não está mais em service_orders, é montado a partir desta linha.
+ */
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, UUID> {
+
+    List<OrderSummary> findByTechnicianIdAndScheduledDateOrderByScheduledStartAsc(
+            UUID technicianId, LocalDate scheduledDate);
+
+    @Query("""
+            SELECT s FROM OrderSummary s
+            WHERE s.technicianId = :technicianId AND s.status IN :statuses
+            ORDER BY s.scheduledDate DESC, s.scheduledStart DESC, s.orderId DESC
+            """)
+    Page<OrderSummary> findTechnicianHistory(
+            @Param("technicianId") UUID technicianId,
+            @Param("statuses") Collection<OsStatus> statuses,
+            Pageable pageable);
+
+    @Query("""
+            SELECT s FROM OrderSummary s
+            WHERE s.technicianId = :technicianId AND s.status IN :statuses
+              AND s.scheduledDate BETWEEN :startDate AND :endDate
+            ORDER BY s.scheduledDate DESC, s.scheduledStart DESC, s.orderId DESC
+            """)
+    Page<OrderSummary> findTechnicianHistoryBetween(
+            @Param("technicianId") UUID technicianId,
+            @Param("statuses") Collection<OsStatus> statuses,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
+
+    /**
+     * Histórico do cliente, paginado; status null = todos.
+     */
+    @Query(value = """
+            SELECT s.orderId AS orderId, s.osNumber AS osNumber, s.title AS title,
+                   s.categoryCode AS categoryCode, s.status AS status,
+                   s.scheduledDate AS scheduledDate, s.scheduledStart AS scheduledStart,
+                   s.estimatedPrice AS estimatedPrice, s.finalPrice AS finalPrice
+            FROM OrderSummary s
+            WHERE s.customerId = :customerId
+              AND (:status IS NULL OR s.status = :status)
+            ORDER BY s.scheduledDate DESC, s.scheduledStart DESC, s.orderId DESC
+            """, countQuery = """
+            SELECT COUNT(s) FROM OrderSummary s
+            WHERE s.customerId = :customerId
+              AND (:status IS NULL OR s.status = :status)
+            """)
+    Page<CustomerOrderProjection> findCustomerOrders(
+            @Param("customerId") UUID customerId,
+            @Param("status") OsStatus status,
+            Pageable pageable);
+
+    /**
+     * OS cobradas do cliente (final_price > 0), mais recentes primeiro.
+     */
+    @Query(value = """
+            SELECT s.orderId AS orderId, s.osNumber AS osNumber, s.title AS title,
+                   s.finalPrice AS finalPrice, s.actualEnd AS actualEnd
+            FROM OrderSummary s
+            WHERE s.customerId = :customerId AND s.finalPrice > 0
+            ORDER BY s.actualEnd DESC NULLS LAST, s.orderId DESC
+            """, countQuery = """
+            SELECT COUNT(s) FROM OrderSummary s
+            WHERE s.customerId = :customerId AND s.finalPrice > 0
+            """)
+    Page<CustomerPaymentProjection> findCustomerPayments(
+            @Param("customerId") UUID customerId,
+            Pageable pageable);
+
+    /**
+     * OS do tenant no dia. Sem status, as canceladas ficam de fora.
+     */
+    @Query("""
+            SELECT s FROM OrderSummary s
+            WHERE s.tenantId = :tenantId AND s.scheduledDate = :date
+              AND ((:status IS NULL AND s.status <> com.oxfield.services.domain.enums.OsStatus.CANCELLED)
+                   OR s.status = :status)
+              AND (:technicianId IS NULL OR s.technicianId = :technicianId)
+            ORDER BY s.scheduledStart ASC
+            """)
+    List<OrderSummary> findByTenantAndDate(
+            @Param("tenantId") UUID tenantId,
+            @Param("date") LocalDate date,
+            @Param("status") OsStatus status,
+            @Param("technicianId") UUID technicianId);
+
+    /**
+     * Busca do dispatch console (V25) com paginação keyset: (scheduled_date,
+     * scheduled_start, order_id), mais recentes primeiro. Todos os filtros são
+     * opcionais e passados como texto; a primeira página usa uma chave sentinela
+     * acima de qualquer linha. O texto casa por trecho no search_text (:likePattern)
+     * ou pelo tsvector (:tsQuery, de TextSearchUtils.toPrefixTsQuery; null quando o
+     * texto não tem termos, e to_tsquery(NULL) não casa nada).
+     */
+    @Query(value = """
+            SELECT s.* FROM order_summary s
+            WHERE s.tenant_id = CAST(:tenantId AS uuid)
+              AND (:status IS NULL OR s.status = :status)
+              AND (:technicianId IS NULL OR s.technician_id = CAST(:technicianId AS uuid))
+              AND (:categoryId IS NULL OR s.category_id = CAST(:categoryId AS uuid))
+              AND (:priority IS NULL OR s.priority = :priority)
+              AND (:dateFrom IS NULL OR s.scheduled_date >= CAST(:dateFrom AS date))
+              AND (:dateTo IS NULL OR s.scheduled_date <= CAST(:dateTo AS date))
+              AND (:likePattern IS NULL
+                   OR s.search_text LIKE unaccent(:likePattern)
+                   OR s.search_document @@ to_tsquery('simple', unaccent(:tsQuery)))
+              AND (s.scheduled_date, s.scheduled_start, s.order_id)
+                  < (CAST(:afterDate AS date), CAST(:afterStart AS time), CAST(:afterId AS uuid))
+            ORDER BY s.scheduled_date DESC, s.scheduled_start DESC, s.order_id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<OrderSummary> searchKeyset(
+            @Param("tenantId") String tenantId,
+            @Param("status") String status,
+            @Param("technicianId") String technicianId,
+            @Param("categoryId") String categoryId,
+            @Param("priority") String priority,
+            @Param("dateFrom") String dateFrom,
+            @Param("dateTo") String dateTo,
+            @Param("tsQuery") String tsQuery,
+            @Param("likePattern") String likePattern,
+            @Param("afterDate") String afterDate,
+            @Param("afterStart") String afterStart,
+            @Param("afterId") String afterId,
+            @Param("limit") int limit);
+
+    /**
+     * OS (fora do arquivo) que copiam dados do técnico, do cliente ou da categoria,
+     * para o refresh após mudança na origem.
+     */
+    @Query("SELECT s.orderId FROM OrderSummary s WHERE s.technicianId = :technicianId AND s.archivedAt IS NULL")
+    List<UUID> findLiveOrderIdsByTechnician(@Param("technicianId") UUID technicianId);
+
+    @Query("SELECT s.orderId FROM OrderSummary s WHERE s.customerId = :customerId AND s.archivedAt IS NULL")
+    List<UUID> findLiveOrderIdsByCustomer(@Param("customerId") UUID customerId);
+
+    @Query("SELECT s.orderId FROM OrderSummary s WHERE s.categoryId = :categoryId AND s.archivedAt IS NULL")
+    List<UUID> findLiveOrderIdsByCategory(@Param("categoryId") UUID categoryId);
+
+    /**
+     * Técnico (user id) e dia em que a OS aparece na agenda; vazio se não atribuída.
+     */
+    @Query("""
+            SELECT t.userId AS technicianUserId, s.scheduledDate AS scheduledDate
+            FROM OrderSummary s, Technician t
+            WHERE s.orderId = :orderId AND t.id = s.technicianId
+            """)
+    Optional<AgendaSlotProjection> findAgendaSlot(@Param("orderId") UUID orderId);
+
+    /**
+     * Nova versão da agenda do técnico no dia (V29), na transação corrente.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO agenda_versions (technician_user_id, scheduled_date, version, updated_at)
+            VALUES (CAST(:technicianUserId AS uuid), :scheduledDate, nextval('agenda_version_seq'), NOW())
+            ON CONFLICT (technician_user_id, scheduled_date) DO UPDATE SET
+                version = EXCLUDED.version,
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int bumpAgendaVersion(
+            @Param("technicianUserId") String technicianUserId,
+            @Param("scheduledDate") LocalDate scheduledDate);
+
+    @Query(value = """
+            SELECT version FROM agenda_versions
+            WHERE technician_user_id = CAST(:technicianUserId AS uuid) AND scheduled_date = :scheduledDate
+            """, nativeQuery = true)
+    Optional<Long> findAgendaVersion(
+            @Param("technicianUserId") String technicianUserId,
+            @Param("scheduledDate") LocalDate scheduledDate);
+
+    /**
+     * Recalcula a linha da OS a partir das tabelas de origem (V22).
+     * Retorna 0 se a OS não existe mais (a linha é removida).
+     */
+    @Query(value = "SELECT refresh_order_summary(CAST(:orderId AS uuid))", nativeQuery = true)
+    int refresh(@Param("orderId") String orderId);
+
+    interface CustomerOrderProjection {
+        UUID getOrderId();
+        String getOsNumber();
+        String getTitle();
+        String getCategoryCode();
+        OsStatus getStatus();
+        LocalDate getScheduledDate();
+        LocalTime getScheduledStart();
+        BigDecimal getEstimatedPrice();
+        BigDecimal getFinalPrice();
+    }
+
+    interface CustomerPaymentProjection {
+        UUID getOrderId();
+        String getOsNumber();
+        String getTitle();
+        BigDecimal getFinalPrice();
+        Instant getActualEnd();
+    }
+
+    interface AgendaSlotProjection {
+        UUID getTechnicianUserId();
+        LocalDate getScheduledDate();
+    }
+}
@@ -0,0 +1,31 @@
+package com.oxfield.services.adapter.output.persistence;
+
+import com.oxfield.services.domain.entity.OsNumberSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Repository
+public interface OsNumberSequenceRepository extends JpaRepository<OsNumberSequence, UUID> {
+
+    /**
+     * Reserva blockSize números do tenant e retorna o primeiro do bloco.
+     * Transação própria: o lock da linha dura só o UPDATE, e o bloco continua
+     * reservado mesmo se a criação da OS fizer rollback (fica um buraco na numeração).
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = """
+            INSERT INTO os_number_sequences (tenant_id, next_value, updated_at)
+            VALUES (CAST(:tenantId AS uuid), 1 + :blockSize, NOW())
+            ON CONFLICT (tenant_id) DO UPDATE
+                SET next_value = os_number_sequences.next_value + :blockSize,
+                    updated_at = NOW()
+            RETURNING next_value - :blockSize
+            """, nativeQuery = true)
+    long reserveBlock(@Param("tenantId") String tenantId, @Param("blockSize") int blockSize);
+}
@@ -0,0 +1,37 @@
+package com.oxfield.services.adapter.output.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Inserção em lote no outbox via JDBC batch, na transação do chamador.
+ * Com reWriteBatchedInserts o driver envia o lote como INSERTs multi-linha.
+ */
+@Component
+public class OutboxBatchWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO outbox_events (event_type, aggregate_id, payload)
+            VALUES (?, CAST(? AS uuid), CAST(? AS jsonb))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void appendAll(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows.stream()
+                .map(r -> new Object[] { r.eventType(), r.aggregateId(), r.payload() })
+                .toList());
+    }
+
+    public record Row(String eventType, String aggregateId, String payload) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.oxfield.services.adapter.output.persistence;
+
+import com.oxfield.services.domain.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Grava o evento na transação corrente (a mesma da mudança de domínio).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO outbox_events (event_type, aggregate_id, payload)
+            VALUES (:eventType, CAST(:aggregateId AS uuid), CAST(:payload AS jsonb))
+            """, nativeQuery = true)
+    int append(
+            @Param("eventType") String eventType,
+            @Param("aggregateId") String aggregateId,
+            @Param("payload") String payload);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO outbox_consumers (handler) VALUES (:handler)
+            ON CONFLICT (handler) DO NOTHING
+            """, nativeQuery = true)
+    int registerConsumer(@Param("handler") String handler);
+
+    /**
+     * Posição do handler com lock da linha; vazio se outro nó está processando o handler.
+     */
+    @Query(value = """
+            SELECT CAST(c.last_txid AS text) AS lastTxid,
+                   c.last_id AS lastId,
+                   c.failed_attempts AS failedAttempts
+            FROM outbox_consumers c
+            WHERE c.handler = :handler
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<ConsumerPosition> lockConsumer(@Param("handler") String handler);
+
+    /**
+     * xmin do snapshot atual: toda transação com txid menor já terminou.
+     */
+    @Query(value = "SELECT CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text)", nativeQuery = true)
+    String currentSnapshotXmin();
+
+    /**
+     * Eventos após a posição (txid, id) e antes de upperTxid, na ordem de gravação.
+     */
+    @Query(value = """
+            SELECT CAST(e.txid AS text) AS txid,
+                   e.id AS id,
+                   e.event_type AS eventType,
+                   CAST(e.payload AS text) AS payload
+            FROM outbox_events e
+            WHERE (e.txid, e.id) > (CAST(:afterTxid AS xid8), :afterId)
+              AND e.txid < CAST(:upperTxid AS xid8)
+            ORDER BY e.txid, e.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<EventRow> findEventsAfter(
+            @Param("afterTxid") String afterTxid,
+            @Param("afterId") long afterId,
+            @Param("upperTxid") String upperTxid,
+            @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+            UPDATE outbox_consumers
+            SET last_txid = CAST(:txid AS xid8), last_id = :id,
+                failed_attempts = 0, last_error = NULL, updated_at = NOW()
+            WHERE handler = :handler
+            """, nativeQuery = true)
+    int advanceConsumer(
+            @Param("handler") String handler,
+            @Param("txid") String txid,
+            @Param("id") long id);
+
+    @Modifying
+    @Query(value = """
+            UPDATE outbox_consumers
+            SET failed_attempts = failed_attempts + 1, last_error = :error, updated_at = NOW()
+            WHERE handler = :handler
+            """, nativeQuery = true)
+    int recordFailure(@Param("handler") String handler, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+
+    interface ConsumerPosition {
+        String getLastTxid();
+        Long getLastId();
+        Integer getFailedAttempts();
+    }
+
+    interface EventRow {
+        String getTxid();
+        Long getId();
+        String getEventType();
+        String getPayload();
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,6 +24,48 @@ public interface ServiceListingRepository extends JpaRepository<ServiceListing,
     Optional<ServiceListing> findByIdAndTenantId(UUID id, UUID tenantId);
 
     /** Public marketplace: native query to avoid tenant filter. */
+    @Query(value = "SELECT sl.id AS \"listingId\", sl.tenant_id AS \"tenantId\", sl.category_id AS \"categoryId\", " +
+            "sl.title, sl.description, sl.price_from AS \"priceFrom\", sl.image_url AS \"imageUrl\", " +
+            "c.name AS \"categoryName\", c.code AS \"categoryCode\", " +
+            "t.name AS \"companyName\", t.logo_url AS \"logoUrl\", " +
+            "COALESCE(t.average_rating, 5.0) AS rating, COALESCE(t.total_reviews, 0) AS \"totalReviews\" " +
+            "FROM service_listings sl " +
+            "JOIN service_categories c ON c.id = sl.category_id " +
+            "JOIN tenants t ON t.id = sl.tenant_id " +
+            "WHERE sl.active = true AND t.status = 'ACTIVE' " +
+            "AND (:categoryCode IS NULL OR :categoryCode = '' OR LOWER(c.code) = LOWER(CAST(:categoryCode AS text)))",
+            countQuery = "SELECT COUNT(sl.id) FROM service_listings sl JOIN service_categories c ON c.id = sl.category_id JOIN tenants t ON t.id = sl.tenant_id " +
+                    "WHERE sl.active = true AND t.status = 'ACTIVE' " +
+                    "AND (:categoryCode IS NULL OR :categoryCode = '' OR LOWER(c.code) = LOWER(CAST(:categoryCode AS text)))",
+            nativeQuery = true)
+    Page<PublicListingProjection> findActiveListingsPublic(
+            @Param("categoryCode") String categoryCode,
+            Pageable pageable);
+
+    @Query(value = "SELECT sl.id AS \"listingId\", sl.tenant_id AS \"tenantId\", sl.category_id AS \"categoryId\", " +
+            "sl.title, sl.description, sl.price_from AS \"priceFrom\", sl.image_url AS \"imageUrl\", " +
+            "c.name AS \"categoryName\", c.code AS \"categoryCode\", " +
+            "t.name AS \"companyName\", t.logo_url AS \"logoUrl\", " +
+            "COALESCE(t.average_rating, 5.0) AS rating, COALESCE(t.total_reviews, 0) AS \"totalReviews\" " +
+            "FROM service_listings sl " +
+            "JOIN service_categories c ON c.id = sl.category_id " +
+            "JOIN tenants t ON t.id = sl.tenant_id " +
+            "WHERE sl.active = true AND t.status = 'ACTIVE' AND sl.tenant_id = CAST(:tenantId AS uuid) " +
+            "AND (:categoryCode IS NULL OR :categoryCode = '' OR LOWER(c.code) = LOWER(CAST(:categoryCode AS text)))",
+            countQuery = "SELECT COUNT(sl.id) FROM service_listings sl JOIN service_categories c ON c.id = sl.category_id JOIN tenants t ON t.id = sl.tenant_id " +
+                    "WHERE sl.active = true AND t.status = 'ACTIVE' AND sl.tenant_id = CAST(:tenantId AS uuid) " +
+                    "AND (:categoryCode IS NULL OR :categoryCode = '' OR LOWER(c.code) = LOWER(CAST(:categoryCode AS text)))",
+            nativeQuery = true)
+    Page<PublicListingProjection> findActiveListingsPublicByTenant(
+            @Param("tenantId") UUID tenantId,
+            @Param("categoryCode") String categoryCode,
+            Pageable pageable);
+
+    /**
+     * Public marketplace full-text search (see V14): tsvector prefix match over title,
+     * category, company and description, ranked by ts_rank_cd; trigram similarity on the
+     * title catches typos the tsquery misses. :tsQuery comes from TextSearchUtils.toPrefixTsQuery.
+     */
     @Query(value = "SELECT sl.id AS \"listingId\", sl.tenant_id AS \"tenantId\", sl.category_id AS \"categoryId\", " +
             "sl.title, sl.description, sl.price_from AS \"priceFrom\", sl.image_url AS \"imageUrl\", " +
             "c.name AS \"categoryName\", c.code AS \"categoryCode\", " +
@@ -33,14 +76,17 @@ public interface ServiceListingRepository extends JpaRepository<ServiceListing,
             "JOIN tenants t ON t.id = sl.tenant_id " +
             "WHERE sl.active = true AND t.status = 'ACTIVE' " +
             "AND (:categoryCode IS NULL OR :categoryCode = '' OR LOWER(c.code) = LOWER(CAST(:categoryCode AS text))) " +
-            "AND (:search IS NULL OR :search = '' OR LOWER(sl.title) LIKE LOWER('%' || COALESCE(:search, '') || '%') OR LOWER(COALESCE(sl.description, '')) LIKE LOWER('%' || COALESCE(:search, '') || '%'))",
+            "AND (sl.search_document @@ to_tsquery('simple', unaccent(:tsQuery)) OR LOWER(sl.title) % LOWER(:search)) " +
+            "ORDER BY ts_rank_cd(sl.search_document, to_tsquery('simple', unaccent(:tsQuery))) DESC, " +
+            "similarity(LOWER(sl.title), LOWER(:search)) DESC, sl.id",
             countQuery = "SELECT COUNT(sl.id) FROM service_listings sl JOIN service_categories c ON c.id = sl.category_id JOIN tenants t ON t.id = sl.tenant_id " +
                     "WHERE sl.active = true AND t.status = 'ACTIVE' " +
                     "AND (:categoryCode IS NULL OR :categoryCode = '' OR LOWER(c.code) = LOWER(CAST(:categoryCode AS text))) " +
-                    "AND (:search IS NULL OR :search = '' OR LOWER(sl.title) LIKE LOWER('%' || COALESCE(:search, '') || '%') OR LOWER(COALESCE(sl.description, '')) LIKE LOWER('%' || COALESCE(:search, '') || '%'))",
+                    "AND (sl.search_document @@ to_tsquery('simple', unaccent(:tsQuery)) OR LOWER(sl.title) % LOWER(:search))",
             nativeQuery = true)
-    Page<PublicListingProjection> findActiveListingsPublic(
+    Page<PublicListingProjection> searchActiveListingsPublic(
             @Param("categoryCode") String categoryCode,
+            @Param("tsQuery") String tsQuery,
             @Param("search") String search,
             Pageable pageable);
 
@@ -54,24 +100,108 @@ public interface ServiceListingRepository extends JpaRepository<ServiceListing,
             "JOIN tenants t ON t.id = sl.tenant_id " +
             "WHERE sl.active = true AND t.status = 'ACTIVE' AND sl.tenant_id = CAST(:tenantId AS uuid) " +
             "AND (:categoryCode IS NULL OR :categoryCode = '' OR LOWER(c.code) = LOWER(CAST(:categoryCode AS text))) " +
-            "AND (:search IS NULL OR :search = '' OR LOWER(sl.title) LIKE LOWER('%' || COALESCE(:search, '') || '%') OR LOWER(COALESCE(sl.description, '')) LIKE LOWER('%' || COALESCE(:search, '') || '%'))",
+            "AND (sl.search_document @@ to_tsquery('simple', unaccent(:tsQuery)) OR LOWER(sl.title) % LOWER(:search)) " +
+            "ORDER BY ts_rank_cd(sl.search_document, to_tsquery('simple', unaccent(:tsQuery))) DESC, " +
+            "similarity(LOWER(sl.title), LOWER(:search)) DESC, sl.id",
             countQuery = "SELECT COUNT(sl.id) FROM service_listings sl JOIN service_categories c ON c.id = sl.category_id JOIN tenants t ON t.id = sl.tenant_id " +
                     "WHERE sl.active = true AND t.status = 'ACTIVE' AND sl.tenant_id = CAST(:tenantId AS uuid) " +
                     "AND (:categoryCode IS NULL OR :categoryCode = '' OR LOWER(c.code) = LOWER(CAST(:categoryCode AS text))) " +
-                    "AND (:search IS NULL OR :search = '' OR LOWER(sl.title) LIKE LOWER('%' || COALESCE(:search, '') || '%') OR LOWER(COALESCE(sl.description, '')) LIKE LOWER('%' || COALESCE(:search, '') || '%'))",
+                    "AND (sl.search_document @@ to_tsquery('simple', unaccent(:tsQuery)) OR LOWER(sl.title) % LOWER(:search))",
             nativeQuery = true)
-    Page<PublicListingProjection> findActiveListingsPublicByTenant(
+    Page<PublicListingProjection> searchActiveListingsPublicByTenant(
             @Param("tenantId") UUID tenantId,
             @Param("categoryCode") String categoryCode,
+            @Param("tsQuery") String tsQuery,
             @Param("search") String search,
             Pageable pageable);
 
-    /** Distinct category codes that have at least one active listing. */
-    @Query(value = "SELECT DISTINCT c.code, c.name FROM service_listings sl " +
+    /**
+     * Keyset browse for infinite scroll: newest first, (created_at, id) as the stable key.
+     * First page passes a sentinel key above every row (see MarketplaceListingService).
+     * :tenantId is optional and passed as text.
+     */
+    @Query(value = "SELECT sl.id AS \"listingId\", sl.tenant_id AS \"tenantId\", sl.category_id AS \"categoryId\", " +
+            "sl.title, sl.description, sl.price_from AS \"priceFrom\", sl.image_url AS \"imageUrl\", " +
+            "c.name AS \"categoryName\", c.code AS \"categoryCode\", " +
+            "t.name AS \"companyName\", t.logo_url AS \"logoUrl\", " +
+            "COALESCE(t.average_rating, 5.0) AS rating, COALESCE(t.total_reviews, 0) AS \"totalReviews\", " +
+            "CAST(EXTRACT(EPOCH FROM sl.created_at) * 1000000 AS bigint) AS \"createdAtMicros\", " +
+            "CAST(0 AS double precision) AS score " +
+            "FROM service_listings sl " +
             "JOIN service_categories c ON c.id = sl.category_id " +
             "JOIN tenants t ON t.id = sl.tenant_id " +
-            "WHERE sl.active = true AND t.status = 'ACTIVE' ORDER BY c.name", nativeQuery = true)
-    List<Object[]> findDistinctCategoryCodesWithActiveListings();
+            "WHERE sl.active = true AND t.status = 'ACTIVE' " +
+            "AND (:tenantId IS NULL OR sl.tenant_id = CAST(:tenantId AS uuid)) " +
+            "AND (:categoryCode IS NULL OR :categoryCode = '' OR LOWER(c.code) = LOWER(CAST(:categoryCode AS text))) " +
+            "AND (sl.created_at, sl.id) < (:afterCreatedAt, CAST(:afterId AS uuid)) " +
+            "ORDER BY sl.created_at DESC, sl.id DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<ListingKeysetProjection> findActiveListingsPublicKeyset(
+            @Param("tenantId") String tenantId,
+            @Param("categoryCode") String categoryCode,
+            @Param("afterCreatedAt") Instant afterCreatedAt,
+            @Param("afterId") String afterId,
+            @Param("limit") int limit);
+
+    /**
+     * Keyset full-text search: (score, id) as the key, score = ts_rank_cd + title trigram
+     * similarity (same signals as searchActiveListingsPublic, folded into one sortable value).
+     * The score is not indexable: every page scores all matches (GIN/trigram lookups) and
+     * keeps the top :limit past the cursor, so page cost grows with the match count, not
+     * with the page depth.
+     */
+    @Query(value = "SELECT ranked.* FROM (" +
+            "SELECT sl.id AS \"listingId\", sl.tenant_id AS \"tenantId\", sl.category_id AS \"categoryId\", " +
+            "sl.title, sl.description, sl.price_from AS \"priceFrom\", sl.image_url AS \"imageUrl\", " +
+            "c.name AS \"categoryName\", c.code AS \"categoryCode\", " +
+            "t.name AS \"companyName\", t.logo_url AS \"logoUrl\", " +
+            "COALESCE(t.average_rating, 5.0) AS rating, COALESCE(t.total_reviews, 0) AS \"totalReviews\", " +
+            "CAST(EXTRACT(EPOCH FROM sl.created_at) * 1000000 AS bigint) AS \"createdAtMicros\", " +
+            "CAST(ts_rank_cd(sl.search_document, to_tsquery('simple', unaccent(:tsQuery))) AS double precision) " +
+            "+ CAST(similarity(LOWER(sl.title), LOWER(:search)) AS double precision) AS score " +
+            "FROM service_listings sl " +
+            "JOIN service_categories c ON c.id = sl.category_id " +
+            "JOIN tenants t ON t.id = sl.tenant_id " +
+            "WHERE sl.active = true AND t.status = 'ACTIVE' " +
+            "AND (:tenantId IS NULL OR sl.tenant_id = CAST(:tenantId AS uuid)) " +
+            "AND (:categoryCode IS NULL OR :categoryCode = '' OR LOWER(c.code) = LOWER(CAST(:categoryCode AS text))) " +
+            "AND (sl.search_document @@ to_tsquery('simple', unaccent(:tsQuery)) OR LOWER(sl.title) % LOWER(:search))" +
+            ") ranked " +
+            "WHERE ranked.score < :afterScore OR (ranked.score = :afterScore AND ranked.\"listingId\" > CAST(:afterId AS uuid)) " +
+            "ORDER BY ranked.score DESC, ranked.\"listingId\" " +
+            "LIMIT :limit", nativeQuery = true)
+    List<ListingKeysetProjection> searchActiveListingsPublicKeyset(
+            @Param("tenantId") String tenantId,
+            @Param("categoryCode") String categoryCode,
+            @Param("tsQuery") String tsQuery,
+            @Param("search") String search,
+            @Param("afterScore") double afterScore,
+            @Param("afterId") String afterId,
+            @Param("limit") int limit);
+
+    /** Autocomplete: best-ranked active listings for a prefix query (lightweight columns only). */
+    @Query(value = "SELECT sl.id AS \"listingId\", sl.title, c.name AS \"categoryName\", t.name AS \"companyName\" " +
+            "FROM service_listings sl " +
+            "JOIN service_categories c ON c.id = sl.category_id " +
+            "JOIN tenants t ON t.id = sl.tenant_id " +
+            "WHERE sl.active = true AND t.status = 'ACTIVE' " +
+            "AND sl.search_document @@ to_tsquery('simple', unaccent(:tsQuery)) " +
+            "ORDER BY ts_rank_cd(sl.search_document, to_tsquery('simple', unaccent(:tsQuery))) DESC, sl.title " +
+            "LIMIT :limit", nativeQuery = true)
+    List<ListingSuggestionProjection> suggestActiveListings(
+            @Param("tsQuery") String tsQuery,
+            @Param("limit") int limit);
+
+    /**
+     * (listing id, category code, category name) of every active listing of an active tenant.
+     * Used to (re)build the in-memory marketplace category catalogue.
+     * CAST para varchar evita problemas de mapeamento UUID em native query.
+     */
+    @Query(value = "SELECT CAST(sl.id AS varchar), c.code, c.name FROM service_listings sl " +
+            "JOIN service_categories c ON c.id = sl.category_id " +
+            "JOIN tenants t ON t.id = sl.tenant_id " +
+            "WHERE sl.active = true AND t.status = 'ACTIVE'", nativeQuery = true)
+    List<Object[]> findActiveListingCategories();
 
     interface PublicListingProjection {
         UUID getListingId();
@@ -88,4 +218,16 @@ public interface ServiceListingRepository extends JpaRepository<ServiceListing,
         Double getRating();
         Integer getTotalReviews();
     }
+
+    interface ListingKeysetProjection extends PublicListingProjection {
+        Long getCreatedAtMicros();
+        Double getScore();
+    }
+
+    interface ListingSuggestionProjection {
+        UUID getListingId();
+        String getTitle();
+        String getCategoryName();
+        String getCompanyName();
+    }
 }
@@ -0,0 +1,66 @@
+package com.oxfield.services.adapter.output.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Move OS finalizadas antigas para service_orders_archive (V26).
+ *
+ * Cada chamada é uma transação própria (a função faz seleção, cópia e DELETE
+ * num único statement), então um lote nunca fica pela metade.
+ *
+ * Também lê do arquivo o que o order_summary não guarda, para o detalhe de
+ * uma OS arquivada.
+ */
+@Component
+public class ServiceOrderArchiver {
+
+    private static final String ARCHIVE_SQL = "SELECT archive_service_orders(?, ?)";
+    private static final String PROGRESS_SQL = """
+            SELECT COALESCE((order_data->>'checklist_done')::int, 0) AS checklist_done,
+                   COALESCE((order_data->>'checklist_total')::int, 0) AS checklist_total,
+                   COALESCE((order_data->>'has_after_photo')::boolean, FALSE) AS has_after_photo,
+                   COALESCE(order_data->>'signature', '') <> '' AS has_signature
+            FROM service_orders_archive
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ServiceOrderArchiver(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return quantas OS foram movidas (0 se não há mais ou se outro nó está arquivando)
+     */
+    public int archiveBatch(LocalDate before, int limit) {
+        Integer moved = jdbcTemplate.queryForObject(ARCHIVE_SQL, Integer.class, before, limit);
+        return moved != null ? moved : 0;
+    }
+
+    /**
+     * Flags de execução (V24) gravadas na linha arquivada; vazio se a OS não está no arquivo.
+     */
+    public Optional<ArchivedProgress> findProgress(UUID orderId) {
+        List<ArchivedProgress> rows = jdbcTemplate.query(PROGRESS_SQL, (rs, i) -> new ArchivedProgress(
+                rs.getInt("checklist_done"),
+                rs.getInt("checklist_total"),
+                rs.getBoolean("has_after_photo"),
+                rs.getBoolean("has_signature")), orderId);
+        return rows.stream().findFirst();
+    }
+
+    public record ArchivedProgress(int checklistDone, int checklistTotal, boolean hasAfterPhoto, boolean hasSignature) {
+
+        /** Mesma regra de ServiceOrder.getChecklistPercentage. */
+        public int checklistPercentage() {
+            return checklistTotal == 0 ? 100 : (checklistDone * 100) / checklistTotal;
+        }
+    }
+}
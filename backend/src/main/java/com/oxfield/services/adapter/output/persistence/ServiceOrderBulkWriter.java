@@ -0,0 +1,109 @@
+package com.oxfield.services.adapter.output.persistence;
+
+import com.oxfield.services.domain.enums.OsStatus;
+import com.oxfield.services.domain.enums.PriorityLevel;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Alterações em lote de OS via JDBC batch (um round-trip por lote, sem carregar
+ * entidades). Deve rodar dentro da transação JPA do chamador: o JdbcTemplate usa
+ * a mesma conexão.
+ *
+ * insert() é usado pelo import de OS, com as referências já validadas pelo chamador.
+ *
+ * Cada UPDATE exige o status lido na validação (expectedStatus); um count 0 no
+ * retorno indica que a OS mudou no meio e a alteração não foi aplicada.
+ */
+@Component
+public class ServiceOrderBulkWriter {
+
+    private static final String RESCHEDULE_SQL = """
+            UPDATE service_orders
+            SET scheduled_date = ?, scheduled_start = ?, updated_at = NOW()
+            WHERE id = ? AND tenant_id = ? AND status = ?
+            """;
+
+    private static final String CANCEL_SQL = """
+            UPDATE service_orders
+            SET status = 'CANCELLED', updated_at = NOW()
+            WHERE id = ? AND tenant_id = ? AND status = ?
+            """;
+
+    private static final String UNASSIGN_SQL = """
+            UPDATE service_orders
+            SET technician_id = NULL, updated_at = NOW()
+            WHERE id = ? AND tenant_id = ? AND status = 'SCHEDULED'
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO service_orders (
+                id, tenant_id, os_number, title, description, category_id, status, priority,
+                customer_id, address_id, technician_id, scheduled_date, scheduled_start,
+                scheduled_duration, estimated_price, share_token, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, 'SCHEDULED', ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW())
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ServiceOrderBulkWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int[] insert(UUID tenantId, List<NewOrder> orders) {
+        return jdbcTemplate.batchUpdate(INSERT_SQL, orders.stream()
+                .map(o -> new Object[] {
+                        o.orderId(), tenantId, o.osNumber(), o.title(), o.description(), o.categoryId(),
+                        o.priority().name(), o.customerId(), o.addressId(), o.technicianId(),
+                        o.date(), o.startTime(), o.durationMinutes(), o.estimatedPrice(), o.shareToken() })
+                .toList());
+    }
+
+    public int[] reschedule(UUID tenantId, List<Reschedule> changes) {
+        return jdbcTemplate.batchUpdate(RESCHEDULE_SQL, changes.stream()
+                .map(c -> new Object[] {
+                        c.date(), c.startTime(), c.orderId(), tenantId, c.expectedStatus().name() })
+                .toList());
+    }
+
+    public int[] cancel(UUID tenantId, List<StatusGuard> targets) {
+        return jdbcTemplate.batchUpdate(CANCEL_SQL, targets.stream()
+                .map(t -> new Object[] { t.orderId(), tenantId, t.expectedStatus().name() })
+                .toList());
+    }
+
+    public int[] unassign(UUID tenantId, List<UUID> orderIds) {
+        return jdbcTemplate.batchUpdate(UNASSIGN_SQL, orderIds.stream()
+                .map(id -> new Object[] { id, tenantId })
+                .toList());
+    }
+
+    public record NewOrder(
+            UUID orderId,
+            String osNumber,
+            String title,
+            String description,
+            UUID categoryId,
+            PriorityLevel priority,
+            UUID customerId,
+            UUID addressId,
+            UUID technicianId,
+            LocalDate date,
+            LocalTime startTime,
+            int durationMinutes,
+            BigDecimal estimatedPrice,
+            UUID shareToken
+    ) {}
+
+    public record Reschedule(UUID orderId, OsStatus expectedStatus, LocalDate date, LocalTime startTime) {
+    }
+
+    public record StatusGuard(UUID orderId, OsStatus expectedStatus) {
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -81,16 +82,6 @@ public interface ServiceOrderRepository extends JpaRepository<ServiceOrder, UUID
                         @Param("technicianId") UUID technicianId,
                         @Param("date") LocalDate date);
 
-        /**
-         * Gera próximo número sequencial de OS para o tenant
-         */
-        @Query("""
-                        SELECT COALESCE(MAX(CAST(SUBSTRING(o.osNumber, 4) AS integer)), 0) + 1
-                        FROM ServiceOrder o
-                        WHERE o.tenantId = :tenantId
-                        """)
-        Long getNextOsSequence(@Param("tenantId") UUID tenantId);
-
         /**
          * Busca ordens sem técnico atribuído (não canceladas)
          */
@@ -199,4 +190,55 @@ public interface ServiceOrderRepository extends JpaRepository<ServiceOrder, UUID
                         WHERE o.id = :id
                         """)
         Optional<ServiceOrder> findByIdWithDetails(@Param("id") UUID id);
+
+        /**
+         * OS por IDs com relacionamentos do resumo carregados (pull sync).
+         */
+        @Query("""
+                        SELECT o FROM ServiceOrder o
+                        LEFT JOIN FETCH o.category
+                        LEFT JOIN FETCH o.customer c
+                        LEFT JOIN FETCH c.user
+                        LEFT JOIN FETCH o.address
+                        WHERE o.id IN :ids
+                        """)
+        List<ServiceOrder> findAllWithDetailsByIdIn(@Param("ids") Collection<UUID> ids);
+
+        /**
+         * Snapshot inicial do pull sync: OS do técnico agendadas a partir de uma data.
+         */
+        @Query("""
+                        SELECT o FROM ServiceOrder o
+                        LEFT JOIN FETCH o.category
+                        LEFT JOIN FETCH o.customer c
+                        LEFT JOIN FETCH c.user
+                        LEFT JOIN FETCH o.address
+                        WHERE o.technicianId = :technicianId
+                        AND o.scheduledDate >= :fromDate
+                        """)
+        List<ServiceOrder> findByTechnicianIdScheduledFrom(
+                        @Param("technicianId") UUID technicianId,
+                        @Param("fromDate") LocalDate fromDate);
+
+        /**
+         * Estado mínimo das OS para validar operações em lote (sem carregar entidades).
+         */
+        @Query("""
+                        SELECT o.id AS id, o.osNumber AS osNumber, o.status AS status,
+                               o.technicianId AS technicianId, o.customerId AS customerId,
+                               c.userId AS customerUserId
+                        FROM ServiceOrder o
+                        LEFT JOIN o.customer c
+                        WHERE o.id IN :ids
+                        """)
+        List<BulkTargetProjection> findBulkTargets(@Param("ids") Collection<UUID> ids);
+
+        interface BulkTargetProjection {
+                UUID getId();
+                String getOsNumber();
+                OsStatus getStatus();
+                UUID getTechnicianId();
+                UUID getCustomerId();
+                UUID getCustomerUserId();
+        }
 }
@@ -0,0 +1,48 @@
+package com.oxfield.services.adapter.output.persistence;
+
+import com.oxfield.services.domain.entity.SyncActionLedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SyncActionLedgerRepository
+        extends JpaRepository<SyncActionLedgerEntry, SyncActionLedgerEntry.LedgerKey> {
+
+    /**
+     * Registra a ação na transação corrente. Retorna 0 se a chave já existe
+     * (inclusive quando outra transação concorrente acabou de gravá-la).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO sync_action_ledger (technician_id, client_id, server_id, created_at)
+            VALUES (CAST(:technicianId AS uuid), :clientId, CAST(:serverId AS uuid), NOW())
+            ON CONFLICT (technician_id, client_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(
+            @Param("technicianId") String technicianId,
+            @Param("clientId") String clientId,
+            @Param("serverId") String serverId);
+
+    List<SyncActionLedgerEntry> findByTechnicianIdAndClientIdIn(UUID technicianId, Collection<String> clientIds);
+
+    /**
+     * Chaves recentes para aquecer o Bloom filter no startup.
+     */
+    @Query("SELECT e.technicianId, e.clientId FROM SyncActionLedgerEntry e WHERE e.createdAt > :since ORDER BY e.createdAt DESC")
+    List<Object[]> findRecentKeys(@Param("since") Instant since, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SyncActionLedgerEntry e WHERE e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
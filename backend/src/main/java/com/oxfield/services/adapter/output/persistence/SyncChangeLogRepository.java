@@ -0,0 +1,66 @@
+package com.oxfield.services.adapter.output.persistence;
+
+import com.oxfield.services.domain.entity.SyncChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface SyncChangeLogRepository extends JpaRepository<SyncChange, Long> {
+
+    /**
+     * xmin do snapshot atual: toda transação com txid menor já terminou.
+     * xid8 volta como texto para não depender de mapeamento do tipo.
+     */
+    @Query(value = "SELECT CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text)", nativeQuery = true)
+    String currentSnapshotXmin();
+
+    /**
+     * Mudanças do técnico após o cursor (txid, seq) e antes de upperTxid (um xmin
+     * lido antes: só transações já terminadas), na ordem de aplicação.
+     */
+    @Query(value = """
+            SELECT CAST(l.txid AS text) AS txid,
+                   l.seq AS seq,
+                   l.entity_type AS entityType,
+                   CAST(l.entity_id AS varchar) AS entityId,
+                   CAST(l.order_id AS varchar) AS orderId,
+                   l.op AS op
+            FROM sync_change_log l
+            WHERE l.technician_id = CAST(:technicianId AS uuid)
+              AND (l.txid, l.seq) > (CAST(:afterTxid AS xid8), :afterSeq)
+              AND l.txid < CAST(:upperTxid AS xid8)
+            ORDER BY l.txid, l.seq
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ChangeProjection> findChangesAfter(
+            @Param("technicianId") String technicianId,
+            @Param("afterTxid") String afterTxid,
+            @Param("afterSeq") long afterSeq,
+            @Param("upperTxid") String upperTxid,
+            @Param("limit") int limit);
+
+    /**
+     * Transação própria: é chamado de dentro do pull (somente leitura).
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("DELETE FROM SyncChange c WHERE c.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+
+    interface ChangeProjection {
+        String getTxid();
+        Long getSeq();
+        String getEntityType();
+        String getEntityId();
+        String getOrderId();
+        String getOp();
+    }
+}
@@ -0,0 +1,106 @@
+package com.oxfield.services.adapter.output.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Partes dos uploads do sync em sync_upload_parts (V30), via JDBC.
+ *
+ * O staging no banco é visível para todas as instâncias: o chunk seguinte ou
+ * a ação ADD_PHOTO podem cair em qualquer nó. Leitura e escrita usam a
+ * transação do chamador.
+ */
+@Component
+public class SyncUploadPartStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SyncUploadPartStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Grava os primeiros length bytes de data como a parte em partOffset.
+     */
+    public void insert(UUID uploadId, long partOffset, byte[] data, int length) {
+        byte[] bytes = length == data.length ? data : Arrays.copyOf(data, length);
+        jdbcTemplate.update(
+                "INSERT INTO sync_upload_parts (upload_id, part_offset, data) VALUES (?, ?, ?)",
+                uploadId, partOffset, bytes);
+    }
+
+    /**
+     * Stream do arquivo na ordem dos offsets. Carrega uma parte por vez, então
+     * só uma fica em memória.
+     */
+    public InputStream openStream(UUID uploadId) {
+        List<Long> offsets = jdbcTemplate.queryForList(
+                "SELECT part_offset FROM sync_upload_parts WHERE upload_id = ? ORDER BY part_offset",
+                Long.class, uploadId);
+        return new PartInputStream(uploadId, offsets.iterator());
+    }
+
+    public int deleteAll(UUID uploadId) {
+        return jdbcTemplate.update("DELETE FROM sync_upload_parts WHERE upload_id = ?", uploadId);
+    }
+
+    // ========== Private Methods ==========
+
+    private byte[] loadPart(UUID uploadId, long partOffset) {
+        return jdbcTemplate.queryForObject(
+                "SELECT data FROM sync_upload_parts WHERE upload_id = ? AND part_offset = ?",
+                byte[].class, uploadId, partOffset);
+    }
+
+    private final class PartInputStream extends InputStream {
+
+        private final UUID uploadId;
+        private final Iterator<Long> offsets;
+        private byte[] current = new byte[0];
+        private int position;
+
+        PartInputStream(UUID uploadId, Iterator<Long> offsets) {
+            this.uploadId = uploadId;
+            this.offsets = offsets;
+        }
+
+        @Override
+        public int read() {
+            if (!ensureData()) {
+                return -1;
+            }
+            return current[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureData()) {
+                return -1;
+            }
+            int n = Math.min(len, current.length - position);
+            System.arraycopy(current, position, buffer, off, n);
+            position += n;
+            return n;
+        }
+
+        private boolean ensureData() {
+            while (position >= current.length) {
+                if (!offsets.hasNext()) {
+                    return false;
+                }
+                current = loadPart(uploadId, offsets.next());
+                position = 0;
+            }
+            return true;
+        }
+    }
+}
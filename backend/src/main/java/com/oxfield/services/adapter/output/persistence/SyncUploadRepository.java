@@ -0,0 +1,70 @@
+package com.oxfield.services.adapter.output.persistence;
+
+import com.oxfield.services.domain.entity.SyncUpload;
+import com.oxfield.services.domain.enums.SyncUploadStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SyncUploadRepository extends JpaRepository<SyncUpload, UUID> {
+
+    Optional<SyncUpload> findByIdAndTechnicianId(UUID id, UUID technicianId);
+
+    /**
+     * Lê a sessão com lock de escrita: duas ações de sync não consomem o mesmo upload.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM SyncUpload u WHERE u.id = :id AND u.technicianId = :technicianId")
+    Optional<SyncUpload> findByIdAndTechnicianIdForUpdate(
+            @Param("id") UUID id,
+            @Param("technicianId") UUID technicianId);
+
+    /**
+     * Remove até limit sessões expiradas; as partes saem em cascata.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM sync_uploads
+            WHERE id IN (
+                SELECT id FROM sync_uploads
+                WHERE expires_at < :cutoff
+                LIMIT :limit
+            )
+            """, nativeQuery = true)
+    int deleteExpired(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    /**
+     * Avança o offset confirmado somente se ninguém o alterou desde a leitura
+     * (compare-and-set): retorna 0 quando outro chunk chegou primeiro. Roda na
+     * transação do chamador, que grava as partes do chunk em seguida.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query("""
+            UPDATE SyncUpload u
+            SET u.receivedBytes = :newOffset,
+                u.status = :newStatus,
+                u.updatedAt = :now
+            WHERE u.id = :id
+              AND u.receivedBytes = :expectedOffset
+              AND u.status = com.oxfield.services.domain.enums.SyncUploadStatus.UPLOADING
+            """)
+    int advanceOffset(
+            @Param("id") UUID id,
+            @Param("expectedOffset") long expectedOffset,
+            @Param("newOffset") long newOffset,
+            @Param("newStatus") SyncUploadStatus newStatus,
+            @Param("now") Instant now);
+}
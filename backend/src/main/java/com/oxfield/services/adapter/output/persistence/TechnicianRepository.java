@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -157,6 +158,51 @@ public interface TechnicianRepository extends JpaRepository<Technician, UUID> {
                         """, nativeQuery = true)
         List<Technician> findAllAvailableAcrossTenants();
 
+        /**
+         * Técnicos disponíveis dos tenants ativos num raio (marketplace), numa única query,
+         * do mais próximo ao mais distante. ST_DWithin (geography) usa o índice GiST parcial
+         * de técnicos online. Todos os técnicos ao alcance vêm, não só o mais próximo de cada
+         * tenant: o ponto de referência é o centro da célula do cache, e o mais próximo do
+         * cliente é escolhido por request em MarketplaceService.
+         * O match de skill replica MarketplaceService: skill contém a categoria, a categoria
+         * contém a skill, ou skill "general".
+         * Native query: ignora o filtro de tenant do Hibernate.
+         */
+        @Query(value = """
+                        SELECT t.tenant_id AS "tenantId",
+                               t.id AS "technicianId",
+                               tn.name AS "companyName",
+                               tn.logo_url AS "logoUrl",
+                               COALESCE(tn.average_rating, 5.0) AS "rating",
+                               COALESCE(tn.total_reviews, 0) AS "totalReviews",
+                               ST_Y(t.current_location) AS "latitude",
+                               ST_X(t.current_location) AS "longitude",
+                               ST_Distance(t.current_location::geography,
+                                           ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography) AS "distanceMeters"
+                        FROM technicians t
+                        JOIN users u ON u.id = t.user_id
+                        JOIN tenants tn ON tn.id = t.tenant_id
+                        WHERE tn.status = 'ACTIVE'
+                        AND t.is_online = true
+                        AND u.status = 'APPROVED'
+                        AND t.current_location IS NOT NULL
+                        AND ST_DWithin(t.current_location::geography,
+                                       ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography,
+                                       :radiusMeters)
+                        AND EXISTS (
+                            SELECT 1 FROM unnest(t.skills) AS s(skill)
+                            WHERE strpos(lower(s.skill), :skill) > 0
+                               OR strpos(:skill, lower(s.skill)) > 0
+                               OR strpos(lower(s.skill), 'general') > 0
+                        )
+                        ORDER BY "distanceMeters"
+                        """, nativeQuery = true)
+        List<AvailableTechnicianProjection> findAvailableWithinRadius(
+                        @Param("latitude") double latitude,
+                        @Param("longitude") double longitude,
+                        @Param("radiusMeters") double radiusMeters,
+                        @Param("skill") String skill);
+
         /**
          * Remove todos os técnicos (operação de admin global; technician_documents é CASCADE).
          */
@@ -184,4 +230,32 @@ public interface TechnicianRepository extends JpaRepository<Technician, UUID> {
         @Modifying
         @Query(value = "UPDATE audit_logs SET user_id = NULL WHERE user_id IN (SELECT user_id FROM technicians)", nativeQuery = true)
         void clearAuditLogReferencesForTechnicians();
+
+        /**
+         * Ids e userIds dos técnicos do tenant entre os informados (import em lote).
+         */
+        @Query("""
+                        SELECT t.id AS id, t.userId AS userId
+                        FROM Technician t
+                        WHERE t.tenantId = :tenantId AND t.id IN :ids
+                        """)
+        List<TechnicianRefProjection> findRefsByTenantAndIds(@Param("tenantId") UUID tenantId,
+                        @Param("ids") Collection<UUID> ids);
+
+        interface TechnicianRefProjection {
+                UUID getId();
+                UUID getUserId();
+        }
+
+        interface AvailableTechnicianProjection {
+                UUID getTenantId();
+                UUID getTechnicianId();
+                String getCompanyName();
+                String getLogoUrl();
+                Double getRating();
+                Integer getTotalReviews();
+                Double getLatitude();
+                Double getLongitude();
+                Double getDistanceMeters();
+        }
 }
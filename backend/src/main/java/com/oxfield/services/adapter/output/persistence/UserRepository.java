@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -102,4 +103,15 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      */
     @Query("SELECT u FROM User u WHERE u.email = :email AND u.role = 'TECNICO' AND u.tenantId IS NULL")
     Optional<User> findGlobalTechnicianByEmail(@Param("email") String email);
+
+    /**
+     * Tenant de cada usuário informado (resolução em lote das notificações).
+     */
+    @Query("SELECT u.id AS id, u.tenantId AS tenantId FROM User u WHERE u.id IN :ids")
+    List<UserTenantProjection> findTenantsByIds(@Param("ids") Collection<UUID> ids);
+
+    interface UserTenantProjection {
+        UUID getId();
+        UUID getTenantId();
+    }
 }
@@ -0,0 +1,109 @@
+package com.oxfield.services.adapter.output.push;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import com.oxfield.services.application.port.output.PushTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implementação do PushTransport com o Firebase Admin SDK (sendEachForMulticast).
+ * Criado sempre que firebase.credentials-file está configurado; sem ele não há
+ * transporte e o PushDispatcher fica desligado.
+ */
+@Component
+@ConditionalOnExpression("!'${firebase.credentials-file:}'.isBlank()")
+public class FirebasePushTransport implements PushTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(FirebasePushTransport.class);
+
+    private final ResourceLoader resourceLoader;
+
+    @Value("${firebase.credentials-file}")
+    private String credentialsFile;
+
+    @Value("${firebase.project-id}")
+    private String projectId;
+
+    private FirebaseMessaging messaging;
+
+    public FirebasePushTransport(ResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        FirebaseApp app = FirebaseApp.getApps().isEmpty() ? null : FirebaseApp.getInstance();
+        if (app == null) {
+            try (InputStream credentials = resourceLoader.getResource(credentialsFile).getInputStream()) {
+                app = FirebaseApp.initializeApp(FirebaseOptions.builder()
+                        .setCredentials(GoogleCredentials.fromStream(credentials))
+                        .setProjectId(projectId)
+                        .build());
+            }
+        }
+        messaging = FirebaseMessaging.getInstance(app);
+        log.info("Firebase push transport ready (project {})", projectId);
+    }
+
+    @Override
+    public List<TokenResult> sendMulticast(PushMessage message, List<String> tokens) {
+        MulticastMessage multicast = MulticastMessage.builder()
+                .setNotification(Notification.builder()
+                        .setTitle(message.title())
+                        .setBody(message.body())
+                        .build())
+                .putAllData(message.data())
+                .addAllTokens(tokens)
+                .build();
+        try {
+            BatchResponse response = messaging.sendEachForMulticast(multicast);
+            List<TokenResult> results = new ArrayList<>(tokens.size());
+            for (SendResponse send : response.getResponses()) {
+                results.add(send.isSuccessful() ? TokenResult.DELIVERED : classify(send.getException()));
+            }
+            return results;
+        } catch (FirebaseMessagingException e) {
+            // Erro da chamada inteira é da mensagem, não dos tokens: nunca os invalida
+            TokenResult result = classify(e) == TokenResult.RETRYABLE ? TokenResult.RETRYABLE : TokenResult.FAILED;
+            log.warn("FCM multicast of {} tokens failed ({}): {}", tokens.size(), result, e.getMessage());
+            return Collections.nCopies(tokens.size(), result);
+        }
+    }
+
+    // ========== Private Methods ==========
+
+    private static TokenResult classify(FirebaseMessagingException e) {
+        MessagingErrorCode code = e != null ? e.getMessagingErrorCode() : null;
+        if (code == null) {
+            return TokenResult.RETRYABLE;
+        }
+        return switch (code) {
+            // INVALID_ARGUMENT também vem quando a mensagem é inválida (corpo grande,
+            // chave reservada em data): não pode apagar os tokens dos destinatários
+            case UNREGISTERED, SENDER_ID_MISMATCH -> TokenResult.INVALID_TOKEN;
+            case UNAVAILABLE, INTERNAL, QUOTA_EXCEEDED -> TokenResult.RETRYABLE;
+            default -> TokenResult.FAILED;
+        };
+    }
+}
@@ -13,6 +13,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 /**
  * Armazena arquivos na pasta local (ex.: uploads/). Usado quando S3 não está configurado.
@@ -60,6 +61,24 @@ public class LocalStorageAdapter implements StoragePort {
         }
     }
 
+    @Override
+    public UploadResult uploadStream(StreamUploadRequest request) {
+        String relativePath = String.format("%s/%s/%s", request.tenantId(), request.folder(), request.fileName());
+        Path baseDir = Paths.get(uploadsDir).toAbsolutePath();
+        Path targetFile = baseDir.resolve(relativePath);
+
+        try {
+            Files.createDirectories(targetFile.getParent());
+            long written = Files.copy(request.content(), targetFile, StandardCopyOption.REPLACE_EXISTING);
+            String fileUrl = contextPath + "/uploads/" + relativePath.replace("\\", "/");
+            log.info("File streamed locally: {} ({} bytes) -> {}", targetFile, written, fileUrl);
+            return new UploadResult(fileUrl, relativePath, written);
+        } catch (IOException e) {
+            log.error("Failed to save file: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to save file: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public void delete(String filePath) {
         Path baseDir = Paths.get(uploadsDir).toAbsolutePath();
@@ -75,6 +75,38 @@ public class S3StorageAdapter implements StoragePort {
         }
     }
 
+    @Override
+    public UploadResult uploadStream(StreamUploadRequest request) {
+        String key = buildKey(request.tenantId(), request.folder(), request.fileName());
+
+        log.info("Streaming file to S3: {}/{} ({} bytes)", bucketName, key, request.contentLength());
+
+        try {
+            PutObjectRequest putRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(request.contentType())
+                    .contentLength(request.contentLength())
+                    .build();
+
+            s3Client.putObject(putRequest,
+                    RequestBody.fromInputStream(request.content(), request.contentLength()));
+
+            String fileUrl = buildFileUrl(key);
+
+            log.info("File uploaded successfully: {}", fileUrl);
+
+            return new UploadResult(
+                    fileUrl,
+                    key,
+                    request.contentLength());
+
+        } catch (S3Exception e) {
+            log.error("Failed to upload file to S3: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to upload file to S3", e);
+        }
+    }
+
     @Override
     public void delete(String filePath) {
         log.info("Deleting file from S3: {}/{}", bucketName, filePath);
@@ -0,0 +1,18 @@
+package com.oxfield.services.application.listener;
+
+import java.util.List;
+
+/**
+ * Handler que processa o lote do outbox de uma vez (ex.: um único JDBC batch
+ * para todos os eventos). A posição só avança depois que handleBatch retorna.
+ *
+ * Se handleBatch falhar, o OutboxConsumerWorker divide o lote ao meio e reentrega
+ * as partes por handleBatch até isolar o evento com problema, que é entregue
+ * sozinho via handle(). Os eventos podem então chegar em lotes menores que o
+ * original (ex.: notificações agrupadas em menos conjuntos), mas cada um é
+ * entregue uma vez e na ordem; handle(e) deve equivaler a handleBatch([e]).
+ */
+public interface BatchOutboxEventHandler extends OutboxEventHandler {
+
+    void handleBatch(List<Object> events);
+}
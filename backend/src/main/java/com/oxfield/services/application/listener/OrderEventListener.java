@@ -1,56 +1,83 @@
 package com.oxfield.services.application.listener;
 
-import com.oxfield.services.adapter.output.persistence.UserRepository;
 import com.oxfield.services.application.service.NotificationService;
-import com.oxfield.services.domain.entity.User;
 import com.oxfield.services.domain.enums.NotificationType;
 import com.oxfield.services.domain.enums.OsStatus;
 import com.oxfield.services.domain.enums.PriorityLevel;
 import com.oxfield.services.domain.event.OrderAssignedEvent;
 import com.oxfield.services.domain.event.OrderCompletedEvent;
 import com.oxfield.services.domain.event.OrderStatusChangedEvent;
-import com.oxfield.services.shared.multitenancy.TenantContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Listener de eventos de OS para enviar notificações.
+ * Recebe os eventos pelo outbox (OutboxDispatcher), não mais via @Async após o commit.
+ *
+ * As notificações do lote de eventos são gravadas juntas, num JDBC batch, na
+ * transação do handler; a posição do outbox só avança após o commit, então uma
+ * falha faz o lote ser reentregue em vez de perder notificações.
  */
 @Component
-public class OrderEventListener {
+public class OrderEventListener implements BatchOutboxEventHandler {
 
     private static final Logger log = LoggerFactory.getLogger(OrderEventListener.class);
 
     private final NotificationService notificationService;
-    private final UserRepository userRepository;
 
-    public OrderEventListener(
-            NotificationService notificationService,
-            UserRepository userRepository) {
+    public OrderEventListener(NotificationService notificationService) {
         this.notificationService = notificationService;
-        this.userRepository = userRepository;
+    }
+
+    @Override
+    public String handlerName() {
+        return "order-notifications";
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void handle(Object event) {
+        notificationService.sendAll(notificationsFor(event));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void handleBatch(List<Object> events) {
+        List<NotificationService.NotificationRequest> requests = new ArrayList<>();
+        for (Object event : events) {
+            requests.addAll(notificationsFor(event));
+        }
+        notificationService.sendAll(requests);
+    }
+
+    // ========== Private Methods ==========
+
+    private List<NotificationService.NotificationRequest> notificationsFor(Object event) {
+        List<NotificationService.NotificationRequest> requests = new ArrayList<>();
+        switch (event) {
+            case OrderAssignedEvent assigned -> onOrderAssigned(assigned, requests);
+            case OrderStatusChangedEvent statusChanged -> onOrderStatusChanged(statusChanged, requests);
+            case OrderCompletedEvent completed -> onOrderCompleted(completed, requests);
+            default -> log.debug("Ignoring outbox event {}", event.getClass().getSimpleName());
+        }
+        return requests;
     }
 
     /**
      * Evento: OS atribuída a um técnico
      */
-    @Async
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void onOrderAssigned(OrderAssignedEvent event) {
+    private void onOrderAssigned(OrderAssignedEvent event, List<NotificationService.NotificationRequest> requests) {
         log.info("Processing OrderAssignedEvent for order: {}", event.osNumber());
 
         // Notificar técnico
-        sendNotification(
+        addNotification(requests,
                 event.technicianUserId(),
                 NotificationType.ASSIGNMENT,
                 "Nova OS Atribuída",
@@ -58,7 +85,7 @@ public class OrderEventListener {
                 PriorityLevel.HIGH);
 
         // Notificar cliente
-        sendNotification(
+        addNotification(requests,
                 event.customerUserId(),
                 NotificationType.INFO,
                 "Técnico Designado",
@@ -69,10 +96,8 @@ public class OrderEventListener {
     /**
      * Evento: Status da OS mudou
      */
-    @Async
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+    private void onOrderStatusChanged(OrderStatusChangedEvent event,
+            List<NotificationService.NotificationRequest> requests) {
         log.info("Processing OrderStatusChangedEvent: {} -> {}",
                 event.previousStatus(), event.newStatus());
 
@@ -82,7 +107,7 @@ public class OrderEventListener {
             NotificationType type = event.newStatus() == OsStatus.IN_ROUTE ? NotificationType.ALERT
                     : NotificationType.INFO;
 
-            sendNotification(
+            addNotification(requests,
                     event.customerUserId(),
                     type,
                     "Atualização da OS " + event.osNumber(),
@@ -94,14 +119,11 @@ public class OrderEventListener {
     /**
      * Evento: OS concluída
      */
-    @Async
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void onOrderCompleted(OrderCompletedEvent event) {
+    private void onOrderCompleted(OrderCompletedEvent event, List<NotificationService.NotificationRequest> requests) {
         log.info("Processing OrderCompletedEvent for order: {}", event.osNumber());
 
         // Notificar cliente
-        sendNotification(
+        addNotification(requests,
                 event.customerUserId(),
                 NotificationType.SUCCESS,
                 "Serviço Concluído!",
@@ -111,7 +133,7 @@ public class OrderEventListener {
                 PriorityLevel.HIGH);
 
         // Notificar técnico
-        sendNotification(
+        addNotification(requests,
                 event.technicianUserId(),
                 NotificationType.SUCCESS,
                 "OS Finalizada",
@@ -119,41 +141,13 @@ public class OrderEventListener {
                 PriorityLevel.LOW);
     }
 
-    // ========== Private Methods ==========
-
-    private void sendNotification(UUID userId, NotificationType type,
-            String title, String message, PriorityLevel priority) {
-        if (userId == null) {
-            log.warn("Cannot send notification: userId is null");
-            return;
-        }
-
-        try {
-            Optional<User> userOpt = userRepository.findById(userId);
-            if (userOpt.isEmpty()) {
-                log.warn("User not found for notification: {}", userId);
-                return;
-            }
-
-            User user = userOpt.get();
-            TenantContext.setCurrentTenantId(user.getTenantId());
-
-            notificationService.send(new NotificationService.NotificationRequest(
-                    user.getTenantId(),
-                    userId,
-                    user,
-                    type,
-                    title,
-                    message,
-                    priority));
-
-            log.debug("Notification sent to user {}: {}", userId, title);
-
-        } catch (Exception e) {
-            log.error("Failed to send notification to user {}: {}", userId, e.getMessage(), e);
-        } finally {
-            TenantContext.clear();
-        }
+    /**
+     * Usuário e tenant são resolvidos em lote pelo NotificationBatchIngestor.
+     */
+    private void addNotification(List<NotificationService.NotificationRequest> requests, UUID userId,
+            NotificationType type, String title, String message, PriorityLevel priority) {
+        requests.add(new NotificationService.NotificationRequest(
+                null, userId, null, type, title, message, priority));
     }
 
     private String getStatusChangeMessage(String osNumber, OsStatus status) {
@@ -0,0 +1,105 @@
+package com.oxfield.services.application.listener;
+
+import com.oxfield.services.adapter.output.persistence.OrderSummaryRepository;
+import com.oxfield.services.adapter.output.persistence.OrderSummaryRepository.AgendaSlotProjection;
+import com.oxfield.services.application.service.AgendaVersionTracker;
+import com.oxfield.services.domain.event.OrderAssignedEvent;
+import com.oxfield.services.domain.event.OrderCompletedEvent;
+import com.oxfield.services.domain.event.OrderSourceDataChangedEvent;
+import com.oxfield.services.domain.event.OrderStatusChangedEvent;
+import com.oxfield.services.domain.event.OrderUpdatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Mantém o read model order_summary a partir dos eventos de OS do outbox.
+ *
+ * O refresh relê a OS inteira das tabelas de origem, então é idempotente e não
+ * depende da ordem dos eventos: reentregar ou pular um evento intermediário não
+ * deixa a linha inconsistente.
+ *
+ * Na mesma transação, incrementa a versão das agendas afetadas (a de antes e a
+ * de depois, em caso de reatribuição ou reagendamento) no AgendaVersionTracker.
+ *
+ * Nome/avatar do técnico, dados e endereço do cliente e nome/código da categoria
+ * são copiados na linha; quando mudam na origem, OrderSourceDataChangedEvent
+ * recalcula todas as OS que os copiam. As OS arquivadas (V26) ficam com os
+ * dados da época do arquivamento: não estão mais em service_orders para o
+ * refresh reler.
+ */
+@Component
+public class OrderSummaryProjector implements OutboxEventHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSummaryProjector.class);
+
+    private final OrderSummaryRepository summaryRepository;
+    private final AgendaVersionTracker agendaVersions;
+
+    public OrderSummaryProjector(OrderSummaryRepository summaryRepository, AgendaVersionTracker agendaVersions) {
+        this.summaryRepository = summaryRepository;
+        this.agendaVersions = agendaVersions;
+    }
+
+    @Override
+    public String handlerName() {
+        return "order-summary";
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void handle(Object event) {
+        List<UUID> orderIds = switch (event) {
+            case OrderUpdatedEvent updated -> List.of(updated.orderId());
+            case OrderAssignedEvent assigned -> List.of(assigned.orderId());
+            case OrderStatusChangedEvent statusChanged -> List.of(statusChanged.orderId());
+            case OrderCompletedEvent completed -> List.of(completed.orderId());
+            case OrderSourceDataChangedEvent changed -> ordersCopying(changed);
+            default -> List.of();
+        };
+        if (orderIds.isEmpty()) {
+            return;
+        }
+
+        Set<AgendaSlot> slots = new LinkedHashSet<>();
+        for (UUID orderId : orderIds) {
+            refresh(orderId, slots);
+        }
+        slots.forEach(slot -> agendaVersions.bump(slot.technicianUserId(), slot.date()));
+    }
+
+    // ========== Private Methods ==========
+
+    private void refresh(UUID orderId, Set<AgendaSlot> slots) {
+        Optional<AgendaSlotProjection> before = summaryRepository.findAgendaSlot(orderId);
+        if (summaryRepository.refresh(orderId.toString()) == 0) {
+            log.debug("Order {} no longer exists: summary row removed", orderId);
+        }
+        Optional<AgendaSlotProjection> after = summaryRepository.findAgendaSlot(orderId);
+
+        before.ifPresent(slot -> slots.add(new AgendaSlot(slot.getTechnicianUserId(), slot.getScheduledDate())));
+        after.ifPresent(slot -> slots.add(new AgendaSlot(slot.getTechnicianUserId(), slot.getScheduledDate())));
+    }
+
+    private List<UUID> ordersCopying(OrderSourceDataChangedEvent event) {
+        List<UUID> orderIds = switch (event.source()) {
+            case TECHNICIAN -> summaryRepository.findLiveOrderIdsByTechnician(event.sourceId());
+            case CUSTOMER -> summaryRepository.findLiveOrderIdsByCustomer(event.sourceId());
+            case CATEGORY -> summaryRepository.findLiveOrderIdsByCategory(event.sourceId());
+        };
+        log.debug("{} {} changed: refreshing {} order summaries", event.source(), event.sourceId(), orderIds.size());
+        return orderIds;
+    }
+
+    private record AgendaSlot(UUID technicianUserId, LocalDate date) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.oxfield.services.application.listener;
+
+/**
+ * Consumidor de eventos do outbox. Cada handler tem sua própria posição,
+ * então um handler lento ou com falha não atrasa os demais.
+ *
+ * A entrega é at-least-once: após um crash o handler pode receber de novo
+ * eventos do último lote. Eventos de tipos que não interessam devem ser ignorados.
+ */
+public interface OutboxEventHandler {
+
+    /**
+     * Nome estável do handler (chave da posição em outbox_consumers).
+     */
+    String handlerName();
+
+    void handle(Object event);
+}
@@ -0,0 +1,43 @@
+package com.oxfield.services.application.port.output;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Port para envio de push aos dispositivos (FCM).
+ * Um envio leva a mesma mensagem para até MAX_TOKENS tokens.
+ */
+public interface PushTransport {
+
+    /**
+     * Limite de tokens por multicast do FCM.
+     */
+    int MAX_TOKENS = 500;
+
+    /**
+     * Envia a mensagem aos tokens (no máximo MAX_TOKENS). Não lança exceção:
+     * falhas da chamada inteira voltam como o mesmo resultado para todos os tokens.
+     *
+     * @return um resultado por token, na ordem recebida
+     */
+    List<TokenResult> sendMulticast(PushMessage message, List<String> tokens);
+
+    // ========== DTOs ==========
+
+    record PushMessage(
+            String title,
+            String body,
+            Map<String, String> data) {
+    }
+
+    enum TokenResult {
+        /** Aceito pelo FCM */
+        DELIVERED,
+        /** Token não registrado ou inválido: deve ser removido */
+        INVALID_TOKEN,
+        /** Falha temporária (indisponibilidade, cota): pode ser reenviado */
+        RETRYABLE,
+        /** Falha permanente da mensagem; o token continua válido */
+        FAILED
+    }
+}
@@ -2,6 +2,7 @@ package com.oxfield.services.application.port.output;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.UUID;
 
 /**
@@ -14,6 +15,12 @@ public interface StoragePort {
      */
     UploadResult upload(UploadRequest request);
 
+    /**
+     * Faz upload lendo de um stream, sem carregar o arquivo inteiro em memória.
+     * O stream é consumido mas não fechado (responsabilidade de quem chama).
+     */
+    UploadResult uploadStream(StreamUploadRequest request);
+
     /**
      * Deleta um arquivo pelo path.
      */
@@ -34,6 +41,15 @@ public interface StoragePort {
             String contentType) {
     }
 
+    record StreamUploadRequest(
+            UUID tenantId,
+            String folder,
+            String fileName,
+            InputStream content,
+            long contentLength,
+            String contentType) {
+    }
+
     record UploadResult(
             String fileUrl,
             String filePath,
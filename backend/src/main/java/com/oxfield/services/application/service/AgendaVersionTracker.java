@@ -0,0 +1,50 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.OrderSummaryRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Versão da agenda de cada técnico por dia, para ETag nas listagens do app.
+ *
+ * A versão fica na tabela agenda_versions (V29) e é incrementada pelo
+ * OrderSummaryProjector na mesma transação do refresh do order_summary (de
+ * onde a agenda é lida), então muda junto com os dados e vale em qualquer
+ * instância. A consulta é uma leitura por chave primária, bem mais barata que
+ * a listagem que o 304 evita.
+ */
+@Component
+public class AgendaVersionTracker {
+
+    private final OrderSummaryRepository summaryRepository;
+
+    public AgendaVersionTracker(OrderSummaryRepository summaryRepository) {
+        this.summaryRepository = summaryRepository;
+    }
+
+    /**
+     * ETag forte da agenda do técnico (user id do token) no dia. Agenda nunca
+     * alterada tem versão 0; as versões vêm de uma sequence e não se repetem.
+     */
+    @Transactional(readOnly = true)
+    public String etag(UUID technicianUserId, LocalDate date) {
+        long version = summaryRepository.findAgendaVersion(technicianUserId.toString(), date).orElse(0L);
+        return "\"" + technicianUserId + "-" + date + "." + version + "\"";
+    }
+
+    /**
+     * Incrementa a versão na transação do chamador, para que só fique visível
+     * com o commit da mudança que a motivou.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(UUID technicianUserId, LocalDate date) {
+        if (technicianUserId == null || date == null) {
+            return;
+        }
+        summaryRepository.bumpAgendaVersion(technicianUserId.toString(), date);
+    }
+}
@@ -0,0 +1,240 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.ServiceOrderBulkWriter;
+import com.oxfield.services.adapter.output.persistence.ServiceOrderBulkWriter.Reschedule;
+import com.oxfield.services.adapter.output.persistence.ServiceOrderBulkWriter.StatusGuard;
+import com.oxfield.services.adapter.output.persistence.ServiceOrderRepository;
+import com.oxfield.services.adapter.output.persistence.ServiceOrderRepository.BulkTargetProjection;
+import com.oxfield.services.application.service.OutboxService.PendingEvent;
+import com.oxfield.services.domain.enums.OsStatus;
+import com.oxfield.services.domain.event.OrderStatusChangedEvent;
+import com.oxfield.services.domain.event.OrderUpdatedEvent;
+import com.oxfield.services.shared.exception.BusinessException;
+import com.oxfield.services.shared.exception.ErrorCode;
+import com.oxfield.services.shared.security.CurrentUserProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Operações em lote do dispatch console (reagendar, cancelar, desatribuir).
+ *
+ * Valida tudo em memória a partir de uma única leitura, aplica as alterações
+ * válidas com JDBC batch e grava os eventos no outbox em outro batch, tudo na
+ * mesma transação. As OS inválidas são devolvidas em failures e não impedem
+ * as demais.
+ */
+@Service
+public class BulkOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkOrderService.class);
+
+    private final ServiceOrderRepository orderRepository;
+    private final ServiceOrderBulkWriter bulkWriter;
+    private final OutboxService outboxService;
+    private final CurrentUserProvider currentUserProvider;
+    private final int maxSize;
+
+    public BulkOrderService(
+            ServiceOrderRepository orderRepository,
+            ServiceOrderBulkWriter bulkWriter,
+            OutboxService outboxService,
+            CurrentUserProvider currentUserProvider,
+            @Value("${oxfield.orders.bulk.max-size:1000}") int maxSize) {
+        this.orderRepository = orderRepository;
+        this.bulkWriter = bulkWriter;
+        this.outboxService = outboxService;
+        this.currentUserProvider = currentUserProvider;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * Reagenda cada OS para a data/horário do item. OS finalizadas são recusadas.
+     */
+    @Transactional
+    public BulkOperationResponse reschedule(List<RescheduleItem> items) {
+        Map<UUID, RescheduleItem> byOrder = items.stream()
+                .collect(Collectors.toMap(RescheduleItem::orderId, Function.identity(), (a, b) -> b, LinkedHashMap::new));
+        Map<UUID, BulkTargetProjection> targets = loadTargets(byOrder.keySet());
+        List<BulkFailure> failures = new ArrayList<>();
+
+        List<Reschedule> changes = new ArrayList<>();
+        for (RescheduleItem item : byOrder.values()) {
+            BulkTargetProjection target = targets.get(item.orderId());
+            if (target == null) {
+                failures.add(notFound(item.orderId()));
+            } else if (target.getStatus().isFinal()) {
+                failures.add(new BulkFailure(item.orderId(), ErrorCode.INVALID_OPERATION.getCode(),
+                        "Não é possível reagendar uma ordem finalizada"));
+            } else {
+                changes.add(new Reschedule(item.orderId(), target.getStatus(), item.date(), item.startTime()));
+            }
+        }
+
+        int[] counts = bulkWriter.reschedule(tenantId(), changes);
+        List<PendingEvent> events = new ArrayList<>();
+        for (int i = 0; i < changes.size(); i++) {
+            UUID orderId = changes.get(i).orderId();
+            if (applied(counts[i])) {
+                events.add(new PendingEvent(new OrderUpdatedEvent(orderId), orderId));
+            } else {
+                failures.add(concurrentChange(orderId));
+            }
+        }
+        return finish("reschedule", byOrder.size(), events, failures);
+    }
+
+    /**
+     * Cancela as OS que ainda não estão em estado final.
+     */
+    @Transactional
+    public BulkOperationResponse cancel(List<UUID> orderIds, String reason) {
+        Collection<UUID> ids = new LinkedHashSet<>(orderIds);
+        Map<UUID, BulkTargetProjection> targets = loadTargets(ids);
+        List<BulkFailure> failures = new ArrayList<>();
+
+        List<BulkTargetProjection> accepted = new ArrayList<>();
+        for (UUID orderId : ids) {
+            BulkTargetProjection target = targets.get(orderId);
+            if (target == null) {
+                failures.add(notFound(orderId));
+            } else if (target.getStatus().isFinal()) {
+                failures.add(new BulkFailure(orderId, ErrorCode.ORDER_INVALID_TRANSITION.getCode(),
+                        "Não é possível cancelar uma OS que já está em estado final"));
+            } else {
+                accepted.add(target);
+            }
+        }
+
+        int[] counts = bulkWriter.cancel(tenantId(), accepted.stream()
+                .map(t -> new StatusGuard(t.getId(), t.getStatus()))
+                .toList());
+        List<PendingEvent> events = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            BulkTargetProjection target = accepted.get(i);
+            if (applied(counts[i])) {
+                events.add(new PendingEvent(new OrderStatusChangedEvent(
+                        target.getId(),
+                        target.getOsNumber(),
+                        target.getStatus(),
+                        OsStatus.CANCELLED,
+                        target.getTechnicianId(),
+                        target.getCustomerId(),
+                        target.getCustomerUserId()), target.getId()));
+            } else {
+                failures.add(concurrentChange(target.getId()));
+            }
+        }
+        log.info("Bulk cancel of {} orders. Reason: {}", events.size(), reason);
+        return finish("cancel", ids.size(), events, failures);
+    }
+
+    /**
+     * Devolve ao pool de não atribuídas; como no unassign unitário, só OS agendadas.
+     */
+    @Transactional
+    public BulkOperationResponse unassign(List<UUID> orderIds) {
+        Collection<UUID> ids = new LinkedHashSet<>(orderIds);
+        Map<UUID, BulkTargetProjection> targets = loadTargets(ids);
+        List<BulkFailure> failures = new ArrayList<>();
+
+        List<UUID> accepted = new ArrayList<>();
+        for (UUID orderId : ids) {
+            BulkTargetProjection target = targets.get(orderId);
+            if (target == null) {
+                failures.add(notFound(orderId));
+            } else if (target.getStatus() != OsStatus.SCHEDULED) {
+                failures.add(new BulkFailure(orderId, ErrorCode.INVALID_OPERATION.getCode(),
+                        "Apenas ordens agendadas podem ser desatribuídas"));
+            } else {
+                accepted.add(orderId);
+            }
+        }
+
+        int[] counts = bulkWriter.unassign(tenantId(), accepted);
+        List<PendingEvent> events = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            UUID orderId = accepted.get(i);
+            if (applied(counts[i])) {
+                events.add(new PendingEvent(new OrderUpdatedEvent(orderId), orderId));
+            } else {
+                failures.add(concurrentChange(orderId));
+            }
+        }
+        return finish("unassign", ids.size(), events, failures);
+    }
+
+    // ========== Private Methods ==========
+
+    private Map<UUID, BulkTargetProjection> loadTargets(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Nenhuma ordem informada");
+        }
+        if (ids.size() > maxSize) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                    "Máximo de " + maxSize + " ordens por operação em lote");
+        }
+        return orderRepository.findBulkTargets(ids).stream()
+                .collect(Collectors.toMap(BulkTargetProjection::getId, Function.identity()));
+    }
+
+    private UUID tenantId() {
+        return currentUserProvider.requireCurrentUser().getTenantId();
+    }
+
+    private BulkOperationResponse finish(String operation, int requested, List<PendingEvent> events,
+            List<BulkFailure> failures) {
+        outboxService.appendAll(events);
+        log.info("Bulk {}: {} requested, {} applied, {} failed",
+                operation, requested, events.size(), failures.size());
+        return new BulkOperationResponse(requested, events.size(), failures);
+    }
+
+    /**
+     * 0 = a OS mudou de status (ou de tenant) entre a leitura e o UPDATE.
+     * SUCCESS_NO_INFO (-2) conta como aplicado.
+     */
+    private static boolean applied(int count) {
+        return count != 0;
+    }
+
+    private static BulkFailure notFound(UUID orderId) {
+        return new BulkFailure(orderId, ErrorCode.ORDER_NOT_FOUND.getCode(), "Ordem não encontrada");
+    }
+
+    private static BulkFailure concurrentChange(UUID orderId) {
+        return new BulkFailure(orderId, ErrorCode.ORDER_INVALID_TRANSITION.getCode(),
+                "A ordem foi alterada durante a operação");
+    }
+
+    // ========== DTOs ==========
+
+    public record RescheduleItem(UUID orderId, LocalDate date, LocalTime startTime) {
+    }
+
+    public record BulkOperationResponse(
+            int requested,
+            int applied,
+            List<BulkFailure> failures
+    ) {}
+
+    public record BulkFailure(
+            UUID orderId,
+            String errorCode,
+            String message
+    ) {}
+}
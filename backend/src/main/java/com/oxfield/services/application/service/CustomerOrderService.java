@@ -0,0 +1,103 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.ServiceOrderRepository;
+import com.oxfield.services.domain.entity.Customer;
+import com.oxfield.services.domain.entity.CustomerAddress;
+import com.oxfield.services.domain.entity.ServiceCategory;
+import com.oxfield.services.domain.entity.ServiceOrder;
+import com.oxfield.services.domain.enums.OsStatus;
+import com.oxfield.services.domain.enums.PriorityLevel;
+import com.oxfield.services.domain.event.OrderUpdatedEvent;
+import com.oxfield.services.shared.exception.BusinessException;
+import com.oxfield.services.shared.exception.ErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Mudanças de OS feitas pelo app do cliente (associação por link e
+ * solicitação de serviço). A OS e o evento do outbox são gravados na mesma
+ * transação.
+ */
+@Service
+public class CustomerOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerOrderService.class);
+
+    private final ServiceOrderRepository orderRepository;
+    private final ServiceCategoryService categoryService;
+    private final OsNumberAllocator osNumberAllocator;
+    private final OutboxService outboxService;
+
+    public CustomerOrderService(
+            ServiceOrderRepository orderRepository,
+            ServiceCategoryService categoryService,
+            OsNumberAllocator osNumberAllocator,
+            OutboxService outboxService) {
+        this.orderRepository = orderRepository;
+        this.categoryService = categoryService;
+        this.osNumberAllocator = osNumberAllocator;
+        this.outboxService = outboxService;
+    }
+
+    /**
+     * Associa ao cliente a OS do token de partilha; o token é consumido.
+     */
+    @Transactional
+    public ServiceOrder claimByShareToken(Customer customer, UUID shareToken) {
+        ServiceOrder order = orderRepository.findByShareToken(shareToken)
+                .orElseThrow(() -> new BusinessException(
+                        ErrorCode.ORDER_NOT_FOUND, "Esta ordem já foi associada ou o link não é válido."));
+        if (order.getShareToken() == null) {
+            throw new BusinessException(
+                    ErrorCode.INVALID_OPERATION, "Esta ordem já foi associada ou o link não é válido.");
+        }
+        order.setCustomer(customer);
+        order.setShareToken(null);
+        order = orderRepository.save(order);
+        outboxService.append(new OrderUpdatedEvent(order.getId()), order.getId());
+        log.info("Order {} claimed by customer {}", order.getOsNumber(), customer.getId());
+        return order;
+    }
+
+    /**
+     * Cria a OS da solicitação do cliente, agendada e aguardando atribuição de técnico.
+     * Sem data/horário preferidos, agenda para amanhã às 09:00.
+     */
+    @Transactional
+    public ServiceOrder createServiceRequest(
+            Customer customer,
+            CustomerAddress address,
+            UUID tenantId,
+            String categoryCode,
+            String description,
+            LocalDate preferredDate,
+            LocalTime preferredTime) {
+        ServiceCategory category = categoryService.getByCodeAndTenant(categoryCode, tenantId);
+
+        ServiceOrder order = new ServiceOrder();
+        order.setOsNumber(osNumberAllocator.nextOsNumber(tenantId));
+        order.setTitle(category.getName() + " Service Request");
+        order.setDescription(description);
+        order.setCategory(category);
+        order.setStatus(OsStatus.SCHEDULED);
+        order.setCustomer(customer);
+        order.setAddress(address);
+        order.setTenantId(tenantId);
+        order.setScheduledDate(preferredDate != null ? preferredDate : LocalDate.now().plusDays(1));
+        order.setScheduledStart(preferredTime != null ? preferredTime : LocalTime.of(9, 0));
+        order.setScheduledDuration(60); // Default 60 min
+        order.setEstimatedPrice(new BigDecimal("150.00")); // Default estimate
+        order.setPriority(PriorityLevel.MEDIUM);
+
+        ServiceOrder saved = orderRepository.save(order);
+        outboxService.append(new OrderUpdatedEvent(saved.getId()), saved.getId());
+        return saved;
+    }
+}
@@ -0,0 +1,189 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.ServiceListingRepository;
+import com.oxfield.services.application.service.MarketplaceListingService.MarketplaceCategoryDto;
+import com.oxfield.services.domain.event.ServiceListingChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Catálogo de categorias do marketplace mantido em memória.
+ *
+ * Guarda a categoria (code, name) de cada anúncio ativo e é atualizado por
+ * ServiceListingChangedEvent (criação, ativação, desativação, remoção, troca de
+ * categoria). A página do marketplace lê um snapshot imutável com ETag, sem ir ao banco.
+ *
+ * Mudanças que não passam pelos anúncios (renomear categoria, tenant suspenso) e
+ * alterações feitas por outros nós são reconciliadas por um rebuild completo a cada
+ * oxfield.marketplace.catalogue.resync-interval.
+ */
+@Component
+public class MarketplaceCategoryCatalogue {
+
+    private static final Logger log = LoggerFactory.getLogger(MarketplaceCategoryCatalogue.class);
+
+    private final ServiceListingRepository listingRepository;
+    private final long resyncIntervalNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    /** listingId -> categoria, apenas anúncios ativos */
+    private Map<UUID, CategoryKey> activeListings = new HashMap<>();
+    /** Eventos recebidos durante um rebuild; reaplicados sobre o resultado (são idempotentes). */
+    private List<ServiceListingChangedEvent> pendingDuringRebuild;
+    private volatile Snapshot snapshot;
+    private volatile long lastRebuild;
+
+    public MarketplaceCategoryCatalogue(
+            ServiceListingRepository listingRepository,
+            @Value("${oxfield.marketplace.catalogue.resync-interval:10m}") Duration resyncInterval) {
+        this.listingRepository = listingRepository;
+        this.resyncIntervalNanos = resyncInterval.toNanos();
+    }
+
+    /**
+     * Snapshot atual (categorias ordenadas por nome + ETag).
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuildLock.lock();
+        } else if (System.nanoTime() - lastRebuild <= resyncIntervalNanos || !rebuildLock.tryLock()) {
+            // Em dia, ou outro request já está reconciliando: serve o snapshot atual
+            return current;
+        }
+        try {
+            if (snapshot == null || System.nanoTime() - lastRebuild > resyncIntervalNanos) {
+                rebuild();
+            }
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Recarrega o catálogo do banco.
+     */
+    private void rebuild() {
+        lock.lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        Map<UUID, CategoryKey> loaded = new HashMap<>();
+        try {
+            for (Object[] row : listingRepository.findActiveListingCategories()) {
+                loaded.put(UUID.fromString((String) row[0]), new CategoryKey((String) row[1], (String) row[2]));
+            }
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            List<ServiceListingChangedEvent> pending = pendingDuringRebuild;
+            pendingDuringRebuild = null;
+            activeListings = loaded;
+            pending.forEach(this::apply);
+            publishSnapshot();
+            lastRebuild = System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+        log.debug("Marketplace category catalogue rebuilt: {} active listings, {} categories",
+                loaded.size(), snapshot.categories().size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ServiceListingChangedEvent event) {
+        lock.lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+            if (snapshot == null) {
+                // Ainda não carregado: o primeiro getSnapshot() lê o estado já com este commit
+                return;
+            }
+            List<MarketplaceCategoryDto> before = snapshot.categories();
+            apply(event);
+            publishSnapshot();
+            if (!before.equals(snapshot.categories())) {
+                log.debug("Marketplace category catalogue changed by listing {}", event.listingId());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(ServiceListingChangedEvent event) {
+        if (event.active() && event.categoryCode() != null) {
+            activeListings.put(event.listingId(), new CategoryKey(event.categoryCode(), event.categoryName()));
+        } else {
+            activeListings.remove(event.listingId());
+        }
+    }
+
+    private void publishSnapshot() {
+        List<MarketplaceCategoryDto> categories = activeListings.values().stream()
+                .distinct()
+                .sorted(Comparator.comparing(CategoryKey::name, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(CategoryKey::code, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(key -> new MarketplaceCategoryDto(key.code(), key.name()))
+                .toList();
+        Snapshot current = snapshot;
+        if (current == null || !current.categories().equals(categories)) {
+            snapshot = new Snapshot(categories, etagOf(categories));
+        }
+    }
+
+    /**
+     * ETag derivado do conteúdo: igual em todos os nós com o mesmo catálogo.
+     */
+    private static String etagOf(List<MarketplaceCategoryDto> categories) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (MarketplaceCategoryDto c : categories) {
+                digest.update(String.valueOf(c.code()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(String.valueOf(c.name()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record Snapshot(List<MarketplaceCategoryDto> categories, String etag) {
+    }
+
+    private record CategoryKey(String code, String name) {
+    }
+}
@@ -1,7 +1,11 @@
 package com.oxfield.services.application.service;
 
 import com.oxfield.services.adapter.output.persistence.ServiceListingRepository;
+import com.oxfield.services.adapter.output.persistence.ServiceListingRepository.ListingKeysetProjection;
 import com.oxfield.services.adapter.output.persistence.ServiceListingRepository.PublicListingProjection;
+import com.oxfield.services.shared.pagination.CursorCodec;
+import com.oxfield.services.shared.pagination.CursorPage;
+import com.oxfield.services.shared.util.TextSearchUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -10,6 +14,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,29 +27,135 @@ public class MarketplaceListingService {
 
     private static final Logger log = LoggerFactory.getLogger(MarketplaceListingService.class);
 
+    private static final String CURSOR_BROWSE = "lb";
+    private static final String CURSOR_SEARCH = "ls";
+    /** Keyset sentinel for the first page: sorts above every real (created_at, id). */
+    private static final Instant FIRST_PAGE_CREATED_AT = Instant.parse("9999-12-31T00:00:00Z");
+    private static final String FIRST_PAGE_ID = "ffffffff-ffff-ffff-ffff-ffffffffffff";
+
     private final ServiceListingRepository listingRepository;
+    private final MarketplaceCategoryCatalogue categoryCatalogue;
 
-    public MarketplaceListingService(ServiceListingRepository listingRepository) {
+    public MarketplaceListingService(ServiceListingRepository listingRepository,
+                                     MarketplaceCategoryCatalogue categoryCatalogue) {
         this.listingRepository = listingRepository;
+        this.categoryCatalogue = categoryCatalogue;
     }
 
+    /**
+     * Lists active listings. With a search term, results come from the full-text index
+     * ranked by relevance (prefix match per term); otherwise it is a plain filtered browse.
+     */
     @Transactional(readOnly = true)
     public Page<PublicListingResponse> getListings(String categoryCode, UUID tenantId, String search, Pageable pageable) {
-        Page<PublicListingProjection> page = tenantId != null
-                ? listingRepository.findActiveListingsPublicByTenant(tenantId, categoryCode, search, pageable)
-                : listingRepository.findActiveListingsPublic(categoryCode, search, pageable);
+        String tsQuery = TextSearchUtils.toPrefixTsQuery(search);
+        Page<PublicListingProjection> page;
+        if (tsQuery == null) {
+            page = tenantId != null
+                    ? listingRepository.findActiveListingsPublicByTenant(tenantId, categoryCode, pageable)
+                    : listingRepository.findActiveListingsPublic(categoryCode, pageable);
+        } else {
+            String term = search.trim();
+            page = tenantId != null
+                    ? listingRepository.searchActiveListingsPublicByTenant(tenantId, categoryCode, tsQuery, term, pageable)
+                    : listingRepository.searchActiveListingsPublic(categoryCode, tsQuery, term, pageable);
+        }
 
         return page.map(this::toResponse);
     }
 
+    /**
+     * Keyset (cursor) pagination for infinite scroll: each page continues from the previous
+     * page's last key, so rows inserted or removed meanwhile do not shift the results.
+     * Without search the key is (created_at, id), newest first, and each page is a range
+     * scan of the partial index, so deep pages cost the same as the first. With search the
+     * key is (relevance score, id); the score is computed per query and cannot be indexed,
+     * so every page still scores and sorts all matches (top-N by LIMIT) — the cursor only
+     * avoids materialising and skipping the previous pages' rows as OFFSET would.
+     *
+     * @param cursor nextCursor from the previous page, or null/blank for the first page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PublicListingResponse> scrollListings(String categoryCode, UUID tenantId, String search,
+                                                            String cursor, int limit) {
+        String tsQuery = TextSearchUtils.toPrefixTsQuery(search);
+        String tenant = tenantId != null ? tenantId.toString() : null;
+        boolean first = cursor == null || cursor.isBlank();
+
+        List<ListingKeysetProjection> rows;
+        if (tsQuery == null) {
+            Instant afterCreatedAt = FIRST_PAGE_CREATED_AT;
+            String afterId = FIRST_PAGE_ID;
+            if (!first) {
+                String[] key = CursorCodec.decode(cursor, CURSOR_BROWSE, 2);
+                afterCreatedAt = Instant.EPOCH.plus(parseLong(key[0]), ChronoUnit.MICROS);
+                afterId = parseUuid(key[1]);
+            }
+            rows = listingRepository.findActiveListingsPublicKeyset(
+                    tenant, categoryCode, afterCreatedAt, afterId, limit + 1);
+        } else {
+            double afterScore = Double.MAX_VALUE;
+            String afterId = FIRST_PAGE_ID;
+            if (!first) {
+                String[] key = CursorCodec.decode(cursor, CURSOR_SEARCH, 2);
+                afterScore = Double.longBitsToDouble(parseLong(key[0]));
+                afterId = parseUuid(key[1]);
+            }
+            rows = listingRepository.searchActiveListingsPublicKeyset(
+                    tenant, categoryCode, tsQuery, search.trim(), afterScore, afterId, limit + 1);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<ListingKeysetProjection> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            ListingKeysetProjection last = pageRows.get(pageRows.size() - 1);
+            nextCursor = tsQuery == null
+                    ? CursorCodec.encode(CURSOR_BROWSE, String.valueOf(last.getCreatedAtMicros()), last.getListingId().toString())
+                    : CursorCodec.encode(CURSOR_SEARCH, String.valueOf(Double.doubleToLongBits(last.getScore())), last.getListingId().toString());
+        }
+
+        return new CursorPage<>(pageRows.stream().map(this::toResponse).toList(), nextCursor, hasMore);
+    }
+
+    /**
+     * Autocomplete for the marketplace search box (prefix match on title, category,
+     * company and description).
+     */
     @Transactional(readOnly = true)
-    public List<MarketplaceCategoryDto> getCategories() {
-        List<Object[]> rows = listingRepository.findDistinctCategoryCodesWithActiveListings();
-        return rows.stream()
-                .map(row -> new MarketplaceCategoryDto((String) row[0], (String) row[1]))
+    public List<ListingSuggestion> suggest(String prefix, int limit) {
+        String tsQuery = TextSearchUtils.toPrefixTsQuery(prefix);
+        if (tsQuery == null) {
+            return List.of();
+        }
+        return listingRepository.suggestActiveListings(tsQuery, limit).stream()
+                .map(p -> new ListingSuggestion(p.getListingId(), p.getTitle(), p.getCategoryName(), p.getCompanyName()))
                 .toList();
     }
 
+    /**
+     * Categories with at least one active listing, served from the in-memory catalogue.
+     */
+    public MarketplaceCategoryCatalogue.Snapshot getCategories() {
+        return categoryCatalogue.getSnapshot();
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw CursorCodec.invalid();
+        }
+    }
+
+    private static String parseUuid(String value) {
+        try {
+            return UUID.fromString(value).toString();
+        } catch (IllegalArgumentException e) {
+            throw CursorCodec.invalid();
+        }
+    }
+
     private PublicListingResponse toResponse(PublicListingProjection p) {
         return new PublicListingResponse(
                 p.getListingId(),
@@ -79,4 +191,6 @@ public class MarketplaceListingService {
     ) {}
 
     public record MarketplaceCategoryDto(String code, String name) {}
+
+    public record ListingSuggestion(UUID listingId, String title, String categoryName, String companyName) {}
 }
@@ -0,0 +1,182 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.application.service.MarketplaceService.CompanyCandidate;
+import com.oxfield.services.domain.event.TechnicianAvailabilityChangedEvent;
+import com.oxfield.services.shared.util.GeoUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.locationtech.jts.geom.Point;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Cache de candidatos da busca de empresas do marketplace.
+ *
+ * Chave: categoria + célula geohash grossa + data. O valor é o conjunto de candidatos
+ * (todos os técnicos disponíveis ao alcance do centro da célula); a escolha do técnico
+ * mais próximo do cliente por tenant é feita pelo MarketplaceService sobre esse conjunto.
+ *
+ * TTL curto e invalidação dirigida: quando um técnico fica online/offline, removem-se
+ * apenas as entradas cuja área de busca alcança a posição dele.
+ */
+@Component
+public class MarketplaceSearchCache {
+
+    private static final Logger log = LoggerFactory.getLogger(MarketplaceSearchCache.class);
+    private static final String METRIC_PREFIX = "oxfield.marketplace.search.cache";
+
+    private final int cellPrecision;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<CellKey, CachedCandidates> entries;
+    /** Incrementada a cada invalidação; cargas iniciadas antes dela não são guardadas. */
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    public MarketplaceSearchCache(
+            MeterRegistry meterRegistry,
+            @Value("${oxfield.marketplace.search-cache.cell-precision:6}") int cellPrecision,
+            @Value("${oxfield.marketplace.search-cache.max-entries:5000}") int maxEntries,
+            @Value("${oxfield.marketplace.search-cache.ttl:60s}") Duration ttl) {
+        this.cellPrecision = cellPrecision;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+
+        this.hits = Counter.builder(METRIC_PREFIX + ".requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_PREFIX + ".requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder(METRIC_PREFIX + ".invalidations")
+                .description("Entradas removidas por mudança de disponibilidade de técnicos")
+                .register(meterRegistry);
+
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CellKey, CachedCandidates> eldest) {
+                return size() > MarketplaceSearchCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Chave de cache para a localização do cliente.
+     */
+    public CellKey keyFor(String categoryCode, Point customerLocation, LocalDate date) {
+        return new CellKey(categoryCode, GeoUtils.geohash(customerLocation, cellPrecision), date);
+    }
+
+    /**
+     * Devolve os candidatos da célula, carregando-os com o loader em caso de miss.
+     *
+     * @param reachMeters raio coberto pela carga a partir do centro da célula
+     *                    (usado para decidir a invalidação)
+     */
+    public List<CompanyCandidate> get(CellKey key, double reachMeters, Supplier<List<CompanyCandidate>> loader) {
+        long now = System.nanoTime();
+        long loadGeneration;
+
+        lock.lock();
+        try {
+            CachedCandidates cached = entries.get(key);
+            if (cached != null && now - cached.storedAt() < ttlNanos) {
+                hits.increment();
+                return cached.candidates();
+            }
+            if (cached != null) {
+                entries.remove(key);
+            }
+            loadGeneration = generation;
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        List<CompanyCandidate> candidates = List.copyOf(loader.get());
+
+        lock.lock();
+        try {
+            if (loadGeneration == generation) {
+                entries.put(key, new CachedCandidates(candidates, GeoUtils.geohashCenter(key.cell()), reachMeters, now));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return candidates;
+    }
+
+    /**
+     * Técnico ficou online/offline: remove as células cuja área de busca o alcança.
+     * Sem localização conhecida o técnico não aparece em nenhuma busca, nada a fazer.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTechnicianAvailabilityChanged(TechnicianAvailabilityChangedEvent event) {
+        if (event.location() == null) {
+            return;
+        }
+
+        int removed = 0;
+        lock.lock();
+        try {
+            generation++;
+            Iterator<CachedCandidates> it = entries.values().iterator();
+            while (it.hasNext()) {
+                CachedCandidates cached = it.next();
+                if (GeoUtils.isWithinRadius(cached.cellCenter(), event.location(), cached.reachMeters())) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (removed > 0) {
+            invalidations.increment(removed);
+            log.debug("Technician {} is now {}: invalidated {} marketplace search cells",
+                    event.technicianId(), event.online() ? "online" : "offline", removed);
+        }
+    }
+
+    /**
+     * Remove todas as entradas.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            generation++;
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public record CellKey(String categoryCode, String cell, LocalDate date) {
+    }
+
+    private record CachedCandidates(
+            List<CompanyCandidate> candidates,
+            Point cellCenter,
+            double reachMeters,
+            long storedAt) {
+    }
+}
@@ -1,11 +1,7 @@
 package com.oxfield.services.application.service;
 
 import com.oxfield.services.adapter.output.persistence.TechnicianRepository;
-import com.oxfield.services.adapter.output.persistence.TenantRepository;
 import com.oxfield.services.application.port.output.MapsPort;
-import com.oxfield.services.domain.entity.Technician;
-import com.oxfield.services.domain.entity.Tenant;
-import com.oxfield.services.domain.enums.TenantStatus;
 import com.oxfield.services.shared.util.GeoUtils;
 import org.locationtech.jts.geom.Point;
 import org.slf4j.Logger;
@@ -16,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 /**
@@ -32,117 +29,102 @@ public class MarketplaceService {
     @Value("${oxfield.marketplace.max-radius-km:100}")
     private double maxRadiusKm;
 
-    private final TenantRepository tenantRepository;
     private final TechnicianRepository technicianRepository;
     private final MapsPort mapsPort;
+    private final MarketplaceSearchCache searchCache;
 
     public MarketplaceService(
-            TenantRepository tenantRepository,
             TechnicianRepository technicianRepository,
-            MapsPort mapsPort) {
-        this.tenantRepository = tenantRepository;
+            MapsPort mapsPort,
+            MarketplaceSearchCache searchCache) {
         this.technicianRepository = technicianRepository;
         this.mapsPort = mapsPort;
+        this.searchCache = searchCache;
     }
 
     /**
      * Busca empresas disponíveis para uma categoria de serviço,
      * ordenadas pela proximidade do técnico mais próximo.
+     *
+     * Os candidatos (todos os técnicos disponíveis com skill compatível dos tenants ativos
+     * ao alcance da célula) vêm do MarketplaceSearchCache, por célula geohash; numa falha
+     * de cache uma única query espacial os carrega a partir do centro da célula, com o raio
+     * alargado pela meia diagonal da célula. Por request, sobre esse conjunto, escolhe-se o
+     * técnico de cada tenant mais próximo do cliente dentro do raio máximo, e dele saem
+     * distância e ETA. O mais próximo do centro da célula não serve: pode estar fora do raio
+     * ou mais longe do cliente que outro técnico do mesmo tenant.
      */
     @Transactional(readOnly = true)
     public List<CompanySearchResult> searchCompanies(SearchRequest request) {
+        Point customerLocation = request.customerLocation();
         log.info("Searching companies for category: {} at location: ({}, {})",
                 request.categoryCode(),
-                GeoUtils.getLatitude(request.customerLocation()),
-                GeoUtils.getLongitude(request.customerLocation()));
-
-        // 1. Buscar todos os tenants ativos
-        List<Tenant> activeTenants = tenantRepository.findByStatus(TenantStatus.ACTIVE);
-        
-        if (activeTenants.isEmpty()) {
-            log.warn("No active tenants found");
-            return Collections.emptyList();
-        }
-
-        log.info("Found {} active tenants", activeTenants.size());
-
-        // 2. Para cada tenant, buscar o técnico mais próximo com skill compatível
-        List<CompanySearchResult> results = activeTenants.stream()
-                .map(tenant -> findNearestTechnicianForTenant(tenant, request))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
+                GeoUtils.getLatitude(customerLocation),
+                GeoUtils.getLongitude(customerLocation));
+
+        MarketplaceSearchCache.CellKey key = searchCache.keyFor(
+                request.categoryCode().toLowerCase(), customerLocation, request.date());
+        Point cellCenter = GeoUtils.geohashCenter(key.cell());
+        double reachMeters = maxRadiusKm * 1000.0 + GeoUtils.geohashHalfDiagonalMeters(key.cell());
+
+        List<CompanyCandidate> candidates = searchCache.get(key, reachMeters,
+                () -> loadCandidates(key.categoryCode(), cellCenter, reachMeters));
+
+        Collection<CompanyCandidate> nearestPerTenant = candidates.stream()
+                .filter(c -> distanceKm(c, customerLocation) <= maxRadiusKm)
+                .collect(Collectors.toMap(
+                        CompanyCandidate::tenantId,
+                        c -> c,
+                        BinaryOperator.minBy(Comparator.comparingDouble(
+                                (CompanyCandidate c) -> distanceKm(c, customerLocation)))))
+                .values();
+
+        List<CompanySearchResult> results = nearestPerTenant.stream()
+                .map(c -> toResult(c, customerLocation))
                 .sorted(Comparator.comparingDouble(CompanySearchResult::nearestTechnicianDistanceKm))
                 .collect(Collectors.toList());
 
-        log.info("Found {} companies with available technicians", results.size());
+        log.info("Found {} companies with available technicians ({} cached technicians)",
+                results.size(), candidates.size());
         return results;
     }
 
-    /**
-     * Encontra o técnico mais próximo para um tenant específico.
-     */
-    private Optional<CompanySearchResult> findNearestTechnicianForTenant(Tenant tenant, SearchRequest request) {
-        // Buscar técnicos disponíveis deste tenant
-        List<Technician> technicians = technicianRepository.findAvailableByTenantId(tenant.getId());
-
-        if (technicians.isEmpty()) {
-            log.debug("No available technicians for tenant: {}", tenant.getName());
-            return Optional.empty();
-        }
-
-        // Filtrar por skill compatível e encontrar o mais próximo
-        String requiredSkill = request.categoryCode().toLowerCase();
-
-        Optional<TechnicianDistance> nearestTechnician = technicians.stream()
-                .filter(tech -> hasCompatibleSkill(tech, requiredSkill))
-                .map(tech -> {
-                    double distanceKm = GeoUtils.distanceInKilometers(
-                            tech.getCurrentLocation(),
-                            request.customerLocation());
-                    return new TechnicianDistance(tech, distanceKm);
-                })
-                .filter(td -> td.distanceKm <= maxRadiusKm)
-                .min(Comparator.comparingDouble(TechnicianDistance::distanceKm));
-
-        if (nearestTechnician.isEmpty()) {
-            log.debug("No technicians with compatible skills within radius for tenant: {}", tenant.getName());
-            return Optional.empty();
-        }
-
-        TechnicianDistance td = nearestTechnician.get();
+    private List<CompanyCandidate> loadCandidates(String categoryCode, Point center, double radiusMeters) {
+        return technicianRepository.findAvailableWithinRadius(
+                        GeoUtils.getLatitude(center),
+                        GeoUtils.getLongitude(center),
+                        radiusMeters,
+                        categoryCode)
+                .stream()
+                .map(row -> new CompanyCandidate(
+                        row.getTenantId(),
+                        row.getCompanyName(),
+                        row.getLogoUrl(),
+                        row.getRating() != null ? row.getRating() : 5.0,
+                        row.getTotalReviews() != null ? row.getTotalReviews() : 0,
+                        GeoUtils.createPoint(row.getLatitude(), row.getLongitude())))
+                .toList();
+    }
 
+    private static double distanceKm(CompanyCandidate candidate, Point customerLocation) {
+        return GeoUtils.distanceInKilometers(candidate.technicianLocation(), customerLocation);
+    }
+
+    private CompanySearchResult toResult(CompanyCandidate candidate, Point customerLocation) {
         // Calcular tempo estimado de chegada
         MapsPort.DistanceResult distanceResult = mapsPort.getDistance(
-                td.technician.getCurrentLocation(),
-                request.customerLocation());
-
-        return Optional.of(new CompanySearchResult(
-                tenant.getId(),
-                tenant.getName(),
-                tenant.getLogoUrl(),
-                tenant.getAverageRating() != null ? tenant.getAverageRating().doubleValue() : 5.0,
-                tenant.getTotalReviews() != null ? tenant.getTotalReviews() : 0,
+                candidate.technicianLocation(), customerLocation);
+
+        return new CompanySearchResult(
+                candidate.tenantId(),
+                candidate.companyName(),
+                candidate.logoUrl(),
+                candidate.rating(),
+                candidate.totalReviews(),
                 distanceResult.distanceKm(),
                 distanceResult.durationMinutes(),
                 true // hasAvailability
-        ));
-    }
-
-    /**
-     * Verifica se o técnico tem skill compatível com a categoria.
-     */
-    private boolean hasCompatibleSkill(Technician technician, String requiredSkill) {
-        if (technician.getSkills() == null || technician.getSkills().isEmpty()) {
-            return false;
-        }
-
-        return technician.getSkills().stream()
-                .anyMatch(skill -> {
-                    String skillLower = skill.toLowerCase();
-                    return skillLower.contains(requiredSkill) ||
-                           requiredSkill.contains(skillLower) ||
-                           skillLower.contains("general");
-                });
+        );
     }
 
     // ========== DTOs ==========
@@ -164,8 +146,13 @@ public class MarketplaceService {
             boolean hasAvailability
     ) {}
 
-    private record TechnicianDistance(
-            Technician technician,
-            double distanceKm
+    /** Candidato em cache: técnico disponível de um tenant ao alcance de uma célula. */
+    public record CompanyCandidate(
+            UUID tenantId,
+            String companyName,
+            String logoUrl,
+            double rating,
+            int totalReviews,
+            Point technicianLocation
     ) {}
 }
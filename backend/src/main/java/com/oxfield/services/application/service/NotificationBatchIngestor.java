@@ -0,0 +1,235 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.NotificationBatchWriter;
+import com.oxfield.services.adapter.output.persistence.UserRepository;
+import com.oxfield.services.adapter.output.persistence.UserRepository.UserTenantProjection;
+import com.oxfield.services.application.service.NotificationService.NotificationRequest;
+import com.oxfield.services.domain.enums.NotificationType;
+import com.oxfield.services.domain.enums.PriorityLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Grava um lote de notificações na transação do chamador: agrupa por usuário e
+ * tipo, resolve os tenants numa consulta e insere com um único JDBC batch.
+ *
+ * Várias notificações do mesmo usuário e tipo no lote viram uma só (a mais
+ * recente, com a contagem das demais); repetições idênticas são descartadas.
+ * As gravadas são empurradas ao usuário (NotificationPushService) após o commit.
+ *
+ * Chamado pelo handler de notificações do outbox com o lote de eventos inteiro:
+ * quem gera o evento não espera o banco, e a posição do outbox só avança depois
+ * que as notificações estão gravadas.
+ */
+@Component
+public class NotificationBatchIngestor {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationBatchIngestor.class);
+    private static final String METRIC_PREFIX = "oxfield.notifications.ingest";
+
+    private final UserRepository userRepository;
+    private final NotificationBatchWriter batchWriter;
+    private final NotificationPushService pushService;
+
+    private final Counter requestedCounter;
+    private final Counter coalescedCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+
+    public NotificationBatchIngestor(
+            UserRepository userRepository,
+            NotificationBatchWriter batchWriter,
+            NotificationPushService pushService,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.batchWriter = batchWriter;
+        this.pushService = pushService;
+
+        this.requestedCounter = counter(meterRegistry, "requested", "Notificações recebidas para gravação");
+        this.coalescedCounter = counter(meterRegistry, "coalesced", "Notificações absorvidas por outra do mesmo usuário e tipo");
+        this.writtenCounter = counter(meterRegistry, "written", "Notificações gravadas");
+        this.failedCounter = counter(meterRegistry, "failed", "Notificações descartadas (usuário sem tenant ou linha rejeitada)");
+    }
+
+    /**
+     * Grava o lote. tenantId das requisições pode vir null (resolvido em lote).
+     *
+     * @return quantas notificações foram gravadas
+     */
+    public int ingest(List<NotificationRequest> requests) {
+        List<NotificationRequest> valid = new ArrayList<>(requests.size());
+        for (NotificationRequest request : requests) {
+            if (request.userId() == null) {
+                log.warn("Cannot send notification: userId is null");
+            } else {
+                valid.add(request);
+            }
+        }
+        if (valid.isEmpty()) {
+            return 0;
+        }
+        requestedCounter.increment(valid.size());
+
+        List<Coalesced> coalesced = coalesce(valid);
+        coalescedCounter.increment(valid.size() - coalesced.size());
+
+        Map<UUID, UUID> tenants = resolveTenants(coalesced);
+        List<NotificationBatchWriter.Row> rows = new ArrayList<>(coalesced.size());
+        for (Coalesced notification : coalesced) {
+            UUID tenantId = notification.tenantId() != null ? notification.tenantId() : tenants.get(notification.userId());
+            if (tenantId == null) {
+                log.warn("User not found or without tenant for notification: {}", notification.userId());
+                failedCounter.increment();
+                continue;
+            }
+            rows.add(new NotificationBatchWriter.Row(
+                    UUID.randomUUID(),
+                    tenantId,
+                    notification.userId(),
+                    notification.type(),
+                    notification.title(),
+                    notification.message(),
+                    notification.priority()));
+        }
+
+        List<NotificationBatchWriter.Row> written = batchWriter.insertAll(rows);
+        writtenCounter.increment(written.size());
+        failedCounter.increment(rows.size() - written.size());
+        log.debug("Wrote {} notifications ({} requested)", written.size(), valid.size());
+
+        pushAfterCommit(written);
+        return written.size();
+    }
+
+    /**
+     * Uma notificação por usuário e tipo, na ordem da primeira ocorrência: vale a
+     * mais recente, com a maior prioridade do grupo e "(e mais N)" no texto
+     * quando o grupo tinha conteúdos diferentes.
+     */
+    static List<Coalesced> coalesce(List<NotificationRequest> requests) {
+        Map<PendingKey, Pending> pending = new LinkedHashMap<>();
+        for (NotificationRequest request : requests) {
+            pending.computeIfAbsent(new PendingKey(request.userId(), request.type()), k -> new Pending())
+                    .add(request);
+        }
+        List<Coalesced> result = new ArrayList<>(pending.size());
+        for (Map.Entry<PendingKey, Pending> entry : pending.entrySet()) {
+            Pending p = entry.getValue();
+            result.add(new Coalesced(
+                    entry.getKey().userId(),
+                    p.latest.tenantId(),
+                    entry.getKey().type(),
+                    p.latest.title(),
+                    p.message(),
+                    p.priority));
+        }
+        return result;
+    }
+
+    // ========== Private Methods ==========
+
+    /**
+     * Tenant dos usuários cujas notificações vieram sem tenantId, numa consulta.
+     */
+    private Map<UUID, UUID> resolveTenants(List<Coalesced> notifications) {
+        Set<UUID> unresolved = new LinkedHashSet<>();
+        for (Coalesced notification : notifications) {
+            if (notification.tenantId() == null) {
+                unresolved.add(notification.userId());
+            }
+        }
+        Map<UUID, UUID> tenants = new HashMap<>();
+        if (unresolved.isEmpty()) {
+            return tenants;
+        }
+        for (UserTenantProjection user : userRepository.findTenantsByIds(unresolved)) {
+            if (user.getTenantId() != null) {
+                tenants.put(user.getId(), user.getTenantId());
+            }
+        }
+        return tenants;
+    }
+
+    private void pushAfterCommit(List<NotificationBatchWriter.Row> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        Runnable push = () -> {
+            Instant now = Instant.now();
+            for (NotificationBatchWriter.Row row : written) {
+                pushService.created(row.userId(), row.id(), row.type(), row.title(), row.message(), now);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            push.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                push.run();
+            }
+        });
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String description) {
+        return Counter.builder(METRIC_PREFIX + "." + name)
+                .description(description)
+                .register(registry);
+    }
+
+    // ========== DTOs ==========
+
+    record Coalesced(
+            UUID userId,
+            UUID tenantId,
+            NotificationType type,
+            String title,
+            String message,
+            PriorityLevel priority
+    ) {}
+
+    private record PendingKey(UUID userId, NotificationType type) {
+    }
+
+    /**
+     * Notificações de um usuário e tipo no lote: vale a mais recente,
+     * com a maior prioridade entre elas.
+     */
+    private static final class Pending {
+        final Set<String> contents = new LinkedHashSet<>();
+        NotificationRequest latest;
+        PriorityLevel priority = PriorityLevel.LOW;
+
+        void add(NotificationRequest request) {
+            latest = request;
+            contents.add(request.title() + "\n" + request.message());
+            PriorityLevel p = request.priority() != null ? request.priority() : PriorityLevel.MEDIUM;
+            if (p.compareTo(priority) > 0) {
+                priority = p;
+            }
+        }
+
+        String message() {
+            int others = contents.size() - 1;
+            return others > 0
+                    ? String.format("%s (e mais %d)", latest.message(), others)
+                    : latest.message();
+        }
+    }
+}
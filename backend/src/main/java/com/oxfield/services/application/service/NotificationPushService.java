@@ -0,0 +1,96 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.NotificationRepository;
+import com.oxfield.services.application.port.output.PushTransport.PushMessage;
+import com.oxfield.services.domain.enums.NotificationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Push das mudanças de notificação em /user/queue/notifications (STOMP, nome do
+ * usuário = userId). Notificações novas também vão aos dispositivos do usuário
+ * pelo PushDispatcher (FCM).
+ *
+ * Cada mensagem leva o contador de não lidas já comitado, lido na hora do push
+ * (count sobre o índice parcial da V32), para o app não ter de recalcular nem
+ * consultar unread-count a cada evento.
+ *
+ * O broker é por instância: com vários nós o push só alcança quem está
+ * conectado neste nó, até existir um broker relay.
+ */
+@Component
+public class NotificationPushService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationPushService.class);
+    private static final String DESTINATION = "/queue/notifications";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PushDispatcher pushDispatcher;
+    private final NotificationRepository notificationRepository;
+
+    public NotificationPushService(
+            SimpMessagingTemplate messagingTemplate,
+            PushDispatcher pushDispatcher,
+            NotificationRepository notificationRepository) {
+        this.messagingTemplate = messagingTemplate;
+        this.pushDispatcher = pushDispatcher;
+        this.notificationRepository = notificationRepository;
+    }
+
+    /**
+     * Notificação gravada (chamar após o commit).
+     */
+    public void created(UUID userId, UUID notificationId, NotificationType type, String title, String message,
+            Instant createdAt) {
+        send(userId, new NotificationPush(EVENT_CREATED, notificationId, type.name(), title, message,
+                createdAt.toString(), countUnread(userId)));
+        // Sem id da notificação no payload: mensagens iguais para vários usuários viram um multicast
+        pushDispatcher.submit(userId, new PushMessage(title, message, Map.of("type", type.name())));
+    }
+
+    public void read(UUID userId, UUID notificationId) {
+        send(userId, new NotificationPush(EVENT_READ, notificationId, null, null, null, null, countUnread(userId)));
+    }
+
+    public void allRead(UUID userId) {
+        send(userId, new NotificationPush(EVENT_READ_ALL, null, null, null, null, null, countUnread(userId)));
+    }
+
+    private long countUnread(UUID userId) {
+        return notificationRepository.countByUserIdAndIsReadFalse(userId);
+    }
+
+    private void send(UUID userId, NotificationPush push) {
+        try {
+            messagingTemplate.convertAndSendToUser(userId.toString(), DESTINATION, push);
+        } catch (MessagingException e) {
+            log.warn("Failed to push notification event {} to user {}: {}", push.event(), userId, e.getMessage());
+        }
+    }
+
+    // ========== DTOs ==========
+
+    public static final String EVENT_CREATED = "created";
+    public static final String EVENT_READ = "read";
+    public static final String EVENT_READ_ALL = "read_all";
+
+    /**
+     * Mensagem do stream; unreadCount é o total de não lidas do usuário depois da mudança.
+     */
+    public record NotificationPush(
+            String event,
+            UUID id,
+            String type,
+            String title,
+            String message,
+            String createdAt,
+            long unreadCount
+    ) {}
+}
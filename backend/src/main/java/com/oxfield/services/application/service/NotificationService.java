@@ -1,20 +1,30 @@
 package com.oxfield.services.application.service;
 
+import com.oxfield.services.adapter.output.persistence.DevicePushTokenRepository;
 import com.oxfield.services.adapter.output.persistence.NotificationRepository;
 import com.oxfield.services.domain.entity.Notification;
 import com.oxfield.services.domain.entity.User;
+import com.oxfield.services.domain.enums.AppType;
 import com.oxfield.services.domain.enums.NotificationType;
 import com.oxfield.services.domain.enums.PriorityLevel;
+import com.oxfield.services.shared.exception.BusinessException;
+import com.oxfield.services.shared.exception.ErrorCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * Serviço de notificações in-app.
+ * Cada criação e leitura é empurrada ao usuário via STOMP depois do commit
+ * (NotificationPushService), com o contador de não lidas na mensagem; as
+ * criações vão também aos dispositivos registrados (PushDispatcher).
  */
 @Service
 public class NotificationService {
@@ -22,10 +32,29 @@ public class NotificationService {
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
     private final NotificationRepository notificationRepository;
-    // TODO: Injetar FirebaseAdapter para push notifications
-
-    public NotificationService(NotificationRepository notificationRepository) {
+    private final NotificationBatchIngestor batchIngestor;
+    private final NotificationPushService pushService;
+    private final DevicePushTokenRepository deviceTokenRepository;
+
+    public NotificationService(
+            NotificationRepository notificationRepository,
+            NotificationBatchIngestor batchIngestor,
+            NotificationPushService pushService,
+            DevicePushTokenRepository deviceTokenRepository) {
         this.notificationRepository = notificationRepository;
+        this.batchIngestor = batchIngestor;
+        this.pushService = pushService;
+        this.deviceTokenRepository = deviceTokenRepository;
+    }
+
+    /**
+     * Grava várias notificações de uma vez na transação corrente, agrupando as do
+     * mesmo usuário e tipo (NotificationBatchIngestor). user e tenantId são opcionais.
+     *
+     * @return quantas notificações foram gravadas
+     */
+    public int sendAll(List<NotificationRequest> requests) {
+        return batchIngestor.ingest(requests);
     }
 
     /**
@@ -45,13 +74,23 @@ public class NotificationService {
 
         notification = notificationRepository.save(notification);
 
-        // TODO: Enviar push notification via Firebase
-        // firebaseAdapter.sendPush(request.userId(), request.title(),
-        // request.message());
+        UUID userId = request.userId() != null ? request.userId() : request.user().getId();
+        Notification saved = notification;
+        afterCommit(() -> pushService.created(userId, saved.getId(), saved.getType(), saved.getTitle(),
+                saved.getMessage(), saved.getCreatedAt() != null ? saved.getCreatedAt() : Instant.now()));
 
         return notification;
     }
 
+    /**
+     * Todas as notificações do usuário, mais recentes primeiro. Usado no cold
+     * start do app (depois as mudanças chegam pelo stream).
+     */
+    @Transactional(readOnly = true)
+    public List<Notification> listForUser(UUID userId) {
+        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
     /**
      * Obtém notificações não lidas de um usuário.
      */
@@ -61,7 +100,7 @@ public class NotificationService {
     }
 
     /**
-     * Conta notificações não lidas.
+     * Conta notificações não lidas (índice parcial idx_notifications_user_unread).
      */
     @Transactional(readOnly = true)
     public long countUnread(UUID userId) {
@@ -69,15 +108,23 @@ public class NotificationService {
     }
 
     /**
-     * Marca notificação como lida.
+     * Marca notificação do usuário como lida.
      */
     @Transactional
-    public void markAsRead(UUID notificationId) {
-        notificationRepository.findById(notificationId)
-                .ifPresent(notification -> {
-                    notification.markAsRead();
-                    notificationRepository.save(notification);
-                });
+    public void markAsRead(UUID userId, UUID notificationId) {
+        Notification notification = notificationRepository.findById(notificationId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Notificação não encontrada"));
+
+        if (!notification.getUserId().equals(userId)) {
+            throw new BusinessException(ErrorCode.ACCESS_DENIED, "Esta notificação não pertence a você");
+        }
+        if (Boolean.TRUE.equals(notification.getIsRead())) {
+            return;
+        }
+
+        notification.markAsRead();
+        notificationRepository.save(notification);
+        afterCommit(() -> pushService.read(userId, notificationId));
     }
 
     /**
@@ -86,6 +133,34 @@ public class NotificationService {
     @Transactional
     public void markAllAsRead(UUID userId) {
         notificationRepository.markAllAsReadByUserId(userId);
+        afterCommit(() -> pushService.allRead(userId));
+    }
+
+    /**
+     * Registra o token de push do dispositivo para o usuário (reatribui se o
+     * aparelho era de outro usuário).
+     */
+    public void registerDevice(UUID userId, UUID tenantId, AppType appType, String token) {
+        deviceTokenRepository.upsert(token, userId.toString(), tenantId != null ? tenantId.toString() : null,
+                appType.name());
+    }
+
+    /**
+     * Remove o token do usuário (logout).
+     */
+    public void unregisterDevice(UUID userId, String token) {
+        deviceTokenRepository.deleteByUserIdAndToken(userId, token);
+    }
+
+    // ========== Private Methods ==========
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     // ========== DTO ==========
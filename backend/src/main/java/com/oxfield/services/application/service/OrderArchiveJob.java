@@ -0,0 +1,112 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.ServiceOrderArchiver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Arquivamento das OS finalizadas (COMPLETED/CANCELLED) agendadas antes de
+ * hoje - horizon: a cada interval uma virtual thread move lotes de batch-size
+ * até não sobrar nenhuma. Com vários nós só um arquiva por vez (advisory lock
+ * na função archive_service_orders).
+ *
+ * Não usa @Scheduled para não depender de @EnableScheduling.
+ */
+@Component
+public class OrderArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveJob.class);
+
+    private final ServiceOrderArchiver archiver;
+    private final boolean enabled;
+    private final Duration horizon;
+    private final Duration interval;
+    private final int batchSize;
+    private final Counter archivedCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderArchiveJob(
+            ServiceOrderArchiver archiver,
+            MeterRegistry meterRegistry,
+            @Value("${oxfield.orders.archive.enabled:false}") boolean enabled,
+            @Value("${oxfield.orders.archive.horizon:365d}") Duration horizon,
+            @Value("${oxfield.orders.archive.interval:1h}") Duration interval,
+            @Value("${oxfield.orders.archive.batch-size:500}") int batchSize) {
+        this.archiver = archiver;
+        this.enabled = enabled;
+        this.horizon = horizon;
+        this.interval = interval;
+        this.batchSize = Math.max(1, batchSize);
+        this.archivedCounter = Counter.builder("oxfield.orders.archived")
+                .description("OS movidas para service_orders_archive")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Order archive job disabled");
+            return;
+        }
+        running = true;
+        worker = Thread.ofVirtual().name("order-archive").start(this::loop);
+        log.info("Order archive job started (horizon {}, every {})", horizon, interval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Arquiva tudo o que passou do horizonte. Retorna o total movido.
+     */
+    public int archiveNow() {
+        LocalDate before = LocalDate.now().minusDays(horizon.toDays());
+        int total = 0;
+        int moved;
+        do {
+            moved = archiver.archiveBatch(before, batchSize);
+            total += moved;
+            archivedCounter.increment(moved);
+        } while (moved >= batchSize && !Thread.currentThread().isInterrupted());
+
+        if (total > 0) {
+            log.info("Archived {} finished orders scheduled before {}", total, before);
+        }
+        return total;
+    }
+
+    // ========== Private Methods ==========
+
+    private void loop() {
+        while (running) {
+            try {
+                archiveNow();
+            } catch (Exception e) {
+                log.error("Order archive cycle failed: {}", e.getMessage(), e);
+            }
+            try {
+                Thread.sleep(interval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.CustomerAddressRepository;
+import com.oxfield.services.adapter.output.persistence.CustomerAddressRepository.TenantCustomerAddressProjection;
+import com.oxfield.services.adapter.output.persistence.ServiceOrderBulkWriter;
+import com.oxfield.services.adapter.output.persistence.ServiceOrderBulkWriter.NewOrder;
+import com.oxfield.services.adapter.output.persistence.TechnicianRepository;
+import com.oxfield.services.adapter.output.persistence.TechnicianRepository.TechnicianRefProjection;
+import com.oxfield.services.application.service.OrderImportService.ImportRowError;
+import com.oxfield.services.application.service.OutboxService.PendingEvent;
+import com.oxfield.services.domain.entity.ServiceOrder;
+import com.oxfield.services.domain.enums.PriorityLevel;
+import com.oxfield.services.domain.event.OrderAssignedEvent;
+import com.oxfield.services.domain.event.OrderUpdatedEvent;
+import com.oxfield.services.shared.exception.ErrorCode;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Grava um lote do import de OS numa transação.
+ *
+ * Clientes, endereços e técnicos do lote são resolvidos com uma consulta cada
+ * (mapas de lookup do lote, em vez de uma consulta por linha); as linhas
+ * válidas entram num único JDBC batch e os eventos num único append no outbox.
+ * Separado do OrderImportService para passar pelo proxy transacional.
+ */
+@Component
+public class OrderImportBatchProcessor {
+
+    private final CustomerAddressRepository addressRepository;
+    private final TechnicianRepository technicianRepository;
+    private final ServiceOrderBulkWriter bulkWriter;
+    private final OsNumberAllocator osNumberAllocator;
+    private final OutboxService outboxService;
+
+    public OrderImportBatchProcessor(
+            CustomerAddressRepository addressRepository,
+            TechnicianRepository technicianRepository,
+            ServiceOrderBulkWriter bulkWriter,
+            OsNumberAllocator osNumberAllocator,
+            OutboxService outboxService) {
+        this.addressRepository = addressRepository;
+        this.technicianRepository = technicianRepository;
+        this.bulkWriter = bulkWriter;
+        this.osNumberAllocator = osNumberAllocator;
+        this.outboxService = outboxService;
+    }
+
+    /**
+     * Importa as linhas válidas do lote; as demais voltam em errors.
+     */
+    @Transactional
+    public BatchOutcome importBatch(UUID tenantId, List<ImportRow> rows) {
+        Map<UUID, List<TenantCustomerAddressProjection>> addressesByCustomer = addressRepository
+                .findTenantCustomerAddresses(tenantId, distinct(rows, ImportRow::customerId))
+                .stream()
+                .collect(Collectors.groupingBy(TenantCustomerAddressProjection::getCustomerId));
+        Set<UUID> technicianIds = distinct(rows, ImportRow::technicianId);
+        Map<UUID, UUID> technicianUsers = technicianIds.isEmpty() ? Map.of() : technicianRepository
+                .findRefsByTenantAndIds(tenantId, technicianIds)
+                .stream()
+                .collect(Collectors.toMap(TechnicianRefProjection::getId, TechnicianRefProjection::getUserId));
+
+        List<ImportRowError> errors = new ArrayList<>();
+        List<ImportRow> accepted = new ArrayList<>();
+        List<TenantCustomerAddressProjection> targets = new ArrayList<>();
+        for (ImportRow row : rows) {
+            List<TenantCustomerAddressProjection> addresses = addressesByCustomer.get(row.customerId());
+            if (addresses == null) {
+                errors.add(new ImportRowError(row.line(), ErrorCode.VALIDATION_ERROR.getCode(),
+                        "Cliente não pertence à empresa ou não possui endereço"));
+                continue;
+            }
+            TenantCustomerAddressProjection address = pickAddress(addresses, row.addressId());
+            if (address == null) {
+                errors.add(new ImportRowError(row.line(), ErrorCode.VALIDATION_ERROR.getCode(),
+                        "Endereço não pertence ao cliente"));
+            } else if (row.technicianId() != null && !technicianUsers.containsKey(row.technicianId())) {
+                errors.add(new ImportRowError(row.line(), ErrorCode.TECH_NOT_FOUND.getCode(),
+                        "Técnico não encontrado"));
+            } else {
+                accepted.add(row);
+                targets.add(address);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return new BatchOutcome(0, errors);
+        }
+
+        long firstNumber = osNumberAllocator.reserveRange(tenantId, accepted.size());
+        List<NewOrder> orders = new ArrayList<>(accepted.size());
+        List<PendingEvent> events = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            ImportRow row = accepted.get(i);
+            TenantCustomerAddressProjection address = targets.get(i);
+            UUID orderId = UUID.randomUUID();
+            String osNumber = ServiceOrder.generateOsNumber(firstNumber + i);
+            orders.add(new NewOrder(
+                    orderId,
+                    osNumber,
+                    row.title(),
+                    row.description(),
+                    row.categoryId(),
+                    row.priority(),
+                    row.customerId(),
+                    address.getAddressId(),
+                    row.technicianId(),
+                    row.date(),
+                    row.startTime(),
+                    row.durationMinutes(),
+                    row.estimatedPrice(),
+                    UUID.randomUUID()));
+            Object event = row.technicianId() != null
+                    ? new OrderAssignedEvent(orderId, osNumber, row.technicianId(),
+                            technicianUsers.get(row.technicianId()), row.customerId(), address.getCustomerUserId())
+                    : new OrderUpdatedEvent(orderId);
+            events.add(new PendingEvent(event, orderId));
+        }
+
+        bulkWriter.insert(tenantId, orders);
+        outboxService.appendAll(events);
+        return new BatchOutcome(orders.size(), errors);
+    }
+
+    // ========== Private Methods ==========
+
+    /**
+     * Endereço informado (se for do cliente); senão o padrão; senão o primeiro.
+     */
+    private static TenantCustomerAddressProjection pickAddress(
+            List<TenantCustomerAddressProjection> addresses, UUID addressId) {
+        if (addressId != null) {
+            return addresses.stream()
+                    .filter(a -> a.getAddressId().equals(addressId))
+                    .findFirst()
+                    .orElse(null);
+        }
+        return addresses.stream()
+                .filter(a -> Boolean.TRUE.equals(a.getIsDefault()))
+                .findFirst()
+                .orElse(addresses.get(0));
+    }
+
+    private static Set<UUID> distinct(List<ImportRow> rows, Function<ImportRow, UUID> key) {
+        Set<UUID> ids = new HashSet<>();
+        for (ImportRow row : rows) {
+            UUID id = key.apply(row);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    // ========== DTOs ==========
+
+    /**
+     * Linha já validada no formato; categoria resolvida pelo OrderImportService.
+     */
+    public record ImportRow(
+            long line,
+            String title,
+            String description,
+            UUID categoryId,
+            PriorityLevel priority,
+            UUID customerId,
+            UUID addressId,
+            UUID technicianId,
+            LocalDate date,
+            LocalTime startTime,
+            int durationMinutes,
+            BigDecimal estimatedPrice
+    ) {}
+
+    public record BatchOutcome(int imported, List<ImportRowError> errors) {
+    }
+}
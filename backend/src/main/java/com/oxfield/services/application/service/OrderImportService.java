@@ -0,0 +1,416 @@
+package com.oxfield.services.application.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.oxfield.services.adapter.output.persistence.ServiceCategoryRepository;
+import com.oxfield.services.application.service.OrderImportBatchProcessor.BatchOutcome;
+import com.oxfield.services.application.service.OrderImportBatchProcessor.ImportRow;
+import com.oxfield.services.domain.entity.ServiceCategory;
+import com.oxfield.services.domain.enums.PriorityLevel;
+import com.oxfield.services.shared.exception.BusinessException;
+import com.oxfield.services.shared.exception.ErrorCode;
+import com.oxfield.services.shared.util.BoundedLineReader;
+import com.oxfield.services.shared.util.CsvLineParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Import de OS em massa (onboarding de tenant) a partir de CSV ou NDJSON.
+ *
+ * O corpo é lido linha a linha (BoundedLineReader), sem carregar o arquivo em
+ * memória. Cada linha é validada no formato e a categoria é resolvida por um
+ * mapa carregado uma vez por import; as linhas válidas seguem em lotes para o
+ * OrderImportBatchProcessor (uma transação por lote). Ao fim de cada lote o
+ * progresso e os erros das linhas vão para o sink.
+ *
+ * Lotes já gravados não são desfeitos se um lote posterior falhar. Um lote cuja
+ * gravação falha (ex.: banco indisponível) volta inteiro como erro nas suas
+ * linhas e o import segue com o próximo.
+ */
+@Service
+public class OrderImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderImportService.class);
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int DEFAULT_DURATION_MINUTES = 60;
+
+    private final OrderImportBatchProcessor batchProcessor;
+    private final ServiceCategoryRepository categoryRepository;
+    private final ObjectReader recordReader;
+    private final int batchSize;
+    private final int maxLineBytes;
+
+    public OrderImportService(
+            OrderImportBatchProcessor batchProcessor,
+            ServiceCategoryRepository categoryRepository,
+            ObjectMapper objectMapper,
+            @Value("${oxfield.orders.import.batch-size:500}") int batchSize,
+            @Value("${oxfield.orders.import.max-line-size:64KB}") DataSize maxLineSize) {
+        this.batchProcessor = batchProcessor;
+        this.categoryRepository = categoryRepository;
+        this.recordReader = objectMapper.readerFor(ImportRecord.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxLineBytes = (int) Math.min(maxLineSize.toBytes(), Integer.MAX_VALUE - 8);
+    }
+
+    /**
+     * Abre o import: no CSV lê e valida o cabeçalho. Erros aqui (antes de qualquer
+     * escrita na resposta) saem como BusinessException.
+     */
+    public ImportSource open(InputStream body, ImportFormat format) throws IOException {
+        BoundedLineReader reader = new BoundedLineReader(body, maxLineBytes);
+        if (format == ImportFormat.NDJSON) {
+            return new ImportSource(reader, format, null, 0);
+        }
+
+        BoundedLineReader.Line header;
+        long lineNumber = 0;
+        do {
+            header = reader.next();
+            lineNumber++;
+        } while (header != null && !header.tooLong() && header.isBlank());
+        if (header == null || header.tooLong()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Cabeçalho CSV ausente ou inválido");
+        }
+
+        List<String> columns;
+        try {
+            columns = CsvLineParser.parse(stripBom(new String(header.bytes(), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Cabeçalho CSV inválido: " + e.getMessage());
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            positions.putIfAbsent(columns.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("title", "customerid", "scheduleddate", "scheduledstarttime")) {
+            if (!positions.containsKey(required)) {
+                throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Coluna obrigatória ausente no CSV: " + required);
+            }
+        }
+        if (!positions.containsKey("categoryid") && !positions.containsKey("categorycode")) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "O CSV precisa da coluna categoryId ou categoryCode");
+        }
+        return new ImportSource(reader, format, positions, lineNumber);
+    }
+
+    /**
+     * Processa o import até o fim do stream. O sink recebe um ImportProgress por
+     * lote e um último com done = true.
+     */
+    public ImportProgress run(ImportSource source, UUID tenantId, Consumer<ImportProgress> sink) throws IOException {
+        Map<String, UUID> categories = loadCategories(tenantId);
+        ImportWindow window = new ImportWindow();
+        long lineNumber = source.linesConsumed();
+
+        BoundedLineReader.Line line;
+        while ((line = source.reader().next()) != null) {
+            lineNumber++;
+            if (line.tooLong()) {
+                window.errors.add(new ImportRowError(lineNumber, ErrorCode.VALIDATION_ERROR.getCode(),
+                        "Linha excede " + maxLineBytes + " bytes"));
+            } else if (!line.isBlank()) {
+                try {
+                    window.rows.add(toRow(lineNumber, decode(source, line.bytes()), categories));
+                } catch (IllegalArgumentException e) {
+                    window.errors.add(new ImportRowError(lineNumber, ErrorCode.VALIDATION_ERROR.getCode(),
+                            e.getMessage()));
+                }
+            }
+
+            if (window.size() >= batchSize) {
+                sink.accept(window.flush(tenantId, false));
+            }
+        }
+
+        ImportProgress last = window.flush(tenantId, true);
+        sink.accept(last);
+        log.info("Order import completed for tenant {}: {} imported, {} failed",
+                tenantId, last.imported(), last.failed());
+        return last;
+    }
+
+    // ========== Private Methods ==========
+
+    private Map<String, UUID> loadCategories(UUID tenantId) {
+        Map<String, UUID> categories = new HashMap<>();
+        for (ServiceCategory category : categoryRepository.findByTenantId(tenantId)) {
+            categories.put(category.getId().toString(), category.getId());
+            categories.putIfAbsent(normalizeCode(category.getCode()), category.getId());
+        }
+        return categories;
+    }
+
+    private ImportRecord decode(ImportSource source, byte[] bytes) {
+        if (source.format() == ImportFormat.NDJSON) {
+            try {
+                return recordReader.readValue(bytes);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("JSON inválido");
+            }
+        }
+
+        List<String> fields = CsvLineParser.parse(new String(bytes, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = source.csvColumns();
+        return new ImportRecord(
+                csvField(fields, columns, "title"),
+                csvField(fields, columns, "description"),
+                csvField(fields, columns, "categoryid"),
+                csvField(fields, columns, "categorycode"),
+                csvField(fields, columns, "priority"),
+                csvField(fields, columns, "customerid"),
+                csvField(fields, columns, "addressid"),
+                csvField(fields, columns, "scheduleddate"),
+                csvField(fields, columns, "scheduledstarttime"),
+                csvField(fields, columns, "estimatedduration"),
+                csvField(fields, columns, "estimatedprice"),
+                csvField(fields, columns, "technicianid"));
+    }
+
+    /**
+     * Validação de formato (sem acesso ao banco); mensagens vão para o erro da linha.
+     */
+    private ImportRow toRow(long line, ImportRecord record, Map<String, UUID> categories) {
+        String title = blankToNull(record.title());
+        if (title == null) {
+            throw new IllegalArgumentException("Título é obrigatório");
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("Título excede " + MAX_TITLE_LENGTH + " caracteres");
+        }
+
+        UUID categoryId;
+        if (blankToNull(record.categoryId()) != null) {
+            categoryId = categories.get(parseUuid(record.categoryId(), "categoryId").toString());
+        } else if (blankToNull(record.categoryCode()) != null) {
+            categoryId = categories.get(normalizeCode(record.categoryCode()));
+        } else {
+            throw new IllegalArgumentException("Informe categoryId ou categoryCode");
+        }
+        if (categoryId == null) {
+            throw new IllegalArgumentException("Categoria não encontrada");
+        }
+
+        UUID customerId = parseUuid(record.customerId(), "customerId");
+        if (customerId == null) {
+            throw new IllegalArgumentException("customerId é obrigatório");
+        }
+
+        LocalDate date;
+        LocalTime startTime;
+        try {
+            date = LocalDate.parse(trim(record.scheduledDate()));
+            startTime = LocalTime.parse(trim(record.scheduledStartTime()));
+        } catch (DateTimeException | NullPointerException e) {
+            throw new IllegalArgumentException("Formato de data ou hora inválido. Use AAAA-MM-DD e HH:mm.");
+        }
+
+        int duration = DEFAULT_DURATION_MINUTES;
+        if (blankToNull(record.estimatedDuration()) != null) {
+            try {
+                duration = Integer.parseInt(record.estimatedDuration().trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("estimatedDuration inválido");
+            }
+            if (duration <= 0) {
+                throw new IllegalArgumentException("estimatedDuration deve ser positivo");
+            }
+        }
+
+        BigDecimal price = null;
+        if (blankToNull(record.estimatedPrice()) != null) {
+            try {
+                price = new BigDecimal(record.estimatedPrice().trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("estimatedPrice inválido");
+            }
+        }
+
+        return new ImportRow(
+                line,
+                title,
+                blankToNull(record.description()),
+                categoryId,
+                parsePriority(record.priority()),
+                customerId,
+                parseUuid(record.addressId(), "addressId"),
+                parseUuid(record.technicianId(), "technicianId"),
+                date,
+                startTime,
+                duration,
+                price);
+    }
+
+    private static PriorityLevel parsePriority(String priority) {
+        if (blankToNull(priority) == null) {
+            return PriorityLevel.MEDIUM;
+        }
+        try {
+            return PriorityLevel.valueOf(priority.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Prioridade inválida: " + priority);
+        }
+    }
+
+    private static UUID parseUuid(String value, String field) {
+        if (blankToNull(value) == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(field + " inválido");
+        }
+    }
+
+    private static String csvField(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer position = columns.get(name);
+        return position != null && position < fields.size() ? fields.get(position) : null;
+    }
+
+    private static String normalizeCode(String code) {
+        return code.trim().toLowerCase().replaceAll("\\s+", "_");
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String trim(String value) {
+        return value != null ? value.trim() : null;
+    }
+
+    private static String stripBom(String value) {
+        return value.startsWith("\uFEFF") ? value.substring(1) : value;
+    }
+
+    /**
+     * Linhas pendentes do lote corrente e totais acumulados do import.
+     */
+    private final class ImportWindow {
+        final List<ImportRow> rows = new ArrayList<>();
+        final List<ImportRowError> errors = new ArrayList<>();
+        long processed;
+        long imported;
+        long failed;
+
+        int size() {
+            return rows.size() + errors.size();
+        }
+
+        ImportProgress flush(UUID tenantId, boolean done) {
+            List<ImportRowError> batchErrors = new ArrayList<>(errors);
+            int batchImported = 0;
+            if (!rows.isEmpty()) {
+                try {
+                    BatchOutcome outcome = batchProcessor.importBatch(tenantId, List.copyOf(rows));
+                    batchImported = outcome.imported();
+                    batchErrors.addAll(outcome.errors());
+                } catch (RuntimeException e) {
+                    // A transação do lote foi desfeita: todas as linhas dele ficam para reenvio
+                    log.error("Order import batch of {} rows failed for tenant {}: {}",
+                            rows.size(), tenantId, e.getMessage(), e);
+                    for (ImportRow row : rows) {
+                        batchErrors.add(new ImportRowError(row.line(), ErrorCode.INTERNAL_ERROR.getCode(),
+                                "Falha ao gravar o lote; reenvie esta linha"));
+                    }
+                }
+            }
+            processed += size();
+            imported += batchImported;
+            failed += batchErrors.size();
+            rows.clear();
+            errors.clear();
+            return new ImportProgress(processed, imported, failed, batchErrors, done);
+        }
+    }
+
+    // ========== DTOs ==========
+
+    public enum ImportFormat {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * Stream aberto por open(); csvColumns mapeia o nome da coluna (minúsculo) para a posição.
+     */
+    public record ImportSource(
+            BoundedLineReader reader,
+            ImportFormat format,
+            Map<String, Integer> csvColumns,
+            long linesConsumed
+    ) {}
+
+    /**
+     * Uma OS no arquivo; no CSV as colunas têm os mesmos nomes dos campos.
+     */
+    public record ImportRecord(
+            String title,
+            String description,
+            String categoryId,
+            String categoryCode,
+            String priority,
+            String customerId,
+            String addressId,
+            String scheduledDate,
+            String scheduledStartTime,
+            String estimatedDuration,
+            String estimatedPrice,
+            String technicianId
+    ) {}
+
+    /**
+     * Progresso acumulado; errors traz apenas os erros do lote que acabou de terminar.
+     */
+    public record ImportProgress(
+            long processed,
+            long imported,
+            long failed,
+            List<ImportRowError> errors,
+            boolean done
+    ) {
+
+        /**
+         * Última linha de um import interrompido: mantém os totais do último
+         * progresso enviado e traz o motivo num erro sem linha (line = 0).
+         */
+        public static ImportProgress aborted(ImportProgress last, String message) {
+            return new ImportProgress(
+                    last != null ? last.processed() : 0,
+                    last != null ? last.imported() : 0,
+                    last != null ? last.failed() : 0,
+                    List.of(new ImportRowError(0, ErrorCode.INTERNAL_ERROR.getCode(), message)),
+                    true);
+        }
+    }
+
+    /**
+     * Erro de uma linha do arquivo; line = 0 é erro do import como um todo.
+     */
+    public record ImportRowError(
+            long line,
+            String errorCode,
+            String message
+    ) {}
+}
@@ -1,20 +1,27 @@
 package com.oxfield.services.application.service;
 
 import com.oxfield.services.adapter.output.persistence.CustomerRepository;
+import com.oxfield.services.adapter.output.persistence.OrderSummaryRepository;
 import com.oxfield.services.adapter.output.persistence.ServiceOrderRepository;
 import com.oxfield.services.adapter.output.persistence.TechnicianRepository;
 import com.oxfield.services.adapter.output.persistence.TenantCustomerRepository;
 import com.oxfield.services.domain.entity.Customer;
 import com.oxfield.services.domain.entity.CustomerAddress;
+import com.oxfield.services.domain.entity.OrderSummary;
 import com.oxfield.services.domain.entity.ServiceCategory;
 import com.oxfield.services.domain.entity.ServiceOrder;
 import com.oxfield.services.domain.entity.Technician;
 import com.oxfield.services.domain.enums.OsStatus;
 import com.oxfield.services.domain.enums.PriorityLevel;
+import com.oxfield.services.domain.event.OrderAssignedEvent;
+import com.oxfield.services.domain.event.OrderUpdatedEvent;
 import com.oxfield.services.shared.exception.BusinessException;
 import com.oxfield.services.shared.exception.ErrorCode;
+import com.oxfield.services.shared.pagination.CursorCodec;
+import com.oxfield.services.shared.pagination.CursorPage;
 import com.oxfield.services.shared.security.CurrentUserProvider;
 import com.oxfield.services.shared.security.JwtUserDetails;
+import com.oxfield.services.shared.util.TextSearchUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
@@ -27,6 +34,8 @@ import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -38,6 +47,11 @@ import java.util.stream.Collectors;
 public class OrderManagementService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderManagementService.class);
+    private static final String SEARCH_CURSOR_KIND = "orders";
+    // Chave sentinela da primeira página, acima de qualquer OS
+    private static final String SEARCH_FIRST_DATE = "9999-12-31";
+    private static final String SEARCH_FIRST_START = "23:59:59.999999";
+    private static final String SEARCH_FIRST_ID = "ffffffff-ffff-ffff-ffff-ffffffffffff";
 
     private final ServiceOrderRepository orderRepository;
     private final TechnicianRepository technicianRepository;
@@ -45,6 +59,9 @@ public class OrderManagementService {
     private final TenantCustomerRepository tenantCustomerRepository;
     private final ServiceCategoryService categoryService;
     private final CurrentUserProvider currentUserProvider;
+    private final OsNumberAllocator osNumberAllocator;
+    private final OutboxService outboxService;
+    private final OrderSummaryRepository summaryRepository;
 
     public OrderManagementService(
             ServiceOrderRepository orderRepository,
@@ -52,13 +69,19 @@ public class OrderManagementService {
             CustomerRepository customerRepository,
             TenantCustomerRepository tenantCustomerRepository,
             ServiceCategoryService categoryService,
-            CurrentUserProvider currentUserProvider) {
+            CurrentUserProvider currentUserProvider,
+            OsNumberAllocator osNumberAllocator,
+            OutboxService outboxService,
+            OrderSummaryRepository summaryRepository) {
         this.orderRepository = orderRepository;
         this.technicianRepository = technicianRepository;
         this.customerRepository = customerRepository;
         this.tenantCustomerRepository = tenantCustomerRepository;
         this.categoryService = categoryService;
         this.currentUserProvider = currentUserProvider;
+        this.osNumberAllocator = osNumberAllocator;
+        this.outboxService = outboxService;
+        this.summaryRepository = summaryRepository;
     }
 
     /**
@@ -74,17 +97,81 @@ public class OrderManagementService {
     }
 
     /**
-     * Lista ordens de uma data específica.
+     * Lista ordens de uma data específica (read model order_summary).
      */
     @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersByDate(LocalDate date) {
+        return getOrdersByDate(date, null, null);
+    }
+
+    /**
+     * Lista ordens do dia, opcionalmente por status e técnico (sem status, omite as canceladas).
+     */
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getOrdersByDate(LocalDate date, OsStatus status, UUID technicianId) {
         log.info("Fetching orders for date: {}", date);
-        List<ServiceOrder> orders = orderRepository.findByScheduledDateWithDetails(date);
+        UUID tenantId = currentUserProvider.requireCurrentUser().getTenantId();
+        List<OrderSummary> orders = summaryRepository.findByTenantAndDate(tenantId, date, status, technicianId);
         return orders.stream()
                 .map(this::toOrderResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Busca do dispatch console: filtros opcionais e texto livre (número, título,
+     * cliente, endereço), paginada por cursor em ordem de agendamento decrescente.
+     *
+     * @param cursor nextCursor da página anterior, ou null/vazio para a primeira
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> searchOrders(OrderSearchFilter filter, String cursor, int limit) {
+        UUID tenantId = currentUserProvider.requireCurrentUser().getTenantId();
+        String text = filter.text() != null && !filter.text().isBlank() ? filter.text().trim() : null;
+        String tsQuery = TextSearchUtils.toPrefixTsQuery(text);
+        String likePattern = text != null ? "%" + escapeLike(text.toLowerCase(Locale.ROOT)) + "%" : null;
+
+        String afterDate = SEARCH_FIRST_DATE;
+        String afterStart = SEARCH_FIRST_START;
+        String afterId = SEARCH_FIRST_ID;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] key = CursorCodec.decode(cursor, SEARCH_CURSOR_KIND, 3);
+            try {
+                afterDate = LocalDate.parse(key[0]).toString();
+                afterStart = LocalTime.parse(key[1]).toString();
+                afterId = UUID.fromString(key[2]).toString();
+            } catch (DateTimeException | IllegalArgumentException e) {
+                throw CursorCodec.invalid();
+            }
+        }
+
+        List<OrderSummary> rows = summaryRepository.searchKeyset(
+                tenantId.toString(),
+                filter.status() != null ? filter.status().name() : null,
+                filter.technicianId() != null ? filter.technicianId().toString() : null,
+                filter.categoryId() != null ? filter.categoryId().toString() : null,
+                filter.priority() != null ? filter.priority().name() : null,
+                filter.dateFrom() != null ? filter.dateFrom().toString() : null,
+                filter.dateTo() != null ? filter.dateTo().toString() : null,
+                tsQuery,
+                likePattern,
+                afterDate,
+                afterStart,
+                afterId,
+                limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<OrderSummary> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            OrderSummary last = pageRows.get(pageRows.size() - 1);
+            nextCursor = CursorCodec.encode(SEARCH_CURSOR_KIND,
+                    last.getScheduledDate().toString(),
+                    last.getScheduledStart().toString(),
+                    last.getOrderId().toString());
+        }
+        return new CursorPage<>(pageRows.stream().map(this::toOrderResponse).toList(), nextCursor, hasMore);
+    }
+
     /**
      * Lista ordens de um técnico em uma data específica.
      */
@@ -103,11 +190,18 @@ public class OrderManagementService {
     @Transactional(readOnly = true)
     public OrderResponse getOrder(UUID orderId) {
         log.info("Fetching order: {}", orderId);
-        ServiceOrder order = orderRepository.findById(orderId)
+        Optional<ServiceOrder> order = orderRepository.findById(orderId);
+        if (order.isPresent()) {
+            return toOrderResponse(order.get());
+        }
+        // OS arquivada (V26): só resta a linha do read model
+        UUID tenantId = currentUserProvider.requireCurrentUser().getTenantId();
+        return summaryRepository.findById(orderId)
+                .filter(summary -> tenantId.equals(summary.getTenantId()))
+                .map(this::toOrderResponse)
                 .orElseThrow(() -> new BusinessException(
                         ErrorCode.ORDER_NOT_FOUND,
                         "Ordem não encontrada"));
-        return toOrderResponse(order);
     }
 
     /**
@@ -149,8 +243,7 @@ public class OrderManagementService {
             customer = customerRepository.save(customer);
 
             // Gerar número da OS
-            Long nextSequence = orderRepository.getNextOsSequence(user.getTenantId());
-            String osNumber = ServiceOrder.generateOsNumber(nextSequence);
+            String osNumber = osNumberAllocator.nextOsNumber(user.getTenantId());
 
             // Criar a ordem (address_id é NOT NULL)
             ServiceOrder order = new ServiceOrder();
@@ -199,6 +292,11 @@ public class OrderManagementService {
                 }
                 throw e;
             }
+            if (order.getTechnician() != null) {
+                appendAssigned(order, order.getTechnician());
+            } else {
+                outboxService.append(new OrderUpdatedEvent(order.getId()), order.getId());
+            }
             log.info("Order created: {}", order.getOsNumber());
 
             return toOrderResponse(order);
@@ -228,6 +326,7 @@ public class OrderManagementService {
         
         order.setTechnician(technician);
         order = orderRepository.save(order);
+        appendAssigned(order, technician);
         
         log.info("Technician {} assigned to order {}", technician.getUser().getName(), order.getOsNumber());
         
@@ -255,6 +354,7 @@ public class OrderManagementService {
         order.setScheduledDate(newDate);
         order.setScheduledStart(newTime);
         order = orderRepository.save(order);
+        outboxService.append(new OrderUpdatedEvent(order.getId()), order.getId());
         
         log.info("Order {} rescheduled to {} at {}", order.getOsNumber(), newDate, newTime);
         
@@ -283,6 +383,7 @@ public class OrderManagementService {
         order.setScheduledDate(date);
         order.setScheduledStart(startTime);
         order = orderRepository.save(order);
+        appendAssigned(order, technician);
         
         log.info("Order {} assigned to {} and scheduled for {} at {}", 
                 order.getOsNumber(), technician.getUser().getName(), date, startTime);
@@ -311,6 +412,7 @@ public class OrderManagementService {
 
         order.setTechnician(null);
         order = orderRepository.save(order);
+        outboxService.append(new OrderUpdatedEvent(order.getId()), order.getId());
 
         log.info("Order {} unassigned and moved to unassigned pool", order.getOsNumber());
 
@@ -319,6 +421,16 @@ public class OrderManagementService {
 
     // ========== Private Methods ==========
 
+    private void appendAssigned(ServiceOrder order, Technician technician) {
+        outboxService.append(new OrderAssignedEvent(
+                order.getId(),
+                order.getOsNumber(),
+                technician.getId(),
+                technician.getUserId(),
+                order.getCustomerId(),
+                order.getCustomer() != null ? order.getCustomer().getUserId() : null), order.getId());
+    }
+
     /**
      * Busca um cliente existente para vincular à ordem (Customer exige user_id, não criamos novo aqui).
      * Carrega addresses e user eager para evitar LazyInitializationException.
@@ -357,6 +469,13 @@ public class OrderManagementService {
         return addr;
     }
 
+    /**
+     * Escapa os curingas do LIKE no texto digitado.
+     */
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     private PriorityLevel parsePriority(String priority) {
         if (priority == null) return PriorityLevel.MEDIUM;
         try {
@@ -426,6 +545,40 @@ public class OrderManagementService {
         );
     }
 
+    private OrderResponse toOrderResponse(OrderSummary summary) {
+        CategoryInfo categoryInfo = summary.getCategoryId() != null
+                ? new CategoryInfo(summary.getCategoryId(), summary.getCategoryName(), summary.getCategoryCode())
+                : null;
+        String customerName = summary.getCustomerCompanyName() != null
+                ? summary.getCustomerCompanyName()
+                : summary.getCustomerName();
+        CustomerInfo customerInfo = summary.getCustomerId() != null
+                ? new CustomerInfo(summary.getCustomerId(),
+                        customerName != null ? customerName : "",
+                        summary.getAddressText() != null ? summary.getAddressText() : "")
+                : null;
+        TechnicianInfo technicianInfo = summary.getTechnicianId() != null
+                ? new TechnicianInfo(summary.getTechnicianId(),
+                        summary.getTechnicianName() != null ? summary.getTechnicianName() : "",
+                        summary.getTechnicianAvatarUrl())
+                : null;
+        return new OrderResponse(
+                summary.getOrderId(),
+                summary.getOsNumber(),
+                summary.getTitle(),
+                summary.getDescription(),
+                categoryInfo,
+                summary.getStatus().getValue(),
+                summary.getPriority().getValue(),
+                summary.getScheduledDate() != null ? summary.getScheduledDate().toString() : "",
+                summary.getScheduledStart() != null ? summary.getScheduledStart().toString() : "",
+                summary.getScheduledDuration() != null ? summary.getScheduledDuration() : 0,
+                customerInfo,
+                technicianInfo,
+                summary.getShareToken()
+        );
+    }
+
     // ========== DTOs ==========
 
     public record CreateOrderRequest(
@@ -442,6 +595,19 @@ public class OrderManagementService {
             String technicianId
     ) {}
 
+    /**
+     * Filtros da busca de OS; todos opcionais.
+     */
+    public record OrderSearchFilter(
+            String text,
+            OsStatus status,
+            UUID technicianId,
+            UUID categoryId,
+            PriorityLevel priority,
+            LocalDate dateFrom,
+            LocalDate dateTo
+    ) {}
+
     public record OrderResponse(
             UUID id,
             String orderNumber,
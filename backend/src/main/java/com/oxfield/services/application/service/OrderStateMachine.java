@@ -1,7 +1,6 @@
 package com.oxfield.services.application.service;
 
 import com.oxfield.services.adapter.output.persistence.ServiceOrderRepository;
-import com.oxfield.services.domain.entity.OrderChecklist;
 import com.oxfield.services.domain.entity.ServiceOrder;
 import com.oxfield.services.domain.entity.Technician;
 import com.oxfield.services.domain.enums.OsStatus;
@@ -14,7 +13,6 @@ import org.locationtech.jts.geom.Point;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,15 +36,15 @@ public class OrderStateMachine {
 
     private final ServiceOrderRepository orderRepository;
     private final PricingEngineService pricingEngine;
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
 
     public OrderStateMachine(
             ServiceOrderRepository orderRepository,
             PricingEngineService pricingEngine,
-            ApplicationEventPublisher eventPublisher) {
+            OutboxService outboxService) {
         this.orderRepository = orderRepository;
         this.pricingEngine = pricingEngine;
-        this.eventPublisher = eventPublisher;
+        this.outboxService = outboxService;
     }
 
     /**
@@ -230,11 +228,9 @@ public class OrderStateMachine {
      * Valida que o checklist está 100% completo
      */
     private void validateChecklistComplete(ServiceOrder order) {
-        OrderChecklist checklist = order.getChecklist();
-
-        if (checklist != null && !checklist.isAllCompleted()) {
-            int completed = checklist.getCompletedCount();
-            int total = checklist.getTotalCount();
+        if (!order.isChecklistComplete()) {
+            int completed = order.getChecklistDone();
+            int total = order.getChecklistTotal();
 
             throw new BusinessException(
                     ErrorCode.ORDER_CHECKLIST_INCOMPLETE,
@@ -243,7 +239,7 @@ public class OrderStateMachine {
                             completed, total))
                     .addDetail("completed", completed)
                     .addDetail("total", total)
-                    .addDetail("percentage", checklist.getCompletionPercentage());
+                    .addDetail("percentage", order.getChecklistPercentage());
         }
     }
 
@@ -272,6 +268,7 @@ public class OrderStateMachine {
     }
 
     // ========== Eventos ==========
+    // Gravados no outbox na transação da transição; entregues pelo OutboxDispatcher
 
     private void publishStatusChange(ServiceOrder order, OsStatus previous, OsStatus current) {
         OrderStatusChangedEvent event = new OrderStatusChangedEvent(
@@ -282,7 +279,7 @@ public class OrderStateMachine {
                 order.getTechnicianId(),
                 order.getCustomerId(),
                 order.getCustomer() != null ? order.getCustomer().getUserId() : null);
-        eventPublisher.publishEvent(event);
+        outboxService.append(event, order.getId());
     }
 
     private void publishCompletionEvent(ServiceOrder order) {
@@ -295,6 +292,6 @@ public class OrderStateMachine {
                 order.getCustomer() != null ? order.getCustomer().getUserId() : null,
                 order.getFinalPrice(),
                 order.getActualEnd());
-        eventPublisher.publishEvent(event);
+        outboxService.append(event, order.getId());
     }
 }
@@ -0,0 +1,80 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.OsNumberSequenceRepository;
+import com.oxfield.services.domain.entity.ServiceOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gera números de OS por tenant (hi/lo).
+ *
+ * Cada instância reserva no banco um bloco de números (os_number_sequences) e
+ * entrega os seguintes da memória; só volta ao banco quando o bloco acaba.
+ * Os números são únicos por tenant, mas com várias instâncias não saem em ordem
+ * estrita, e o resto de um bloco não usado (restart) vira buraco na numeração.
+ */
+@Component
+public class OsNumberAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(OsNumberAllocator.class);
+
+    private final OsNumberSequenceRepository sequenceRepository;
+    private final int blockSize;
+    private final Map<UUID, TenantBlock> blocks = new ConcurrentHashMap<>();
+
+    public OsNumberAllocator(
+            OsNumberSequenceRepository sequenceRepository,
+            @Value("${oxfield.orders.os-number-block-size:20}") int blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    /**
+     * Próximo número de OS do tenant no formato OS-XXXXX.
+     */
+    public String nextOsNumber(UUID tenantId) {
+        return ServiceOrder.generateOsNumber(nextSequence(tenantId));
+    }
+
+    public long nextSequence(UUID tenantId) {
+        TenantBlock block = blocks.computeIfAbsent(tenantId, id -> new TenantBlock());
+        block.lock.lock();
+        try {
+            if (block.next >= block.limit) {
+                long first = sequenceRepository.reserveBlock(tenantId.toString(), blockSize);
+                block.next = first;
+                block.limit = first + blockSize;
+                log.debug("Reserved OS numbers {}..{} for tenant {}", first, block.limit - 1, tenantId);
+            }
+            return block.next++;
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    /**
+     * Reserva direto no banco uma faixa contígua de count números (import em lote),
+     * sem passar pelo bloco em memória. Retorna o primeiro da faixa.
+     */
+    public long reserveRange(UUID tenantId, int count) {
+        long first = sequenceRepository.reserveBlock(tenantId.toString(), count);
+        log.debug("Reserved OS numbers {}..{} for tenant {}", first, first + count - 1, tenantId);
+        return first;
+    }
+
+    /**
+     * Faixa reservada de um tenant: next até limit (exclusivo).
+     */
+    private static final class TenantBlock {
+        final ReentrantLock lock = new ReentrantLock();
+        long next;
+        long limit;
+    }
+}
@@ -0,0 +1,162 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.OutboxEventRepository;
+import com.oxfield.services.adapter.output.persistence.OutboxEventRepository.ConsumerPosition;
+import com.oxfield.services.adapter.output.persistence.OutboxEventRepository.EventRow;
+import com.oxfield.services.application.listener.BatchOutboxEventHandler;
+import com.oxfield.services.application.listener.OutboxEventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Entrega um lote do outbox a um handler.
+ *
+ * Separado do OutboxDispatcher para passar pelo proxy transacional: o lock da
+ * posição do handler (SKIP LOCKED) vale até o commit do lote. Handlers que
+ * gravam no banco devem abrir a própria transação (REQUIRES_NEW), para que uma
+ * falha não marque para rollback a atualização da posição.
+ *
+ * Um BatchOutboxEventHandler recebe o lote inteiro numa chamada; se ela falhar,
+ * o lote é dividido ao meio, recursivamente, até isolar o evento com problema:
+ * os trechos que passam continuam indo por handleBatch e só o evento isolado
+ * vai por handle(), com as regras de ordem e tentativas abaixo.
+ */
+@Component
+public class OutboxConsumerWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxConsumerWorker.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxRepository;
+    private final OutboxService outboxService;
+
+    public OutboxConsumerWorker(OutboxEventRepository outboxRepository, OutboxService outboxService) {
+        this.outboxRepository = outboxRepository;
+        this.outboxService = outboxService;
+    }
+
+    /**
+     * Entrega até batchSize eventos após a posição do handler e avança a posição.
+     * Um evento que falha interrompe o lote (a ordem é mantida) e é tentado de novo
+     * no próximo ciclo; após maxAttempts falhas seguidas ele é descartado.
+     */
+    @Transactional
+    public DrainResult drain(OutboxEventHandler handler, int batchSize, int maxAttempts) {
+        String name = handler.handlerName();
+        Optional<ConsumerPosition> locked = outboxRepository.lockConsumer(name);
+        if (locked.isEmpty()) {
+            // Outro nó está com este handler
+            return DrainResult.BUSY;
+        }
+
+        ConsumerPosition position = locked.get();
+        String upperTxid = outboxRepository.currentSnapshotXmin();
+        List<EventRow> rows = outboxRepository.findEventsAfter(
+                position.getLastTxid(), position.getLastId(), upperTxid, batchSize);
+
+        // Trechos a entregar, em ordem. Handler de lote começa com o lote inteiro; os demais, evento a evento.
+        Deque<List<EventRow>> pending = new ArrayDeque<>();
+        if (handler instanceof BatchOutboxEventHandler && rows.size() > 1) {
+            pending.push(rows);
+        } else {
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                pending.push(rows.subList(i, i + 1));
+            }
+        }
+
+        int delivered = 0;
+        EventRow last = null;
+        while (!pending.isEmpty()) {
+            List<EventRow> chunk = pending.pop();
+            try {
+                deliver(handler, chunk);
+            } catch (Exception e) {
+                if (chunk.size() > 1) {
+                    // Divide o trecho para isolar o evento com problema; as metades que passam vão inteiras
+                    log.warn("Outbox handler {} failed on a batch of {} events, splitting it: {}",
+                            name, chunk.size(), e.getMessage());
+                    int middle = chunk.size() / 2;
+                    pending.push(chunk.subList(middle, chunk.size()));
+                    pending.push(chunk.subList(0, middle));
+                    continue;
+                }
+                return failed(name, position, last, chunk.get(0), e, delivered, maxAttempts);
+            }
+            last = chunk.get(chunk.size() - 1);
+            delivered += chunk.size();
+        }
+
+        if (last != null) {
+            outboxRepository.advanceConsumer(name, last.getTxid(), last.getId());
+        }
+        return new DrainResult(delivered, false);
+    }
+
+    // ========== Private Methods ==========
+
+    /**
+     * Um evento vai por handle(); mais de um (só handler de lote) vai numa chamada de handleBatch.
+     */
+    private void deliver(OutboxEventHandler handler, List<EventRow> chunk) throws Exception {
+        List<Object> events = new ArrayList<>(chunk.size());
+        for (EventRow row : chunk) {
+            Object event = outboxService.deserialize(row.getEventType(), row.getPayload());
+            if (event != null) {
+                events.add(event);
+            } else {
+                log.warn("Outbox event {} has unknown type {}: skipped", row.getId(), row.getEventType());
+            }
+        }
+        if (chunk.size() > 1) {
+            ((BatchOutboxEventHandler) handler).handleBatch(events);
+        } else if (!events.isEmpty()) {
+            handler.handle(events.get(0));
+        }
+    }
+
+    /**
+     * Evento isolado falhou: avança até o último entregue e conta a tentativa; após
+     * maxAttempts falhas seguidas o evento é descartado.
+     */
+    private DrainResult failed(String name, ConsumerPosition position, EventRow last, EventRow row,
+            Exception e, int delivered, int maxAttempts) {
+        if (last != null) {
+            outboxRepository.advanceConsumer(name, last.getTxid(), last.getId());
+        }
+        int attempts = (last != null ? 0 : position.getFailedAttempts()) + 1;
+        if (attempts >= maxAttempts) {
+            log.error("Outbox handler {} gave up on event {} ({}) after {} attempts: {}",
+                    name, row.getId(), row.getEventType(), attempts, e.getMessage(), e);
+            outboxRepository.advanceConsumer(name, row.getTxid(), row.getId());
+            return new DrainResult(delivered, true);
+        }
+        log.warn("Outbox handler {} failed on event {} (attempt {}/{}): {}",
+                name, row.getId(), attempts, maxAttempts, e.getMessage());
+        outboxRepository.recordFailure(name, truncate(e.getMessage()));
+        return new DrainResult(delivered, true);
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    // ========== DTOs ==========
+
+    /**
+     * delivered: eventos entregues; failed: o lote parou num evento com falha.
+     */
+    public record DrainResult(int delivered, boolean failed) {
+        static final DrainResult BUSY = new DrainResult(0, false);
+    }
+}
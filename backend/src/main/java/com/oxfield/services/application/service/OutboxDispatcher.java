@@ -0,0 +1,187 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.OutboxEventRepository;
+import com.oxfield.services.application.listener.OutboxEventHandler;
+import com.oxfield.services.application.service.OutboxConsumerWorker.DrainResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Poller do outbox: uma virtual thread por nó percorre os handlers e entrega
+ * lotes via OutboxConsumerWorker. Acorda a cada poll-interval ou logo após um
+ * append comitado neste nó; enquanto algum handler tem backlog, segue sem esperar.
+ *
+ * Handler com falha entra em backoff exponencial sem atrasar os outros.
+ * Não usa @Scheduled para não depender de @EnableScheduling.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final String METRIC_PREFIX = "oxfield.outbox";
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private final OutboxConsumerWorker worker;
+    private final OutboxEventRepository outboxRepository;
+    private final OutboxService outboxService;
+    private final List<OutboxEventHandler> handlers;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+
+    // Estado da thread do poller (acesso só por ela)
+    private final Map<String, Integer> failureStreaks = new HashMap<>();
+    private final Map<String, Instant> retryAt = new HashMap<>();
+    private final Map<String, Counter> deliveredCounters = new HashMap<>();
+    private final Map<String, Counter> failureCounters = new HashMap<>();
+    private Instant nextPurge = Instant.EPOCH;
+
+    private volatile boolean running;
+    private Thread poller;
+
+    public OutboxDispatcher(
+            OutboxConsumerWorker worker,
+            OutboxEventRepository outboxRepository,
+            OutboxService outboxService,
+            List<OutboxEventHandler> handlers,
+            MeterRegistry meterRegistry,
+            @Value("${oxfield.outbox.enabled:true}") boolean enabled,
+            @Value("${oxfield.outbox.poll-interval:1s}") Duration pollInterval,
+            @Value("${oxfield.outbox.batch-size:100}") int batchSize,
+            @Value("${oxfield.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${oxfield.outbox.retention:7d}") Duration retention) {
+        this.worker = worker;
+        this.outboxRepository = outboxRepository;
+        this.outboxService = outboxService;
+        this.handlers = handlers;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retention = retention;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || handlers.isEmpty()) {
+            log.info("Outbox dispatcher disabled");
+            return;
+        }
+        for (OutboxEventHandler handler : handlers) {
+            String name = handler.handlerName();
+            outboxRepository.registerConsumer(name);
+            deliveredCounters.put(name, Counter.builder(METRIC_PREFIX + ".delivered")
+                    .tag("handler", name)
+                    .description("Eventos do outbox entregues ao handler")
+                    .register(meterRegistry));
+            failureCounters.put(name, Counter.builder(METRIC_PREFIX + ".failures")
+                    .tag("handler", name)
+                    .description("Lotes do outbox interrompidos por falha do handler")
+                    .register(meterRegistry));
+        }
+
+        running = true;
+        poller = Thread.ofVirtual().name("outbox-dispatcher").start(this::pollLoop);
+        log.info("Outbox dispatcher started with {} handler(s)", handlers.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+        }
+    }
+
+    // ========== Private Methods ==========
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                boolean backlog = dispatchOnce();
+                purgeIfDue();
+                if (!backlog) {
+                    outboxService.awaitAppend(pollInterval);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Outbox dispatcher cycle failed: {}", e.getMessage(), e);
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Um lote por handler. Retorna true se algum handler ainda tem backlog.
+     */
+    private boolean dispatchOnce() {
+        boolean backlog = false;
+        Instant now = Instant.now();
+
+        for (OutboxEventHandler handler : handlers) {
+            String name = handler.handlerName();
+            Instant retry = retryAt.get(name);
+            if (retry != null && now.isBefore(retry)) {
+                continue;
+            }
+
+            DrainResult result;
+            try {
+                result = worker.drain(handler, batchSize, maxAttempts);
+            } catch (RuntimeException e) {
+                log.warn("Outbox batch for handler {} failed: {}", name, e.getMessage());
+                result = new DrainResult(0, true);
+            }
+
+            deliveredCounters.get(name).increment(result.delivered());
+            if (result.failed()) {
+                failureCounters.get(name).increment();
+                int streak = failureStreaks.merge(name, 1, Integer::sum);
+                Duration backoff = pollInterval.multipliedBy(1L << Math.min(streak, 16));
+                retryAt.put(name, now.plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff));
+            } else {
+                failureStreaks.remove(name);
+                retryAt.remove(name);
+                backlog |= result.delivered() >= batchSize;
+            }
+        }
+        return backlog;
+    }
+
+    private void purgeIfDue() {
+        Instant now = Instant.now();
+        if (now.isBefore(nextPurge)) {
+            return;
+        }
+        nextPurge = now.plus(PURGE_INTERVAL);
+        int purged = outboxRepository.deleteOlderThan(now.minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} outbox events older than {}", purged, retention);
+        }
+    }
+}
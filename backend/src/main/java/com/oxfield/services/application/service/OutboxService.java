@@ -0,0 +1,151 @@
+package com.oxfield.services.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oxfield.services.adapter.output.persistence.OutboxBatchWriter;
+import com.oxfield.services.adapter.output.persistence.OutboxEventRepository;
+import com.oxfield.services.domain.event.OrderAssignedEvent;
+import com.oxfield.services.domain.event.OrderCompletedEvent;
+import com.oxfield.services.domain.event.OrderSourceDataChangedEvent;
+import com.oxfield.services.domain.event.OrderStatusChangedEvent;
+import com.oxfield.services.domain.event.OrderUpdatedEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Outbox transacional dos eventos de OS.
+ *
+ * append() grava o evento na transação da mudança de domínio: se ela fizer
+ * rollback o evento some junto, e se comitar o evento não se perde mesmo com
+ * crash antes da entrega. A entrega fica com o OutboxDispatcher, acordado
+ * logo após o commit para não esperar o próximo ciclo de polling.
+ */
+@Service
+public class OutboxService {
+
+    /** Tipos aceitos no outbox; o nome gravado em event_type é a chave. */
+    private static final Map<String, Class<?>> EVENT_TYPES = Map.of(
+            OrderAssignedEvent.class.getSimpleName(), OrderAssignedEvent.class,
+            OrderStatusChangedEvent.class.getSimpleName(), OrderStatusChangedEvent.class,
+            OrderCompletedEvent.class.getSimpleName(), OrderCompletedEvent.class,
+            OrderUpdatedEvent.class.getSimpleName(), OrderUpdatedEvent.class,
+            OrderSourceDataChangedEvent.class.getSimpleName(), OrderSourceDataChangedEvent.class);
+
+    private final OutboxEventRepository outboxRepository;
+    private final OutboxBatchWriter batchWriter;
+    private final ObjectMapper objectMapper;
+
+    private final ReentrantLock signalLock = new ReentrantLock();
+    private final Condition appended = signalLock.newCondition();
+    private boolean pending;
+
+    public OutboxService(
+            OutboxEventRepository outboxRepository,
+            OutboxBatchWriter batchWriter,
+            ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.batchWriter = batchWriter;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Grava o evento na transação corrente (obrigatória).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Object event, UUID aggregateId) {
+        OutboxBatchWriter.Row row = toRow(event, aggregateId);
+        outboxRepository.append(row.eventType(), row.aggregateId(), row.payload());
+        signalAfterCommit();
+    }
+
+    /**
+     * Grava vários eventos num único JDBC batch (operações em lote), na
+     * transação corrente (obrigatória).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<PendingEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<OutboxBatchWriter.Row> rows = new ArrayList<>(events.size());
+        for (PendingEvent pending : events) {
+            rows.add(toRow(pending.event(), pending.aggregateId()));
+        }
+        batchWriter.appendAll(rows);
+        signalAfterCommit();
+    }
+
+    /**
+     * Reconstrói o evento gravado; null se o tipo não é mais conhecido.
+     */
+    public Object deserialize(String eventType, String payload) throws JsonProcessingException {
+        Class<?> type = EVENT_TYPES.get(eventType);
+        return type != null ? objectMapper.readValue(payload, type) : null;
+    }
+
+    /**
+     * Espera um append comitado neste nó, ou o timeout (polling dos demais nós).
+     */
+    public void awaitAppend(Duration timeout) throws InterruptedException {
+        signalLock.lock();
+        try {
+            if (!pending) {
+                appended.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            pending = false;
+        } finally {
+            signalLock.unlock();
+        }
+    }
+
+    private OutboxBatchWriter.Row toRow(Object event, UUID aggregateId) {
+        String eventType = event.getClass().getSimpleName();
+        if (!EVENT_TYPES.containsKey(eventType)) {
+            throw new IllegalArgumentException("Evento não registrado no outbox: " + eventType);
+        }
+        try {
+            return new OutboxBatchWriter.Row(
+                    eventType,
+                    aggregateId != null ? aggregateId.toString() : null,
+                    objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento " + eventType, e);
+        }
+    }
+
+    private void signalAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                signal();
+            }
+        });
+    }
+
+    private void signal() {
+        signalLock.lock();
+        try {
+            pending = true;
+            appended.signalAll();
+        } finally {
+            signalLock.unlock();
+        }
+    }
+
+    // ========== DTOs ==========
+
+    public record PendingEvent(Object event, UUID aggregateId) {
+    }
+}
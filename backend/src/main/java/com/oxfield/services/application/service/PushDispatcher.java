@@ -0,0 +1,328 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.DevicePushTokenRepository;
+import com.oxfield.services.adapter.output.persistence.DevicePushTokenRepository.UserTokenProjection;
+import com.oxfield.services.application.port.output.PushTransport;
+import com.oxfield.services.application.port.output.PushTransport.PushMessage;
+import com.oxfield.services.application.port.output.PushTransport.TokenResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envio de push aos dispositivos em lote. submit() só enfileira; uma virtual
+ * thread junta o que chega durante a janela, busca os tokens dos destinatários
+ * numa consulta e agrupa por mensagem idêntica, em multicasts de até
+ * PushTransport.MAX_TOKENS tokens.
+ *
+ * Cada multicast roda na sua virtual thread (no máximo max-concurrent-sends ao
+ * mesmo tempo; acima disso o loop espera). Tokens com falha temporária são
+ * reenviados com backoff exponencial e jitter até max-attempts; tokens que o
+ * transporte rejeita como inválidos são removidos. A fila é limitada: cheia, o
+ * push é descartado e contado (a notificação continua gravada e no stream STOMP).
+ *
+ * Sem PushTransport (firebase.credentials-file não configurado) o dispatcher
+ * não inicia: avisa no startup e submit() descarta sem enfileirar.
+ */
+@Component
+public class PushDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(PushDispatcher.class);
+    private static final String METRIC_PREFIX = "oxfield.push";
+    private static final Duration IDLE_POLL = Duration.ofSeconds(1);
+    private static final Duration SHUTDOWN_WAIT = Duration.ofSeconds(10);
+    private static final int MAX_DRAIN = 5000;
+
+    private final PushTransport transport;
+    private final boolean enabled;
+    private final DevicePushTokenRepository tokenRepository;
+    private final Duration window;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final BlockingQueue<PushRequest> queue;
+    private final Semaphore sendPermits;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter submittedCounter;
+    private final Counter droppedCounter;
+    private final Counter deliveredCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter invalidTokenCounter;
+    private final Timer sendTimer;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public PushDispatcher(
+            Optional<PushTransport> transport,
+            DevicePushTokenRepository tokenRepository,
+            MeterRegistry meterRegistry,
+            @Value("${oxfield.push.window:200ms}") Duration window,
+            @Value("${oxfield.push.capacity:10000}") int capacity,
+            @Value("${oxfield.push.max-attempts:4}") int maxAttempts,
+            @Value("${oxfield.push.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${oxfield.push.max-backoff:30s}") Duration maxBackoff,
+            @Value("${oxfield.push.max-concurrent-sends:8}") int maxConcurrentSends) {
+        this.transport = transport.orElse(null);
+        this.enabled = transport.isPresent();
+        this.tokenRepository = tokenRepository;
+        this.window = window;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, capacity));
+        this.sendPermits = new Semaphore(Math.max(1, maxConcurrentSends));
+
+        this.submittedCounter = counter(meterRegistry, "submitted", "Pushes aceitos na fila");
+        this.droppedCounter = counter(meterRegistry, "dropped", "Pushes descartados com a fila cheia");
+        this.deliveredCounter = counter(meterRegistry, "delivered", "Tokens aceitos pelo transporte");
+        this.retriedCounter = counter(meterRegistry, "retried", "Tokens reenviados após falha temporária");
+        this.failedCounter = counter(meterRegistry, "failed", "Tokens não entregues (falha permanente ou tentativas esgotadas)");
+        this.invalidTokenCounter = counter(meterRegistry, "invalid_tokens", "Tokens inválidos removidos");
+        this.sendTimer = Timer.builder(METRIC_PREFIX + ".send")
+                .description("Duração de cada multicast no transporte")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".pending", queue, BlockingQueue::size)
+                .description("Pushes aguardando envio")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enfileira o push para todos os dispositivos do usuário, sem bloquear.
+     *
+     * @return false se o push foi descartado (fila cheia)
+     */
+    public boolean submit(UUID userId, PushMessage message) {
+        if (!enabled) {
+            return false;
+        }
+        if (!queue.offer(new PushRequest(userId, message))) {
+            droppedCounter.increment();
+            log.warn("Push queue full, dropping push for user {}: {}", userId, message.title());
+            return false;
+        }
+        submittedCounter.increment();
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.warn("No push transport configured (firebase.credentials-file is empty): device pushes are disabled");
+            return;
+        }
+        running = true;
+        dispatcher = Thread.ofVirtual().name("push-dispatch").start(this::dispatchLoop);
+        log.info("Push dispatcher started with {} (window {}, {} attempts)",
+                transport.getClass().getSimpleName(), window, maxAttempts);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            dispatcher.join(SHUTDOWN_WAIT.toMillis());
+        }
+        if (!enabled) {
+            senders.shutdown();
+            return;
+        }
+        List<PushRequest> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        try {
+            dispatch(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        senders.shutdown();
+        if (!senders.awaitTermination(SHUTDOWN_WAIT.toMillis(), TimeUnit.MILLISECONDS)) {
+            // Interrompe reenvios em backoff
+            senders.shutdownNow();
+        }
+    }
+
+    // ========== Private Methods ==========
+
+    private void dispatchLoop() {
+        List<PushRequest> batch = new ArrayList<>();
+        while (running) {
+            try {
+                PushRequest first = queue.poll(IDLE_POLL.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                if (queue.size() < MAX_DRAIN - 1) {
+                    Thread.sleep(window.toMillis());
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_DRAIN - 1);
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Push dispatch cycle failed: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Agrupa os tokens por mensagem e dispara um envio por bloco de MAX_TOKENS.
+     */
+    private void dispatch(List<PushRequest> batch) throws InterruptedException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<UUID> userIds = new LinkedHashSet<>();
+        for (PushRequest request : batch) {
+            userIds.add(request.userId());
+        }
+        Map<UUID, List<String>> tokensByUser = new LinkedHashMap<>();
+        for (UserTokenProjection row : tokenRepository.findTokensByUserIds(userIds)) {
+            tokensByUser.computeIfAbsent(row.getUserId(), k -> new ArrayList<>()).add(row.getToken());
+        }
+
+        Map<PushMessage, Set<String>> tokensByMessage = new LinkedHashMap<>();
+        for (PushRequest request : batch) {
+            List<String> tokens = tokensByUser.getOrDefault(request.userId(), Collections.emptyList());
+            if (!tokens.isEmpty()) {
+                tokensByMessage.computeIfAbsent(request.message(), k -> new LinkedHashSet<>()).addAll(tokens);
+            }
+        }
+
+        for (Map.Entry<PushMessage, Set<String>> entry : tokensByMessage.entrySet()) {
+            List<String> tokens = new ArrayList<>(entry.getValue());
+            for (int from = 0; from < tokens.size(); from += PushTransport.MAX_TOKENS) {
+                List<String> chunk = tokens.subList(from, Math.min(from + PushTransport.MAX_TOKENS, tokens.size()));
+                sendAsync(entry.getKey(), List.copyOf(chunk));
+            }
+        }
+    }
+
+    private void sendAsync(PushMessage message, List<String> tokens) throws InterruptedException {
+        sendPermits.acquire();
+        try {
+            senders.execute(() -> {
+                try {
+                    deliver(message, tokens);
+                } finally {
+                    sendPermits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            sendPermits.release();
+            failedCounter.increment(tokens.size());
+            log.warn("Push send rejected for {} tokens: {}", tokens.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Envia o bloco, reenviando só os tokens com falha temporária.
+     */
+    private void deliver(PushMessage message, List<String> tokens) {
+        List<String> pending = tokens;
+        List<String> invalid = new ArrayList<>();
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            List<TokenResult> results = send(message, pending);
+            List<String> retry = new ArrayList<>();
+            for (int i = 0; i < pending.size(); i++) {
+                TokenResult result = i < results.size() ? results.get(i) : TokenResult.RETRYABLE;
+                switch (result) {
+                    case DELIVERED -> deliveredCounter.increment();
+                    case INVALID_TOKEN -> invalid.add(pending.get(i));
+                    case RETRYABLE -> retry.add(pending.get(i));
+                    case FAILED -> failedCounter.increment();
+                }
+            }
+
+            if (retry.isEmpty()) {
+                break;
+            }
+            if (attempt >= maxAttempts) {
+                failedCounter.increment(retry.size());
+                log.warn("Giving up push '{}' to {} tokens after {} attempts", message.title(), retry.size(), attempt);
+                break;
+            }
+            try {
+                Thread.sleep(backoff(attempt).toMillis());
+            } catch (InterruptedException e) {
+                failedCounter.increment(retry.size());
+                Thread.currentThread().interrupt();
+                break;
+            }
+            retriedCounter.increment(retry.size());
+            pending = retry;
+        }
+        removeInvalid(invalid);
+    }
+
+    private List<TokenResult> send(PushMessage message, List<String> tokens) {
+        try {
+            return sendTimer.record(() -> transport.sendMulticast(message, tokens));
+        } catch (RuntimeException e) {
+            log.warn("Push transport failed for {} tokens: {}", tokens.size(), e.getMessage());
+            return Collections.nCopies(tokens.size(), TokenResult.RETRYABLE);
+        }
+    }
+
+    private void removeInvalid(List<String> invalid) {
+        if (invalid.isEmpty()) {
+            return;
+        }
+        try {
+            tokenRepository.deleteByTokens(invalid);
+            invalidTokenCounter.increment(invalid.size());
+            log.info("Removed {} invalid push tokens", invalid.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to remove {} invalid push tokens: {}", invalid.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * initial-backoff * 2^(tentativa-1), limitado a max-backoff, com jitter de até 50% para baixo.
+     */
+    private Duration backoff(int attempt) {
+        long base = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        return Duration.ofMillis(base - ThreadLocalRandom.current().nextLong(base / 2 + 1));
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String description) {
+        return Counter.builder(METRIC_PREFIX + "." + name)
+                .description(description)
+                .register(registry);
+    }
+
+    private record PushRequest(UUID userId, PushMessage message) {
+    }
+}
@@ -3,6 +3,7 @@ package com.oxfield.services.application.service;
 import com.oxfield.services.adapter.output.persistence.ServiceCategoryRepository;
 import com.oxfield.services.adapter.output.persistence.ServiceOrderRepository;
 import com.oxfield.services.domain.entity.ServiceCategory;
+import com.oxfield.services.domain.event.OrderSourceDataChangedEvent;
 import com.oxfield.services.shared.exception.BusinessException;
 import com.oxfield.services.shared.exception.ErrorCode;
 import com.oxfield.services.shared.security.CurrentUserProvider;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -26,14 +28,17 @@ public class ServiceCategoryService {
     private final ServiceCategoryRepository categoryRepository;
     private final ServiceOrderRepository orderRepository;
     private final CurrentUserProvider currentUserProvider;
+    private final OutboxService outboxService;
 
     public ServiceCategoryService(
             ServiceCategoryRepository categoryRepository,
             ServiceOrderRepository orderRepository,
-            CurrentUserProvider currentUserProvider) {
+            CurrentUserProvider currentUserProvider,
+            OutboxService outboxService) {
         this.categoryRepository = categoryRepository;
         this.orderRepository = orderRepository;
         this.currentUserProvider = currentUserProvider;
+        this.outboxService = outboxService;
     }
 
     @Transactional(readOnly = true)
@@ -79,6 +84,8 @@ public class ServiceCategoryService {
         UUID tenantId = currentUserProvider.requireCurrentUser().getTenantId();
         ServiceCategory category = categoryRepository.findByIdAndTenantId(id, tenantId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.CATEGORY_NOT_FOUND, "Categoria não encontrada"));
+        String previousName = category.getName();
+        String previousCode = category.getCode();
 
         if (request.name() != null) category.setName(request.name());
         if (request.description() != null) category.setDescription(request.description());
@@ -93,6 +100,12 @@ public class ServiceCategoryService {
         }
 
         category = categoryRepository.save(category);
+        // Nome e código são copiados no order_summary das OS da categoria
+        if (!Objects.equals(previousName, category.getName()) || !Objects.equals(previousCode, category.getCode())) {
+            outboxService.append(
+                    new OrderSourceDataChangedEvent(OrderSourceDataChangedEvent.Source.CATEGORY, category.getId()),
+                    category.getId());
+        }
         log.info("Category updated: {} for tenant {}", category.getCode(), tenantId);
         return toResponse(category);
     }
@@ -3,12 +3,14 @@ package com.oxfield.services.application.service;
 import com.oxfield.services.adapter.output.persistence.ServiceListingRepository;
 import com.oxfield.services.domain.entity.ServiceCategory;
 import com.oxfield.services.domain.entity.ServiceListing;
+import com.oxfield.services.domain.event.ServiceListingChangedEvent;
 import com.oxfield.services.shared.exception.BusinessException;
 import com.oxfield.services.shared.exception.ErrorCode;
 import com.oxfield.services.shared.security.CurrentUserProvider;
 import com.oxfield.services.shared.security.JwtUserDetails;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -29,14 +31,17 @@ public class ServiceListingService {
     private final ServiceListingRepository listingRepository;
     private final ServiceCategoryService categoryService;
     private final CurrentUserProvider currentUserProvider;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ServiceListingService(
             ServiceListingRepository listingRepository,
             ServiceCategoryService categoryService,
-            CurrentUserProvider currentUserProvider) {
+            CurrentUserProvider currentUserProvider,
+            ApplicationEventPublisher eventPublisher) {
         this.listingRepository = listingRepository;
         this.categoryService = categoryService;
         this.currentUserProvider = currentUserProvider;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -71,6 +76,8 @@ public class ServiceListingService {
         listing.setActive(request.active() != null ? request.active() : true);
 
         listing = listingRepository.save(listing);
+        eventPublisher.publishEvent(new ServiceListingChangedEvent(
+                listing.getId(), tenantId, category.getCode(), category.getName(), listing.isActive()));
         log.info("Listing created: {} for tenant {}", listing.getId(), tenantId);
         return toResponse(listing);
     }
@@ -92,6 +99,9 @@ public class ServiceListingService {
         if (request.active() != null) listing.setActive(request.active());
 
         listing = listingRepository.save(listing);
+        eventPublisher.publishEvent(new ServiceListingChangedEvent(
+                listing.getId(), tenantId,
+                listing.getCategory().getCode(), listing.getCategory().getName(), listing.isActive()));
         log.info("Listing updated: {} for tenant {}", listing.getId(), tenantId);
         return toResponse(listing);
     }
@@ -102,6 +112,7 @@ public class ServiceListingService {
         ServiceListing listing = listingRepository.findByIdAndTenantId(id, tenantId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ENTITY_NOT_FOUND, "Listing not found"));
         listingRepository.delete(listing);
+        eventPublisher.publishEvent(new ServiceListingChangedEvent(id, tenantId, null, null, false));
         log.info("Listing deleted: {} for tenant {}", id, tenantId);
     }
 
@@ -0,0 +1,184 @@
+package com.oxfield.services.application.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.oxfield.services.adapter.input.dto.request.SyncActionPayload;
+import com.oxfield.services.adapter.input.dto.request.SyncBatchRequest.SyncAction;
+import com.oxfield.services.adapter.input.dto.request.SyncBatchRequest.SyncActionType;
+import com.oxfield.services.adapter.input.dto.request.TypedSyncAction;
+import com.oxfield.services.shared.exception.BusinessException;
+import com.oxfield.services.shared.exception.ErrorCode;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Converte ações de sync no formato de transporte (batch JSON com payload em Map,
+ * ou uma linha NDJSON) para TypedSyncAction, com o payload desserializado no
+ * record do tipo da ação.
+ */
+@Component
+public class SyncActionDecoder {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader clientIdReader;
+
+    public SyncActionDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.clientIdReader = objectMapper.readerFor(ClientIdOnly.class);
+    }
+
+    /**
+     * Ação do batch JSON (payload já lido como Map).
+     *
+     * @throws BusinessException SYNC_INVALID_PAYLOAD se o payload não corresponde ao tipo
+     */
+    public TypedSyncAction decode(SyncAction action) {
+        requireType(action.type());
+        Map<String, Object> payload = action.payload() != null ? action.payload() : Map.of();
+        try {
+            return new TypedSyncAction(
+                    action.clientId(),
+                    action.timestamp(),
+                    action.type(),
+                    action.orderId(),
+                    objectMapper.convertValue(payload, SyncActionPayload.typeFor(action.type())));
+        } catch (IllegalArgumentException e) {
+            throw invalidPayload(action.type(), e);
+        }
+    }
+
+    /**
+     * Uma linha NDJSON: {"clientId", "timestamp", "type", "orderId", "payload"}.
+     *
+     * O envelope é lido campo a campo e o payload é desserializado direto no
+     * record do tipo, sem árvore intermediária. Se o payload vier antes do tipo,
+     * fica num TokenBuffer até o fim do envelope. Em caso de erro o clientId é
+     * recuperado da linha, para que o app saiba qual ação falhou.
+     */
+    public DecodedLine decodeLine(byte[] line) {
+        LineFields fields = new LineFields();
+        try (JsonParser parser = objectMapper.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return DecodedLine.failure(null, "Linha JSON inválida: objeto esperado");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "clientId" -> fields.clientId = parser.getValueAsString();
+                    case "timestamp" -> fields.timestamp = objectMapper.readValue(parser, Instant.class);
+                    case "type" -> fields.type = objectMapper.readValue(parser, SyncActionType.class);
+                    case "orderId" -> fields.orderId = objectMapper.readValue(parser, UUID.class);
+                    case "payload" -> {
+                        if (fields.type != null) {
+                            fields.payload = readPayload(parser, fields.type);
+                        } else {
+                            fields.bufferedPayload = TokenBuffer.asCopyOfValue(parser);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+
+            requireType(fields.type);
+            SyncActionPayload payload = fields.payload;
+            if (payload == null) {
+                payload = fields.bufferedPayload != null
+                        ? readPayload(fields.bufferedPayload.asParser(), fields.type)
+                        : objectMapper.convertValue(Map.of(), SyncActionPayload.typeFor(fields.type));
+            }
+            return DecodedLine.success(new TypedSyncAction(
+                    fields.clientId,
+                    fields.timestamp != null ? fields.timestamp : Instant.now(),
+                    fields.type,
+                    fields.orderId,
+                    payload));
+        } catch (BusinessException e) {
+            return DecodedLine.failure(clientIdOf(fields, line), e.getMessage());
+        } catch (JsonProcessingException e) {
+            return DecodedLine.failure(clientIdOf(fields, line), "Linha JSON inválida: " + e.getOriginalMessage());
+        } catch (IOException | IllegalArgumentException e) {
+            return DecodedLine.failure(clientIdOf(fields, line), "Linha JSON inválida: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Payload a partir do token atual (ou do primeiro, num parser novo); null = vazio.
+     */
+    private SyncActionPayload readPayload(JsonParser parser, SyncActionType type) {
+        Class<? extends SyncActionPayload> payloadType = SyncActionPayload.typeFor(type);
+        try {
+            JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                return objectMapper.convertValue(Map.of(), payloadType);
+            }
+            return objectMapper.readValue(parser, payloadType);
+        } catch (IOException | IllegalArgumentException e) {
+            throw invalidPayload(type, e);
+        }
+    }
+
+    /**
+     * clientId já lido ou, se o erro veio antes dele, relido da linha ignorando o resto.
+     */
+    private String clientIdOf(LineFields fields, byte[] line) {
+        if (fields.clientId != null) {
+            return fields.clientId;
+        }
+        try {
+            ClientIdOnly parsed = clientIdReader.readValue(line);
+            return parsed != null ? parsed.clientId() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void requireType(SyncActionType type) {
+        if (type == null) {
+            throw new BusinessException(ErrorCode.SYNC_UNKNOWN_ACTION, "Tipo de ação ausente");
+        }
+    }
+
+    private BusinessException invalidPayload(SyncActionType type, Exception cause) {
+        return new BusinessException(ErrorCode.SYNC_INVALID_PAYLOAD,
+                "Payload inválido para " + type + ": " + cause.getMessage(), cause);
+    }
+
+    // ========== DTOs ==========
+
+    /**
+     * Campos do envelope de uma linha NDJSON, preenchidos na ordem em que chegam.
+     */
+    private static final class LineFields {
+        String clientId;
+        Instant timestamp;
+        SyncActionType type;
+        UUID orderId;
+        SyncActionPayload payload;
+        TokenBuffer bufferedPayload;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ClientIdOnly(String clientId) {
+    }
+
+    public record DecodedLine(String clientId, TypedSyncAction action, String error) {
+
+        static DecodedLine success(TypedSyncAction action) {
+            return new DecodedLine(action.clientId(), action, null);
+        }
+
+        static DecodedLine failure(String clientId, String error) {
+            return new DecodedLine(clientId, null, error);
+        }
+    }
+}
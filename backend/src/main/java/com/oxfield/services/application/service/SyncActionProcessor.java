@@ -0,0 +1,260 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.input.dto.request.SyncActionPayload;
+import com.oxfield.services.adapter.input.dto.request.TypedSyncAction;
+import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse.SyncActionResult;
+import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse.SyncStatus;
+import com.oxfield.services.adapter.output.persistence.*;
+import com.oxfield.services.application.port.output.StoragePort;
+import com.oxfield.services.domain.entity.*;
+import com.oxfield.services.domain.enums.OsStatus;
+import com.oxfield.services.shared.exception.BusinessException;
+import com.oxfield.services.shared.exception.ErrorCode;
+import com.oxfield.services.shared.util.GeoUtils;
+import org.locationtech.jts.geom.Point;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.util.*;
+
+/**
+ * Aplica uma ação de sincronização do app mobile ao domínio.
+ *
+ * Separado do SyncService para que cada ação passe pelo proxy transacional:
+ * cada uma roda na sua própria transação (REQUIRES_NEW) e um erro numa ação
+ * não invalida as outras. O sucesso é registrado no ledger de idempotência
+ * dentro da mesma transação.
+ *
+ * Uma ação que falha devolve FAILED com o código do erro e marca a própria
+ * transação para rollback: nada do que ela gravou é comitado, e o commit não
+ * estoura UnexpectedRollbackException quando o erro veio de um método
+ * transacional aninhado (ex.: OrderStateMachine).
+ */
+@Component
+public class SyncActionProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncActionProcessor.class);
+
+    private final ServiceOrderRepository orderRepository;
+    private final OrderPhotoRepository photoRepository;
+    private final OrderChecklistRepository checklistRepository;
+    private final TechnicianRepository technicianRepository;
+    private final MaterialRepository materialRepository;
+    private final OrderStateMachine stateMachine;
+    private final StoragePort storagePort;
+    private final SyncUploadService uploadService;
+    private final SyncIdempotencyLedger idempotencyLedger;
+
+    public SyncActionProcessor(
+            ServiceOrderRepository orderRepository,
+            OrderPhotoRepository photoRepository,
+            OrderChecklistRepository checklistRepository,
+            TechnicianRepository technicianRepository,
+            MaterialRepository materialRepository,
+            OrderStateMachine stateMachine,
+            StoragePort storagePort,
+            SyncUploadService uploadService,
+            SyncIdempotencyLedger idempotencyLedger) {
+        this.orderRepository = orderRepository;
+        this.photoRepository = photoRepository;
+        this.checklistRepository = checklistRepository;
+        this.technicianRepository = technicianRepository;
+        this.materialRepository = materialRepository;
+        this.stateMachine = stateMachine;
+        this.storagePort = storagePort;
+        this.uploadService = uploadService;
+        this.idempotencyLedger = idempotencyLedger;
+    }
+
+    /**
+     * Processa uma ação individual em transação isolada.
+     * Chamado através do proxy (SyncService), então REQUIRES_NEW é de fato aplicado.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public SyncActionResult processAction(TypedSyncAction action, UUID technicianId, UUID tenantId) {
+        log.debug("Processing action: {} for order {}", action.type(), action.orderId());
+
+        try {
+            UUID serverId = switch (action.payload()) {
+                case SyncActionPayload.StatusUpdate p -> processStatusUpdate(action.orderId(), p, technicianId);
+                case SyncActionPayload.AddPhoto p -> processAddPhoto(action.orderId(), p, technicianId, tenantId);
+                case SyncActionPayload.ChecklistUpdate p -> processChecklistUpdate(action.orderId(), p);
+                case SyncActionPayload.AddSignature p -> throw new BusinessException(
+                        ErrorCode.SYNC_UNKNOWN_ACTION, "Signature collection is no longer supported");
+                case SyncActionPayload.LocationUpdate p -> processLocationUpdate(p, technicianId);
+                case SyncActionPayload.AddMaterial p -> processAddMaterial(action.orderId(), p);
+                case SyncActionPayload.AddMessage p -> processAddMessage(p);
+            };
+
+            // Registro de idempotência na mesma transação dos efeitos
+            return idempotencyLedger.record(technicianId, new SyncActionResult(
+                    action.clientId(),
+                    serverId,
+                    SyncStatus.SUCCESS,
+                    null,
+                    null));
+
+        } catch (BusinessException e) {
+            log.warn("Business error processing action {}: {}", action.clientId(), e.getMessage());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return new SyncActionResult(
+                    action.clientId(),
+                    null,
+                    SyncStatus.FAILED,
+                    e.getErrorCode().getCode(),
+                    e.getMessage());
+
+        } catch (Exception e) {
+            log.error("Error processing action {}: {}", action.clientId(), e.getMessage(), e);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return new SyncActionResult(
+                    action.clientId(),
+                    null,
+                    SyncStatus.FAILED,
+                    ErrorCode.SYNC_INVALID_PAYLOAD.getCode(),
+                    e.getMessage());
+        }
+    }
+
+    // ========== Action Processors ==========
+
+    private UUID processStatusUpdate(UUID orderId, SyncActionPayload.StatusUpdate payload, UUID technicianId) {
+        if (payload.status() == null) {
+            throw new BusinessException(ErrorCode.SYNC_INVALID_PAYLOAD, "status obrigatório");
+        }
+        OsStatus targetStatus = OsStatus.fromValue(payload.status());
+
+        Point location = toPoint(payload.latitude(), payload.longitude());
+
+        ServiceOrder order = switch (targetStatus) {
+            case IN_ROUTE -> stateMachine.startRoute(orderId, technicianId);
+            case IN_PROGRESS -> stateMachine.arrive(orderId, technicianId, location);
+            case COMPLETED -> stateMachine.complete(orderId, technicianId);
+            case CANCELLED -> stateMachine.cancel(orderId,
+                    payload.reason() != null ? payload.reason() : "Cancelado pelo técnico");
+            default -> throw new BusinessException(
+                    ErrorCode.ORDER_INVALID_TRANSITION,
+                    "Transição para " + targetStatus + " não suportada via sync");
+        };
+
+        return order.getId();
+    }
+
+    private UUID processAddPhoto(UUID orderId, SyncActionPayload.AddPhoto payload, UUID technicianId, UUID tenantId) {
+        String folder = "orders/" + orderId + "/photos";
+
+        ServiceOrder order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND, "OS não encontrada"));
+
+        StoragePort.UploadResult upload;
+        if (payload.uploadId() != null) {
+            // Bytes já enviados em partes via /sync/uploads: streaming do staging para o storage
+            upload = uploadService.transferToStorage(UUID.fromString(payload.uploadId()), technicianId, folder);
+        } else {
+            // Legado: foto em base64 dentro do batch (versões antigas do app)
+            if (payload.data() == null) {
+                throw new BusinessException(ErrorCode.SYNC_INVALID_PAYLOAD, "uploadId ou data obrigatório");
+            }
+            String fileName = payload.fileName() != null ? payload.fileName() : UUID.randomUUID() + ".jpg";
+            byte[] imageData = Base64.getDecoder().decode(payload.data());
+            upload = storagePort.upload(new StoragePort.UploadRequest(
+                    tenantId,
+                    folder,
+                    fileName,
+                    imageData,
+                    "image/jpeg"));
+        }
+
+        // Criar registro
+        OrderPhoto photo = new OrderPhoto(upload.fileUrl(), payload.caption());
+        photo.setOrder(order);
+        photo.setTenantId(tenantId);
+
+        Point location = toPoint(payload.latitude(), payload.longitude());
+        if (location != null) {
+            photo.setLocation(location);
+        }
+
+        photo = photoRepository.save(photo);
+        return photo.getId();
+    }
+
+    private UUID processChecklistUpdate(UUID orderId, SyncActionPayload.ChecklistUpdate payload) {
+        if (payload.itemId() == null) {
+            throw new BusinessException(ErrorCode.SYNC_INVALID_PAYLOAD, "itemId obrigatório");
+        }
+
+        OrderChecklist checklist = checklistRepository.findByOrderId(orderId)
+                .orElseThrow(() -> new BusinessException(
+                        ErrorCode.ORDER_NOT_FOUND, "Checklist não encontrado"));
+
+        if (Boolean.TRUE.equals(payload.done())) {
+            checklist.markItemComplete(payload.itemId());
+        }
+
+        checklist = checklistRepository.save(checklist);
+        return checklist.getId();
+    }
+
+    private UUID processLocationUpdate(SyncActionPayload.LocationUpdate payload, UUID technicianId) {
+        Point location = toPoint(payload.latitude(), payload.longitude());
+        if (location == null) {
+            throw new BusinessException(
+                    ErrorCode.SYNC_INVALID_PAYLOAD, "Localização não fornecida");
+        }
+
+        Technician technician = technicianRepository.findById(technicianId)
+                .orElseThrow(() -> new BusinessException(
+                        ErrorCode.TECH_NOT_FOUND, "Técnico não encontrado"));
+
+        technician.updateLocation(location);
+        technicianRepository.save(technician);
+
+        return technician.getId();
+    }
+
+    private UUID processAddMaterial(UUID orderId, SyncActionPayload.AddMaterial payload) {
+        UUID materialId = payload.materialId();
+        Integer quantity = payload.quantity();
+        if (materialId == null || quantity == null || quantity <= 0) {
+            throw new BusinessException(ErrorCode.SYNC_INVALID_PAYLOAD, "materialId e quantity obrigatórios");
+        }
+
+        // Lock no material: grupos de OS processados em paralelo podem baixar o mesmo estoque
+        Material material = materialRepository.findByIdForUpdate(materialId)
+                .orElseThrow(() -> new BusinessException(
+                        ErrorCode.RESOURCE_NOT_FOUND, "Material não encontrado"));
+
+        ServiceOrder order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND, "OS não encontrada"));
+
+        OrderMaterial orderMaterial = new OrderMaterial(material, quantity);
+        order.addMaterial(orderMaterial);
+        orderRepository.save(order);
+
+        // Reduzir estoque
+        material.reduceStock(quantity);
+        materialRepository.save(material);
+
+        return orderMaterial.getId();
+    }
+
+    private UUID processAddMessage(SyncActionPayload.AddMessage payload) {
+        // TODO: Implementar quando OrderMessage service estiver pronto
+        throw new BusinessException(
+                ErrorCode.SYNC_UNKNOWN_ACTION, "Ação ADD_MESSAGE ainda não implementada");
+    }
+
+    // ========== Helpers ==========
+
+    private Point toPoint(Double latitude, Double longitude) {
+        if (latitude != null && longitude != null) {
+            return GeoUtils.createPoint(latitude, longitude);
+        }
+        return null;
+    }
+}
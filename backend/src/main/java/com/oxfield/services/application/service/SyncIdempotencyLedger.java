@@ -0,0 +1,275 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse.SyncActionResult;
+import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse.SyncStatus;
+import com.oxfield.services.adapter.output.persistence.SyncActionLedgerRepository;
+import com.oxfield.services.domain.entity.SyncActionLedgerEntry;
+import com.oxfield.services.shared.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ledger de idempotência das ações de sync, por técnico + clientId.
+ *
+ * Toda ação aplicada com sucesso grava uma linha em sync_action_ledger na mesma
+ * transação dos efeitos de domínio. Num batch reenviado:
+ * <ul>
+ * <li>fast path: um Bloom filter em memória descarta sem consulta as ações que
+ * certamente são novas; as demais são conferidas no ledger numa única query e
+ * devolvem o resultado original sem executar;</li>
+ * <li>o que escapar do fast path (chave gravada por outra instância, ou esquecida
+ * pela rotação do filtro) esbarra na chave primária: a execução duplicada é
+ * desfeita e o resultado original é devolvido.</li>
+ * </ul>
+ * Só sucessos são registrados; ações que falharam continuam reenviáveis.
+ *
+ * Registros fora da retenção são removidos no startup e, depois, a cada
+ * prune-interval por uma virtual thread (sem @Scheduled, como o OutboxDispatcher).
+ */
+@Component
+public class SyncIdempotencyLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncIdempotencyLedger.class);
+    private static final String METRIC_PREFIX = "oxfield.sync.idempotency";
+    private static final int MAX_CLIENT_ID_LENGTH = 64;
+
+    private final SyncActionLedgerRepository ledgerRepository;
+    private final Duration retention;
+    private final Duration pruneInterval;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    /** Duas gerações: quando a atual satura, vira a anterior e a mais antiga é descartada. */
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private final ReentrantLock rotateLock = new ReentrantLock();
+
+    private volatile boolean running;
+    private Thread pruner;
+
+    private final Counter fastPathReplays;
+    private final Counter conflictReplays;
+    private final Counter bloomFalsePositives;
+
+    public SyncIdempotencyLedger(
+            SyncActionLedgerRepository ledgerRepository,
+            MeterRegistry meterRegistry,
+            @Value("${oxfield.sync.idempotency.retention:30d}") Duration retention,
+            @Value("${oxfield.sync.idempotency.prune-interval:1h}") Duration pruneInterval,
+            @Value("${oxfield.sync.idempotency.bloom.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${oxfield.sync.idempotency.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.ledgerRepository = ledgerRepository;
+        this.retention = retention;
+        this.pruneInterval = pruneInterval;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new BloomFilter(expectedInsertions, falsePositiveRate);
+
+        this.fastPathReplays = Counter.builder(METRIC_PREFIX + ".replays")
+                .tag("path", "fast")
+                .description("Ações reenviadas respondidas pelo ledger sem execução")
+                .register(meterRegistry);
+        this.conflictReplays = Counter.builder(METRIC_PREFIX + ".replays")
+                .tag("path", "conflict")
+                .description("Ações reenviadas detectadas só na gravação do ledger (execução desfeita)")
+                .register(meterRegistry);
+        this.bloomFalsePositives = Counter.builder(METRIC_PREFIX + ".bloom.false-positives")
+                .description("Consultas ao ledger em que o Bloom filter indicou presença sem registro")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Remove registros fora da retenção, aquece o Bloom filter com os recentes e
+     * inicia a remoção periódica.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            int purged = prune();
+            List<Object[]> keys = ledgerRepository.findRecentKeys(
+                    Instant.now().minus(retention),
+                    PageRequest.of(0, (int) Math.min(expectedInsertions / 2, Integer.MAX_VALUE)));
+            for (Object[] row : keys) {
+                current.put(bloomKey((UUID) row[0], (String) row[1]));
+            }
+            log.info("Sync idempotency ledger ready: {} recent keys loaded, {} expired purged", keys.size(), purged);
+        } catch (Exception e) {
+            // Sem aquecimento o fast path só perde eficácia; a chave primária garante a idempotência
+            log.warn("Could not warm up sync idempotency ledger: {}", e.getMessage());
+        }
+        running = true;
+        pruner = Thread.ofVirtual().name("sync-ledger-prune").start(this::pruneLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (pruner != null) {
+            pruner.interrupt();
+        }
+    }
+
+    /**
+     * Remove os registros fora da retenção. Retorna o total removido.
+     *
+     * As chaves removidas continuam no Bloom filter até a rotação: custam no
+     * máximo uma consulta ao ledger que não acha nada.
+     */
+    public int prune() {
+        return ledgerRepository.deleteOlderThan(Instant.now().minus(retention));
+    }
+
+    /**
+     * Resultados originais das ações do batch que já foram aplicadas, por clientId.
+     */
+    public Map<String, SyncActionResult> findReplays(UUID technicianId, Collection<String> clientIds) {
+        Map<String, String> clientIdsByKey = new HashMap<>();
+        for (String clientId : clientIds) {
+            String key = ledgerKey(clientId);
+            if (key != null && mightContain(bloomKey(technicianId, key))) {
+                clientIdsByKey.put(key, clientId);
+            }
+        }
+        if (clientIdsByKey.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, SyncActionResult> replays = new HashMap<>();
+        for (SyncActionLedgerEntry entry : ledgerRepository.findByTechnicianIdAndClientIdIn(
+                technicianId, clientIdsByKey.keySet())) {
+            String clientId = clientIdsByKey.get(entry.getClientId());
+            replays.put(clientId, toResult(clientId, entry));
+        }
+
+        bloomFalsePositives.increment(clientIdsByKey.size() - replays.size());
+        fastPathReplays.increment(replays.size());
+        return replays;
+    }
+
+    /**
+     * Registra o sucesso da ação. Deve ser chamado dentro da transação da ação.
+     *
+     * Se a chave já existia (reenvio concorrente ou que escapou do fast path), a
+     * transação é marcada para rollback, desfazendo os efeitos desta execução, e o
+     * resultado original é devolvido.
+     */
+    public SyncActionResult record(UUID technicianId, SyncActionResult result) {
+        String key = ledgerKey(result.clientId());
+        if (key == null) {
+            return result;
+        }
+
+        int inserted = ledgerRepository.insertIfAbsent(
+                technicianId.toString(),
+                key,
+                result.serverId() != null ? result.serverId().toString() : null);
+        remember(bloomKey(technicianId, key));
+        if (inserted == 1) {
+            return result;
+        }
+
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        conflictReplays.increment();
+        log.info("Duplicate sync action {} for technician {}: returning original result",
+                result.clientId(), technicianId);
+        return findOriginal(technicianId, result.clientId()).orElse(result);
+    }
+
+    /**
+     * Resultado original de uma ação já aplicada, se houver. Usado quando uma ação
+     * reenviada falha (ex.: transição já feita) para devolver o sucesso original.
+     */
+    public Optional<SyncActionResult> findOriginal(UUID technicianId, String clientId) {
+        String key = ledgerKey(clientId);
+        if (key == null) {
+            return Optional.empty();
+        }
+        return ledgerRepository.findById(new SyncActionLedgerEntry.LedgerKey(technicianId, key))
+                .map(entry -> toResult(clientId, entry));
+    }
+
+    // ========== Private Methods ==========
+
+    private void pruneLoop() {
+        while (running) {
+            try {
+                Thread.sleep(pruneInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                int purged = prune();
+                if (purged > 0) {
+                    log.info("Purged {} sync ledger entries older than {}", purged, retention);
+                }
+            } catch (Exception e) {
+                log.error("Sync ledger prune failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private boolean mightContain(String bloomKey) {
+        BloomFilter older = previous;
+        return current.mightContain(bloomKey) || (older != null && older.mightContain(bloomKey));
+    }
+
+    private void remember(String bloomKey) {
+        BloomFilter filter = current;
+        filter.put(bloomKey);
+        if (filter.isSaturated() && rotateLock.tryLock()) {
+            try {
+                if (current == filter) {
+                    previous = filter;
+                    current = new BloomFilter(expectedInsertions, falsePositiveRate);
+                    log.debug("Sync idempotency bloom filter rotated");
+                }
+            } finally {
+                rotateLock.unlock();
+            }
+        }
+    }
+
+    private SyncActionResult toResult(String clientId, SyncActionLedgerEntry entry) {
+        return new SyncActionResult(clientId, entry.getServerId(), SyncStatus.SUCCESS, null, null);
+    }
+
+    private static String bloomKey(UUID technicianId, String ledgerKey) {
+        return technicianId + ":" + ledgerKey;
+    }
+
+    /**
+     * clientId como gravado no ledger; ids longos viram SHA-256 (hex, 64 caracteres).
+     */
+    private static String ledgerKey(String clientId) {
+        if (clientId == null || clientId.isBlank()) {
+            return null;
+        }
+        if (clientId.length() <= MAX_CLIENT_ID_LENGTH) {
+            return clientId;
+        }
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(clientId.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.oxfield.services.application.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.oxfield.services.adapter.output.persistence.*;
+import com.oxfield.services.adapter.output.persistence.SyncChangeLogRepository.ChangeProjection;
+import com.oxfield.services.domain.entity.*;
+import com.oxfield.services.shared.pagination.CursorCodec;
+import com.oxfield.services.shared.util.GeoUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Pull sync (delta) do app do técnico.
+ *
+ * Sem cursor, devolve um snapshot das OS do técnico (a partir de alguns dias
+ * atrás) com checklist, fotos e materiais. Com cursor, devolve apenas o que mudou
+ * desde então, lido do sync_change_log (preenchido por triggers), com tombstones
+ * para remoções e OS reatribuídas a outro técnico.
+ *
+ * O cursor é (txid, seq) do change log: o limite superior é o xmin do snapshot,
+ * então só entram transações terminadas e nenhuma mudança é pulada por commit
+ * tardio. Cursores mais antigos que a retenção do log pedem resync completo.
+ */
+@Service
+public class SyncPullService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncPullService.class);
+    private static final String CURSOR_KIND = "sp";
+
+    static final String TYPE_ORDER = "ORDER";
+    static final String TYPE_CHECKLIST = "CHECKLIST";
+    static final String TYPE_PHOTO = "PHOTO";
+    static final String TYPE_MATERIAL = "MATERIAL";
+
+    private final SyncChangeLogRepository changeLogRepository;
+    private final ServiceOrderRepository orderRepository;
+    private final OrderChecklistRepository checklistRepository;
+    private final OrderPhotoRepository photoRepository;
+    private final OrderMaterialRepository materialRepository;
+    private final int snapshotDaysBack;
+    private final Duration retention;
+
+    private final AtomicLong nextPruneAt = new AtomicLong();
+
+    public SyncPullService(
+            SyncChangeLogRepository changeLogRepository,
+            ServiceOrderRepository orderRepository,
+            OrderChecklistRepository checklistRepository,
+            OrderPhotoRepository photoRepository,
+            OrderMaterialRepository materialRepository,
+            @Value("${oxfield.sync.pull.snapshot-days-back:7}") int snapshotDaysBack,
+            @Value("${oxfield.sync.pull.retention:14d}") Duration retention) {
+        this.changeLogRepository = changeLogRepository;
+        this.orderRepository = orderRepository;
+        this.checklistRepository = checklistRepository;
+        this.photoRepository = photoRepository;
+        this.materialRepository = materialRepository;
+        this.snapshotDaysBack = snapshotDaysBack;
+        this.retention = retention;
+    }
+
+    /**
+     * Mudanças desde o cursor (ou snapshot, se o cursor estiver vazio).
+     */
+    @Transactional(readOnly = true)
+    public SyncPullResponse pull(UUID technicianId, String cursor, int limit) {
+        if (cursor == null || cursor.isBlank()) {
+            return snapshot(technicianId);
+        }
+
+        String[] values = CursorCodec.decode(cursor, CURSOR_KIND, 3);
+        String afterTxid = values[0];
+        long afterSeq;
+        Instant issuedAt;
+        try {
+            afterSeq = Long.parseLong(values[1]);
+            issuedAt = Instant.ofEpochSecond(Long.parseLong(values[2]));
+            Long.parseUnsignedLong(afterTxid);
+        } catch (RuntimeException e) {
+            throw CursorCodec.invalid();
+        }
+
+        if (issuedAt.isBefore(Instant.now().minus(retention))) {
+            log.info("Pull sync cursor for technician {} is older than the change log retention, full resync", technicianId);
+            return SyncPullResponse.reset();
+        }
+        pruneIfDue();
+
+        String upperTxid = changeLogRepository.currentSnapshotXmin();
+        List<ChangeProjection> changes = changeLogRepository.findChangesAfter(
+                technicianId.toString(), afterTxid, afterSeq, upperTxid, limit + 1);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+
+        String nextCursor;
+        if (changes.isEmpty()) {
+            // Nada antes do xmin: avança até ele (mantém o cursor dentro da retenção)
+            nextCursor = encodeCursor(upperTxid, 0);
+        } else {
+            ChangeProjection last = changes.get(changes.size() - 1);
+            nextCursor = encodeCursor(last.getTxid(), last.getSeq());
+        }
+
+        return buildDelta(technicianId, changes, nextCursor, hasMore);
+    }
+
+    // ========== Private Methods ==========
+
+    private SyncPullResponse snapshot(UUID technicianId) {
+        // xmin lido antes da leitura: o que comitar depois volta no próximo pull
+        String xmin = changeLogRepository.currentSnapshotXmin();
+
+        List<ServiceOrder> orders = orderRepository.findByTechnicianIdScheduledFrom(
+                technicianId, LocalDate.now().minusDays(snapshotDaysBack));
+        List<UUID> orderIds = orders.stream().map(ServiceOrder::getId).toList();
+
+        if (orderIds.isEmpty()) {
+            return new SyncPullResponse(List.of(), List.of(), List.of(), List.of(), List.of(),
+                    encodeCursor(xmin, 0), false, true, false);
+        }
+
+        return new SyncPullResponse(
+                orders.stream().map(this::toOrderDelta).toList(),
+                checklistRepository.findByOrderIdIn(orderIds).stream().map(this::toChecklistDelta).toList(),
+                photoRepository.findByOrderIdIn(orderIds).stream().map(this::toPhotoDelta).toList(),
+                materialRepository.findByOrderIdInWithMaterial(orderIds).stream().map(this::toMaterialDelta).toList(),
+                List.of(),
+                encodeCursor(xmin, 0),
+                false,
+                true,
+                false);
+    }
+
+    private SyncPullResponse buildDelta(UUID technicianId, List<ChangeProjection> changes,
+                                        String nextCursor, boolean hasMore) {
+        // Última operação de cada entidade no intervalo
+        Map<String, Map<UUID, ChangeProjection>> latest = new HashMap<>();
+        for (ChangeProjection change : changes) {
+            latest.computeIfAbsent(change.getEntityType(), k -> new LinkedHashMap<>())
+                    .put(UUID.fromString(change.getEntityId()), change);
+        }
+
+        List<Tombstone> deleted = new ArrayList<>();
+        Map<String, Set<UUID>> upserts = new HashMap<>();
+        latest.forEach((type, byId) -> byId.forEach((id, change) -> {
+            if ("D".equals(change.getOp())) {
+                deleted.add(new Tombstone(type, id, UUID.fromString(change.getOrderId())));
+            } else {
+                upserts.computeIfAbsent(type, k -> new LinkedHashSet<>()).add(id);
+            }
+        }));
+
+        List<OrderDelta> orders = new ArrayList<>();
+        Set<UUID> orderIds = upserts.getOrDefault(TYPE_ORDER, Set.of());
+        if (!orderIds.isEmpty()) {
+            for (ServiceOrder order : orderRepository.findAllWithDetailsByIdIn(orderIds)) {
+                // Reatribuída depois do intervalo: o tombstone vem no próximo pull
+                if (technicianId.equals(order.getTechnicianId())) {
+                    orders.add(toOrderDelta(order));
+                }
+            }
+        }
+
+        List<ChecklistDelta> checklists = loadUpserts(upserts, TYPE_CHECKLIST,
+                ids -> checklistRepository.findAllById(ids).stream().map(this::toChecklistDelta).toList());
+        List<PhotoDelta> photos = loadUpserts(upserts, TYPE_PHOTO,
+                ids -> photoRepository.findAllById(ids).stream().map(this::toPhotoDelta).toList());
+        List<MaterialDelta> materials = loadUpserts(upserts, TYPE_MATERIAL,
+                ids -> materialRepository.findByIdInWithMaterial(ids).stream().map(this::toMaterialDelta).toList());
+
+        return new SyncPullResponse(orders, checklists, photos, materials, deleted,
+                nextCursor, hasMore, false, false);
+    }
+
+    private <T> List<T> loadUpserts(Map<String, Set<UUID>> upserts, String type,
+                                    Function<Set<UUID>, List<T>> loader) {
+        Set<UUID> ids = upserts.get(type);
+        return ids == null || ids.isEmpty() ? List.of() : loader.apply(ids);
+    }
+
+    /**
+     * Remove linhas fora da retenção, no máximo uma vez por hora (sem scheduler).
+     */
+    private void pruneIfDue() {
+        long now = System.currentTimeMillis();
+        long due = nextPruneAt.get();
+        if (now < due || !nextPruneAt.compareAndSet(due, now + Duration.ofHours(1).toMillis())) {
+            return;
+        }
+        int removed = changeLogRepository.deleteOlderThan(Instant.now().minus(retention));
+        if (removed > 0) {
+            log.info("Pruned {} sync change log rows older than {}", removed, retention);
+        }
+    }
+
+    private String encodeCursor(String txid, long seq) {
+        return CursorCodec.encode(CURSOR_KIND, txid, Long.toString(seq),
+                Long.toString(Instant.now().getEpochSecond()));
+    }
+
+    private OrderDelta toOrderDelta(ServiceOrder order) {
+        CustomerAddress address = order.getAddress();
+        User customerUser = order.getCustomer() != null ? order.getCustomer().getUser() : null;
+        return new OrderDelta(
+                order.getId(),
+                order.getOsNumber(),
+                order.getTitle(),
+                order.getDescription(),
+                order.getCategory() != null ? order.getCategory().getCode() : null,
+                order.getStatus() != null ? order.getStatus().getValue() : null,
+                order.getPriority() != null ? order.getPriority().getValue() : null,
+                order.getScheduledDate() != null ? order.getScheduledDate().toString() : null,
+                order.getScheduledStart() != null ? order.getScheduledStart().toString() : null,
+                order.getScheduledDuration() != null ? order.getScheduledDuration() : 0,
+                address != null ? address.getFullAddress() : null,
+                address != null && address.getLocation() != null ? GeoUtils.getLatitude(address.getLocation()) : null,
+                address != null && address.getLocation() != null ? GeoUtils.getLongitude(address.getLocation()) : null,
+                customerUser != null ? customerUser.getName() : null,
+                customerUser != null ? customerUser.getPhone() : null,
+                order.getActualStart() != null ? order.getActualStart().toString() : null,
+                order.getActualEnd() != null ? order.getActualEnd().toString() : null,
+                order.hasSignature());
+    }
+
+    private ChecklistDelta toChecklistDelta(OrderChecklist checklist) {
+        return new ChecklistDelta(checklist.getId(), checklist.getOrderId(), checklist.getItems());
+    }
+
+    private PhotoDelta toPhotoDelta(OrderPhoto photo) {
+        return new PhotoDelta(
+                photo.getId(),
+                photo.getOrderId(),
+                photo.getFileUrl(),
+                photo.getCaption(),
+                photo.getTakenAt() != null ? photo.getTakenAt().toString() : null);
+    }
+
+    private MaterialDelta toMaterialDelta(OrderMaterial material) {
+        Material catalogItem = material.getMaterial();
+        return new MaterialDelta(
+                material.getId(),
+                material.getOrderId(),
+                material.getMaterialId(),
+                catalogItem != null ? catalogItem.getName() : null,
+                catalogItem != null ? catalogItem.getSku() : null,
+                material.getQuantity() != null ? material.getQuantity() : 0);
+    }
+
+    // ========== DTOs ==========
+
+    /**
+     * Resposta do pull. snapshot = true indica que o app deve substituir o estado
+     * local; resetRequired = true, que o cursor expirou e o app deve pedir um
+     * snapshot (cursor vazio).
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public record SyncPullResponse(
+            List<OrderDelta> orders,
+            List<ChecklistDelta> checklists,
+            List<PhotoDelta> photos,
+            List<MaterialDelta> materials,
+            List<Tombstone> deleted,
+            String nextCursor,
+            boolean hasMore,
+            boolean snapshot,
+            boolean resetRequired) {
+
+        static SyncPullResponse reset() {
+            return new SyncPullResponse(List.of(), List.of(), List.of(), List.of(), List.of(),
+                    null, false, false, true);
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record OrderDelta(
+            UUID id,
+            String osNumber,
+            String title,
+            String description,
+            String category,
+            String status,
+            String priority,
+            String scheduledDate,
+            String scheduledStart,
+            int durationMinutes,
+            String address,
+            Double latitude,
+            Double longitude,
+            String customerName,
+            String customerPhone,
+            String actualStart,
+            String actualEnd,
+            boolean hasSignature) {
+    }
+
+    public record ChecklistDelta(UUID id, UUID orderId, List<Map<String, Object>> items) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record PhotoDelta(UUID id, UUID orderId, String fileUrl, String caption, String takenAt) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record MaterialDelta(UUID id, UUID orderId, UUID materialId, String name, String sku, int quantity) {
+    }
+
+    public record Tombstone(String type, UUID id, UUID orderId) {
+    }
+}
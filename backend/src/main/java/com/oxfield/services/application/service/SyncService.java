@@ -3,83 +3,131 @@ package com.oxfield.services.application.service;
 import com.oxfield.services.adapter.input.dto.request.SyncBatchRequest;
 import com.oxfield.services.adapter.input.dto.request.SyncBatchRequest.SyncAction;
 import com.oxfield.services.adapter.input.dto.request.SyncBatchRequest.SyncActionType;
+import com.oxfield.services.adapter.input.dto.request.TypedSyncAction;
 import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse;
 import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse.SyncActionResult;
 import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse.SyncStatus;
-import com.oxfield.services.adapter.output.persistence.*;
-import com.oxfield.services.application.port.output.StoragePort;
-import com.oxfield.services.domain.entity.*;
-import com.oxfield.services.domain.enums.OsStatus;
 import com.oxfield.services.shared.exception.BusinessException;
 import com.oxfield.services.shared.exception.ErrorCode;
-import com.oxfield.services.shared.util.GeoUtils;
-import org.locationtech.jts.geom.Point;
+import com.oxfield.services.shared.multitenancy.TenantContext;
+import com.oxfield.services.shared.util.BoundedLineReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
 
 /**
  * Serviço de sincronização para o app mobile (Offline First).
- * 
- * Processa batch de ações em transações isoladas usando REQUIRES_NEW
- * para garantir que erro em uma ação não invalide as outras.
+ *
+ * Motor de execução do batch: as ações são agrupadas por OS e ordenadas por
+ * timestamp dentro de cada grupo. Grupos independentes rodam em paralelo em
+ * virtual threads (limitados por oxfield.sync.max-parallel-groups, para não
+ * esgotar o pool de conexões); dentro de um grupo a ordem é sequencial.
+ * Cada ação roda na sua própria transação via SyncActionProcessor.
+ *
+ * Ações já aplicadas (batch reenviado) são respondidas pelo SyncIdempotencyLedger
+ * com o resultado original, sem executar.
  */
 @Service
 public class SyncService {
 
+    public static final String ACTION_TIMER = "oxfield.sync.action.duration";
+
     private static final Logger log = LoggerFactory.getLogger(SyncService.class);
 
-    private final ServiceOrderRepository orderRepository;
-    private final OrderPhotoRepository photoRepository;
-    private final OrderChecklistRepository checklistRepository;
-    private final TechnicianRepository technicianRepository;
-    private final MaterialRepository materialRepository;
-    private final OrderStateMachine stateMachine;
-    private final StoragePort storagePort;
+    private final SyncActionProcessor actionProcessor;
+    private final SyncIdempotencyLedger idempotencyLedger;
+    private final SyncActionDecoder actionDecoder;
+    private final int maxParallelGroups;
+    private final int streamWindowSize;
+    private final long streamWindowBytes;
+    private final int maxLineBytes;
+    /** Latência por tipo de ação, incluindo o commit da transação da ação. */
+    private final Map<SyncActionType, Timer> actionTimers = new EnumMap<>(SyncActionType.class);
+    /** Virtual thread por grupo; não é exposto como bean para não substituir o executor do @Async. */
+    private final ExecutorService syncExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     public SyncService(
-            ServiceOrderRepository orderRepository,
-            OrderPhotoRepository photoRepository,
-            OrderChecklistRepository checklistRepository,
-            TechnicianRepository technicianRepository,
-            MaterialRepository materialRepository,
-            OrderStateMachine stateMachine,
-            StoragePort storagePort) {
-        this.orderRepository = orderRepository;
-        this.photoRepository = photoRepository;
-        this.checklistRepository = checklistRepository;
-        this.technicianRepository = technicianRepository;
-        this.materialRepository = materialRepository;
-        this.stateMachine = stateMachine;
-        this.storagePort = storagePort;
+            SyncActionProcessor actionProcessor,
+            SyncIdempotencyLedger idempotencyLedger,
+            SyncActionDecoder actionDecoder,
+            MeterRegistry meterRegistry,
+            @Value("${oxfield.sync.max-parallel-groups:8}") int maxParallelGroups,
+            @Value("${oxfield.sync.stream.window-size:200}") int streamWindowSize,
+            @Value("${oxfield.sync.stream.window-max-bytes:32MB}") DataSize streamWindowBytes,
+            @Value("${oxfield.sync.stream.max-line-size:16MB}") DataSize maxLineSize) {
+        this.actionProcessor = actionProcessor;
+        this.idempotencyLedger = idempotencyLedger;
+        this.actionDecoder = actionDecoder;
+        this.maxParallelGroups = maxParallelGroups;
+        this.streamWindowSize = Math.max(1, streamWindowSize);
+        this.streamWindowBytes = Math.max(1, streamWindowBytes.toBytes());
+        this.maxLineBytes = (int) Math.min(maxLineSize.toBytes(), Integer.MAX_VALUE - 8);
+        for (SyncActionType type : SyncActionType.values()) {
+            actionTimers.put(type, Timer.builder(ACTION_TIMER)
+                    .tag("type", type.name())
+                    .description("Tempo de aplicação de uma ação de sync (transação própria)")
+                    .register(meterRegistry));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        syncExecutor.shutdown();
     }
 
     /**
      * Processa um batch de ações de sincronização.
-     * Cada ação é processada em sua própria transação.
+     * Os resultados voltam na ordem cronológica das ações.
      */
     public SyncBatchResponse processBatch(SyncBatchRequest request, UUID technicianId, UUID tenantId) {
         log.info("Processing sync batch with {} actions for technician {}",
                 request.actions().size(), technicianId);
 
-        // Ordenar por timestamp (mais antigas primeiro)
+        // Ordenar por timestamp (mais antigas primeiro); a ordem se mantém dentro de cada grupo
         List<SyncAction> sortedActions = request.actions().stream()
                 .sorted(Comparator.comparing(SyncAction::timestamp))
-                .collect(Collectors.toList());
+                .toList();
+
+        // Payload tipado; ação com payload inválido falha sem ser executada
+        SyncActionResult[] results = new SyncActionResult[sortedActions.size()];
+        List<TypedSyncAction> typedActions = new ArrayList<>(sortedActions.size());
+        List<Integer> typedIndexes = new ArrayList<>(sortedActions.size());
+        for (int i = 0; i < sortedActions.size(); i++) {
+            SyncAction action = sortedActions.get(i);
+            try {
+                typedActions.add(actionDecoder.decode(action));
+                typedIndexes.add(i);
+            } catch (BusinessException e) {
+                results[i] = failed(action.clientId(), e.getErrorCode(), e.getMessage());
+            }
+        }
 
-        // Processar cada ação
-        List<SyncActionResult> results = new ArrayList<>();
-        for (SyncAction action : sortedActions) {
-            SyncActionResult result = processAction(action, technicianId, tenantId);
-            results.add(result);
+        SyncActionResult[] executed = execute(typedActions, technicianId, tenantId);
+        for (int j = 0; j < executed.length; j++) {
+            results[typedIndexes.get(j)] = executed[j];
         }
 
-        SyncBatchResponse response = SyncBatchResponse.of(results);
+        SyncBatchResponse response = SyncBatchResponse.of(Arrays.asList(results));
         log.info("Sync batch completed: {}/{} successful",
                 response.successCount(), response.totalActions());
 
@@ -87,178 +135,288 @@ public class SyncService {
     }
 
     /**
-     * Processa uma ação individual em transação isolada.
+     * Modo streaming: lê ações NDJSON (uma por linha) do corpo e entrega os
+     * resultados ao sink em janelas de até oxfield.sync.stream.window-size ações
+     * ou window-max-bytes de linhas, o que vier primeiro. Cada janela passa pelo
+     * mesmo motor do batch (grupos por OS em paralelo); a memória fica limitada
+     * a window-max-bytes mais uma linha, qualquer que seja o tamanho do lote.
+     *
+     * As linhas são aplicadas na ordem em que chegam (o app envia em ordem cronológica).
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public SyncActionResult processAction(SyncAction action, UUID technicianId, UUID tenantId) {
-        log.debug("Processing action: {} for order {}", action.type(), action.orderId());
-
-        try {
-            UUID serverId = switch (action.type()) {
-                case UPDATE_STATUS -> processStatusUpdate(action, technicianId);
-                case ADD_PHOTO -> processAddPhoto(action, tenantId);
-                case UPDATE_CHECKLIST -> processChecklistUpdate(action);
-                case ADD_SIGNATURE -> throw new BusinessException(
-                        ErrorCode.SYNC_UNKNOWN_ACTION, "Signature collection is no longer supported");
-                case UPDATE_LOCATION -> processLocationUpdate(action, technicianId);
-                case ADD_MATERIAL -> processAddMaterial(action);
-                case ADD_MESSAGE -> processAddMessage(action);
-            };
-
-            return new SyncActionResult(
-                    action.clientId(),
-                    serverId,
-                    SyncStatus.SUCCESS,
-                    null,
-                    null);
-
-        } catch (BusinessException e) {
-            log.warn("Business error processing action {}: {}", action.clientId(), e.getMessage());
-            return new SyncActionResult(
-                    action.clientId(),
-                    null,
-                    SyncStatus.FAILED,
-                    e.getErrorCode().getCode(),
-                    e.getMessage());
-
-        } catch (Exception e) {
-            log.error("Error processing action {}: {}", action.clientId(), e.getMessage(), e);
-            return new SyncActionResult(
-                    action.clientId(),
-                    null,
-                    SyncStatus.FAILED,
-                    ErrorCode.SYNC_INVALID_PAYLOAD.getCode(),
-                    e.getMessage());
+    public StreamSummary processStream(InputStream body, UUID technicianId, UUID tenantId,
+                                       Consumer<List<SyncActionResult>> sink) throws IOException {
+        BoundedLineReader reader = new BoundedLineReader(body, maxLineBytes);
+        StreamWindow window = new StreamWindow(streamWindowSize, streamWindowBytes);
+        int total = 0;
+        int success = 0;
+
+        BoundedLineReader.Line line;
+        while ((line = reader.next()) != null) {
+            if (line.tooLong()) {
+                window.addFailure(failed(null, ErrorCode.SYNC_INVALID_PAYLOAD,
+                        "Linha excede " + maxLineBytes + " bytes"));
+            } else if (!line.isBlank()) {
+                SyncActionDecoder.DecodedLine decoded = actionDecoder.decodeLine(line.bytes());
+                if (decoded.action() != null) {
+                    window.addAction(decoded.action(), line.bytes().length);
+                } else {
+                    window.addFailure(failed(decoded.clientId(), ErrorCode.SYNC_INVALID_PAYLOAD, decoded.error()));
+                }
+            }
+
+            if (window.isFull()) {
+                List<SyncActionResult> results = window.complete(technicianId, tenantId);
+                total += results.size();
+                success += countSuccess(results);
+                sink.accept(results);
+            }
         }
-    }
-
-    // ========== Action Processors ==========
 
-    private UUID processStatusUpdate(SyncAction action, UUID technicianId) {
-        String newStatus = (String) action.payload().get("status");
-        OsStatus targetStatus = OsStatus.fromValue(newStatus);
+        if (!window.isEmpty()) {
+            List<SyncActionResult> results = window.complete(technicianId, tenantId);
+            total += results.size();
+            success += countSuccess(results);
+            sink.accept(results);
+        }
 
-        Point location = extractLocation(action.payload());
+        log.info("Sync stream completed: {}/{} successful for technician {}", success, total, technicianId);
+        return StreamSummary.completed(total, success);
+    }
 
-        ServiceOrder order = switch (targetStatus) {
-            case IN_ROUTE -> stateMachine.startRoute(action.orderId(), technicianId);
-            case IN_PROGRESS -> stateMachine.arrive(action.orderId(), technicianId, location);
-            case COMPLETED -> stateMachine.complete(action.orderId(), technicianId);
-            case CANCELLED -> stateMachine.cancel(action.orderId(),
-                    (String) action.payload().getOrDefault("reason", "Cancelado pelo técnico"));
-            default -> throw new BusinessException(
-                    ErrorCode.ORDER_INVALID_TRANSITION,
-                    "Transição para " + targetStatus + " não suportada via sync");
-        };
+    /**
+     * Motor de execução: respostas do ledger para reenvios, grupos por OS e
+     * execução (paralela quando há mais de um grupo). Resultados na ordem de entrada.
+     */
+    private SyncActionResult[] execute(List<TypedSyncAction> actions, UUID technicianId, UUID tenantId) {
+        // Reenvios: devolve o resultado original sem tocar no domínio
+        Map<String, SyncActionResult> replays = idempotencyLedger.findReplays(technicianId,
+                actions.stream().map(TypedSyncAction::clientId).toList());
+        SyncActionResult[] results = new SyncActionResult[actions.size()];
+
+        // Agrupar por OS; ações sem OS (ex.: localização) formam um grupo próprio
+        Map<Optional<UUID>, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < actions.size(); i++) {
+            SyncActionResult replay = replays.get(actions.get(i).clientId());
+            if (replay != null) {
+                results[i] = replay;
+                continue;
+            }
+            groups.computeIfAbsent(Optional.ofNullable(actions.get(i).orderId()), k -> new ArrayList<>()).add(i);
+        }
 
-        return order.getId();
-    }
+        if (groups.size() <= 1) {
+            // Um único grupo: executa na própria thread do request
+            groups.values().forEach(indexes -> runGroup(actions, indexes, results, technicianId, tenantId));
+        } else {
+            runGroupsConcurrently(actions, groups.values(), results, technicianId, tenantId);
+        }
 
-    private UUID processAddPhoto(SyncAction action, UUID tenantId) {
-        String base64Data = (String) action.payload().get("data");
-        String caption = (String) action.payload().get("caption");
-        String fileName = (String) action.payload().getOrDefault("fileName",
-                UUID.randomUUID() + ".jpg");
-
-        // Upload para S3
-        byte[] imageData = Base64.getDecoder().decode(base64Data);
-        StoragePort.UploadResult upload = storagePort.upload(new StoragePort.UploadRequest(
-                tenantId,
-                "orders/" + action.orderId() + "/photos",
-                fileName,
-                imageData,
-                "image/jpeg"));
-
-        // Criar registro
-        OrderPhoto photo = new OrderPhoto(upload.fileUrl(), caption);
-
-        ServiceOrder order = orderRepository.findById(action.orderId())
-                .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND, "OS não encontrada"));
-
-        photo.setOrder(order);
-        photo.setTenantId(tenantId);
-
-        Point location = extractLocation(action.payload());
-        if (location != null) {
-            photo.setLocation(location);
+        // Ações de grupos interrompidos voltam como falha para reenvio
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = failed(actions.get(i).clientId(), ErrorCode.INTERNAL_ERROR, "Ação não processada");
+            }
         }
 
-        photo = photoRepository.save(photo);
-        return photo.getId();
+        log.debug("Executed {} sync actions ({} order groups, {} replayed)",
+                actions.size(), groups.size(), replays.size());
+        return results;
     }
 
-    private UUID processChecklistUpdate(SyncAction action) {
-        Integer itemId = (Integer) action.payload().get("itemId");
-        Boolean done = (Boolean) action.payload().get("done");
-
-        OrderChecklist checklist = checklistRepository.findByOrderId(action.orderId())
-                .orElseThrow(() -> new BusinessException(
-                        ErrorCode.ORDER_NOT_FOUND, "Checklist não encontrado"));
+    /**
+     * Roda os grupos em paralelo e só retorna quando nenhum deles pode mais escrever
+     * em results. Se a thread do request for interrompida, os grupos que não
+     * começaram são descartados, os em andamento são cancelados (interrompidos
+     * entre ações) e aguardados.
+     */
+    private void runGroupsConcurrently(List<TypedSyncAction> actions, Collection<List<Integer>> groups,
+                                       SyncActionResult[] results, UUID technicianId, UUID tenantId) {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        Semaphore permits = new Semaphore(maxParallelGroups);
+        List<Future<?>> futures = new ArrayList<>(groups.size());
+        // 0 = pendente, 1 = reivindicado (pela task ao começar, ou pelo cancelamento antes disso)
+        AtomicIntegerArray claimed = new AtomicIntegerArray(groups.size());
+        CountDownLatch finished = new CountDownLatch(groups.size());
+
+        int group = 0;
+        for (List<Integer> indexes : groups) {
+            int slot = group++;
+            futures.add(syncExecutor.submit(() -> {
+                if (!claimed.compareAndSet(slot, 0, 1)) {
+                    return;
+                }
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    finished.countDown();
+                    return;
+                }
+                SecurityContextHolder.setContext(securityContext);
+                TenantContext.setCurrentTenantId(tenantId);
+                try {
+                    runGroup(actions, indexes, results, technicianId, tenantId);
+                } finally {
+                    TenantContext.clear();
+                    SecurityContextHolder.clearContext();
+                    permits.release();
+                    finished.countDown();
+                }
+            }));
+        }
 
-        if (Boolean.TRUE.equals(done)) {
-            checklist.markItemComplete(itemId);
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            cancelGroups(futures, claimed, finished);
+            Thread.currentThread().interrupt();
+            return;
         }
 
-        checklist = checklistRepository.save(checklist);
-        return checklist.getId();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("Sync group failed unexpectedly: {}", e.getCause().getMessage(), e.getCause());
+            }
+        }
     }
 
-    private UUID processLocationUpdate(SyncAction action, UUID technicianId) {
-        Point location = extractLocation(action.payload());
-        if (location == null) {
-            throw new BusinessException(
-                    ErrorCode.SYNC_INVALID_PAYLOAD, "Localização não fornecida");
+    /**
+     * Descarta os grupos que ainda não começaram, interrompe os em andamento e
+     * espera (sem ser interrompível) que terminem a ação corrente.
+     */
+    private static void cancelGroups(List<Future<?>> futures, AtomicIntegerArray claimed, CountDownLatch finished) {
+        for (int slot = 0; slot < futures.size(); slot++) {
+            if (claimed.compareAndSet(slot, 0, 1)) {
+                finished.countDown();
+            }
         }
+        futures.forEach(future -> future.cancel(true));
+
+        boolean waited = false;
+        while (!waited) {
+            try {
+                finished.await();
+                waited = true;
+            } catch (InterruptedException ignored) {
+                // A interrupção é restaurada por quem chamou
+            }
+        }
+    }
 
-        Technician technician = technicianRepository.findById(technicianId)
-                .orElseThrow(() -> new BusinessException(
-                        ErrorCode.TECH_NOT_FOUND, "Técnico não encontrado"));
-
-        technician.updateLocation(location);
-        technicianRepository.save(technician);
+    private void runGroup(List<TypedSyncAction> actions, List<Integer> indexes, SyncActionResult[] results,
+                          UUID technicianId, UUID tenantId) {
+        for (int index : indexes) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            TypedSyncAction action = actions.get(index);
+            SyncActionResult result;
+            long start = System.nanoTime();
+            try {
+                result = actionProcessor.processAction(action, technicianId, tenantId);
+            } catch (RuntimeException e) {
+                // Falha no commit (ex.: constraint) escapa do processAction
+                log.error("Error committing action {}: {}", action.clientId(), e.getMessage(), e);
+                result = failed(action.clientId(), ErrorCode.SYNC_CONFLICT, e.getMessage());
+            } finally {
+                actionTimers.get(action.type()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (result.status() != SyncStatus.SUCCESS) {
+                // Reenvio que escapou do fast path costuma falhar por já estar aplicado
+                // (ex.: transição já feita): vale o resultado original
+                result = idempotencyLedger.findOriginal(technicianId, action.clientId()).orElse(result);
+            }
+            results[index] = result;
+        }
+    }
 
-        return technician.getId();
+    private static SyncActionResult failed(String clientId, ErrorCode errorCode, String message) {
+        return new SyncActionResult(clientId, null, SyncStatus.FAILED, errorCode.getCode(), message);
     }
 
-    private UUID processAddMaterial(SyncAction action) {
-        UUID materialId = UUID.fromString((String) action.payload().get("materialId"));
-        Integer quantity = (Integer) action.payload().get("quantity");
+    private static int countSuccess(List<SyncActionResult> results) {
+        return (int) results.stream().filter(r -> r.status() == SyncStatus.SUCCESS).count();
+    }
 
-        Material material = materialRepository.findById(materialId)
-                .orElseThrow(() -> new BusinessException(
-                        ErrorCode.RESOURCE_NOT_FOUND, "Material não encontrado"));
+    /**
+     * Janela do modo streaming: ações válidas e falhas de decodificação na ordem
+     * de chegada; as ações são executadas juntas em complete(). Fecha por número
+     * de linhas ou pelo tamanho somado das ações (fotos base64 legadas).
+     */
+    private final class StreamWindow {
+
+        private final int capacity;
+        private final long maxBytes;
+        private long bytes;
+        private final List<SyncActionResult> slots;
+        private final List<TypedSyncAction> actions;
+        private final List<Integer> actionSlots;
+
+        StreamWindow(int capacity, long maxBytes) {
+            this.capacity = capacity;
+            this.maxBytes = maxBytes;
+            this.slots = new ArrayList<>(capacity);
+            this.actions = new ArrayList<>(capacity);
+            this.actionSlots = new ArrayList<>(capacity);
+        }
 
-        ServiceOrder order = orderRepository.findById(action.orderId())
-                .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND, "OS não encontrada"));
+        void addAction(TypedSyncAction action, int lineBytes) {
+            bytes += lineBytes;
+            actionSlots.add(slots.size());
+            slots.add(null);
+            actions.add(action);
+        }
 
-        OrderMaterial orderMaterial = new OrderMaterial(material, quantity);
-        order.addMaterial(orderMaterial);
-        orderRepository.save(order);
+        void addFailure(SyncActionResult failure) {
+            slots.add(failure);
+        }
 
-        // Reduzir estoque
-        material.reduceStock(quantity);
-        materialRepository.save(material);
+        boolean isFull() {
+            return slots.size() >= capacity || bytes >= maxBytes;
+        }
 
-        return orderMaterial.getId();
-    }
+        boolean isEmpty() {
+            return slots.isEmpty();
+        }
 
-    private UUID processAddMessage(SyncAction action) {
-        // TODO: Implementar quando OrderMessage service estiver pronto
-        throw new BusinessException(
-                ErrorCode.SYNC_UNKNOWN_ACTION, "Ação ADD_MESSAGE ainda não implementada");
+        List<SyncActionResult> complete(UUID technicianId, UUID tenantId) {
+            SyncActionResult[] executed = execute(actions, technicianId, tenantId);
+            for (int j = 0; j < executed.length; j++) {
+                slots.set(actionSlots.get(j), executed[j]);
+            }
+            List<SyncActionResult> results = List.copyOf(slots);
+            slots.clear();
+            actions.clear();
+            actionSlots.clear();
+            bytes = 0;
+            return results;
+        }
     }
 
-    // ========== Helpers ==========
+    // ========== DTOs ==========
 
-    private Point extractLocation(Map<String, Object> payload) {
-        Object latObj = payload.get("latitude");
-        Object lngObj = payload.get("longitude");
+    /**
+     * Última linha do /sync/stream, sempre com done = true. Num stream interrompido
+     * traz os totais já respondidos e o erro: as ações sem resultado devem ser reenviadas.
+     */
+    public record StreamSummary(
+            int totalActions,
+            int successCount,
+            int failedCount,
+            boolean done,
+            String errorCode,
+            String errorMessage) {
+
+        public static StreamSummary completed(int total, int success) {
+            return new StreamSummary(total, success, total - success, true, null, null);
+        }
 
-        if (latObj != null && lngObj != null) {
-            double lat = ((Number) latObj).doubleValue();
-            double lng = ((Number) lngObj).doubleValue();
-            return GeoUtils.createPoint(lat, lng);
+        public static StreamSummary aborted(int total, int success, ErrorCode errorCode, String message) {
+            return new StreamSummary(total, success, total - success, true, errorCode.getCode(), message);
         }
-        return null;
     }
 }
@@ -0,0 +1,93 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.SyncUploadRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Remove as sessões de upload do sync expiradas (e, em cascata, as partes em
+ * sync_upload_parts): a cada interval uma virtual thread apaga lotes de
+ * batch-size até não sobrar nenhuma. Com vários nós a remoção é idempotente.
+ *
+ * Não usa @Scheduled para não depender de @EnableScheduling.
+ */
+@Component
+public class SyncUploadPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncUploadPurgeJob.class);
+
+    private final SyncUploadRepository uploadRepository;
+    private final Duration interval;
+    private final int batchSize;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public SyncUploadPurgeJob(
+            SyncUploadRepository uploadRepository,
+            @Value("${oxfield.sync.uploads.purge-interval:1h}") Duration interval,
+            @Value("${oxfield.sync.uploads.purge-batch-size:200}") int batchSize) {
+        this.uploadRepository = uploadRepository;
+        this.interval = interval;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        worker = Thread.ofVirtual().name("sync-upload-purge").start(this::loop);
+        log.info("Sync upload purge job started (every {})", interval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Remove todas as sessões expiradas. Retorna o total removido.
+     */
+    public int purgeNow() {
+        Instant now = Instant.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = uploadRepository.deleteExpired(now, batchSize);
+            total += deleted;
+        } while (deleted >= batchSize && !Thread.currentThread().isInterrupted());
+
+        if (total > 0) {
+            log.info("Purged {} expired sync uploads", total);
+        }
+        return total;
+    }
+
+    // ========== Private Methods ==========
+
+    private void loop() {
+        while (running) {
+            try {
+                purgeNow();
+            } catch (Exception e) {
+                log.error("Sync upload purge cycle failed: {}", e.getMessage(), e);
+            }
+            try {
+                Thread.sleep(interval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
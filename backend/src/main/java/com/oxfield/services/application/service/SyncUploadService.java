@@ -0,0 +1,319 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.SyncUploadPartStore;
+import com.oxfield.services.adapter.output.persistence.SyncUploadRepository;
+import com.oxfield.services.application.port.output.StoragePort;
+import com.oxfield.services.domain.entity.SyncUpload;
+import com.oxfield.services.domain.enums.SyncUploadStatus;
+import com.oxfield.services.shared.exception.BusinessException;
+import com.oxfield.services.shared.exception.ErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Upload retomável, em partes, dos anexos do sync offline.
+ *
+ * Fluxo: o app cria a sessão (tamanho e tipo), envia os bytes em chunks com o
+ * offset atual e, ao terminar, referencia o uploadId na ação ADD_PHOTO.
+ *
+ * Os chunks ficam no banco (sync_upload_parts), em partes de até part-size, na
+ * mesma transação que confirma o offset: qualquer instância atende o chunk
+ * seguinte ou a ação de sync. A transferência para o storage é feita em
+ * streaming, uma parte por vez; o arquivo nunca fica inteiro em memória.
+ *
+ * Se a conexão cair no meio de um chunk, o que chegou é confirmado e o app
+ * consulta o offset para continuar dali. Sessões expiradas são removidas pelo
+ * SyncUploadPurgeJob.
+ */
+@Service
+public class SyncUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncUploadService.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SyncUploadRepository uploadRepository;
+    private final SyncUploadPartStore partStore;
+    private final StoragePort storagePort;
+    private final TransactionTemplate transactionTemplate;
+    private final int partSize;
+    private final long maxFileSize;
+    private final Set<String> allowedTypes;
+    private final Duration sessionTtl;
+
+    public SyncUploadService(
+            SyncUploadRepository uploadRepository,
+            SyncUploadPartStore partStore,
+            StoragePort storagePort,
+            PlatformTransactionManager transactionManager,
+            @Value("${oxfield.sync.uploads.part-size:1MB}") DataSize partSize,
+            @Value("${oxfield.sync.uploads.session-ttl:24h}") Duration sessionTtl,
+            @Value("${oxfield.upload.max-file-size:10MB}") DataSize maxFileSize,
+            @Value("${oxfield.upload.allowed-image-types:image/jpeg,image/png,image/webp}") String[] allowedTypes) {
+        this.uploadRepository = uploadRepository;
+        this.partStore = partStore;
+        this.storagePort = storagePort;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partSize = (int) Math.max(BUFFER_SIZE, Math.min(partSize.toBytes(), Integer.MAX_VALUE));
+        this.sessionTtl = sessionTtl;
+        this.maxFileSize = maxFileSize.toBytes();
+        this.allowedTypes = Arrays.stream(allowedTypes)
+                .map(String::trim)
+                .map(String::toLowerCase)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Abre uma sessão de upload.
+     */
+    @Transactional
+    public UploadStatus createUpload(UUID technicianId, UUID tenantId, CreateUploadRequest request) {
+        if (request.totalSize() <= 0) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "totalSize deve ser positivo");
+        }
+        if (request.totalSize() > maxFileSize) {
+            throw new BusinessException(ErrorCode.STORAGE_FILE_TOO_LARGE,
+                    "Arquivo excede o limite de " + maxFileSize + " bytes");
+        }
+        String contentType = request.contentType() != null ? request.contentType().trim().toLowerCase() : "";
+        if (!allowedTypes.contains(contentType)) {
+            throw new BusinessException(ErrorCode.STORAGE_INVALID_TYPE,
+                    "Tipo de arquivo não permitido: " + request.contentType());
+        }
+
+        SyncUpload upload = new SyncUpload();
+        upload.setTenantId(tenantId);
+        upload.setTechnicianId(technicianId);
+        upload.setFileName(sanitizeFileName(request.fileName()));
+        upload.setContentType(contentType);
+        upload.setTotalSize(request.totalSize());
+        upload.setExpiresAt(Instant.now().plus(sessionTtl));
+        upload = uploadRepository.save(upload);
+
+        log.debug("Sync upload {} created for technician {} ({} bytes)",
+                upload.getId(), technicianId, request.totalSize());
+        return toStatus(upload);
+    }
+
+    @Transactional(readOnly = true)
+    public UploadStatus getStatus(UUID uploadId, UUID technicianId) {
+        return toStatus(findUpload(uploadId, technicianId));
+    }
+
+    /**
+     * Grava um chunk a partir de {@code offset}, lendo o corpo da requisição em streaming.
+     *
+     * O corpo vai primeiro para um arquivo temporário da própria requisição, sem
+     * transação aberta enquanto o app envia. Depois, numa transação curta, o offset
+     * é confirmado com um compare-and-set e as partes são gravadas; a linha da
+     * sessão fica travada até o commit, então dois chunks do mesmo offset nunca
+     * são aceitos juntos. Se o offset enviado não bate com o confirmado, nada é
+     * gravado e {@code accepted = false} devolve o offset correto para o app retomar.
+     */
+    public ChunkResult appendChunk(UUID uploadId, UUID technicianId, long offset, InputStream body) {
+        SyncUpload upload = findUpload(uploadId, technicianId);
+        if (upload.getStatus() != SyncUploadStatus.UPLOADING || offset != upload.getReceivedBytes()) {
+            return new ChunkResult(false, toStatus(upload));
+        }
+
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("sync-chunk-", ".part");
+            long received;
+            try (OutputStream out = Files.newOutputStream(spool)) {
+                received = copy(body, out, upload.getTotalSize() - offset);
+            }
+            if (received == 0) {
+                return new ChunkResult(true, toStatus(upload));
+            }
+
+            long totalSize = upload.getTotalSize();
+            Instant expiresAt = upload.getExpiresAt();
+            Path chunk = spool;
+            ChunkResult result = transactionTemplate.execute(
+                    status -> commitChunk(uploadId, offset, received, totalSize, expiresAt, chunk));
+            return result != null ? result : new ChunkResult(false, toStatus(findUpload(uploadId, technicianId)));
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to write chunk for sync upload {}: {}", uploadId, e.getMessage(), e);
+            throw new BusinessException(ErrorCode.STORAGE_UPLOAD_FAILED, "Falha ao gravar chunk");
+        } finally {
+            deleteSpool(spool);
+        }
+    }
+
+    /**
+     * Transfere um upload completo para o storage definitivo, em streaming a partir
+     * do staging, e o marca como consumido.
+     *
+     * Roda na transação da ação de sync: as partes são apagadas nela e só somem
+     * com o commit. A chave no storage deriva do uploadId, então um retry depois
+     * de rollback sobrescreve o mesmo objeto.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public StoragePort.UploadResult transferToStorage(UUID uploadId, UUID technicianId, String folder) {
+        SyncUpload upload = uploadRepository.findByIdAndTechnicianIdForUpdate(uploadId, technicianId)
+                .filter(u -> !u.isExpired())
+                .orElseThrow(() -> new BusinessException(
+                        ErrorCode.SYNC_UPLOAD_NOT_FOUND, "Upload não encontrado ou expirado"));
+
+        if (upload.getStatus() == SyncUploadStatus.CONSUMED) {
+            throw new BusinessException(ErrorCode.SYNC_CONFLICT, "Upload já utilizado por outra ação");
+        }
+        if (!upload.isComplete()) {
+            throw new BusinessException(ErrorCode.SYNC_UPLOAD_INCOMPLETE, String.format(
+                    "Upload incompleto: %d de %d bytes", upload.getReceivedBytes(), upload.getTotalSize()));
+        }
+
+        StoragePort.UploadResult result;
+        try (InputStream in = partStore.openStream(uploadId)) {
+            result = storagePort.uploadStream(new StoragePort.StreamUploadRequest(
+                    upload.getTenantId(),
+                    folder,
+                    uploadId + "-" + upload.getFileName(),
+                    in,
+                    upload.getTotalSize(),
+                    upload.getContentType()));
+        } catch (IOException e) {
+            log.error("Failed to read staged upload {}: {}", uploadId, e.getMessage(), e);
+            throw new BusinessException(ErrorCode.STORAGE_UPLOAD_FAILED, "Falha ao ler upload");
+        }
+
+        upload.markConsumed();
+        uploadRepository.save(upload);
+        partStore.deleteAll(uploadId);
+        return result;
+    }
+
+    // ========== Private Methods ==========
+
+    private SyncUpload findUpload(UUID uploadId, UUID technicianId) {
+        return uploadRepository.findByIdAndTechnicianId(uploadId, technicianId)
+                .filter(u -> !u.isExpired())
+                .orElseThrow(() -> new BusinessException(
+                        ErrorCode.SYNC_UPLOAD_NOT_FOUND, "Upload não encontrado ou expirado"));
+    }
+
+    /**
+     * Confirma o chunk já recebido em spool: avança o offset e grava as partes.
+     * Retorna null quando outro chunk confirmou o offset antes.
+     */
+    private ChunkResult commitChunk(UUID uploadId, long offset, long received, long totalSize,
+            Instant expiresAt, Path spool) {
+        long newOffset = offset + received;
+        SyncUploadStatus newStatus = newOffset == totalSize ? SyncUploadStatus.COMPLETE : SyncUploadStatus.UPLOADING;
+        if (uploadRepository.advanceOffset(uploadId, offset, newOffset, newStatus, Instant.now()) == 0) {
+            return null;
+        }
+
+        try (InputStream in = Files.newInputStream(spool)) {
+            byte[] buffer = new byte[partSize];
+            long partOffset = offset;
+            int read;
+            while ((read = in.readNBytes(buffer, 0, partSize)) > 0) {
+                partStore.insert(uploadId, partOffset, buffer, read);
+                partOffset += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ChunkResult(true, new UploadStatus(uploadId, totalSize, newOffset, newStatus, expiresAt));
+    }
+
+    /**
+     * Copia até {@code maxBytes} do corpo para o spool. Uma falha de leitura (conexão
+     * caiu) encerra a cópia e confirma o que já foi recebido.
+     */
+    private long copy(InputStream body, OutputStream out, long maxBytes) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long written = 0;
+        while (true) {
+            int read;
+            try {
+                read = body.read(buffer);
+            } catch (IOException e) {
+                log.debug("Chunk body interrupted after {} bytes: {}", written, e.getMessage());
+                break;
+            }
+            if (read < 0) {
+                break;
+            }
+            if (written + read > maxBytes) {
+                throw new BusinessException(ErrorCode.STORAGE_FILE_TOO_LARGE,
+                        "Chunk excede o tamanho declarado do upload");
+            }
+            out.write(buffer, 0, read);
+            written += read;
+        }
+        return written;
+    }
+
+    private void deleteSpool(Path spool) {
+        if (spool == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("Could not delete chunk spool {}: {}", spool, e.getMessage());
+        }
+    }
+
+    private String sanitizeFileName(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            return "photo.jpg";
+        }
+        String name = Paths.get(fileName.trim()).getFileName().toString();
+        name = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.length() > 200 ? name.substring(name.length() - 200) : name;
+    }
+
+    private UploadStatus toStatus(SyncUpload upload) {
+        return new UploadStatus(
+                upload.getId(),
+                upload.getTotalSize(),
+                upload.getReceivedBytes(),
+                upload.getStatus(),
+                upload.getExpiresAt());
+    }
+
+    // ========== DTOs ==========
+
+    public record CreateUploadRequest(
+            String fileName,
+            String contentType,
+            long totalSize) {
+    }
+
+    public record UploadStatus(
+            UUID uploadId,
+            long totalSize,
+            long receivedBytes,
+            SyncUploadStatus status,
+            Instant expiresAt) {
+    }
+
+    public record ChunkResult(
+            boolean accepted,
+            UploadStatus upload) {
+    }
+}
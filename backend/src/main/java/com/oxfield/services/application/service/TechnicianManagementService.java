@@ -7,6 +7,7 @@ import com.oxfield.services.domain.entity.Technician;
 import com.oxfield.services.domain.entity.TechnicianDocument;
 import com.oxfield.services.domain.entity.User;
 import com.oxfield.services.domain.enums.NotificationType;
+import com.oxfield.services.domain.event.TechnicianAvailabilityChangedEvent;
 import com.oxfield.services.domain.enums.PriorityLevel;
 import com.oxfield.services.domain.enums.UserStatus;
 import com.oxfield.services.shared.exception.BusinessException;
@@ -16,6 +17,7 @@ import com.oxfield.services.shared.util.GeoUtils;
 import com.oxfield.services.shared.security.JwtUserDetails;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,18 +42,21 @@ public class TechnicianManagementService {
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final CurrentUserProvider currentUserProvider;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TechnicianManagementService(
             TechnicianRepository technicianRepository,
             TechnicianDocumentRepository documentRepository,
             UserRepository userRepository,
             NotificationService notificationService,
-            CurrentUserProvider currentUserProvider) {
+            CurrentUserProvider currentUserProvider,
+            ApplicationEventPublisher eventPublisher) {
         this.technicianRepository = technicianRepository;
         this.documentRepository = documentRepository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
         this.currentUserProvider = currentUserProvider;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -193,6 +198,8 @@ public class TechnicianManagementService {
         // Colocar técnico offline
         technician.goOffline();
         technicianRepository.save(technician);
+        eventPublisher.publishEvent(new TechnicianAvailabilityChangedEvent(
+                technician.getId(), technician.getTenantId(), false, technician.getCurrentLocation()));
 
         log.info("Technician {} suspended. User status: {}", technicianId, user.getStatus());
 
@@ -7,10 +7,13 @@ import com.oxfield.services.application.port.output.StoragePort;
 import com.oxfield.services.domain.entity.Technician;
 import com.oxfield.services.domain.entity.TechnicianDocument;
 import com.oxfield.services.domain.entity.User;
+import com.oxfield.services.domain.event.OrderSourceDataChangedEvent;
+import com.oxfield.services.domain.event.TechnicianAvailabilityChangedEvent;
 import com.oxfield.services.shared.exception.BusinessException;
 import com.oxfield.services.shared.exception.ErrorCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,16 +37,22 @@ public class TechnicianProfileService {
     private final TechnicianDocumentRepository documentRepository;
     private final UserRepository userRepository;
     private final StoragePort storagePort;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
 
     public TechnicianProfileService(
             TechnicianRepository technicianRepository,
             TechnicianDocumentRepository documentRepository,
             UserRepository userRepository,
-            StoragePort storagePort) {
+            StoragePort storagePort,
+            ApplicationEventPublisher eventPublisher,
+            OutboxService outboxService) {
         this.technicianRepository = technicianRepository;
         this.documentRepository = documentRepository;
         this.userRepository = userRepository;
         this.storagePort = storagePort;
+        this.eventPublisher = eventPublisher;
+        this.outboxService = outboxService;
     }
 
     /**
@@ -89,6 +98,10 @@ public class TechnicianProfileService {
 
         user.setAvatarUrl(upload.fileUrl());
         userRepository.save(user);
+        // Avatar é copiado no order_summary das OS do técnico
+        outboxService.append(
+                new OrderSourceDataChangedEvent(OrderSourceDataChangedEvent.Source.TECHNICIAN, technician.getId()),
+                technician.getId());
 
         log.info("Avatar updated for technician userId={}", userId);
 
@@ -110,6 +123,8 @@ public class TechnicianProfileService {
         }
 
         technicianRepository.save(technician);
+        eventPublisher.publishEvent(new TechnicianAvailabilityChangedEvent(
+                technician.getId(), technician.getTenantId(), online, technician.getCurrentLocation()));
         log.debug("Status updated for technician {}: online={}", technician.getId(), online);
     }
 
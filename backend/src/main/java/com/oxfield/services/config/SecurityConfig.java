@@ -137,9 +137,12 @@ public class SecurityConfig {
                 "Authorization",
                 "Content-Type",
                 "X-Request-ID",
-                "X-Tenant-ID"));
+                "X-Tenant-ID",
+                "If-None-Match"));
         configuration.setExposedHeaders(List.of(
-                "X-Request-ID"));
+                "X-Request-ID",
+                "X-Total-Count",
+                "ETag"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
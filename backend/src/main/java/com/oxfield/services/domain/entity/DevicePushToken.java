@@ -0,0 +1,61 @@
+package com.oxfield.services.domain.entity;
+
+import com.oxfield.services.domain.enums.AppType;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Token de push (FCM) de um dispositivo, vinculado ao último usuário que o registrou.
+ */
+@Entity
+@Table(name = "device_push_tokens")
+public class DevicePushToken {
+
+    @Id
+    @Column(name = "token", updatable = false, nullable = false, length = 512)
+    private String token;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "tenant_id")
+    private UUID tenantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "app_type", nullable = false)
+    private AppType appType;
+
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "last_seen_at", nullable = false)
+    private Instant lastSeenAt;
+
+    public DevicePushToken() {}
+
+    public String getToken() {
+        return token;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public AppType getAppType() {
+        return appType;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getLastSeenAt() {
+        return lastSeenAt;
+    }
+}
@@ -0,0 +1,237 @@
+package com.oxfield.services.domain.entity;
+
+import com.oxfield.services.domain.enums.OsStatus;
+import com.oxfield.services.domain.enums.PriorityLevel;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Read model plano das listagens de OS (V22): uma linha por OS, já com categoria,
+ * cliente, endereço e técnico resolvidos. Somente leitura na aplicação; mantida
+ * pelo OrderSummaryProjector via refresh_order_summary().
+ */
+@Entity
+@Immutable
+@Table(name = "order_summary")
+public class OrderSummary {
+
+    @Id
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    @Column(name = "tenant_id")
+    private UUID tenantId;
+
+    @Column(name = "os_number")
+    private String osNumber;
+
+    @Column(name = "title")
+    private String title;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "category_id")
+    private UUID categoryId;
+
+    @Column(name = "category_code")
+    private String categoryCode;
+
+    @Column(name = "category_name")
+    private String categoryName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private OsStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority")
+    private PriorityLevel priority;
+
+    @Column(name = "scheduled_date")
+    private LocalDate scheduledDate;
+
+    @Column(name = "scheduled_start")
+    private LocalTime scheduledStart;
+
+    @Column(name = "scheduled_duration")
+    private Integer scheduledDuration;
+
+    @Column(name = "actual_start")
+    private Instant actualStart;
+
+    @Column(name = "actual_end")
+    private Instant actualEnd;
+
+    @Column(name = "estimated_price")
+    private BigDecimal estimatedPrice;
+
+    @Column(name = "final_price")
+    private BigDecimal finalPrice;
+
+    @Column(name = "customer_id")
+    private UUID customerId;
+
+    @Column(name = "customer_name")
+    private String customerName;
+
+    @Column(name = "customer_company_name")
+    private String customerCompanyName;
+
+    @Column(name = "customer_phone")
+    private String customerPhone;
+
+    @Column(name = "address_text")
+    private String addressText;
+
+    @Column(name = "address_latitude")
+    private Double addressLatitude;
+
+    @Column(name = "address_longitude")
+    private Double addressLongitude;
+
+    @Column(name = "technician_id")
+    private UUID technicianId;
+
+    @Column(name = "technician_name")
+    private String technicianName;
+
+    @Column(name = "technician_avatar_url")
+    private String technicianAvatarUrl;
+
+    @Column(name = "share_token")
+    private UUID shareToken;
+
+    @Column(name = "refreshed_at")
+    private Instant refreshedAt;
+
+    /** Preenchido quando a OS vai para service_orders_archive (V31). */
+    @Column(name = "archived_at")
+    private Instant archivedAt;
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public String getOsNumber() {
+        return osNumber;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryCode() {
+        return categoryCode;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public OsStatus getStatus() {
+        return status;
+    }
+
+    public PriorityLevel getPriority() {
+        return priority;
+    }
+
+    public LocalDate getScheduledDate() {
+        return scheduledDate;
+    }
+
+    public LocalTime getScheduledStart() {
+        return scheduledStart;
+    }
+
+    public Integer getScheduledDuration() {
+        return scheduledDuration;
+    }
+
+    public Instant getActualStart() {
+        return actualStart;
+    }
+
+    public Instant getActualEnd() {
+        return actualEnd;
+    }
+
+    public BigDecimal getEstimatedPrice() {
+        return estimatedPrice;
+    }
+
+    public BigDecimal getFinalPrice() {
+        return finalPrice;
+    }
+
+    public UUID getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getCustomerCompanyName() {
+        return customerCompanyName;
+    }
+
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+
+    public String getAddressText() {
+        return addressText;
+    }
+
+    public Double getAddressLatitude() {
+        return addressLatitude;
+    }
+
+    public Double getAddressLongitude() {
+        return addressLongitude;
+    }
+
+    public UUID getTechnicianId() {
+        return technicianId;
+    }
+
+    public String getTechnicianName() {
+        return technicianName;
+    }
+
+    public String getTechnicianAvatarUrl() {
+        return technicianAvatarUrl;
+    }
+
+    public UUID getShareToken() {
+        return shareToken;
+    }
+
+    public Instant getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -0,0 +1,38 @@
+package com.oxfield.services.domain.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Próximo número de OS livre do tenant. Avançado em blocos pelo OsNumberAllocator.
+ */
+@Entity
+@Table(name = "os_number_sequences")
+public class OsNumberSequence {
+
+    @Id
+    @Column(name = "tenant_id", updatable = false, nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    public OsNumberSequence() {}
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public long getNextValue() {
+        return nextValue;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
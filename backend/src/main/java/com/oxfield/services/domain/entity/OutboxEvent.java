@@ -0,0 +1,53 @@
+package com.oxfield.services.domain.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Evento de domínio gravado no outbox (V21) na transação que o originou.
+ * Gravado e lido por queries nativas do OutboxEventRepository.
+ */
+@Entity
+@Immutable
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "event_type")
+    private String eventType;
+
+    @Column(name = "aggregate_id")
+    private UUID aggregateId;
+
+    @Column(name = "payload", columnDefinition = "jsonb")
+    private String payload;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public UUID getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
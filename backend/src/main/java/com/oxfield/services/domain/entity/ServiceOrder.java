@@ -109,6 +109,19 @@ public class ServiceOrder extends TenantAwareEntity {
     @Column(name = "signature", columnDefinition = "TEXT")
     private String signature;
 
+    /**
+     * Progresso do checklist e foto AFTER, mantidos por trigger (V24) a cada
+     * escrita em order_checklists / order_photos. Somente leitura aqui.
+     */
+    @Column(name = "checklist_done", insertable = false, updatable = false)
+    private int checklistDone;
+
+    @Column(name = "checklist_total", insertable = false, updatable = false)
+    private int checklistTotal;
+
+    @Column(name = "has_after_photo", insertable = false, updatable = false)
+    private boolean afterPhotoAttached;
+
     /**
      * Token para partilhar link da OS com o cliente (acesso sem auth). Null após o cliente reclamar a ordem.
      */
@@ -213,9 +226,21 @@ public class ServiceOrder extends TenantAwareEntity {
      * Verifica se tem foto "AFTER"
      */
     public boolean hasAfterPhoto() {
-        return photos.stream()
-                .anyMatch(p -> p.getCaption() != null &&
-                        p.getCaption().toUpperCase().contains("AFTER"));
+        return afterPhotoAttached;
+    }
+
+    /**
+     * Checklist sem itens pendentes (OS sem checklist conta como completa)
+     */
+    public boolean isChecklistComplete() {
+        return checklistDone >= checklistTotal;
+    }
+
+    /**
+     * Porcentagem de conclusão do checklist
+     */
+    public int getChecklistPercentage() {
+        return checklistTotal == 0 ? 100 : (checklistDone * 100) / checklistTotal;
     }
 
     // ========== Getters and Setters ==========
@@ -405,6 +430,14 @@ public class ServiceOrder extends TenantAwareEntity {
         this.messages = messages;
     }
 
+    public int getChecklistDone() {
+        return checklistDone;
+    }
+
+    public int getChecklistTotal() {
+        return checklistTotal;
+    }
+
     public String getSignature() {
         return signature;
     }
@@ -0,0 +1,80 @@
+package com.oxfield.services.domain.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Registro de idempotência: ação de sync (técnico + clientId do app) já aplicada
+ * com sucesso e o id gerado no servidor.
+ */
+@Entity
+@Table(name = "sync_action_ledger")
+@IdClass(SyncActionLedgerEntry.LedgerKey.class)
+public class SyncActionLedgerEntry {
+
+    @Id
+    @Column(name = "technician_id", updatable = false, nullable = false)
+    private UUID technicianId;
+
+    @Id
+    @Column(name = "client_id", updatable = false, nullable = false, length = 64)
+    private String clientId;
+
+    @Column(name = "server_id", updatable = false)
+    private UUID serverId;
+
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private Instant createdAt;
+
+    public SyncActionLedgerEntry() {}
+
+    public UUID getTechnicianId() {
+        return technicianId;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public UUID getServerId() {
+        return serverId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public static class LedgerKey implements Serializable {
+        private UUID technicianId;
+        private String clientId;
+
+        public LedgerKey() {}
+
+        public LedgerKey(UUID technicianId, String clientId) {
+            this.technicianId = technicianId;
+            this.clientId = clientId;
+        }
+
+        public UUID getTechnicianId() { return technicianId; }
+        public void setTechnicianId(UUID technicianId) { this.technicianId = technicianId; }
+        public String getClientId() { return clientId; }
+        public void setClientId(String clientId) { this.clientId = clientId; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            LedgerKey that = (LedgerKey) o;
+            return Objects.equals(technicianId, that.technicianId) && Objects.equals(clientId, that.clientId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(technicianId, clientId);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.oxfield.services.domain.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Linha do change log do pull sync, gravada por triggers (V18).
+ * Somente leitura na aplicação.
+ */
+@Entity
+@Immutable
+@Table(name = "sync_change_log")
+public class SyncChange {
+
+    @Id
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "technician_id")
+    private UUID technicianId;
+
+    @Column(name = "entity_type")
+    private String entityType;
+
+    @Column(name = "entity_id")
+    private UUID entityId;
+
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    @Column(name = "op")
+    private String op;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public UUID getTechnicianId() {
+        return technicianId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public UUID getEntityId() {
+        return entityId;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,123 @@
+package com.oxfield.services.domain.entity;
+
+import com.oxfield.services.domain.enums.SyncUploadStatus;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Sessão de upload em partes de um anexo do sync offline (ex.: foto de OS).
+ *
+ * Os bytes ficam em sync_upload_parts até a ação ADD_PHOTO referenciar o
+ * upload; receivedBytes é o offset confirmado a partir do qual o app retoma.
+ */
+@Entity
+@Table(name = "sync_uploads")
+public class SyncUpload extends BaseEntity {
+
+    @Column(name = "tenant_id", nullable = false, updatable = false)
+    private UUID tenantId;
+
+    @Column(name = "technician_id", nullable = false, updatable = false)
+    private UUID technicianId;
+
+    @Column(name = "file_name", nullable = false, length = 255)
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false, updatable = false)
+    private long totalSize;
+
+    @Column(name = "received_bytes", nullable = false)
+    private long receivedBytes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private SyncUploadStatus status = SyncUploadStatus.UPLOADING;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // ========== Business Methods ==========
+
+    public boolean isComplete() {
+        return status == SyncUploadStatus.COMPLETE;
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+
+    public void markConsumed() {
+        this.status = SyncUploadStatus.CONSUMED;
+    }
+
+    // ========== Getters and Setters ==========
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(UUID tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public UUID getTechnicianId() {
+        return technicianId;
+    }
+
+    public void setTechnicianId(UUID technicianId) {
+        this.technicianId = technicianId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public void setReceivedBytes(long receivedBytes) {
+        this.receivedBytes = receivedBytes;
+    }
+
+    public SyncUploadStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SyncUploadStatus status) {
+        this.status = status;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,13 @@
+package com.oxfield.services.domain.enums;
+
+/**
+ * Estado de uma sessão de upload em partes do sync offline.
+ */
+public enum SyncUploadStatus {
+    /** Recebendo chunks; receivedBytes é o offset confirmado. */
+    UPLOADING,
+    /** Todos os bytes recebidos, aguardando a ação ADD_PHOTO. */
+    COMPLETE,
+    /** Transferido para o storage por uma ação de sync. */
+    CONSUMED
+}
@@ -0,0 +1,29 @@
+package com.oxfield.services.domain.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Evento disparado quando muda um dado que o order_summary copia de fora da OS:
+ * nome/avatar do técnico, nome/telefone/empresa ou endereço do cliente, nome ou
+ * código da categoria. sourceId é o id do técnico, do cliente ou da categoria
+ * (mudança de endereço vai como CUSTOMER do dono do endereço).
+ *
+ * Hoje só o avatar do técnico e a edição de categoria alteram esses dados após o
+ * cadastro; uma nova rota de edição de perfil ou endereço deve gravar este evento
+ * no outbox na mesma transação.
+ */
+public record OrderSourceDataChangedEvent(
+        Source source,
+        UUID sourceId,
+        Instant timestamp) {
+    public OrderSourceDataChangedEvent(Source source, UUID sourceId) {
+        this(source, sourceId, Instant.now());
+    }
+
+    public enum Source {
+        TECHNICIAN,
+        CUSTOMER,
+        CATEGORY
+    }
+}
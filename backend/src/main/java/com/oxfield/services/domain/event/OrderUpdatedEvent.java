@@ -0,0 +1,14 @@
+package com.oxfield.services.domain.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Evento disparado quando dados de listagem de uma OS mudam sem transição de
+ * status (criação, reagendamento, desatribuição).
+ */
+public record OrderUpdatedEvent(UUID orderId, Instant timestamp) {
+    public OrderUpdatedEvent(UUID orderId) {
+        this(orderId, Instant.now());
+    }
+}
@@ -0,0 +1,22 @@
+package com.oxfield.services.domain.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Evento disparado quando um anúncio do marketplace é criado, alterado ou removido.
+ * Carrega a categoria e o estado depois da mudança (categoria null na remoção),
+ * para atualizações incrementais (ex.: catálogo de categorias do marketplace).
+ */
+public record ServiceListingChangedEvent(
+        UUID listingId,
+        UUID tenantId,
+        String categoryCode,
+        String categoryName,
+        boolean active,
+        Instant timestamp) {
+    public ServiceListingChangedEvent(UUID listingId, UUID tenantId,
+            String categoryCode, String categoryName, boolean active) {
+        this(listingId, tenantId, categoryCode, categoryName, active, Instant.now());
+    }
+}
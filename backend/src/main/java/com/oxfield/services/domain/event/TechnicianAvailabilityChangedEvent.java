@@ -0,0 +1,21 @@
+package com.oxfield.services.domain.event;
+
+import org.locationtech.jts.geom.Point;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Evento disparado quando um técnico fica online ou offline.
+ * location é a última posição conhecida (pode ser null).
+ */
+public record TechnicianAvailabilityChangedEvent(
+        UUID technicianId,
+        UUID tenantId,
+        boolean online,
+        Point location,
+        Instant timestamp) {
+    public TechnicianAvailabilityChangedEvent(UUID technicianId, UUID tenantId, boolean online, Point location) {
+        this(technicianId, tenantId, online, location, Instant.now());
+    }
+}
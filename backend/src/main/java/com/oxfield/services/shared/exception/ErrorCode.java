@@ -43,6 +43,8 @@ public enum ErrorCode {
     SYNC_UNKNOWN_ACTION("SYNC_001", "Tipo de ação desconhecido"),
     SYNC_INVALID_PAYLOAD("SYNC_002", "Payload inválido"),
     SYNC_CONFLICT("SYNC_003", "Conflito de sincronização"),
+    SYNC_UPLOAD_NOT_FOUND("SYNC_004", "Upload não encontrado ou expirado"),
+    SYNC_UPLOAD_INCOMPLETE("SYNC_005", "Upload incompleto"),
 
     // Storage (6xxx)
     STORAGE_UPLOAD_FAILED("STORAGE_001", "Falha no upload"),
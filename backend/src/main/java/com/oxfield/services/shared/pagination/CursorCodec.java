@@ -0,0 +1,50 @@
+package com.oxfield.services.shared.pagination;
+
+import com.oxfield.services.shared.exception.BusinessException;
+import com.oxfield.services.shared.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica/decodifica cursores opacos de paginação keyset.
+ *
+ * O token é "kind|v1|v2|..." em base64url; kind identifica a ordenação a que o
+ * cursor pertence, para rejeitar cursores reaproveitados noutro tipo de listagem.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+        // Classe utilitária
+    }
+
+    public static String encode(String kind, String... values) {
+        String raw = kind + SEPARATOR + String.join(SEPARATOR, values);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return os valores do cursor (sem o kind)
+     * @throws BusinessException VALIDATION_ERROR se o token for inválido ou de outro kind
+     */
+    public static String[] decode(String token, String expectedKind, int expectedValues) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != expectedValues + 1 || !parts[0].equals(expectedKind)) {
+                throw invalid();
+            }
+            String[] values = new String[expectedValues];
+            System.arraycopy(parts, 1, values, 0, expectedValues);
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    public static BusinessException invalid() {
+        return new BusinessException(ErrorCode.VALIDATION_ERROR, "Cursor de paginação inválido");
+    }
+}
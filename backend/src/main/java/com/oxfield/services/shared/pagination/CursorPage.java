@@ -0,0 +1,18 @@
+package com.oxfield.services.shared.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados com paginação por cursor (keyset).
+ * nextCursor é opaco para o cliente; null quando não há mais resultados.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasMore) {
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,76 @@
+package com.oxfield.services.shared.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.security.Principal;
+
+/**
+ * Define o usuário da sessão STOMP no CONNECT, com nome = userId, para que
+ * /user/queue/... seja resolvido pelo id do usuário (o principal do handshake
+ * HTTP tem o email como nome).
+ *
+ * Aceita o header nativo "Authorization: Bearer" do frame CONNECT (clientes
+ * nativos) ou o principal já autenticado no handshake.
+ */
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(StompAuthChannelInterceptor.class);
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    public StompAuthChannelInterceptor(JwtTokenProvider jwtTokenProvider) {
+        this.jwtTokenProvider = jwtTokenProvider;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+
+        JwtUserDetails userDetails = resolveUser(accessor);
+        if (userDetails != null) {
+            accessor.setUser(new UsernamePasswordAuthenticationToken(
+                    userDetails.getUserId().toString(),
+                    null,
+                    userDetails.getAuthorities()));
+        }
+        return message;
+    }
+
+    // ========== Private Methods ==========
+
+    private JwtUserDetails resolveUser(StompHeaderAccessor accessor) {
+        String bearerToken = accessor.getFirstNativeHeader("Authorization");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            String token = bearerToken.substring(7);
+            try {
+                if (jwtTokenProvider.validateToken(token)) {
+                    return jwtTokenProvider.extractUserDetails(token);
+                }
+            } catch (Exception e) {
+                log.debug("Invalid STOMP CONNECT token: {}", e.getMessage());
+            }
+        }
+
+        Principal principal = accessor.getUser();
+        if (principal instanceof UsernamePasswordAuthenticationToken authentication
+                && authentication.getPrincipal() instanceof JwtUserDetails handshakeUser) {
+            return handshakeUser;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.oxfield.services.shared.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Lê linhas (separadas por '\n') de um stream de bytes com tamanho máximo por
+ * linha, para processar NDJSON sem carregar o corpo inteiro em memória.
+ * Uma linha acima do limite é descartada até o próximo '\n' e sinalizada.
+ */
+public final class BoundedLineReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final int maxLineBytes;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    public BoundedLineReader(InputStream in, int maxLineBytes) {
+        this.in = in;
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    /**
+     * Próxima linha sem o terminador ('\r' final também removido).
+     *
+     * @return a linha, {@link Line#tooLong()} se excedeu o limite, ou null no fim do stream
+     */
+    public Line next() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        boolean overflow = false;
+        boolean readAny = false;
+
+        while (true) {
+            if (position == limit) {
+                limit = in.read(buffer);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    if (!readAny) {
+                        return null;
+                    }
+                    break;
+                }
+            }
+            readAny = true;
+
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            int chunk = position - start;
+            if (!overflow) {
+                if (line.size() + chunk > maxLineBytes) {
+                    overflow = true;
+                    line.reset();
+                } else {
+                    line.write(buffer, start, chunk);
+                }
+            }
+            if (position < limit) {
+                position++; // consome '\n'
+                break;
+            }
+        }
+
+        if (overflow) {
+            return Line.TOO_LONG;
+        }
+        byte[] bytes = line.toByteArray();
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        return new Line(length == bytes.length ? bytes : Arrays.copyOf(bytes, length), false);
+    }
+
+    public record Line(byte[] bytes, boolean tooLong) {
+
+        static final Line TOO_LONG = new Line(new byte[0], true);
+
+        public boolean isBlank() {
+            for (byte b : bytes) {
+                if (b != ' ' && b != '\t') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.oxfield.services.shared.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Divide uma linha CSV (RFC 4180) em campos: separador ',' e aspas duplas com
+ * "" como escape. Trabalha linha a linha (BoundedLineReader), então campos
+ * entre aspas não podem conter quebra de linha.
+ */
+public final class CsvLineParser {
+
+    private CsvLineParser() {
+        // Classe utilitária
+    }
+
+    /**
+     * @throws IllegalArgumentException se houver aspas sem fechamento ou texto após a aspa final
+     */
+    public static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        int length = line.length();
+
+        while (true) {
+            if (i < length && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        throw new IllegalArgumentException("Aspas sem fechamento");
+                    }
+                    char c = line.charAt(i++);
+                    if (c == '"') {
+                        if (i < length && line.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (i < length && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Texto inesperado após aspas na coluna " + (fields.size() + 1));
+                }
+            } else {
+                while (i < length && line.charAt(i) != ',') {
+                    field.append(line.charAt(i++));
+                }
+            }
+
+            fields.add(field.toString());
+            field.setLength(0);
+            if (i >= length) {
+                return fields;
+            }
+            i++; // consome ','
+        }
+    }
+}
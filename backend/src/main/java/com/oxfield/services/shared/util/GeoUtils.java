@@ -12,6 +12,8 @@ public final class GeoUtils {
 
     private static final double EARTH_RADIUS_METERS = 6_371_000.0;
     private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+    private static final String GEOHASH_ALPHABET = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final char[] GEOHASH_BASE32 = GEOHASH_ALPHABET.toCharArray();
 
     private GeoUtils() {
         // Classe utilitária
@@ -82,4 +84,111 @@ public final class GeoUtils {
     public static double getLongitude(Point point) {
         return point.getX();
     }
+
+    /**
+     * Codifica um Point como geohash com a precisão (nº de caracteres) indicada.
+     * Precisão 7 ≈ 150m, 8 ≈ 38m, 5 ≈ 4,9km.
+     */
+    public static String geohash(Point point, int precision) {
+        if (point == null) {
+            throw new IllegalArgumentException("Point cannot be null");
+        }
+        return geohash(point.getY(), point.getX(), precision);
+    }
+
+    /**
+     * Codifica latitude/longitude como geohash (base32).
+     */
+    public static String geohash(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > 12) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and 12");
+        }
+        double minLat = -90.0, maxLat = 90.0;
+        double minLon = -180.0, maxLon = 180.0;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(GEOHASH_BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Centro da célula geohash.
+     */
+    public static Point geohashCenter(String geohash) {
+        double[] bounds = geohashBounds(geohash);
+        return createPoint((bounds[0] + bounds[2]) / 2, (bounds[1] + bounds[3]) / 2);
+    }
+
+    /**
+     * Meia diagonal da célula geohash em metros (distância do centro a um canto).
+     */
+    public static double geohashHalfDiagonalMeters(String geohash) {
+        double[] bounds = geohashBounds(geohash);
+        return haversine((bounds[0] + bounds[2]) / 2, (bounds[1] + bounds[3]) / 2, bounds[2], bounds[3]);
+    }
+
+    /**
+     * Decodifica um geohash nos limites da célula: {minLat, minLon, maxLat, maxLon}.
+     */
+    private static double[] geohashBounds(String geohash) {
+        double minLat = -90.0, maxLat = 90.0;
+        double minLon = -180.0, maxLon = 180.0;
+        boolean evenBit = true;
+
+        for (char c : geohash.toCharArray()) {
+            int value = GEOHASH_ALPHABET.indexOf(c);
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid geohash: " + geohash);
+            }
+            for (int bit = 4; bit >= 0; bit--) {
+                boolean set = ((value >> bit) & 1) == 1;
+                if (evenBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if (set) {
+                        minLon = mid;
+                    } else {
+                        maxLon = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new double[] { minLat, minLon, maxLat, maxLon };
+    }
 }
@@ -0,0 +1,37 @@
+package com.oxfield.services.shared.util;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Utilitários para busca full-text no PostgreSQL.
+ */
+public final class TextSearchUtils {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_TERMS = 8;
+
+    private TextSearchUtils() {
+        // Classe utilitária
+    }
+
+    /**
+     * Converte texto livre numa expressão to_tsquery com prefix match em cada termo:
+     * "ar cond" -> "ar:* & cond:*". Pontuação e operadores do usuário são descartados,
+     * então o resultado é sempre uma tsquery válida.
+     *
+     * @return a expressão, ou null se o texto não tiver termos pesquisáveis
+     */
+    public static String toPrefixTsQuery(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String query = Arrays.stream(NON_WORD.split(text.trim().toLowerCase()))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+}
@@ -0,0 +1,16 @@
+-- ==========================================
+-- Migration V13: Índices espaciais de técnicos
+-- Suporta a busca do marketplace numa única query (ST_DWithin + KNN <->)
+-- ==========================================
+
+-- 1. GiST na geometria: ordenação KNN (<->) e consultas de fleet map
+CREATE INDEX IF NOT EXISTS idx_technicians_current_location
+    ON technicians USING GIST (current_location);
+
+-- 2. GiST em geography, parcial para técnicos online: ST_DWithin em metros
+CREATE INDEX IF NOT EXISTS idx_technicians_online_location_geog
+    ON technicians USING GIST ((current_location::geography))
+    WHERE is_online = true AND current_location IS NOT NULL;
+
+-- 3. Filtro por status do tenant (join do marketplace)
+CREATE INDEX IF NOT EXISTS idx_tenants_status ON tenants(status);
@@ -0,0 +1,72 @@
+-- ==========================================
+-- Migration V14: Busca full-text nos anúncios do marketplace
+-- tsvector ponderado (título, categoria, empresa, descrição) com GIN,
+-- prefix match (:*) para autocomplete e fallback por trigram no título.
+-- ==========================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- 1. Documento de busca
+ALTER TABLE service_listings ADD COLUMN IF NOT EXISTS search_document TSVECTOR;
+
+-- 2. Monta o documento: A = título, B = categoria e empresa, C = descrição
+CREATE OR REPLACE FUNCTION service_listings_search_document_refresh() RETURNS trigger AS $$
+DECLARE
+    v_category TEXT;
+    v_company TEXT;
+BEGIN
+    SELECT c.name || ' ' || c.code INTO v_category FROM service_categories c WHERE c.id = NEW.category_id;
+    SELECT t.name INTO v_company FROM tenants t WHERE t.id = NEW.tenant_id;
+
+    NEW.search_document :=
+        setweight(to_tsvector('simple', unaccent(COALESCE(NEW.title, ''))), 'A') ||
+        setweight(to_tsvector('simple', unaccent(COALESCE(v_category, ''))), 'B') ||
+        setweight(to_tsvector('simple', unaccent(COALESCE(v_company, ''))), 'B') ||
+        setweight(to_tsvector('simple', unaccent(COALESCE(NEW.description, ''))), 'C');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_service_listings_search_document ON service_listings;
+CREATE TRIGGER trg_service_listings_search_document
+    BEFORE INSERT OR UPDATE OF title, description, category_id, tenant_id ON service_listings
+    FOR EACH ROW EXECUTE FUNCTION service_listings_search_document_refresh();
+
+-- 3. Renomear categoria/empresa reconstrói o documento dos anúncios afetados
+CREATE OR REPLACE FUNCTION service_listings_search_document_touch_category() RETURNS trigger AS $$
+BEGIN
+    UPDATE service_listings SET title = title WHERE category_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_service_categories_listing_search ON service_categories;
+CREATE TRIGGER trg_service_categories_listing_search
+    AFTER UPDATE OF name, code ON service_categories
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name OR OLD.code IS DISTINCT FROM NEW.code)
+    EXECUTE FUNCTION service_listings_search_document_touch_category();
+
+CREATE OR REPLACE FUNCTION service_listings_search_document_touch_tenant() RETURNS trigger AS $$
+BEGIN
+    UPDATE service_listings SET title = title WHERE tenant_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_tenants_listing_search ON tenants;
+CREATE TRIGGER trg_tenants_listing_search
+    AFTER UPDATE OF name ON tenants
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name)
+    EXECUTE FUNCTION service_listings_search_document_touch_tenant();
+
+-- 4. Backfill
+UPDATE service_listings SET title = title;
+
+-- 5. Índices
+CREATE INDEX IF NOT EXISTS idx_service_listings_search_document
+    ON service_listings USING GIN (search_document);
+CREATE INDEX IF NOT EXISTS idx_service_listings_title_trgm
+    ON service_listings USING GIN (lower(title) gin_trgm_ops);
+
+COMMENT ON COLUMN service_listings.search_document IS 'Documento full-text (título, categoria, empresa, descrição). Mantido por trigger.';
@@ -0,0 +1,11 @@
+-- ==========================================
+-- Migration V15: Paginação keyset dos anúncios do marketplace
+-- Chave estável (created_at, id), mais recentes primeiro.
+-- ==========================================
+
+UPDATE service_listings SET created_at = NOW() WHERE created_at IS NULL;
+ALTER TABLE service_listings ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_service_listings_active_created_id
+    ON service_listings(created_at DESC, id DESC)
+    WHERE active = true;
@@ -0,0 +1,22 @@
+-- ==========================================
+-- TABLE: sync_uploads (uploads em partes de anexos do sync offline)
+-- O app cria a sessão, envia os bytes em chunks (retomáveis pelo offset)
+-- e depois referencia o upload_id na ação ADD_PHOTO do batch.
+-- ==========================================
+CREATE TABLE IF NOT EXISTS sync_uploads (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    tenant_id UUID NOT NULL REFERENCES tenants(id) ON DELETE CASCADE,
+    technician_id UUID NOT NULL REFERENCES technicians(id) ON DELETE CASCADE,
+    file_name VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    total_size BIGINT NOT NULL,
+    received_bytes BIGINT NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL DEFAULT 'UPLOADING',
+    expires_at TIMESTAMPTZ NOT NULL,
+    created_at TIMESTAMPTZ DEFAULT NOW(),
+    updated_at TIMESTAMPTZ DEFAULT NOW(),
+    CONSTRAINT chk_sync_uploads_received CHECK (received_bytes >= 0 AND received_bytes <= total_size)
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_uploads_technician_id ON sync_uploads(technician_id);
+CREATE INDEX IF NOT EXISTS idx_sync_uploads_expires_at ON sync_uploads(expires_at);
@@ -0,0 +1,15 @@
+-- ==========================================
+-- TABLE: sync_action_ledger (idempotência das ações do sync offline)
+-- Uma linha por ação aplicada com sucesso, gravada na mesma transação da ação.
+-- Um batch reenviado devolve o resultado original sem tocar nas tabelas de domínio.
+-- ==========================================
+CREATE TABLE IF NOT EXISTS sync_action_ledger (
+    technician_id UUID NOT NULL,
+    client_id VARCHAR(64) NOT NULL,
+    server_id UUID,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (technician_id, client_id)
+);
+
+-- Limpeza por retenção e aquecimento do Bloom filter
+CREATE INDEX IF NOT EXISTS idx_sync_action_ledger_created_at ON sync_action_ledger(created_at);
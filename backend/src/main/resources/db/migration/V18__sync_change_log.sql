@@ -0,0 +1,104 @@
+-- ==========================================
+-- Migration V18: Change log para o pull sync (delta) do app do técnico
+-- Triggers registram, por técnico, cada OS, checklist, foto e material
+-- alterado ('U') ou removido/reatribuído ('D' = tombstone).
+--
+-- txid permite um cursor sem lacunas: o pull só entrega linhas de transações
+-- já terminadas (txid < xmin do snapshot atual), então uma transação longa que
+-- comita depois não é pulada.
+-- ==========================================
+
+CREATE TABLE IF NOT EXISTS sync_change_log (
+    seq BIGSERIAL PRIMARY KEY,
+    txid XID8 NOT NULL DEFAULT pg_current_xact_id(),
+    technician_id UUID NOT NULL,
+    entity_type VARCHAR(20) NOT NULL, -- ORDER, CHECKLIST, PHOTO, MATERIAL
+    entity_id UUID NOT NULL,
+    order_id UUID NOT NULL,
+    op CHAR(1) NOT NULL, -- U = upsert, D = tombstone
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_change_log_technician_txid ON sync_change_log(technician_id, txid, seq);
+CREATE INDEX IF NOT EXISTS idx_sync_change_log_created_at ON sync_change_log(created_at);
+
+-- 1. Ordens de serviço (inclui reatribuição: tombstone para o técnico anterior,
+--    e o novo técnico recebe a OS com checklist, fotos e materiais já existentes)
+CREATE OR REPLACE FUNCTION sync_log_service_order_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        IF OLD.technician_id IS NOT NULL THEN
+            INSERT INTO sync_change_log (technician_id, entity_type, entity_id, order_id, op)
+            VALUES (OLD.technician_id, 'ORDER', OLD.id, OLD.id, 'D');
+        END IF;
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP = 'UPDATE' AND OLD.technician_id IS NOT NULL
+            AND OLD.technician_id IS DISTINCT FROM NEW.technician_id THEN
+        INSERT INTO sync_change_log (technician_id, entity_type, entity_id, order_id, op)
+        VALUES (OLD.technician_id, 'ORDER', OLD.id, OLD.id, 'D');
+    END IF;
+
+    IF NEW.technician_id IS NOT NULL THEN
+        INSERT INTO sync_change_log (technician_id, entity_type, entity_id, order_id, op)
+        VALUES (NEW.technician_id, 'ORDER', NEW.id, NEW.id, 'U');
+
+        IF TG_OP = 'UPDATE' AND OLD.technician_id IS DISTINCT FROM NEW.technician_id THEN
+            INSERT INTO sync_change_log (technician_id, entity_type, entity_id, order_id, op)
+            SELECT NEW.technician_id, 'CHECKLIST', c.id, NEW.id, 'U' FROM order_checklists c WHERE c.order_id = NEW.id
+            UNION ALL
+            SELECT NEW.technician_id, 'PHOTO', p.id, NEW.id, 'U' FROM order_photos p WHERE p.order_id = NEW.id
+            UNION ALL
+            SELECT NEW.technician_id, 'MATERIAL', m.id, NEW.id, 'U' FROM order_materials m WHERE m.order_id = NEW.id;
+        END IF;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_service_orders_sync_log ON service_orders;
+CREATE TRIGGER trg_service_orders_sync_log
+    AFTER INSERT OR UPDATE OR DELETE ON service_orders
+    FOR EACH ROW EXECUTE FUNCTION sync_log_service_order_change();
+
+-- 2. Filhos da OS (TG_ARGV[0] = entity_type). Na remoção em cascata da OS o pai
+--    já não existe: o tombstone da OS cobre os filhos.
+CREATE OR REPLACE FUNCTION sync_log_order_child_change() RETURNS trigger AS $$
+DECLARE
+    v_order_id UUID;
+    v_entity_id UUID;
+    v_technician_id UUID;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        v_order_id := OLD.order_id;
+        v_entity_id := OLD.id;
+    ELSE
+        v_order_id := NEW.order_id;
+        v_entity_id := NEW.id;
+    END IF;
+
+    SELECT o.technician_id INTO v_technician_id FROM service_orders o WHERE o.id = v_order_id;
+    IF v_technician_id IS NOT NULL THEN
+        INSERT INTO sync_change_log (technician_id, entity_type, entity_id, order_id, op)
+        VALUES (v_technician_id, TG_ARGV[0], v_entity_id, v_order_id,
+                CASE WHEN TG_OP = 'DELETE' THEN 'D' ELSE 'U' END);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_order_checklists_sync_log ON order_checklists;
+CREATE TRIGGER trg_order_checklists_sync_log
+    AFTER INSERT OR UPDATE OR DELETE ON order_checklists
+    FOR EACH ROW EXECUTE FUNCTION sync_log_order_child_change('CHECKLIST');
+
+DROP TRIGGER IF EXISTS trg_order_photos_sync_log ON order_photos;
+CREATE TRIGGER trg_order_photos_sync_log
+    AFTER INSERT OR UPDATE OR DELETE ON order_photos
+    FOR EACH ROW EXECUTE FUNCTION sync_log_order_child_change('PHOTO');
+
+DROP TRIGGER IF EXISTS trg_order_materials_sync_log ON order_materials;
+CREATE TRIGGER trg_order_materials_sync_log
+    AFTER INSERT OR UPDATE OR DELETE ON order_materials
+    FOR EACH ROW EXECUTE FUNCTION sync_log_order_child_change('MATERIAL');
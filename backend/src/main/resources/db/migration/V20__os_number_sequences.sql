@@ -0,0 +1,19 @@
+-- ==========================================
+-- TABLE: os_number_sequences (próximo número de OS por tenant)
+-- O backend reserva blocos de números (hi/lo) avançando next_value, em vez de
+-- calcular MAX(os_number) sobre todas as OS do tenant a cada criação.
+-- ==========================================
+CREATE TABLE IF NOT EXISTS os_number_sequences (
+    tenant_id UUID PRIMARY KEY REFERENCES tenants(id) ON DELETE CASCADE,
+    next_value BIGINT NOT NULL,
+    updated_at TIMESTAMPTZ DEFAULT NOW(),
+    CONSTRAINT chk_os_number_sequences_next_value CHECK (next_value > 0)
+);
+
+-- Continua a numeração existente (OS-00042 / OX-12345); números fora do padrão são ignorados
+INSERT INTO os_number_sequences (tenant_id, next_value)
+SELECT tenant_id, COALESCE(MAX(CAST(SUBSTRING(os_number FROM 4) AS BIGINT)), 0) + 1
+FROM service_orders
+WHERE os_number ~ '^O[SX]-[0-9]{1,18}$'
+GROUP BY tenant_id
+ON CONFLICT (tenant_id) DO NOTHING;
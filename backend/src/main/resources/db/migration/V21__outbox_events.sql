@@ -0,0 +1,32 @@
+-- ==========================================
+-- Migration V21: Outbox transacional dos eventos de OS
+-- O evento é gravado na mesma transação da mudança da OS; um poller em cada
+-- nó entrega os eventos aos handlers em lotes.
+--
+-- Cada handler tem sua posição (txid, id) em outbox_consumers. O nó que consegue
+-- o lock da linha do handler (FOR UPDATE SKIP LOCKED) processa o próximo lote;
+-- os demais seguem para outros handlers. Como no sync_change_log, só são lidos
+-- eventos de transações já terminadas (txid < xmin do snapshot), então um evento
+-- que comita depois de outro com id maior não é pulado.
+-- ==========================================
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    txid XID8 NOT NULL DEFAULT pg_current_xact_id(),
+    event_type VARCHAR(100) NOT NULL,
+    aggregate_id UUID,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_txid_id ON outbox_events(txid, id);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_created_at ON outbox_events(created_at);
+
+CREATE TABLE IF NOT EXISTS outbox_consumers (
+    handler VARCHAR(100) PRIMARY KEY,
+    last_txid XID8 NOT NULL DEFAULT '0',
+    last_id BIGINT NOT NULL DEFAULT 0,
+    failed_attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT,
+    updated_at TIMESTAMPTZ DEFAULT NOW()
+);
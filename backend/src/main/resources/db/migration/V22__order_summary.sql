@@ -0,0 +1,127 @@
+-- ==========================================
+-- Migration V22: Read model order_summary para as listagens de OS
+-- Uma linha plana por OS com os campos das telas de lista (agenda e histórico do
+-- técnico, /customer/orders, /empresa/orders), para leituras numa única tabela.
+--
+-- Mantida pelo handler "order-summary" do outbox: a cada evento de OS a linha
+-- é recalculada por refresh_order_summary() a partir do estado atual.
+-- ==========================================
+
+CREATE TABLE IF NOT EXISTS order_summary (
+    order_id UUID PRIMARY KEY,
+    tenant_id UUID NOT NULL,
+    os_number VARCHAR(50) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    category_id UUID,
+    category_code VARCHAR(50),
+    category_name VARCHAR(255),
+    status VARCHAR(50) NOT NULL,
+    priority VARCHAR(50) NOT NULL,
+    scheduled_date DATE,
+    scheduled_start TIME,
+    scheduled_duration INTEGER,
+    actual_start TIMESTAMPTZ,
+    actual_end TIMESTAMPTZ,
+    estimated_price NUMERIC(10, 2),
+    final_price NUMERIC(10, 2),
+    customer_id UUID,
+    customer_name VARCHAR(255),
+    customer_company_name VARCHAR(255),
+    customer_phone VARCHAR(20),
+    address_text TEXT,
+    address_latitude DOUBLE PRECISION,
+    address_longitude DOUBLE PRECISION,
+    technician_id UUID,
+    technician_name VARCHAR(255),
+    technician_avatar_url VARCHAR(500),
+    share_token UUID,
+    refreshed_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- Agenda e histórico do técnico
+CREATE INDEX IF NOT EXISTS idx_order_summary_technician_date
+    ON order_summary(technician_id, scheduled_date, scheduled_start);
+-- Lista do cliente
+CREATE INDEX IF NOT EXISTS idx_order_summary_customer_date
+    ON order_summary(customer_id, scheduled_date DESC, scheduled_start DESC);
+-- Lista da empresa por dia
+CREATE INDEX IF NOT EXISTS idx_order_summary_tenant_date
+    ON order_summary(tenant_id, scheduled_date, scheduled_start);
+
+-- Recalcula a linha da OS; remove-a se a OS não existe mais.
+-- Endereço no mesmo formato de CustomerAddress.getFullAddress().
+CREATE OR REPLACE FUNCTION refresh_order_summary(p_order_id UUID) RETURNS INTEGER AS $$
+BEGIN
+    INSERT INTO order_summary (
+        order_id, tenant_id, os_number, title, description,
+        category_id, category_code, category_name,
+        status, priority, scheduled_date, scheduled_start, scheduled_duration,
+        actual_start, actual_end, estimated_price, final_price,
+        customer_id, customer_name, customer_company_name, customer_phone,
+        address_text, address_latitude, address_longitude,
+        technician_id, technician_name, technician_avatar_url,
+        share_token, refreshed_at)
+    SELECT o.id, o.tenant_id, o.os_number, o.title, o.description,
+           o.category_id, cat.code, cat.name,
+           o.status, o.priority, o.scheduled_date, o.scheduled_start, o.scheduled_duration,
+           o.actual_start, o.actual_end, o.estimated_price, o.final_price,
+           o.customer_id, cu.name, c.company_name, cu.phone,
+           CASE
+               WHEN a.street IS NULL AND a.city IS NULL AND a.state IS NULL AND a.postal_code IS NULL THEN ''
+               ELSE format('%s, %s, %s - %s',
+                           COALESCE(a.street, ''), COALESCE(a.city, ''),
+                           COALESCE(a.state, ''), COALESCE(a.postal_code, ''))
+           END,
+           ST_Y(a.location), ST_X(a.location),
+           o.technician_id, tu.name, tu.avatar_url,
+           o.share_token, NOW()
+    FROM service_orders o
+    LEFT JOIN service_categories cat ON cat.id = o.category_id
+    LEFT JOIN customers c ON c.id = o.customer_id
+    LEFT JOIN users cu ON cu.id = c.user_id
+    LEFT JOIN customer_addresses a ON a.id = o.address_id
+    LEFT JOIN technicians t ON t.id = o.technician_id
+    LEFT JOIN users tu ON tu.id = t.user_id
+    WHERE o.id = p_order_id
+    ON CONFLICT (order_id) DO UPDATE SET
+        tenant_id = EXCLUDED.tenant_id,
+        os_number = EXCLUDED.os_number,
+        title = EXCLUDED.title,
+        description = EXCLUDED.description,
+        category_id = EXCLUDED.category_id,
+        category_code = EXCLUDED.category_code,
+        category_name = EXCLUDED.category_name,
+        status = EXCLUDED.status,
+        priority = EXCLUDED.priority,
+        scheduled_date = EXCLUDED.scheduled_date,
+        scheduled_start = EXCLUDED.scheduled_start,
+        scheduled_duration = EXCLUDED.scheduled_duration,
+        actual_start = EXCLUDED.actual_start,
+        actual_end = EXCLUDED.actual_end,
+        estimated_price = EXCLUDED.estimated_price,
+        final_price = EXCLUDED.final_price,
+        customer_id = EXCLUDED.customer_id,
+        customer_name = EXCLUDED.customer_name,
+        customer_company_name = EXCLUDED.customer_company_name,
+        customer_phone = EXCLUDED.customer_phone,
+        address_text = EXCLUDED.address_text,
+        address_latitude = EXCLUDED.address_latitude,
+        address_longitude = EXCLUDED.address_longitude,
+        technician_id = EXCLUDED.technician_id,
+        technician_name = EXCLUDED.technician_name,
+        technician_avatar_url = EXCLUDED.technician_avatar_url,
+        share_token = EXCLUDED.share_token,
+        refreshed_at = EXCLUDED.refreshed_at;
+
+    IF FOUND THEN
+        RETURN 1;
+    END IF;
+
+    DELETE FROM order_summary WHERE order_id = p_order_id;
+    RETURN 0;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Carga inicial
+SELECT refresh_order_summary(id) FROM service_orders;
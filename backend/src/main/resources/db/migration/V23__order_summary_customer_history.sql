@@ -0,0 +1,12 @@
+-- ==========================================
+-- Migration V23: Índices do histórico paginado do cliente (order_summary)
+-- ==========================================
+
+-- /customer/orders filtrado por status, na mesma ordem da paginação
+CREATE INDEX IF NOT EXISTS idx_order_summary_customer_status_date
+    ON order_summary(customer_id, status, scheduled_date DESC, scheduled_start DESC, order_id DESC);
+
+-- /customer/payments: só OS cobradas
+CREATE INDEX IF NOT EXISTS idx_order_summary_customer_paid
+    ON order_summary(customer_id, actual_end DESC NULLS LAST, order_id DESC)
+    WHERE final_price > 0;
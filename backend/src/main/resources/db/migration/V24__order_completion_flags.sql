@@ -0,0 +1,103 @@
+-- ==========================================
+-- Migration V24: Flags de conclusão pré-calculadas na OS
+-- checklist_done/checklist_total e has_after_photo ficam na própria
+-- service_orders, para a tela de detalhe e a validação de conclusão não
+-- precisarem ler o checklist (JSONB) nem varrer as fotos. A assinatura já
+-- é coluna da OS (signature).
+--
+-- Mantidas na mesma transação da escrita por triggers em order_checklists e
+-- order_photos, cobrindo REST, sync e qualquer outro caminho de escrita.
+-- O UPDATE só acontece quando algum valor muda, para não gerar entradas
+-- desnecessárias no sync_change_log (trigger da V18 em service_orders).
+-- ==========================================
+
+ALTER TABLE service_orders ADD COLUMN IF NOT EXISTS checklist_done INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE service_orders ADD COLUMN IF NOT EXISTS checklist_total INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE service_orders ADD COLUMN IF NOT EXISTS has_after_photo BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_order_photos_order_id ON order_photos(order_id);
+
+-- 1. Checklist: contagem a partir dos itens ("done": true, como no OrderChecklist)
+CREATE OR REPLACE FUNCTION order_checklist_progress() RETURNS trigger AS $$
+DECLARE
+    v_done INTEGER := 0;
+    v_total INTEGER := 0;
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.order_id IS DISTINCT FROM NEW.order_id THEN
+        UPDATE service_orders SET checklist_done = 0, checklist_total = 0
+        WHERE id = OLD.order_id AND (checklist_done, checklist_total) IS DISTINCT FROM (0, 0);
+    END IF;
+
+    IF TG_OP = 'DELETE' THEN
+        UPDATE service_orders SET checklist_done = 0, checklist_total = 0
+        WHERE id = OLD.order_id AND (checklist_done, checklist_total) IS DISTINCT FROM (0, 0);
+        RETURN NULL;
+    END IF;
+
+    IF jsonb_typeof(NEW.items) = 'array' THEN
+        SELECT COUNT(*) FILTER (WHERE item -> 'done' = 'true'::jsonb), COUNT(*)
+        INTO v_done, v_total
+        FROM jsonb_array_elements(NEW.items) AS item;
+    END IF;
+
+    UPDATE service_orders SET checklist_done = v_done, checklist_total = v_total
+    WHERE id = NEW.order_id AND (checklist_done, checklist_total) IS DISTINCT FROM (v_done, v_total);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_order_checklists_progress ON order_checklists;
+CREATE TRIGGER trg_order_checklists_progress
+    AFTER INSERT OR UPDATE OR DELETE ON order_checklists
+    FOR EACH ROW EXECUTE FUNCTION order_checklist_progress();
+
+-- 2. Fotos: existe foto com caption contendo AFTER (como OrderPhoto.isAfterPhoto)
+CREATE OR REPLACE FUNCTION order_photo_after_flag(p_order_id UUID) RETURNS VOID AS $$
+    UPDATE service_orders o
+    SET has_after_photo = flag.value
+    FROM (SELECT EXISTS (
+            SELECT 1 FROM order_photos p
+            WHERE p.order_id = p_order_id AND UPPER(p.caption) LIKE '%AFTER%') AS value) flag
+    WHERE o.id = p_order_id AND o.has_after_photo IS DISTINCT FROM flag.value;
+$$ LANGUAGE sql;
+
+CREATE OR REPLACE FUNCTION order_photo_after_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM order_photo_after_flag(OLD.order_id);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND (TG_OP = 'INSERT' OR OLD.order_id IS DISTINCT FROM NEW.order_id) THEN
+        PERFORM order_photo_after_flag(NEW.order_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_order_photos_after_flag ON order_photos;
+CREATE TRIGGER trg_order_photos_after_flag
+    AFTER INSERT OR UPDATE OR DELETE ON order_photos
+    FOR EACH ROW EXECUTE FUNCTION order_photo_after_change();
+
+-- 3. Backfill (sem registrar no sync_change_log: o app não usa estas colunas)
+ALTER TABLE service_orders DISABLE TRIGGER trg_service_orders_sync_log;
+
+UPDATE service_orders o
+SET checklist_done = c.done, checklist_total = c.total
+FROM (
+    SELECT oc.order_id,
+           COUNT(item) FILTER (WHERE item -> 'done' = 'true'::jsonb) AS done,
+           COUNT(item) AS total
+    FROM order_checklists oc
+    LEFT JOIN LATERAL jsonb_array_elements(
+        CASE WHEN jsonb_typeof(oc.items) = 'array' THEN oc.items ELSE '[]'::jsonb END) AS item ON TRUE
+    GROUP BY oc.order_id
+) c
+WHERE o.id = c.order_id;
+
+UPDATE service_orders o
+SET has_after_photo = TRUE
+WHERE EXISTS (
+    SELECT 1 FROM order_photos p
+    WHERE p.order_id = o.id AND UPPER(p.caption) LIKE '%AFTER%');
+
+ALTER TABLE service_orders ENABLE TRIGGER trg_service_orders_sync_log;
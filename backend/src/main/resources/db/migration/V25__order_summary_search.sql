@@ -0,0 +1,54 @@
+-- ==========================================
+-- Migration V25: Busca de OS do dispatch console (order_summary)
+-- tsvector ponderado (número, título, cliente, endereço) com GIN e texto
+-- normalizado com índice trigram para busca por trecho ("0042", "rua das fl").
+-- Índices de filtro na ordem da paginação keyset (data, início, id; desc).
+-- ==========================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- 1. Colunas de busca
+ALTER TABLE order_summary ADD COLUMN IF NOT EXISTS search_document TSVECTOR;
+ALTER TABLE order_summary ADD COLUMN IF NOT EXISTS search_text TEXT;
+
+-- 2. Mantidas por trigger: refresh_order_summary() faz INSERT ... ON CONFLICT DO UPDATE,
+--    então a linha é recalculada a cada refresh. A = número e título, B = cliente, C = endereço.
+CREATE OR REPLACE FUNCTION order_summary_search_refresh() RETURNS trigger AS $$
+BEGIN
+    NEW.search_document :=
+        setweight(to_tsvector('simple', unaccent(COALESCE(NEW.os_number, ''))), 'A') ||
+        setweight(to_tsvector('simple', unaccent(COALESCE(NEW.title, ''))), 'A') ||
+        setweight(to_tsvector('simple', unaccent(
+            COALESCE(NEW.customer_name, '') || ' ' || COALESCE(NEW.customer_company_name, ''))), 'B') ||
+        setweight(to_tsvector('simple', unaccent(COALESCE(NEW.address_text, ''))), 'C');
+    NEW.search_text := lower(unaccent(concat_ws(' ',
+        NEW.os_number, NEW.title, NEW.customer_name, NEW.customer_company_name, NEW.address_text)));
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_order_summary_search ON order_summary;
+CREATE TRIGGER trg_order_summary_search
+    BEFORE INSERT OR UPDATE OF os_number, title, customer_name, customer_company_name, address_text ON order_summary
+    FOR EACH ROW EXECUTE FUNCTION order_summary_search_refresh();
+
+-- 3. Backfill
+UPDATE order_summary SET title = title;
+
+-- 4. Índices de texto
+CREATE INDEX IF NOT EXISTS idx_order_summary_search_document
+    ON order_summary USING GIN (search_document);
+CREATE INDEX IF NOT EXISTS idx_order_summary_search_text_trgm
+    ON order_summary USING GIN (search_text gin_trgm_ops);
+
+-- 5. Filtros mais comuns, na ordem da paginação
+CREATE INDEX IF NOT EXISTS idx_order_summary_tenant_keyset
+    ON order_summary(tenant_id, scheduled_date DESC, scheduled_start DESC, order_id DESC);
+CREATE INDEX IF NOT EXISTS idx_order_summary_tenant_status_keyset
+    ON order_summary(tenant_id, status, scheduled_date DESC, scheduled_start DESC, order_id DESC);
+CREATE INDEX IF NOT EXISTS idx_order_summary_tenant_technician_keyset
+    ON order_summary(tenant_id, technician_id, scheduled_date DESC, scheduled_start DESC, order_id DESC);
+
+COMMENT ON COLUMN order_summary.search_document IS 'Documento full-text (número, título, cliente, endereço). Mantido por trigger.';
+COMMENT ON COLUMN order_summary.search_text IS 'Mesmos campos em minúsculas e sem acento, para busca por trecho (trigram). Mantido por trigger.';
@@ -0,0 +1,100 @@
+-- ==========================================
+-- Migration V26: Arquivo frio das OS finalizadas
+-- OS COMPLETED/CANCELLED agendadas antes do horizonte saem de service_orders
+-- (tabela quente, onde rodam agenda, não atribuídas e contagens do dispatch)
+-- para service_orders_archive, particionada por ano de scheduled_date.
+--
+-- A linha da OS e os filhos (checklist, fotos, assinatura, materiais,
+-- mensagens) vão como JSONB: imune a colunas novas via ddl-auto e comprimido
+-- pelo TOAST. As listas e o histórico continuam no order_summary, que não é
+-- tocado (OS arquivada não gera mais eventos, então a linha não é recalculada).
+--
+-- service_orders em si não é particionada: os filhos têm FK para service_orders(id)
+-- e há UNIQUE em share_token e (tenant_id, os_number), que numa tabela
+-- particionada teriam de incluir scheduled_date.
+-- ==========================================
+
+CREATE TABLE IF NOT EXISTS service_orders_archive (
+    id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    os_number VARCHAR(50) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    scheduled_date DATE NOT NULL,
+    customer_id UUID,
+    technician_id UUID,
+    order_data JSONB NOT NULL,
+    children JSONB NOT NULL,
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, scheduled_date)
+) PARTITION BY RANGE (scheduled_date);
+
+CREATE INDEX IF NOT EXISTS idx_service_orders_archive_id ON service_orders_archive(id);
+CREATE INDEX IF NOT EXISTS idx_service_orders_archive_tenant_date
+    ON service_orders_archive(tenant_id, scheduled_date DESC);
+
+-- Seleção do job: finalizadas mais antigas primeiro
+CREATE INDEX IF NOT EXISTS idx_service_orders_final_date
+    ON service_orders(scheduled_date)
+    WHERE status IN ('COMPLETED', 'CANCELLED');
+
+-- 1. Partição anual, criada sob demanda
+CREATE OR REPLACE FUNCTION ensure_service_orders_archive_partition(p_year INTEGER) RETURNS VOID AS $$
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF service_orders_archive FOR VALUES FROM (%L) TO (%L)',
+        'service_orders_archive_' || p_year, make_date(p_year, 1, 1), make_date(p_year + 1, 1, 1));
+END;
+$$ LANGUAGE plpgsql;
+
+-- 2. Move até p_limit OS finalizadas com scheduled_date < p_before. Retorna quantas moveu.
+--    Um nó por vez (advisory lock da transação); os demais retornam 0.
+--    O DELETE remove os filhos em cascata e registra o tombstone da OS para o app
+--    do técnico (trigger da V18), que deixa de manter a OS offline.
+CREATE OR REPLACE FUNCTION archive_service_orders(p_before DATE, p_limit INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    v_ids UUID[];
+    v_year INTEGER;
+    v_count INTEGER;
+BEGIN
+    IF NOT pg_try_advisory_xact_lock(hashtext('archive_service_orders')) THEN
+        RETURN 0;
+    END IF;
+
+    SELECT array_agg(candidate.id) INTO v_ids
+    FROM (
+        SELECT o.id FROM service_orders o
+        WHERE o.status IN ('COMPLETED', 'CANCELLED') AND o.scheduled_date < p_before
+        ORDER BY o.scheduled_date
+        LIMIT p_limit
+        FOR UPDATE SKIP LOCKED
+    ) candidate;
+    IF v_ids IS NULL THEN
+        RETURN 0;
+    END IF;
+
+    FOR v_year IN
+        SELECT DISTINCT EXTRACT(YEAR FROM o.scheduled_date)::INTEGER FROM service_orders o WHERE o.id = ANY(v_ids)
+    LOOP
+        PERFORM ensure_service_orders_archive_partition(v_year);
+    END LOOP;
+
+    INSERT INTO service_orders_archive (
+        id, tenant_id, os_number, status, scheduled_date, customer_id, technician_id, order_data, children)
+    SELECT o.id, o.tenant_id, o.os_number, o.status, o.scheduled_date, o.customer_id, o.technician_id,
+           to_jsonb(o),
+           jsonb_build_object(
+               'checklist', (SELECT to_jsonb(c) FROM order_checklists c WHERE c.order_id = o.id),
+               'photos', COALESCE((SELECT jsonb_agg(to_jsonb(p)) FROM order_photos p WHERE p.order_id = o.id), '[]'::jsonb),
+               'signature', (SELECT to_jsonb(s) FROM order_signatures s WHERE s.order_id = o.id),
+               'materials', COALESCE((SELECT jsonb_agg(to_jsonb(m)) FROM order_materials m WHERE m.order_id = o.id), '[]'::jsonb),
+               'messages', COALESCE((SELECT jsonb_agg(to_jsonb(g) ORDER BY g.created_at) FROM order_messages g WHERE g.order_id = o.id), '[]'::jsonb))
+    FROM service_orders o
+    WHERE o.id = ANY(v_ids);
+
+    DELETE FROM service_orders WHERE id = ANY(v_ids);
+    GET DIAGNOSTICS v_count = ROW_COUNT;
+    RETURN v_count;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON TABLE service_orders_archive IS 'OS finalizadas antigas (linha e filhos em JSONB), particionada por ano de scheduled_date. Preenchida por archive_service_orders().';
@@ -0,0 +1,19 @@
+-- ==========================================
+-- Migration V27: Tokens de push (FCM) dos dispositivos
+-- Um token pertence a um único usuário: o login de outro usuário no mesmo
+-- aparelho reatribui o token. Tokens que o FCM rejeita como inválidos são
+-- removidos pelo PushDispatcher.
+-- ==========================================
+
+CREATE TABLE IF NOT EXISTS device_push_tokens (
+    token VARCHAR(512) PRIMARY KEY,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    tenant_id UUID,
+    app_type VARCHAR(50) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    last_seen_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_device_push_tokens_user ON device_push_tokens(user_id);
+
+COMMENT ON TABLE device_push_tokens IS 'Tokens FCM por dispositivo. Registrados pelo app após o login; removidos no logout ou quando o FCM os rejeita.';
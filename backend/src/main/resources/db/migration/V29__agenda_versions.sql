@@ -0,0 +1,21 @@
+-- ==========================================
+-- Migration V29: Versão da agenda do técnico por dia (ETag do app)
+-- Incrementada pelo handler "order-summary" do outbox na mesma transação do
+-- refresh da OS, para o técnico/dia de antes e de depois da mudança. Todas as
+-- instâncias leem a mesma versão, então um ETag vale em qualquer nó.
+--
+-- Os valores vêm de uma sequence: uma versão nunca se repete, nem para outra
+-- agenda, então um ETag antigo não volta a casar.
+-- ==========================================
+
+CREATE SEQUENCE IF NOT EXISTS agenda_version_seq;
+
+CREATE TABLE IF NOT EXISTS agenda_versions (
+    technician_user_id UUID NOT NULL,
+    scheduled_date DATE NOT NULL,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (technician_user_id, scheduled_date)
+);
+
+COMMENT ON TABLE agenda_versions IS 'Versão da agenda (técnico, dia) para ETag; sem linha = versão 0. Mantida pelo OrderSummaryProjector.';
@@ -0,0 +1,18 @@
+-- ==========================================
+-- Migration V30: Staging dos chunks de upload do sync no banco
+-- Antes os bytes ficavam num arquivo local do nó que recebeu o chunk, e um
+-- chunk ou a ação ADD_PHOTO atendidos por outra instância não os encontravam.
+-- Cada chunk confirmado vira uma ou mais partes (part_offset = offset no
+-- arquivo), gravadas na mesma transação que avança received_bytes.
+-- As partes saem junto com a sessão (consumo ou purge das expiradas).
+-- ==========================================
+
+CREATE TABLE IF NOT EXISTS sync_upload_parts (
+    upload_id UUID NOT NULL REFERENCES sync_uploads(id) ON DELETE CASCADE,
+    part_offset BIGINT NOT NULL,
+    data BYTEA NOT NULL,
+    PRIMARY KEY (upload_id, part_offset)
+);
+
+-- Fotos já vêm comprimidas: TOAST sem tentar comprimir de novo
+ALTER TABLE sync_upload_parts ALTER COLUMN data SET STORAGE EXTERNAL;
@@ -0,0 +1,140 @@
+-- ==========================================
+-- Migration V31: OS arquivadas marcadas no order_summary
+-- A linha do read model de uma OS arquivada (V26) é o que resta dela fora do
+-- arquivo: as listas (dispatch, técnico e cliente) continuam mostrando a OS e
+-- as rotas de detalhe, quando não a acham em service_orders, respondem a
+-- partir dela. archived_at marca essas linhas para que um refresh tardio não
+-- as apague e para que o fallback não sirva linhas órfãs de OS removidas.
+-- ==========================================
+
+ALTER TABLE order_summary ADD COLUMN IF NOT EXISTS archived_at TIMESTAMPTZ;
+
+UPDATE order_summary s
+SET archived_at = a.archived_at
+FROM service_orders_archive a
+WHERE a.id = s.order_id AND s.archived_at IS NULL;
+
+-- 1. Refresh de uma OS que não existe mais não apaga a linha de uma OS arquivada
+--    (evento ainda no outbox quando a OS foi arquivada)
+CREATE OR REPLACE FUNCTION refresh_order_summary(p_order_id UUID) RETURNS INTEGER AS $$
+BEGIN
+    INSERT INTO order_summary (
+        order_id, tenant_id, os_number, title, description,
+        category_id, category_code, category_name,
+        status, priority, scheduled_date, scheduled_start, scheduled_duration,
+        actual_start, actual_end, estimated_price, final_price,
+        customer_id, customer_name, customer_company_name, customer_phone,
+        address_text, address_latitude, address_longitude,
+        technician_id, technician_name, technician_avatar_url,
+        share_token, refreshed_at)
+    SELECT o.id, o.tenant_id, o.os_number, o.title, o.description,
+           o.category_id, cat.code, cat.name,
+           o.status, o.priority, o.scheduled_date, o.scheduled_start, o.scheduled_duration,
+           o.actual_start, o.actual_end, o.estimated_price, o.final_price,
+           o.customer_id, cu.name, c.company_name, cu.phone,
+           CASE
+               WHEN a.street IS NULL AND a.city IS NULL AND a.state IS NULL AND a.postal_code IS NULL THEN ''
+               ELSE format('%s, %s, %s - %s',
+                           COALESCE(a.street, ''), COALESCE(a.city, ''),
+                           COALESCE(a.state, ''), COALESCE(a.postal_code, ''))
+           END,
+           ST_Y(a.location), ST_X(a.location),
+           o.technician_id, tu.name, tu.avatar_url,
+           o.share_token, NOW()
+    FROM service_orders o
+    LEFT JOIN service_categories cat ON cat.id = o.category_id
+    LEFT JOIN customers c ON c.id = o.customer_id
+    LEFT JOIN users cu ON cu.id = c.user_id
+    LEFT JOIN customer_addresses a ON a.id = o.address_id
+    LEFT JOIN technicians t ON t.id = o.technician_id
+    LEFT JOIN users tu ON tu.id = t.user_id
+    WHERE o.id = p_order_id
+    ON CONFLICT (order_id) DO UPDATE SET
+        tenant_id = EXCLUDED.tenant_id,
+        os_number = EXCLUDED.os_number,
+        title = EXCLUDED.title,
+        description = EXCLUDED.description,
+        category_id = EXCLUDED.category_id,
+        category_code = EXCLUDED.category_code,
+        category_name = EXCLUDED.category_name,
+        status = EXCLUDED.status,
+        priority = EXCLUDED.priority,
+        scheduled_date = EXCLUDED.scheduled_date,
+        scheduled_start = EXCLUDED.scheduled_start,
+        scheduled_duration = EXCLUDED.scheduled_duration,
+        actual_start = EXCLUDED.actual_start,
+        actual_end = EXCLUDED.actual_end,
+        estimated_price = EXCLUDED.estimated_price,
+        final_price = EXCLUDED.final_price,
+        customer_id = EXCLUDED.customer_id,
+        customer_name = EXCLUDED.customer_name,
+        customer_company_name = EXCLUDED.customer_company_name,
+        customer_phone = EXCLUDED.customer_phone,
+        address_text = EXCLUDED.address_text,
+        address_latitude = EXCLUDED.address_latitude,
+        address_longitude = EXCLUDED.address_longitude,
+        technician_id = EXCLUDED.technician_id,
+        technician_name = EXCLUDED.technician_name,
+        technician_avatar_url = EXCLUDED.technician_avatar_url,
+        share_token = EXCLUDED.share_token,
+        refreshed_at = EXCLUDED.refreshed_at;
+
+    IF FOUND THEN
+        RETURN 1;
+    END IF;
+
+    -- OS arquivada: a linha fica (é o que resta dela fora do arquivo)
+    DELETE FROM order_summary WHERE order_id = p_order_id AND archived_at IS NULL;
+    RETURN 0;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 2. Arquivamento marca a linha do read model na mesma transação
+CREATE OR REPLACE FUNCTION archive_service_orders(p_before DATE, p_limit INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    v_ids UUID[];
+    v_year INTEGER;
+    v_count INTEGER;
+BEGIN
+    IF NOT pg_try_advisory_xact_lock(hashtext('archive_service_orders')) THEN
+        RETURN 0;
+    END IF;
+
+    SELECT array_agg(candidate.id) INTO v_ids
+    FROM (
+        SELECT o.id FROM service_orders o
+        WHERE o.status IN ('COMPLETED', 'CANCELLED') AND o.scheduled_date < p_before
+        ORDER BY o.scheduled_date
+        LIMIT p_limit
+        FOR UPDATE SKIP LOCKED
+    ) candidate;
+    IF v_ids IS NULL THEN
+        RETURN 0;
+    END IF;
+
+    FOR v_year IN
+        SELECT DISTINCT EXTRACT(YEAR FROM o.scheduled_date)::INTEGER FROM service_orders o WHERE o.id = ANY(v_ids)
+    LOOP
+        PERFORM ensure_service_orders_archive_partition(v_year);
+    END LOOP;
+
+    INSERT INTO service_orders_archive (
+        id, tenant_id, os_number, status, scheduled_date, customer_id, technician_id, order_data, children)
+    SELECT o.id, o.tenant_id, o.os_number, o.status, o.scheduled_date, o.customer_id, o.technician_id,
+           to_jsonb(o),
+           jsonb_build_object(
+               'checklist', (SELECT to_jsonb(c) FROM order_checklists c WHERE c.order_id = o.id),
+               'photos', COALESCE((SELECT jsonb_agg(to_jsonb(p)) FROM order_photos p WHERE p.order_id = o.id), '[]'::jsonb),
+               'signature', (SELECT to_jsonb(s) FROM order_signatures s WHERE s.order_id = o.id),
+               'materials', COALESCE((SELECT jsonb_agg(to_jsonb(m)) FROM order_materials m WHERE m.order_id = o.id), '[]'::jsonb),
+               'messages', COALESCE((SELECT jsonb_agg(to_jsonb(g) ORDER BY g.created_at) FROM order_messages g WHERE g.order_id = o.id), '[]'::jsonb))
+    FROM service_orders o
+    WHERE o.id = ANY(v_ids);
+
+    UPDATE order_summary SET archived_at = NOW() WHERE order_id = ANY(v_ids);
+
+    DELETE FROM service_orders WHERE id = ANY(v_ids);
+    GET DIAGNOSTICS v_count = ROW_COUNT;
+    RETURN v_count;
+END;
+$$ LANGUAGE plpgsql;
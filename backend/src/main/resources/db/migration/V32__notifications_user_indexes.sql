@@ -0,0 +1,14 @@
+-- ==========================================
+-- Migration V32: Índices de notifications por usuário
+-- O contador de não lidas (GET /notifications/unread-count) é sempre contado
+-- no banco: o índice parcial cobre só as não lidas, então a contagem lê
+-- poucas entradas mesmo para usuários com histórico longo.
+-- ==========================================
+
+CREATE INDEX IF NOT EXISTS idx_notifications_user_unread
+    ON notifications(user_id)
+    WHERE is_read = FALSE;
+
+-- Lista do usuário, mais recentes primeiro
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created
+    ON notifications(user_id, created_at DESC);
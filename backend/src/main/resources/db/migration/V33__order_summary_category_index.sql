@@ -0,0 +1,9 @@
+-- ==========================================
+-- Migration V33: Índice do order_summary por categoria
+-- Nome e código da categoria são copiados na linha da OS. Quando a categoria é
+-- editada, o handler "order-summary" recalcula as OS dela
+-- (OrderSourceDataChangedEvent); técnico e cliente já têm índice (V22).
+-- ==========================================
+
+CREATE INDEX IF NOT EXISTS idx_order_summary_category
+    ON order_summary(category_id);
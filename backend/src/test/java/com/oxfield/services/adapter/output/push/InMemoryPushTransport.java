@@ -0,0 +1,100 @@
+package com.oxfield.services.adapter.output.push;
+
+import com.oxfield.services.application.port.output.PushTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PushTransport em memória para testes: guarda os envios em vez de entregar,
+ * permite marcar tokens como inválidos e simular falhas temporárias.
+ */
+public class InMemoryPushTransport implements PushTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryPushTransport.class);
+    private static final int MAX_RECORDED = 1000;
+
+    private final Deque<SentPush> sent = new ArrayDeque<>();
+    private final List<List<String>> calls = new ArrayList<>();
+    private final Set<String> invalidTokens = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger failuresToSimulate = new AtomicInteger();
+
+    @Override
+    public List<TokenResult> sendMulticast(PushMessage message, List<String> tokens) {
+        recordCall(tokens);
+        boolean fail = failuresToSimulate.getAndUpdate(n -> Math.max(0, n - 1)) > 0;
+        List<TokenResult> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            if (fail) {
+                results.add(TokenResult.RETRYABLE);
+            } else if (invalidTokens.contains(token)) {
+                results.add(TokenResult.INVALID_TOKEN);
+            } else {
+                results.add(TokenResult.DELIVERED);
+                record(new SentPush(token, message));
+            }
+        }
+        log.debug("In-memory push '{}' to {} tokens: {}", message.title(), tokens.size(), results);
+        return results;
+    }
+
+    /**
+     * Próximos envios para este token retornam INVALID_TOKEN.
+     */
+    public void markInvalid(String token) {
+        invalidTokens.add(token);
+    }
+
+    /**
+     * As próximas n chamadas falham com RETRYABLE para todos os tokens.
+     */
+    public void failNext(int calls) {
+        failuresToSimulate.set(calls);
+    }
+
+    /**
+     * Últimos envios aceitos (até MAX_RECORDED), do mais antigo ao mais recente.
+     */
+    public synchronized List<SentPush> sent() {
+        return List.copyOf(sent);
+    }
+
+    /**
+     * Tokens de cada chamada a sendMulticast, na ordem das chamadas.
+     */
+    public synchronized List<List<String>> calls() {
+        return List.copyOf(calls);
+    }
+
+    public synchronized void clear() {
+        sent.clear();
+        calls.clear();
+        invalidTokens.clear();
+        failuresToSimulate.set(0);
+    }
+
+    // ========== Private Methods ==========
+
+    private synchronized void recordCall(List<String> tokens) {
+        calls.add(List.copyOf(tokens));
+    }
+
+    private synchronized void record(SentPush push) {
+        if (sent.size() == MAX_RECORDED) {
+            sent.removeFirst();
+        }
+        sent.addLast(push);
+    }
+
+    // ========== DTOs ==========
+
+    public record SentPush(String token, PushMessage message) {
+    }
+}
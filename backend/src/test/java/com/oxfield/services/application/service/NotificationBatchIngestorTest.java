@@ -0,0 +1,132 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.NotificationBatchWriter;
+import com.oxfield.services.adapter.output.persistence.UserRepository;
+import com.oxfield.services.adapter.output.persistence.UserRepository.UserTenantProjection;
+import com.oxfield.services.application.service.NotificationBatchIngestor.Coalesced;
+import com.oxfield.services.application.service.NotificationService.NotificationRequest;
+import com.oxfield.services.domain.enums.NotificationType;
+import com.oxfield.services.domain.enums.PriorityLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationBatchIngestorTest {
+
+    private static final UUID USER_A = UUID.randomUUID();
+    private static final UUID USER_B = UUID.randomUUID();
+    private static final UUID TENANT = UUID.randomUUID();
+
+    private UserRepository userRepository;
+    private NotificationBatchWriter batchWriter;
+    private NotificationPushService pushService;
+    private NotificationBatchIngestor ingestor;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        batchWriter = mock(NotificationBatchWriter.class);
+        pushService = mock(NotificationPushService.class);
+        ingestor = new NotificationBatchIngestor(userRepository, batchWriter, pushService, new SimpleMeterRegistry());
+        when(batchWriter.insertAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void coalesceKeepsLatestPerUserAndTypeWithHighestPriority() {
+        List<Coalesced> result = NotificationBatchIngestor.coalesce(List.of(
+                request(USER_A, NotificationType.INFO, "OS 1", "primeira", PriorityLevel.HIGH),
+                request(USER_B, NotificationType.INFO, "OS 1", "outro usuário", PriorityLevel.LOW),
+                request(USER_A, NotificationType.INFO, "OS 2", "segunda", PriorityLevel.LOW),
+                request(USER_A, NotificationType.ALERT, "OS 3", "outro tipo", PriorityLevel.MEDIUM)));
+
+        assertThat(result).hasSize(3);
+        Coalesced first = result.get(0);
+        assertThat(first.userId()).isEqualTo(USER_A);
+        assertThat(first.type()).isEqualTo(NotificationType.INFO);
+        assertThat(first.title()).isEqualTo("OS 2");
+        assertThat(first.message()).isEqualTo("segunda (e mais 1)");
+        assertThat(first.priority()).isEqualTo(PriorityLevel.HIGH);
+        assertThat(result.get(1).userId()).isEqualTo(USER_B);
+        assertThat(result.get(2).type()).isEqualTo(NotificationType.ALERT);
+    }
+
+    @Test
+    void coalesceDropsIdenticalRepeatsWithoutCountingThem() {
+        List<Coalesced> result = NotificationBatchIngestor.coalesce(List.of(
+                request(USER_A, NotificationType.INFO, "OS 1", "mesma", null),
+                request(USER_A, NotificationType.INFO, "OS 1", "mesma", null)));
+
+        assertThat(result).singleElement().satisfies(n -> {
+            assertThat(n.message()).isEqualTo("mesma");
+            assertThat(n.priority()).isEqualTo(PriorityLevel.MEDIUM);
+        });
+    }
+
+    @Test
+    void ingestResolvesMissingTenantsInOneQueryAndSkipsUnknownUsers() {
+        when(userRepository.findTenantsByIds(anyCollection())).thenReturn(List.of(tenantOf(USER_A, TENANT)));
+
+        int written = ingestor.ingest(List.of(
+                request(USER_A, NotificationType.INFO, "OS 1", "a", PriorityLevel.LOW),
+                request(USER_B, NotificationType.INFO, "OS 1", "b", PriorityLevel.LOW)));
+
+        assertThat(written).isEqualTo(1);
+        verify(userRepository, times(1)).findTenantsByIds(anyCollection());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NotificationBatchWriter.Row>> rows = ArgumentCaptor.forClass(List.class);
+        verify(batchWriter).insertAll(rows.capture());
+        assertThat(rows.getValue()).singleElement().satisfies(row -> {
+            assertThat(row.userId()).isEqualTo(USER_A);
+            assertThat(row.tenantId()).isEqualTo(TENANT);
+        });
+        // Sem transação ativa o push é imediato
+        verify(pushService).created(eq(USER_A), any(UUID.class), eq(NotificationType.INFO), eq("OS 1"), eq("a"),
+                any(Instant.class));
+    }
+
+    @Test
+    void ingestPushesOnlyRowsTheWriterAccepted() {
+        when(batchWriter.insertAll(any())).thenReturn(List.of());
+
+        int written = ingestor.ingest(List.of(
+                new NotificationRequest(TENANT, USER_A, null, NotificationType.INFO, "OS 1", "a", null)));
+
+        assertThat(written).isZero();
+        verify(userRepository, never()).findTenantsByIds(anyCollection());
+        verify(pushService, never()).created(any(), any(), any(), any(), any(), any());
+    }
+
+    private static NotificationRequest request(UUID userId, NotificationType type, String title, String message,
+            PriorityLevel priority) {
+        return new NotificationRequest(null, userId, null, type, title, message, priority);
+    }
+
+    private static UserTenantProjection tenantOf(UUID userId, UUID tenantId) {
+        return new UserTenantProjection() {
+            @Override
+            public UUID getId() {
+                return userId;
+            }
+
+            @Override
+            public UUID getTenantId() {
+                return tenantId;
+            }
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.OsNumberSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OsNumberAllocatorTest {
+
+    private static final UUID TENANT = UUID.randomUUID();
+    private static final int BLOCK_SIZE = 20;
+
+    private OsNumberSequenceRepository sequenceRepository;
+    private OsNumberAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        sequenceRepository = mock(OsNumberSequenceRepository.class);
+        // Mesmo contrato do upsert: devolve o primeiro número do bloco reservado
+        Map<String, Long> nextValues = new HashMap<>();
+        when(sequenceRepository.reserveBlock(anyString(), anyInt())).thenAnswer(invocation -> {
+            synchronized (nextValues) {
+                String tenantId = invocation.getArgument(0);
+                int size = invocation.getArgument(1);
+                long first = nextValues.getOrDefault(tenantId, 1L);
+                nextValues.put(tenantId, first + size);
+                return first;
+            }
+        });
+        allocator = new OsNumberAllocator(sequenceRepository, BLOCK_SIZE);
+    }
+
+    @Test
+    void servesABlockFromMemoryAfterOneReservation() {
+        List<Long> numbers = IntStream.range(0, BLOCK_SIZE).mapToObj(i -> allocator.nextSequence(TENANT)).toList();
+
+        assertThat(numbers).containsExactlyElementsOf(IntStream.rangeClosed(1, BLOCK_SIZE).asLongStream().boxed().toList());
+        verify(sequenceRepository, times(1)).reserveBlock(TENANT.toString(), BLOCK_SIZE);
+    }
+
+    @Test
+    void reservesTheNextBlockWhenTheCurrentOneRunsOut() {
+        IntStream.range(0, BLOCK_SIZE).forEach(i -> allocator.nextSequence(TENANT));
+
+        assertThat(allocator.nextSequence(TENANT)).isEqualTo(BLOCK_SIZE + 1);
+        verify(sequenceRepository, times(2)).reserveBlock(TENANT.toString(), BLOCK_SIZE);
+    }
+
+    @Test
+    void formatsTheOsNumber() {
+        assertThat(allocator.nextOsNumber(TENANT)).isEqualTo("OS-00001");
+        assertThat(allocator.nextOsNumber(TENANT)).isEqualTo("OS-00002");
+    }
+
+    @Test
+    void tenantsHaveIndependentSequences() {
+        UUID other = UUID.randomUUID();
+
+        assertThat(allocator.nextSequence(TENANT)).isEqualTo(1);
+        assertThat(allocator.nextSequence(other)).isEqualTo(1);
+        assertThat(allocator.nextSequence(TENANT)).isEqualTo(2);
+    }
+
+    @Test
+    void instancesSharingTheSequenceNeverHandOutTheSameNumber() {
+        OsNumberAllocator otherInstance = new OsNumberAllocator(sequenceRepository, BLOCK_SIZE);
+
+        Set<Long> numbers = new HashSet<>();
+        for (int i = 0; i < 3 * BLOCK_SIZE; i++) {
+            assertThat(numbers.add(allocator.nextSequence(TENANT))).isTrue();
+            assertThat(numbers.add(otherInstance.nextSequence(TENANT))).isTrue();
+        }
+        // Blocos distintos: a segunda instância começa depois do primeiro bloco
+        assertThat(otherInstance.nextSequence(TENANT)).isGreaterThan(BLOCK_SIZE);
+    }
+
+    @Test
+    void concurrentCallersGetUniqueNumbersAndOneReservationPerBlock() throws Exception {
+        int threads = 8;
+        int perThread = 500;
+        Set<Long> numbers = ConcurrentHashMap.newKeySet();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(allocator.nextSequence(TENANT));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(numbers).hasSize(threads * perThread);
+        assertThat(numbers).allMatch(n -> n >= 1 && n <= threads * perThread);
+        verify(sequenceRepository, times(threads * perThread / BLOCK_SIZE)).reserveBlock(TENANT.toString(), BLOCK_SIZE);
+    }
+
+    @Test
+    void reserveRangeTakesAContiguousRangeWithoutTouchingTheBlock() {
+        assertThat(allocator.nextSequence(TENANT)).isEqualTo(1);
+
+        long first = allocator.reserveRange(TENANT, 5);
+
+        assertThat(first).isEqualTo(BLOCK_SIZE + 1);
+        verify(sequenceRepository).reserveBlock(eq(TENANT.toString()), eq(5));
+        // O bloco em memória continua de onde parou
+        assertThat(allocator.nextSequence(TENANT)).isEqualTo(2);
+        // O próximo bloco começa depois da faixa
+        IntStream.range(2, BLOCK_SIZE).forEach(i -> allocator.nextSequence(TENANT));
+        assertThat(allocator.nextSequence(TENANT)).isEqualTo(BLOCK_SIZE + 5 + 1);
+    }
+}
@@ -0,0 +1,268 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.OutboxEventRepository;
+import com.oxfield.services.adapter.output.persistence.OutboxEventRepository.ConsumerPosition;
+import com.oxfield.services.adapter.output.persistence.OutboxEventRepository.EventRow;
+import com.oxfield.services.application.listener.BatchOutboxEventHandler;
+import com.oxfield.services.application.listener.OutboxEventHandler;
+import com.oxfield.services.application.service.OutboxConsumerWorker.DrainResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxConsumerWorkerTest {
+
+    private static final String HANDLER = "test-handler";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private OutboxEventRepository outboxRepository;
+    private OutboxService outboxService;
+    private OutboxConsumerWorker worker;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        outboxRepository = mock(OutboxEventRepository.class);
+        outboxService = mock(OutboxService.class);
+        worker = new OutboxConsumerWorker(outboxRepository, outboxService);
+        // O "evento" desserializado é o próprio payload
+        when(outboxService.deserialize(anyString(), anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(outboxRepository.currentSnapshotXmin()).thenReturn("900");
+        givenPosition(0);
+    }
+
+    @Test
+    void deliversEventsInOrderAndAdvancesToTheLastOne() {
+        givenRows(row("100", 1), row("100", 2), row("101", 3));
+        RecordingHandler handler = new RecordingHandler();
+
+        DrainResult result = worker.drain(handler, 10, MAX_ATTEMPTS);
+
+        assertThat(handler.handled).containsExactly("e1", "e2", "e3");
+        assertThat(result).isEqualTo(new DrainResult(3, false));
+        verify(outboxRepository).advanceConsumer(HANDLER, "101", 3);
+        verify(outboxRepository).findEventsAfter("0", 0, "900", 10);
+    }
+
+    @Test
+    void busyWhenAnotherNodeHoldsTheHandler() {
+        when(outboxRepository.lockConsumer(HANDLER)).thenReturn(Optional.empty());
+
+        DrainResult result = worker.drain(new RecordingHandler(), 10, MAX_ATTEMPTS);
+
+        assertThat(result).isEqualTo(DrainResult.BUSY);
+        verify(outboxRepository, never()).findEventsAfter(anyString(), anyLong(), anyString(), anyInt());
+    }
+
+    @Test
+    void failureStopsTheBatchAtTheFailingEventToKeepOrder() {
+        givenRows(row("100", 1), row("100", 2), row("100", 3));
+        RecordingHandler handler = new RecordingHandler("e2");
+
+        DrainResult result = worker.drain(handler, 10, MAX_ATTEMPTS);
+
+        assertThat(handler.handled).containsExactly("e1");
+        assertThat(result).isEqualTo(new DrainResult(1, true));
+        verify(outboxRepository).advanceConsumer(HANDLER, "100", 1);
+        verify(outboxRepository, never()).advanceConsumer(HANDLER, "100", 2);
+        verify(outboxRepository).recordFailure(HANDLER, "boom e2");
+    }
+
+    @Test
+    void countsConsecutiveFailuresOfTheSameEvent() {
+        givenPosition(MAX_ATTEMPTS - 2);
+        givenRows(row("100", 1));
+
+        DrainResult result = worker.drain(new RecordingHandler("e1"), 10, MAX_ATTEMPTS);
+
+        assertThat(result).isEqualTo(new DrainResult(0, true));
+        verify(outboxRepository).recordFailure(HANDLER, "boom e1");
+        verify(outboxRepository, never()).advanceConsumer(anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    void givesUpOnAnEventAfterMaxAttemptsAndSkipsPastIt() {
+        givenPosition(MAX_ATTEMPTS - 1);
+        givenRows(row("100", 1), row("100", 2));
+        RecordingHandler handler = new RecordingHandler("e1");
+
+        DrainResult result = worker.drain(handler, 10, MAX_ATTEMPTS);
+
+        assertThat(result).isEqualTo(new DrainResult(0, true));
+        verify(outboxRepository).advanceConsumer(HANDLER, "100", 1);
+        verify(outboxRepository, never()).recordFailure(anyString(), anyString());
+        // O evento seguinte só é entregue no próximo ciclo
+        assertThat(handler.handled).isEmpty();
+    }
+
+    @Test
+    void progressBeforeAFailureRestartsTheAttemptCount() {
+        // Falhas anteriores eram do evento 1, já entregue neste lote
+        givenPosition(MAX_ATTEMPTS - 1);
+        givenRows(row("100", 1), row("100", 2));
+
+        DrainResult result = worker.drain(new RecordingHandler("e2"), 10, MAX_ATTEMPTS);
+
+        assertThat(result).isEqualTo(new DrainResult(1, true));
+        verify(outboxRepository).advanceConsumer(HANDLER, "100", 1);
+        verify(outboxRepository).recordFailure(HANDLER, "boom e2");
+    }
+
+    @Test
+    void unknownEventTypesAreSkippedButConsumed() throws Exception {
+        givenRows(row("100", 1), row("100", 2));
+        when(outboxService.deserialize("Test", "e1")).thenReturn(null);
+        RecordingHandler handler = new RecordingHandler();
+
+        DrainResult result = worker.drain(handler, 10, MAX_ATTEMPTS);
+
+        assertThat(handler.handled).containsExactly("e2");
+        assertThat(result).isEqualTo(new DrainResult(2, false));
+        verify(outboxRepository).advanceConsumer(HANDLER, "100", 2);
+    }
+
+    @Test
+    void truncatesTheRecordedErrorMessage() {
+        givenRows(row("100", 1));
+        OutboxEventHandler handler = handlerFailingWith("x".repeat(5000));
+
+        worker.drain(handler, 10, MAX_ATTEMPTS);
+
+        ArgumentCaptor<String> error = ArgumentCaptor.forClass(String.class);
+        verify(outboxRepository).recordFailure(eq(HANDLER), error.capture());
+        assertThat(error.getValue()).hasSize(1000);
+    }
+
+    @Test
+    void batchHandlerReceivesTheWholeBatchInOneCall() {
+        givenRows(row("100", 1), row("100", 2), row("101", 3));
+        RecordingBatchHandler handler = new RecordingBatchHandler(false);
+
+        DrainResult result = worker.drain(handler, 10, MAX_ATTEMPTS);
+
+        assertThat(handler.batches).containsExactly(List.of("e1", "e2", "e3"));
+        assertThat(handler.handled).isEmpty();
+        assertThat(result).isEqualTo(new DrainResult(3, false));
+        verify(outboxRepository).advanceConsumer(HANDLER, "101", 3);
+    }
+
+    @Test
+    void failedBatchIsSplitUntilSingleEvents() {
+        givenRows(row("100", 1), row("100", 2));
+        RecordingBatchHandler handler = new RecordingBatchHandler(true);
+
+        DrainResult result = worker.drain(handler, 10, MAX_ATTEMPTS);
+
+        assertThat(handler.batches).hasSize(1);
+        assertThat(handler.handled).containsExactly("e1", "e2");
+        assertThat(result).isEqualTo(new DrainResult(2, false));
+        verify(outboxRepository).advanceConsumer(HANDLER, "100", 2);
+    }
+
+    @Test
+    void eventsAroundAFailingOneStayBatched() {
+        givenRows(row("100", 1), row("100", 2), row("100", 3), row("100", 4));
+        RecordingBatchHandler handler = new RecordingBatchHandler(false, "e3");
+
+        DrainResult result = worker.drain(handler, 10, MAX_ATTEMPTS);
+
+        // Lote inteiro falha; a metade sem o evento ruim passa inteira, a outra é dividida
+        assertThat(handler.batches).containsExactly(
+                List.of("e1", "e2", "e3", "e4"), List.of("e1", "e2"), List.of("e3", "e4"));
+        assertThat(handler.handled).isEmpty();
+        assertThat(result).isEqualTo(new DrainResult(2, true));
+        verify(outboxRepository).advanceConsumer(HANDLER, "100", 2);
+        verify(outboxRepository).recordFailure(HANDLER, "boom e3");
+    }
+
+    // ========== Helpers ==========
+
+    private void givenPosition(int failedAttempts) {
+        ConsumerPosition position = mock(ConsumerPosition.class);
+        when(position.getLastTxid()).thenReturn("0");
+        when(position.getLastId()).thenReturn(0L);
+        when(position.getFailedAttempts()).thenReturn(failedAttempts);
+        when(outboxRepository.lockConsumer(HANDLER)).thenReturn(Optional.of(position));
+    }
+
+    private void givenRows(EventRow... rows) {
+        when(outboxRepository.findEventsAfter(anyString(), anyLong(), anyString(), anyInt())).thenReturn(List.of(rows));
+    }
+
+    private static EventRow row(String txid, long id) {
+        EventRow row = mock(EventRow.class);
+        when(row.getTxid()).thenReturn(txid);
+        when(row.getId()).thenReturn(id);
+        when(row.getEventType()).thenReturn("Test");
+        when(row.getPayload()).thenReturn("e" + id);
+        return row;
+    }
+
+    private static OutboxEventHandler handlerFailingWith(String message) {
+        return new OutboxEventHandler() {
+            @Override
+            public String handlerName() {
+                return HANDLER;
+            }
+
+            @Override
+            public void handle(Object event) {
+                throw new IllegalStateException(message);
+            }
+        };
+    }
+
+    private static class RecordingHandler implements OutboxEventHandler {
+        final List<Object> handled = new ArrayList<>();
+        final Set<String> failing;
+
+        RecordingHandler(String... failing) {
+            this.failing = Set.of(failing);
+        }
+
+        @Override
+        public String handlerName() {
+            return HANDLER;
+        }
+
+        @Override
+        public void handle(Object event) {
+            if (failing.contains(event)) {
+                throw new IllegalStateException("boom " + event);
+            }
+            handled.add(event);
+        }
+    }
+
+    private static class RecordingBatchHandler extends RecordingHandler implements BatchOutboxEventHandler {
+        final List<List<Object>> batches = new ArrayList<>();
+        private final boolean failBatch;
+
+        RecordingBatchHandler(boolean failBatch, String... failing) {
+            super(failing);
+            this.failBatch = failBatch;
+        }
+
+        @Override
+        public void handleBatch(List<Object> events) {
+            batches.add(List.copyOf(events));
+            if (failBatch || events.stream().anyMatch(failing::contains)) {
+                throw new IllegalStateException("batch boom");
+            }
+        }
+    }
+}
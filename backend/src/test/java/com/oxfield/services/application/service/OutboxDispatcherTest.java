@@ -0,0 +1,142 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.OutboxEventRepository;
+import com.oxfield.services.application.listener.OutboxEventHandler;
+import com.oxfield.services.application.service.OutboxConsumerWorker.DrainResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTest {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private OutboxConsumerWorker worker;
+    private OutboxEventRepository outboxRepository;
+    private OutboxService outboxService;
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        worker = mock(OutboxConsumerWorker.class);
+        outboxRepository = mock(OutboxEventRepository.class);
+        outboxService = mock(OutboxService.class);
+        // Sem appends: espera o poll-interval inteiro, como o OutboxService real
+        doAnswer(invocation -> {
+            Thread.sleep(invocation.<Duration>getArgument(0).toMillis());
+            return null;
+        }).when(outboxService).awaitAppend(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void failingHandlerBacksOffExponentially() {
+        OutboxEventHandler failing = handler("failing");
+        List<Long> calls = recordDrains(failing, new DrainResult(0, true));
+        start(List.of(failing));
+
+        awaitCalls(calls, 5);
+
+        // Backoff de poll-interval * 2^falhas: 20, 40, 80, 160 ms
+        for (int i = 1; i < 5; i++) {
+            long gapMillis = Duration.ofNanos(calls.get(i) - calls.get(i - 1)).toMillis();
+            assertThat(gapMillis).isGreaterThanOrEqualTo(POLL_INTERVAL.toMillis() * (1L << i) - 2);
+        }
+    }
+
+    @Test
+    void failingHandlerDoesNotDelayTheOthers() {
+        OutboxEventHandler failing = handler("failing");
+        OutboxEventHandler healthy = handler("healthy");
+        List<Long> failingCalls = recordDrains(failing, new DrainResult(0, true));
+        List<Long> healthyCalls = recordDrains(healthy, new DrainResult(0, false));
+        start(List.of(failing, healthy));
+
+        awaitCalls(failingCalls, 4);
+
+        // Em ~140 ms de backoff o handler saudável roda a cada poll-interval
+        assertThat(healthyCalls.size()).isGreaterThan(failingCalls.size() * 2);
+    }
+
+    @Test
+    void successResetsTheBackoff() {
+        OutboxEventHandler flaky = handler("flaky");
+        List<Long> calls = new CopyOnWriteArrayList<>();
+        when(worker.drain(eq(flaky), anyInt(), anyInt())).thenAnswer(invocation -> {
+            calls.add(System.nanoTime());
+            // Falha 3 vezes, depois entrega sempre
+            return new DrainResult(0, calls.size() <= 3);
+        });
+        start(List.of(flaky));
+
+        awaitCalls(calls, 8);
+
+        // Após o sucesso volta ao ritmo do poll-interval, sem o backoff acumulado (160 ms)
+        long gapMillis = Duration.ofNanos(calls.get(7) - calls.get(6)).toMillis();
+        assertThat(gapMillis).isLessThan(POLL_INTERVAL.toMillis() * 8);
+    }
+
+    // ========== Helpers ==========
+
+    private void start(List<OutboxEventHandler> handlers) {
+        dispatcher = new OutboxDispatcher(worker, outboxRepository, outboxService, handlers,
+                new SimpleMeterRegistry(), true, POLL_INTERVAL, 100, 5, Duration.ofDays(7));
+        dispatcher.start();
+    }
+
+    private List<Long> recordDrains(OutboxEventHandler handler, DrainResult result) {
+        List<Long> calls = new CopyOnWriteArrayList<>();
+        when(worker.drain(eq(handler), anyInt(), anyInt())).thenAnswer(invocation -> {
+            calls.add(System.nanoTime());
+            return result;
+        });
+        return calls;
+    }
+
+    private static OutboxEventHandler handler(String name) {
+        return new OutboxEventHandler() {
+            @Override
+            public String handlerName() {
+                return name;
+            }
+
+            @Override
+            public void handle(Object event) {
+            }
+        };
+    }
+
+    private static void awaitCalls(List<Long> calls, int count) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (calls.size() < count) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Expected " + count + " drains, got " + calls.size());
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
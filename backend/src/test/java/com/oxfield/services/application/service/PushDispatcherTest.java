@@ -0,0 +1,190 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.output.persistence.DevicePushTokenRepository;
+import com.oxfield.services.adapter.output.persistence.DevicePushTokenRepository.UserTokenProjection;
+import com.oxfield.services.adapter.output.push.InMemoryPushTransport;
+import com.oxfield.services.application.port.output.PushTransport;
+import com.oxfield.services.application.port.output.PushTransport.PushMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PushDispatcherTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final PushMessage MESSAGE = new PushMessage("OS atribuída", "OS-00001", Map.of("type", "INFO"));
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(40);
+
+    private InMemoryPushTransport transport;
+    private DevicePushTokenRepository tokenRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private PushDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        transport = new InMemoryPushTransport();
+        tokenRepository = mock(DevicePushTokenRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void splitsTokensIntoMulticastsOfAtMostMaxTokens() {
+        List<String> tokens = tokens(2 * PushTransport.MAX_TOKENS + 1);
+        givenTokens(tokens);
+        start(3);
+
+        dispatcher.submit(USER, MESSAGE);
+
+        awaitTrue(() -> counter("delivered") == tokens.size());
+        List<Integer> sizes = transport.calls().stream().map(List::size).sorted().toList();
+        assertThat(sizes).containsExactly(1, PushTransport.MAX_TOKENS, PushTransport.MAX_TOKENS);
+        assertThat(transport.calls().stream().flatMap(List::stream).toList())
+                .containsExactlyInAnyOrderElementsOf(tokens);
+    }
+
+    @Test
+    void mergesIdenticalMessagesOfDifferentUsersIntoOneMulticast() {
+        UUID other = UUID.randomUUID();
+        when(tokenRepository.findTokensByUserIds(anyCollection()))
+                .thenReturn(List.of(token(USER, "a"), token(other, "b")));
+        start(3);
+
+        dispatcher.submit(USER, MESSAGE);
+        dispatcher.submit(other, MESSAGE);
+
+        awaitTrue(() -> transport.sent().size() == 2);
+        assertThat(transport.calls()).singleElement().satisfies(call -> assertThat(call).containsExactly("a", "b"));
+    }
+
+    @Test
+    void retriesRetryableTokensWithBackoffUntilDelivered() {
+        givenTokens(List.of("t1", "t2"));
+        transport.failNext(2);
+        start(4);
+
+        long startedAt = System.nanoTime();
+        dispatcher.submit(USER, MESSAGE);
+
+        awaitTrue(() -> transport.sent().size() == 2);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+        assertThat(transport.calls()).hasSize(3);
+        // Jitter de até 50% para baixo: 1a espera >= initial/2, 2a >= initial
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(INITIAL_BACKOFF.toMillis() / 2 + INITIAL_BACKOFF.toMillis());
+        assertThat(counter("retried")).isEqualTo(4);
+        assertThat(counter("delivered")).isEqualTo(2);
+        assertThat(counter("failed")).isZero();
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        givenTokens(List.of("t1", "t2"));
+        transport.failNext(10);
+        start(3);
+
+        dispatcher.submit(USER, MESSAGE);
+
+        awaitTrue(() -> counter("failed") == 2);
+        assertThat(transport.calls()).hasSize(3);
+        assertThat(transport.sent()).isEmpty();
+        assertThat(counter("delivered")).isZero();
+    }
+
+    @Test
+    void deletesTokensTheTransportRejectsAsInvalid() {
+        givenTokens(List.of("valid", "stale"));
+        transport.markInvalid("stale");
+        start(3);
+
+        dispatcher.submit(USER, MESSAGE);
+
+        verify(tokenRepository, timeout(5000)).deleteByTokens(List.of("stale"));
+        assertThat(transport.sent()).extracting(InMemoryPushTransport.SentPush::token).containsExactly("valid");
+        assertThat(transport.calls()).hasSize(1);
+    }
+
+    @Test
+    void withoutTransportSubmitDropsAndNothingIsQueried() {
+        dispatcher = new PushDispatcher(Optional.empty(), tokenRepository, meterRegistry,
+                Duration.ofMillis(10), 100, 3, INITIAL_BACKOFF, Duration.ofMillis(200), 4);
+        dispatcher.start();
+
+        assertThat(dispatcher.submit(USER, MESSAGE)).isFalse();
+        verify(tokenRepository, never()).findTokensByUserIds(anyCollection());
+    }
+
+    // ========== Helpers ==========
+
+    private void start(int maxAttempts) {
+        dispatcher = new PushDispatcher(Optional.of(transport), tokenRepository, meterRegistry,
+                Duration.ofMillis(10), 100, maxAttempts, INITIAL_BACKOFF, Duration.ofMillis(200), 4);
+        dispatcher.start();
+    }
+
+    private void givenTokens(List<String> tokens) {
+        List<UserTokenProjection> rows = new ArrayList<>(tokens.size());
+        tokens.forEach(token -> rows.add(token(USER, token)));
+        when(tokenRepository.findTokensByUserIds(anyCollection())).thenReturn(rows);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.counter("oxfield.push." + name).count();
+    }
+
+    private static List<String> tokens(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "token-" + i).toList();
+    }
+
+    private static UserTokenProjection token(UUID userId, String token) {
+        return new UserTokenProjection() {
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getToken() {
+                return token;
+            }
+        };
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 5s");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
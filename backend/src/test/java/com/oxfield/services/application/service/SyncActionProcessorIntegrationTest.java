@@ -0,0 +1,149 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.input.dto.request.SyncActionPayload;
+import com.oxfield.services.adapter.input.dto.request.SyncBatchRequest.SyncActionType;
+import com.oxfield.services.adapter.input.dto.request.TypedSyncAction;
+import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse.SyncActionResult;
+import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse.SyncStatus;
+import com.oxfield.services.adapter.output.persistence.OrderChecklistRepository;
+import com.oxfield.services.adapter.output.persistence.ServiceOrderRepository;
+import com.oxfield.services.benchmark.SyncBenchmarkFixtures;
+import com.oxfield.services.shared.exception.ErrorCode;
+import com.oxfield.services.shared.multitenancy.TenantContext;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ações de sync que falham contra um Postgres/PostGIS real: o código de erro
+ * original chega ao app e nada do que a ação gravou é comitado.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class SyncActionProcessorIntegrationTest {
+
+    private static final int STOCK = 5;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        Path uploads = Files.createTempDirectory("sync-it-uploads");
+        registry.add("oxfield.upload.local-dir", uploads::toString);
+    }
+
+    @Autowired
+    private SyncActionProcessor actionProcessor;
+    @Autowired
+    private SyncUploadService uploadService;
+    @Autowired
+    private ServiceOrderRepository orderRepository;
+    @Autowired
+    private OrderChecklistRepository checklistRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    private SyncBenchmarkFixtures fixtures;
+    private UUID orderId;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new SyncBenchmarkFixtures(jdbcTemplate, transactionTemplate, entityManager,
+                orderRepository, checklistRepository, uploadService);
+        fixtures.seed(STOCK);
+        orderId = fixtures.createOrders(Long.toString(System.nanoTime(), 36), 1, 1).get(0).orderId();
+        TenantContext.setCurrentTenantId(SyncBenchmarkFixtures.TENANT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void invalidTransitionReturnsItsOwnErrorCodeAndWritesNothing() {
+        // SCHEDULED -> COMPLETED não é transição válida
+        TypedSyncAction action = action(SyncActionType.UPDATE_STATUS,
+                new SyncActionPayload.StatusUpdate("COMPLETED", null, null, null));
+
+        SyncActionResult result = actionProcessor.processAction(
+                action, SyncBenchmarkFixtures.TECHNICIAN_ID, SyncBenchmarkFixtures.TENANT_ID);
+
+        assertThat(result.status()).isEqualTo(SyncStatus.FAILED);
+        assertThat(result.errorCode()).isEqualTo(ErrorCode.ORDER_INVALID_TRANSITION.getCode());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT status FROM service_orders WHERE id = ?", String.class, orderId)).isEqualTo("SCHEDULED");
+        assertThat(ledgerRows(action.clientId())).isZero();
+    }
+
+    @Test
+    void failureAfterAWriteRollsBackTheWholeAction() {
+        // A OS recebe o material antes de reduceStock falhar por falta de estoque
+        TypedSyncAction action = action(SyncActionType.ADD_MATERIAL,
+                new SyncActionPayload.AddMaterial(fixtures.materialId(), STOCK + 1));
+
+        SyncActionResult result = actionProcessor.processAction(
+                action, SyncBenchmarkFixtures.TECHNICIAN_ID, SyncBenchmarkFixtures.TENANT_ID);
+
+        assertThat(result.status()).isEqualTo(SyncStatus.FAILED);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_materials WHERE order_id = ?", Integer.class, orderId)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT stock_quantity FROM materials WHERE id = ?", Integer.class, fixtures.materialId()))
+                .isEqualTo(STOCK);
+        assertThat(ledgerRows(action.clientId())).isZero();
+    }
+
+    @Test
+    void successfulActionIsCommittedWithItsLedgerEntry() {
+        TypedSyncAction action = action(SyncActionType.ADD_MATERIAL,
+                new SyncActionPayload.AddMaterial(fixtures.materialId(), 2));
+
+        SyncActionResult result = actionProcessor.processAction(
+                action, SyncBenchmarkFixtures.TECHNICIAN_ID, SyncBenchmarkFixtures.TENANT_ID);
+
+        assertThat(result.status()).isEqualTo(SyncStatus.SUCCESS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT stock_quantity FROM materials WHERE id = ?", Integer.class, fixtures.materialId()))
+                .isEqualTo(STOCK - 2);
+        assertThat(ledgerRows(action.clientId())).isOne();
+    }
+
+    private TypedSyncAction action(SyncActionType type, SyncActionPayload payload) {
+        return new TypedSyncAction(UUID.randomUUID().toString(), Instant.now(), type, orderId, payload);
+    }
+
+    private int ledgerRows(String clientId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sync_action_ledger WHERE technician_id = ? AND client_id = ?",
+                Integer.class, SyncBenchmarkFixtures.TECHNICIAN_ID, clientId);
+    }
+}
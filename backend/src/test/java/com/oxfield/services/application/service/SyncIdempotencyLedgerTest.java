@@ -0,0 +1,178 @@
+package com.oxfield.services.application.service;
+
+import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse.SyncActionResult;
+import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse.SyncStatus;
+import com.oxfield.services.adapter.output.persistence.SyncActionLedgerRepository;
+import com.oxfield.services.domain.entity.SyncActionLedgerEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SyncIdempotencyLedgerTest {
+
+    private static final UUID TECHNICIAN = UUID.randomUUID();
+    private static final Duration RETENTION = Duration.ofDays(30);
+
+    private SyncActionLedgerRepository ledgerRepository;
+    private SyncIdempotencyLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledgerRepository = mock(SyncActionLedgerRepository.class);
+        when(ledgerRepository.insertIfAbsent(anyString(), anyString(), any())).thenReturn(1);
+        ledger = newLedger(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledger.stop();
+    }
+
+    @Test
+    void findReplaysSkipsTheLedgerForKeysTheBloomFilterHasNeverSeen() {
+        Map<String, SyncActionResult> replays = ledger.findReplays(TECHNICIAN, List.of("c1", "c2"));
+
+        assertThat(replays).isEmpty();
+        verify(ledgerRepository, never()).findByTechnicianIdAndClientIdIn(any(), anyCollection());
+    }
+
+    @Test
+    void recordedActionIsReplayedWithTheOriginalServerId() {
+        UUID serverId = UUID.randomUUID();
+        ledger.record(TECHNICIAN, success("c1", serverId));
+        when(ledgerRepository.findByTechnicianIdAndClientIdIn(eq(TECHNICIAN), anyCollection()))
+                .thenReturn(List.of(entry("c1", serverId)));
+
+        Map<String, SyncActionResult> replays = ledger.findReplays(TECHNICIAN, List.of("c1", "never-sent"));
+
+        assertThat(replays).containsOnlyKeys("c1");
+        assertThat(replays.get("c1").serverId()).isEqualTo(serverId);
+        assertThat(replays.get("c1").status()).isEqualTo(SyncStatus.SUCCESS);
+        verify(ledgerRepository).findByTechnicianIdAndClientIdIn(TECHNICIAN, Set.of("c1"));
+    }
+
+    @Test
+    void bloomKeysAreScopedByTechnician() {
+        ledger.record(TECHNICIAN, success("c1", null));
+
+        ledger.findReplays(UUID.randomUUID(), List.of("c1"));
+
+        verify(ledgerRepository, never()).findByTechnicianIdAndClientIdIn(any(), anyCollection());
+    }
+
+    @Test
+    void longClientIdsAreStoredAsSha256AndMappedBack() {
+        String longClientId = "x".repeat(100);
+        ledger.record(TECHNICIAN, success(longClientId, null));
+
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        verify(ledgerRepository).insertIfAbsent(eq(TECHNICIAN.toString()), key.capture(), any());
+        assertThat(key.getValue()).hasSize(64).matches("[0-9a-f]+");
+
+        when(ledgerRepository.findByTechnicianIdAndClientIdIn(eq(TECHNICIAN), anyCollection()))
+                .thenReturn(List.of(entry(key.getValue(), null)));
+        assertThat(ledger.findReplays(TECHNICIAN, List.of(longClientId))).containsOnlyKeys(longClientId);
+    }
+
+    @Test
+    void blankClientIdsAreNeverRecorded() {
+        SyncActionResult result = success(" ", null);
+
+        assertThat(ledger.record(TECHNICIAN, result)).isSameAs(result);
+        verify(ledgerRepository, never()).insertIfAbsent(anyString(), anyString(), any());
+    }
+
+    @Test
+    void warmUpLoadsRecentKeysIntoTheBloomFilter() {
+        when(ledgerRepository.findRecentKeys(any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[] {TECHNICIAN, "warm"}));
+
+        ledger.warmUp();
+        ledger.findReplays(TECHNICIAN, List.of("warm"));
+
+        verify(ledgerRepository).findByTechnicianIdAndClientIdIn(TECHNICIAN, Set.of("warm"));
+    }
+
+    @Test
+    void pruneDeletesEntriesOlderThanTheRetention() {
+        ledger.prune();
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(ledgerRepository).deleteOlderThan(cutoff.capture());
+        assertThat(cutoff.getValue()).isCloseTo(Instant.now().minus(RETENTION), within(5, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void prunesPeriodicallyAfterWarmUp() {
+        when(ledgerRepository.findRecentKeys(any(), any())).thenReturn(List.of());
+        ledger = newLedger(Duration.ofMillis(20));
+
+        ledger.warmUp();
+
+        // Uma remoção no startup e as seguintes pelo loop
+        verify(ledgerRepository, timeout(5000).atLeast(3)).deleteOlderThan(any());
+    }
+
+    @Test
+    void stopEndsThePeriodicPrune() throws InterruptedException {
+        when(ledgerRepository.findRecentKeys(any(), any())).thenReturn(List.of());
+        ledger = newLedger(Duration.ofMillis(20));
+        ledger.warmUp();
+        verify(ledgerRepository, timeout(5000).atLeast(2)).deleteOlderThan(any());
+
+        ledger.stop();
+        Thread.sleep(50);
+        long afterStop = pruneCalls();
+        Thread.sleep(100);
+
+        assertThat(pruneCalls()).isEqualTo(afterStop);
+    }
+
+    // ========== Helpers ==========
+
+    private SyncIdempotencyLedger newLedger(Duration pruneInterval) {
+        return new SyncIdempotencyLedger(ledgerRepository, new SimpleMeterRegistry(), RETENTION, pruneInterval,
+                10_000, 0.01);
+    }
+
+    private long pruneCalls() {
+        return mockingDetails(ledgerRepository).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("deleteOlderThan"))
+                .count();
+    }
+
+    private static SyncActionResult success(String clientId, UUID serverId) {
+        return new SyncActionResult(clientId, serverId, SyncStatus.SUCCESS, null, null);
+    }
+
+    private static SyncActionLedgerEntry entry(String clientId, UUID serverId) {
+        SyncActionLedgerEntry entry = mock(SyncActionLedgerEntry.class);
+        when(entry.getTechnicianId()).thenReturn(TECHNICIAN);
+        when(entry.getClientId()).thenReturn(clientId);
+        when(entry.getServerId()).thenReturn(serverId);
+        return entry;
+    }
+}
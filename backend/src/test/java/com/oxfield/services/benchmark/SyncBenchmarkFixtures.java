@@ -0,0 +1,152 @@
+package com.oxfield.services.benchmark;
+
+import com.oxfield.services.adapter.output.persistence.OrderChecklistRepository;
+import com.oxfield.services.adapter.output.persistence.ServiceOrderRepository;
+import com.oxfield.services.application.service.SyncUploadService;
+import com.oxfield.services.application.service.SyncUploadService.CreateUploadRequest;
+import com.oxfield.services.application.service.SyncUploadService.UploadStatus;
+import com.oxfield.services.domain.entity.*;
+import com.oxfield.services.domain.enums.OsStatus;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Dados de uma rodada do benchmark de sync, sobre o seed da V2 (tenant, técnico
+ * e cliente de demonstração) num Postgres descartável do Testcontainers.
+ *
+ * Cada OS nasce SCHEDULED, com checklist, pronta para percorrer o fluxo do app.
+ * Também usado pelos testes de integração do sync.
+ */
+public final class SyncBenchmarkFixtures {
+
+    public static final UUID TENANT_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    public static final UUID TECHNICIAN_ID = UUID.fromString("55555555-5555-5555-5555-555555555555");
+    public static final UUID CUSTOMER_ID = UUID.fromString("77777777-7777-7777-7777-777777777777");
+
+    private static final double LATITUDE = 50.8503;
+    private static final double LONGITUDE = 4.3517;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ServiceOrderRepository orderRepository;
+    private final OrderChecklistRepository checklistRepository;
+    private final SyncUploadService uploadService;
+
+    private UUID addressId;
+    private UUID categoryId;
+    private UUID materialId;
+
+    public SyncBenchmarkFixtures(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EntityManager entityManager,
+            ServiceOrderRepository orderRepository,
+            OrderChecklistRepository checklistRepository,
+            SyncUploadService uploadService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.orderRepository = orderRepository;
+        this.checklistRepository = checklistRepository;
+        this.uploadService = uploadService;
+    }
+
+    /**
+     * Endereço geolocalizado do cliente, categoria e material com estoque para a rodada.
+     */
+    public void seed(int materialStock) {
+        addressId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO customer_addresses (id, tenant_id, customer_id, label, street, city, state, postal_code,
+                                                location, is_default)
+                VALUES (?, ?, ?, 'Benchmark', 'Rue de la Loi 16', 'Bruxelles', 'BRU', '1000',
+                        ST_SetSRID(ST_MakePoint(?, ?), 4326), TRUE)
+                """, addressId, TENANT_ID, CUSTOMER_ID, LONGITUDE, LATITUDE);
+
+        categoryId = jdbcTemplate.queryForObject(
+                "SELECT id FROM service_categories WHERE tenant_id = ? AND code = 'general'", UUID.class, TENANT_ID);
+
+        materialId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO materials (id, tenant_id, name, sku, category, stock_quantity, unit_price)
+                VALUES (?, ?, 'Benchmark cable', ?, 'ELECTRICAL', ?, 1.00)
+                """, materialId, TENANT_ID, "BENCH-" + materialId, materialStock);
+    }
+
+    public UUID materialId() {
+        return materialId;
+    }
+
+    public List<FixtureOrder> createOrders(String runTag, int count, int checklistItems) {
+        return transactionTemplate.execute(status -> {
+            Technician technician = entityManager.getReference(Technician.class, TECHNICIAN_ID);
+            Customer customer = entityManager.getReference(Customer.class, CUSTOMER_ID);
+            CustomerAddress address = entityManager.getReference(CustomerAddress.class, addressId);
+            ServiceCategory category = entityManager.getReference(ServiceCategory.class, categoryId);
+
+            List<FixtureOrder> fixtures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ServiceOrder order = new ServiceOrder();
+                order.setTenantId(TENANT_ID);
+                order.setOsNumber("BENCH-" + runTag + "-" + i);
+                order.setTitle("Benchmark sync " + runTag + " #" + i);
+                order.setCategory(category);
+                order.setCustomer(customer);
+                order.setAddress(address);
+                order.setTechnician(technician);
+                order.setStatus(OsStatus.SCHEDULED);
+                order.setScheduledDate(LocalDate.now());
+                order.setScheduledStart(LocalTime.of(8, 0));
+                order.setScheduledDuration(60);
+                order.setShareToken(UUID.randomUUID());
+                order = orderRepository.save(order);
+
+                List<Map<String, Object>> items = new ArrayList<>(checklistItems);
+                for (int item = 1; item <= checklistItems; item++) {
+                    Map<String, Object> entry = new HashMap<>();
+                    entry.put("id", item);
+                    entry.put("description", "Item " + item);
+                    entry.put("done", false);
+                    entry.put("required", true);
+                    items.add(entry);
+                }
+                OrderChecklist checklist = new OrderChecklist(order, items);
+                checklist.setTenantId(TENANT_ID);
+                checklistRepository.save(checklist);
+
+                fixtures.add(new FixtureOrder(order.getId(), LATITUDE, LONGITUDE));
+            }
+            return fixtures;
+        });
+    }
+
+    /**
+     * Sobe a foto pelo fluxo do app novo (POST /sync/uploads e PUTs de chunkSize
+     * bytes) e devolve o uploadId a referenciar na ação ADD_PHOTO.
+     */
+    public UUID uploadPhoto(byte[] photo, String fileName, int chunkSize) {
+        UploadStatus upload = uploadService.createUpload(TECHNICIAN_ID, TENANT_ID,
+                new CreateUploadRequest(fileName, "image/jpeg", photo.length));
+        for (int offset = 0; offset < photo.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, photo.length - offset);
+            uploadService.appendChunk(upload.uploadId(), TECHNICIAN_ID, offset,
+                    new ByteArrayInputStream(photo, offset, length));
+        }
+        return upload.uploadId();
+    }
+
+    // ========== DTOs ==========
+
+    /**
+     * OS criada para o benchmark, com a posição do endereço.
+     */
+    public record FixtureOrder(UUID orderId, Double latitude, Double longitude) {
+    }
+}
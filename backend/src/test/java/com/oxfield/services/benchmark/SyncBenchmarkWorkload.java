@@ -0,0 +1,88 @@
+package com.oxfield.services.benchmark;
+
+import com.oxfield.services.adapter.input.dto.request.SyncBatchRequest;
+import com.oxfield.services.adapter.input.dto.request.SyncBatchRequest.SyncAction;
+import com.oxfield.services.adapter.input.dto.request.SyncBatchRequest.SyncActionType;
+import com.oxfield.services.benchmark.SyncBenchmarkFixtures.FixtureOrder;
+import com.oxfield.services.domain.enums.OsStatus;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.BiFunction;
+
+/**
+ * Monta os batches de uma rodada do benchmark reproduzindo o dia de um técnico:
+ * por OS, início de rota, localização, chegada, itens do checklist, material e fotos,
+ * na ordem (e com os timestamps) em que o app enviaria.
+ *
+ * As fotos seguem o modo da rodada: uploadId de um upload em partes já concluído
+ * (app atual) ou base64 inline (apps antigos).
+ */
+final class SyncBenchmarkWorkload {
+
+    private SyncBenchmarkWorkload() {
+    }
+
+    /**
+     * @param photoPayload (índice da OS, índice da foto) -> payload da ação ADD_PHOTO
+     */
+    static List<SyncBatchRequest> build(String runTag, List<FixtureOrder> orders, int ordersPerBatch,
+                                        int checklistItems, UUID materialId, int photosPerOrder,
+                                        BiFunction<Integer, Integer, Map<String, Object>> photoPayload) {
+        Instant clock = Instant.now().minusSeconds(3600);
+        List<SyncBatchRequest> batches = new ArrayList<>();
+        List<SyncAction> current = new ArrayList<>();
+
+        for (int o = 0; o < orders.size(); o++) {
+            FixtureOrder order = orders.get(o);
+            String prefix = runTag + "-" + o + "-";
+            int seq = 0;
+
+            current.add(action(prefix + seq++, clock = clock.plusSeconds(1), SyncActionType.UPDATE_STATUS,
+                    order.orderId(), Map.of("status", OsStatus.IN_ROUTE.getValue())));
+
+            Map<String, Object> position = Map.of("latitude", order.latitude(), "longitude", order.longitude());
+            current.add(action(prefix + seq++, clock = clock.plusSeconds(1), SyncActionType.UPDATE_LOCATION,
+                    null, position));
+
+            Map<String, Object> arrival = new HashMap<>(position);
+            arrival.put("status", OsStatus.IN_PROGRESS.getValue());
+            current.add(action(prefix + seq++, clock = clock.plusSeconds(1), SyncActionType.UPDATE_STATUS,
+                    order.orderId(), arrival));
+
+            for (int item = 1; item <= checklistItems; item++) {
+                current.add(action(prefix + seq++, clock = clock.plusSeconds(1), SyncActionType.UPDATE_CHECKLIST,
+                        order.orderId(), Map.of("itemId", item, "done", true)));
+            }
+
+            if (materialId != null) {
+                current.add(action(prefix + seq++, clock = clock.plusSeconds(1), SyncActionType.ADD_MATERIAL,
+                        order.orderId(), Map.of("materialId", materialId.toString(), "quantity", 1)));
+            }
+
+            for (int p = 0; p < photosPerOrder; p++) {
+                current.add(action(prefix + seq++, clock = clock.plusSeconds(1), SyncActionType.ADD_PHOTO,
+                        order.orderId(), photoPayload.apply(o, p)));
+            }
+
+            if ((o + 1) % ordersPerBatch == 0 || o == orders.size() - 1) {
+                batches.add(new SyncBatchRequest(current));
+                current = new ArrayList<>();
+            }
+        }
+        return batches;
+    }
+
+    static Map<String, Object> base64Photo(String data, int photo) {
+        return Map.of("data", data, "fileName", "bench-" + photo + ".jpg", "caption", "Benchmark");
+    }
+
+    static Map<String, Object> uploadedPhoto(UUID uploadId, int photo) {
+        return Map.of("uploadId", uploadId.toString(), "fileName", "bench-" + photo + ".jpg", "caption", "Benchmark");
+    }
+
+    private static SyncAction action(String clientId, Instant timestamp, SyncActionType type,
+                                     UUID orderId, Map<String, Object> payload) {
+        return new SyncAction(clientId, timestamp, type, orderId, payload);
+    }
+}
@@ -0,0 +1,386 @@
+package com.oxfield.services.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oxfield.services.adapter.input.dto.request.SyncBatchRequest;
+import com.oxfield.services.adapter.input.dto.request.SyncBatchRequest.SyncActionType;
+import com.oxfield.services.adapter.input.dto.response.SyncBatchResponse;
+import com.oxfield.services.adapter.output.persistence.OrderChecklistRepository;
+import com.oxfield.services.adapter.output.persistence.ServiceOrderRepository;
+import com.oxfield.services.application.service.SyncService;
+import com.oxfield.services.application.service.SyncUploadService;
+import com.oxfield.services.benchmark.SyncBenchmarkFixtures.FixtureOrder;
+import com.oxfield.services.shared.multitenancy.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de replay do sync contra um Postgres/PostGIS descartável (Testcontainers).
+ *
+ * Cada rodada cria OS novas para o técnico do seed, monta batches realistas
+ * (SyncBenchmarkWorkload) e os envia ao SyncService duas vezes:
+ * <ul>
+ * <li>apply: primeira aplicação (state machine, checklist, materiais, fotos);</li>
+ * <li>replay: o mesmo batch reenviado, respondido pelo ledger de idempotência.</li>
+ * </ul>
+ * As duas fases rodam com fotos por uploadId (upload em partes, concluído antes da
+ * medição) e com fotos base64 inline. Mede ações/s, latência por tipo de ação
+ * (timer oxfield.sync.action.duration) e statements por ação, contados no próprio
+ * Postgres (pg_stat_statements com track=all): os enviados pela aplicação, seja pelo
+ * Hibernate ou pelo JdbcTemplate, e à parte os executados dentro de funções e
+ * triggers. Os jobs em background do contexto (polling do outbox etc.) usam o mesmo
+ * banco e entram na contagem como ruído pequeno. Cada fase é anexada a sync-benchmark.ndjson no diretório de
+ * resultados e comparada com a execução anterior da mesma fase.
+ *
+ * Fora do mvn test normal. Uso:
+ * mvn test -Dtest=SyncReplayBenchmarkTest -Dbenchmark=true -Dbenchmark.label=$(git rev-parse --short HEAD)
+ * (opcionais: benchmark.orders, benchmark.orders-per-batch, benchmark.rounds, benchmark.results-dir, ...)
+ */
+@SpringBootTest
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SyncReplayBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncReplayBenchmarkTest.class);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"))
+            .withCommand("postgres", "-c", "fsync=off",
+                    "-c", "shared_preload_libraries=pg_stat_statements",
+                    "-c", "pg_stat_statements.track=all");
+
+    /** Statements do banco do teste; toplevel separa os da aplicação dos aninhados (triggers, funções). */
+    private static final String STATEMENT_COUNTS_SQL = """
+            SELECT COALESCE(SUM(calls) FILTER (WHERE toplevel), 0) AS client,
+                   COALESCE(SUM(calls) FILTER (WHERE NOT toplevel), 0) AS nested
+            FROM pg_stat_statements
+            WHERE dbid = (SELECT oid FROM pg_database WHERE datname = current_database())
+            """;
+
+    private static final String LABEL = System.getProperty("benchmark.label", "local");
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 200);
+    private static final int ORDERS_PER_BATCH = Math.max(1, Integer.getInteger("benchmark.orders-per-batch", 10));
+    private static final int CHECKLIST_ITEMS = Integer.getInteger("benchmark.checklist-items", 5);
+    private static final int PHOTOS_PER_ORDER = Integer.getInteger("benchmark.photos-per-order", 1);
+    private static final int PHOTO_SIZE = Integer.getInteger("benchmark.photo-size", 200 * 1024);
+    private static final int CHUNK_SIZE = Integer.getInteger("benchmark.chunk-size", 64 * 1024);
+    private static final int WARMUP_ROUNDS = Integer.getInteger("benchmark.warmup-rounds", 1);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 3);
+    private static final Path RESULTS_DIR = Paths.get(System.getProperty("benchmark.results-dir", "target/sync-benchmark"));
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        Path uploads = Files.createTempDirectory("sync-benchmark-uploads");
+        registry.add("oxfield.upload.local-dir", uploads::toString);
+        // Log de SQL distorce as medições
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+    }
+
+    @Autowired
+    private SyncService syncService;
+    @Autowired
+    private SyncUploadService uploadService;
+    @Autowired
+    private ServiceOrderRepository orderRepository;
+    @Autowired
+    private OrderChecklistRepository checklistRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private SyncBenchmarkFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        int rounds = 2 * (WARMUP_ROUNDS + ROUNDS);
+        fixtures = new SyncBenchmarkFixtures(jdbcTemplate, transactionTemplate, entityManager,
+                orderRepository, checklistRepository, uploadService);
+        fixtures.seed(ORDERS * rounds);
+
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_stat_statements");
+        TenantContext.setCurrentTenantId(SyncBenchmarkFixtures.TENANT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void replaySyncBatches() throws IOException {
+        for (PhotoMode mode : PhotoMode.values()) {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                runRound(mode);
+            }
+            log.info("Sync benchmark [{}]: {} warm-up round(s) done, measuring {} round(s)",
+                    mode.label, WARMUP_ROUNDS, ROUNDS);
+
+            PhaseStats apply = new PhaseStats();
+            PhaseStats replay = new PhaseStats();
+            for (int i = 0; i < ROUNDS; i++) {
+                RoundResult round = runRound(mode);
+                apply.add(round.apply());
+                replay.add(round.replay());
+            }
+
+            assertThat(apply.failed).as("falhas na aplicação (%s)", mode.label).isZero();
+            assertThat(replay.failed).as("falhas no replay (%s)", mode.label).isZero();
+            report("apply/" + mode.label, apply);
+            report("replay/" + mode.label, replay);
+        }
+    }
+
+    // ========== Private Methods ==========
+
+    private RoundResult runRound(PhotoMode mode) {
+        String runTag = Long.toString(System.nanoTime(), 36);
+        List<FixtureOrder> orders = fixtures.createOrders(runTag, ORDERS, CHECKLIST_ITEMS);
+
+        byte[] photo = new byte[PHOTO_SIZE];
+        ThreadLocalRandom.current().nextBytes(photo);
+        List<SyncBatchRequest> batches;
+        if (mode == PhotoMode.UPLOAD) {
+            // O upload em partes acontece antes do batch, como no app; fica fora da medição
+            Map<String, UUID> uploads = new HashMap<>();
+            for (int o = 0; o < orders.size(); o++) {
+                for (int p = 0; p < PHOTOS_PER_ORDER; p++) {
+                    uploads.put(o + "/" + p, fixtures.uploadPhoto(photo, "bench-" + p + ".jpg", CHUNK_SIZE));
+                }
+            }
+            batches = SyncBenchmarkWorkload.build(runTag, orders, ORDERS_PER_BATCH, CHECKLIST_ITEMS,
+                    fixtures.materialId(), PHOTOS_PER_ORDER,
+                    (o, p) -> SyncBenchmarkWorkload.uploadedPhoto(uploads.get(o + "/" + p), p));
+        } else {
+            String data = Base64.getEncoder().encodeToString(photo);
+            batches = SyncBenchmarkWorkload.build(runTag, orders, ORDERS_PER_BATCH, CHECKLIST_ITEMS,
+                    fixtures.materialId(), PHOTOS_PER_ORDER,
+                    (o, p) -> SyncBenchmarkWorkload.base64Photo(data, p));
+        }
+
+        PhaseStats apply = replayBatches(batches);
+        PhaseStats replay = replayBatches(batches);
+        return new RoundResult(apply, replay);
+    }
+
+    private PhaseStats replayBatches(List<SyncBatchRequest> batches) {
+        Map<SyncActionType, TimerSnapshot> timersBefore = snapshotTimers();
+        StatementCounts statementsBefore = statementCounts();
+        long start = System.nanoTime();
+
+        PhaseStats stats = new PhaseStats();
+        for (SyncBatchRequest batch : batches) {
+            SyncBatchResponse response = syncService.processBatch(
+                    batch, SyncBenchmarkFixtures.TECHNICIAN_ID, SyncBenchmarkFixtures.TENANT_ID);
+            stats.actions += response.totalActions();
+            stats.failed += response.totalActions() - response.successCount();
+        }
+
+        stats.nanos = System.nanoTime() - start;
+        StatementCounts statementsAfter = statementCounts();
+        // A leitura de "antes" é ela mesma um statement da aplicação
+        stats.clientStatements = statementsAfter.client() - statementsBefore.client() - 1;
+        stats.nestedStatements = statementsAfter.nested() - statementsBefore.nested();
+        Map<SyncActionType, TimerSnapshot> timersAfter = snapshotTimers();
+        for (SyncActionType type : SyncActionType.values()) {
+            stats.types.put(type, timersAfter.get(type).minus(timersBefore.get(type)));
+        }
+        return stats;
+    }
+
+    private StatementCounts statementCounts() {
+        return jdbcTemplate.queryForObject(STATEMENT_COUNTS_SQL,
+                (rs, i) -> new StatementCounts(rs.getLong("client"), rs.getLong("nested")));
+    }
+
+    private Map<SyncActionType, TimerSnapshot> snapshotTimers() {
+        Map<SyncActionType, TimerSnapshot> snapshot = new EnumMap<>(SyncActionType.class);
+        for (SyncActionType type : SyncActionType.values()) {
+            Timer timer = meterRegistry.find(SyncService.ACTION_TIMER).tag("type", type.name()).timer();
+            snapshot.put(type, timer == null
+                    ? new TimerSnapshot(0, 0, 0)
+                    : new TimerSnapshot(timer.count(), timer.totalTime(TimeUnit.NANOSECONDS),
+                            timer.max(TimeUnit.NANOSECONDS)));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Loga a fase, compara com a última execução gravada e anexa o resultado ao histórico.
+     */
+    private void report(String phase, PhaseStats stats) throws IOException {
+        Map<String, Object> typeStats = new LinkedHashMap<>();
+        stats.types.forEach((type, timer) -> {
+            if (timer.count() > 0) {
+                typeStats.put(type.name(), Map.of(
+                        "count", timer.count(),
+                        "meanMs", round(timer.totalNanos() / timer.count() / 1_000_000.0),
+                        "maxMs", round(timer.maxNanos() / 1_000_000.0)));
+            }
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", LABEL);
+        result.put("phase", phase);
+        result.put("orders", ORDERS);
+        result.put("batchSize", ORDERS_PER_BATCH);
+        result.put("actions", stats.actions);
+        result.put("failedActions", stats.failed);
+        result.put("durationMs", TimeUnit.NANOSECONDS.toMillis(stats.nanos));
+        result.put("actionsPerSecond", round(stats.actionsPerSecond()));
+        result.put("clientStatementsPerAction", round(stats.clientStatementsPerAction()));
+        result.put("nestedStatementsPerAction", round(stats.nestedStatementsPerAction()));
+        result.put("types", typeStats);
+
+        Path history = RESULTS_DIR.resolve("sync-benchmark.ndjson");
+        Optional<JsonNode> previous = findPrevious(history, phase);
+        Files.createDirectories(RESULTS_DIR);
+        Files.writeString(history, objectMapper.writeValueAsString(result) + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        log.info("Sync benchmark [{}] {}: {} actions ({} failed) in {} ms, {} actions/s, "
+                        + "{} client statements/action (+{} in triggers/functions)",
+                LABEL, phase, stats.actions, stats.failed, result.get("durationMs"),
+                result.get("actionsPerSecond"), result.get("clientStatementsPerAction"),
+                result.get("nestedStatementsPerAction"));
+        typeStats.forEach((type, values) -> log.info("  {} {}", type, values));
+        previous.ifPresent(before -> log.info("  vs [{}]: actions/s {}%, client statements/action {}%",
+                before.path("label").asText(),
+                percentChange(before.path("actionsPerSecond").asDouble(), stats.actionsPerSecond()),
+                percentChange(before.path("clientStatementsPerAction").asDouble(),
+                        stats.clientStatementsPerAction())));
+    }
+
+    private Optional<JsonNode> findPrevious(Path history, String phase) throws IOException {
+        if (!Files.exists(history)) {
+            return Optional.empty();
+        }
+        JsonNode previous = null;
+        for (String line : Files.readAllLines(history, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                JsonNode node = objectMapper.readTree(line);
+                if (phase.equals(node.path("phase").asText())) {
+                    previous = node;
+                }
+            }
+        }
+        return Optional.ofNullable(previous);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static String percentChange(double before, double after) {
+        if (before == 0) {
+            return "n/a";
+        }
+        double change = (after - before) / before * 100.0;
+        return (change >= 0 ? "+" : "") + round(change);
+    }
+
+    private enum PhotoMode {
+        UPLOAD("upload"),
+        BASE64("base64");
+
+        final String label;
+
+        PhotoMode(String label) {
+            this.label = label;
+        }
+    }
+
+    private record RoundResult(PhaseStats apply, PhaseStats replay) {
+    }
+
+    private record StatementCounts(long client, long nested) {
+    }
+
+    /**
+     * Acumulado de uma fase (soma das rodadas medidas).
+     */
+    private static final class PhaseStats {
+        int actions;
+        int failed;
+        long nanos;
+        long clientStatements;
+        long nestedStatements;
+        final Map<SyncActionType, TimerSnapshot> types = new EnumMap<>(SyncActionType.class);
+
+        void add(PhaseStats other) {
+            actions += other.actions;
+            failed += other.failed;
+            nanos += other.nanos;
+            clientStatements += other.clientStatements;
+            nestedStatements += other.nestedStatements;
+            other.types.forEach((type, timer) -> types.merge(type, timer, TimerSnapshot::plus));
+        }
+
+        double actionsPerSecond() {
+            return nanos == 0 ? 0 : actions / (nanos / 1_000_000_000.0);
+        }
+
+        double clientStatementsPerAction() {
+            return actions == 0 ? 0 : (double) clientStatements / actions;
+        }
+
+        double nestedStatementsPerAction() {
+            return actions == 0 ? 0 : (double) nestedStatements / actions;
+        }
+    }
+
+    /**
+     * Leitura de um timer. O max do Micrometer é o de uma janela recente, não delta:
+     * serve como teto observado na rodada.
+     */
+    private record TimerSnapshot(long count, double totalNanos, double maxNanos) {
+
+        TimerSnapshot minus(TimerSnapshot before) {
+            return new TimerSnapshot(count - before.count, totalNanos - before.totalNanos, maxNanos);
+        }
+
+        TimerSnapshot plus(TimerSnapshot other) {
+            return new TimerSnapshot(count + other.count, totalNanos + other.totalNanos,
+                    Math.max(maxNanos, other.maxNanos));
+        }
+    }
+}
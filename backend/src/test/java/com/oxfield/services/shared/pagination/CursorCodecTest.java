@@ -0,0 +1,69 @@
+package com.oxfield.services.shared.pagination;
+
+import com.oxfield.services.shared.exception.BusinessException;
+import com.oxfield.services.shared.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+    @Test
+    void roundTripsValuesOfTheExpectedKind() {
+        String token = CursorCodec.encode("recent", "1700000000000000", "6f1c1a7e-0000-4000-8000-000000000001");
+
+        assertThat(CursorCodec.decode(token, "recent", 2))
+                .containsExactly("1700000000000000", "6f1c1a7e-0000-4000-8000-000000000001");
+    }
+
+    @Test
+    void tokenIsUrlSafeWithoutPadding() {
+        String token = CursorCodec.encode("search", "0.8333333333333334", "???>>>");
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void keepsEmptyValues() {
+        String token = CursorCodec.encode("search", "", "id");
+
+        assertThat(CursorCodec.decode(token, "search", 2)).containsExactly("", "id");
+    }
+
+    @Test
+    void rejectsCursorOfAnotherKind() {
+        String token = CursorCodec.encode("recent", "1", "id");
+
+        assertInvalid(() -> CursorCodec.decode(token, "search", 2));
+    }
+
+    @Test
+    void rejectsWrongNumberOfValues() {
+        String token = CursorCodec.encode("recent", "1", "id", "extra");
+
+        assertInvalid(() -> CursorCodec.decode(token, "recent", 2));
+    }
+
+    @Test
+    void rejectsTokensThatAreNotBase64Url() {
+        assertInvalid(() -> CursorCodec.decode("not a cursor!", "recent", 2));
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("recent|1".getBytes(StandardCharsets.UTF_8));
+
+        assertInvalid(() -> CursorCodec.decode(forged, "recent", 2));
+    }
+
+    private static void assertInvalid(Runnable decode) {
+        assertThatThrownBy(decode::run)
+                .isInstanceOf(BusinessException.class)
+                .satisfies(e -> assertThat(((BusinessException) e).getErrorCode()).isEqualTo(ErrorCode.VALIDATION_ERROR));
+    }
+}
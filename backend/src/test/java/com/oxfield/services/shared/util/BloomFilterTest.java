@@ -0,0 +1,66 @@
+package com.oxfield.services.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAnInsertedKeyAsAbsent() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("key-" + i));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("key-" + i))).isTrue();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredRateUpToCapacity() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("key-" + i));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("other-" + i))
+                .count();
+
+        // 1% configurado; folga para a variação do hash
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void saturatesAtTheExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(3, 0.01);
+        filter.put("a");
+        filter.put("b");
+        assertThat(filter.isSaturated()).isFalse();
+
+        filter.put("c");
+        assertThat(filter.isSaturated()).isTrue();
+    }
+
+    @Test
+    void concurrentPutsAreNotLost() {
+        BloomFilter filter = new BloomFilter(40_000, 0.01);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                executor.submit(() -> IntStream.range(0, 5_000).forEach(i -> filter.put(thread + ":" + i)));
+            }
+        }
+
+        assertThat(IntStream.range(0, 8).allMatch(t -> IntStream.range(0, 5_000)
+                .allMatch(i -> filter.mightContain(t + ":" + i)))).isTrue();
+        assertThat(filter.isSaturated()).isTrue();
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
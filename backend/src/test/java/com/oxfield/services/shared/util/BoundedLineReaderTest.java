@@ -0,0 +1,125 @@
+package com.oxfield.services.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedLineReaderTest {
+
+    @Test
+    void splitsOnNewlineAndStripsTrailingCarriageReturn() throws IOException {
+        BoundedLineReader reader = reader("{\"a\":1}\r\n{\"b\":2}\nlast", 100);
+
+        assertThat(text(reader.next())).isEqualTo("{\"a\":1}");
+        assertThat(text(reader.next())).isEqualTo("{\"b\":2}");
+        assertThat(text(reader.next())).isEqualTo("last");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void trailingNewlineDoesNotProduceAnExtraLine() throws IOException {
+        assertThat(readAll(reader("a\nb\n", 100))).containsExactly("a", "b");
+    }
+
+    @Test
+    void emptyStreamHasNoLines() throws IOException {
+        assertThat(reader("", 100).next()).isNull();
+    }
+
+    @Test
+    void keepsEmptyAndBlankLines() throws IOException {
+        BoundedLineReader reader = reader("\n \t\nx\n", 100);
+
+        BoundedLineReader.Line empty = reader.next();
+        BoundedLineReader.Line blank = reader.next();
+        BoundedLineReader.Line content = reader.next();
+
+        assertThat(empty.bytes()).isEmpty();
+        assertThat(empty.isBlank()).isTrue();
+        assertThat(blank.isBlank()).isTrue();
+        assertThat(content.isBlank()).isFalse();
+    }
+
+    @Test
+    void flagsLinesOverTheLimitAndResumesAtTheNextLine() throws IOException {
+        BoundedLineReader reader = reader("ok\n" + "x".repeat(11) + "\nafter\n", 10);
+
+        assertThat(text(reader.next())).isEqualTo("ok");
+        BoundedLineReader.Line tooLong = reader.next();
+        assertThat(tooLong.tooLong()).isTrue();
+        assertThat(tooLong.bytes()).isEmpty();
+        assertThat(text(reader.next())).isEqualTo("after");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void acceptsALineExactlyAtTheLimit() throws IOException {
+        BoundedLineReader.Line line = reader("x".repeat(10) + "\n", 10).next();
+
+        assertThat(line.tooLong()).isFalse();
+        assertThat(line.bytes()).hasSize(10);
+    }
+
+    @Test
+    void readsLinesSpanningTheInternalBuffer() throws IOException {
+        String big = "y".repeat(200_000);
+
+        assertThat(readAll(reader(big + "\nz", 300_000))).containsExactly(big, "z");
+    }
+
+    @Test
+    void overflowSpanningTheInternalBufferIsDiscarded() throws IOException {
+        String huge = "y".repeat(200_000);
+
+        List<String> lines = new ArrayList<>();
+        BoundedLineReader reader = reader(huge + "\nz\n", 1_000);
+        BoundedLineReader.Line line;
+        while ((line = reader.next()) != null) {
+            lines.add(line.tooLong() ? "<too long>" : text(line));
+        }
+        assertThat(lines).containsExactly("<too long>", "z");
+    }
+
+    @Test
+    void handlesShortReads() throws IOException {
+        InputStream oneByteAtATime = new FilterInputStream(
+                new ByteArrayInputStream("ab\r\ncd\n".getBytes(StandardCharsets.UTF_8))) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+
+        assertThat(readAll(new BoundedLineReader(oneByteAtATime, 100))).containsExactly("ab", "cd");
+    }
+
+    @Test
+    void keepsMultiByteCharactersIntact() throws IOException {
+        assertThat(readAll(reader("ação\nóleo\n", 100))).containsExactly("ação", "óleo");
+    }
+
+    private static BoundedLineReader reader(String content, int maxLineBytes) {
+        return new BoundedLineReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), maxLineBytes);
+    }
+
+    private static List<String> readAll(BoundedLineReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        BoundedLineReader.Line line;
+        while ((line = reader.next()) != null) {
+            lines.add(text(line));
+        }
+        return lines;
+    }
+
+    private static String text(BoundedLineReader.Line line) {
+        return new String(line.bytes(), StandardCharsets.UTF_8);
+    }
+}